@@ -0,0 +1,135 @@
+package br.com.webnize.googleapis.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.admin.directory.Directory;
+import com.google.api.services.admin.directory.model.User;
+
+/**
+ * Montagem e serialização de um BatchRequest com 10, 100 e 1000 (máximo da
+ * API) users.insert: criação de cada HTTP request (passando pelo
+ * DirectoryThrottle e pela credencial) e escrita do corpo multipart.
+ *
+ * O transporte apenas conta os bytes do corpo e devolve uma resposta pronta
+ * com uma entrada mínima por operação, de custo de leitura desprezível.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchRequestBenchmark {
+
+  private static final JsonBatchCallback<User> CALLBACK = new JsonBatchCallback<User>() {
+
+    public void onSuccess(User user, HttpHeaders responseHeaders) {
+    }
+
+    @Override
+    public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) {
+      throw new IllegalStateException("Resposta de lote inesperada: " + e.getMessage());
+    }
+  };
+
+  @Param({"10", "100", "1000"})
+  public int inserts;
+
+  private final List<User> users = new ArrayList<User>();
+
+  private BatchTransport transport;
+
+  private Directory service;
+
+  @Setup
+  public void setUp() {
+
+    users.clear();
+    for(int i = 0; i < inserts; i++) {
+      users.add(BenchmarkFixtures.newUser(i).setPassword("S3nh@-Provis0ria"));
+    }
+
+    transport = new BatchTransport(BenchmarkFixtures.batchResponse(inserts));
+    service = BenchmarkFixtures.newClient(transport);
+  }
+
+  /**
+   * @return bytes do corpo multipart enviado.
+   */
+  @Benchmark
+  public long serializeInserts() throws IOException {
+
+    BatchRequest batch = service.batch(service.getRequestFactory().getInitializer());
+
+    for(User user : users) {
+      service.users().insert(user).queue(batch, CALLBACK);
+    }
+
+    batch.execute();
+
+    return transport.requestBytes;
+  }
+
+  /**
+   * Transporte que escreve o corpo do lote em uma saída que apenas conta os
+   * bytes e responde sempre com a mesma resposta multipart.
+   */
+  private static class BatchTransport extends MockHttpTransport {
+
+    private final byte[] response;
+
+    private long requestBytes;
+
+    BatchTransport(byte[] response) {
+      this.response = response;
+    }
+
+    @Override
+    public LowLevelHttpRequest buildRequest(String method, String url) {
+
+      return new MockLowLevelHttpRequest(url) {
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+
+          BenchmarkFixtures.CountingOutputStream out = new BenchmarkFixtures.CountingOutputStream();
+          getStreamingContent().writeTo(out);
+          requestBytes = out.count;
+
+          return new MockLowLevelHttpResponse()
+                        .setContentType("multipart/mixed; boundary=" + BenchmarkFixtures.BATCH_BOUNDARY)
+                          .setContent(response);
+        }
+      };
+    }
+  }
+
+}
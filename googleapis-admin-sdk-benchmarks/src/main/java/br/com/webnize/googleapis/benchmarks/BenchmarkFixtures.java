@@ -0,0 +1,185 @@
+package br.com.webnize.googleapis.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.api.client.auth.oauth2.BearerToken;
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.admin.directory.Directory;
+import com.google.api.services.admin.directory.model.User;
+import com.google.api.services.admin.directory.model.UserAddress;
+import com.google.api.services.admin.directory.model.UserEmail;
+import com.google.api.services.admin.directory.model.UserName;
+import com.google.api.services.admin.directory.model.UserOrganization;
+import com.google.api.services.admin.directory.model.UserPhone;
+import com.google.api.services.admin.directory.model.Users;
+
+import br.com.webnize.googleapis.admin.directory.AdaptiveRateLimiter;
+import br.com.webnize.googleapis.admin.directory.DirectoryThrottle;
+import br.com.webnize.googleapis.admin.directory.metrics.DirectoryMetrics;
+import br.com.webnize.googleapis.admin.directory.transport.NetHttpTransportFactory;
+
+/**
+ * Dados e clientes utilizados pelos benchmarks: usuários com os campos que a
+ * Directory API costuma devolver, páginas de listagem e respostas de lote já
+ * serializadas, e um cliente montado como o da biblioteca.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+final class BenchmarkFixtures {
+
+  static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+  static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  static final String DOMAIN = "gedu.demo.foreducation.com.br";
+
+  static final String BATCH_BOUNDARY = "batch_benchmark";
+
+  private BenchmarkFixtures() {
+  }
+
+  /**
+   * @param index número do usuário, torna email e id únicos.
+   * @return usuário com todos os campos usuais preenchidos.
+   */
+  static User newUser(int index) {
+
+    String email = "aluno." + index + "@" + DOMAIN;
+
+    return new User()
+                .setId(String.valueOf(100000000000000000L + index))
+                .setPrimaryEmail(email)
+                .setName(new UserName().setGivenName("Aluno").setFamilyName("Número " + index).setFullName("Aluno Número " + index))
+                .setOrgUnitPath("/MyOrg/Alunos")
+                .setEtag("\"etag-" + index + "\"")
+                .setIsAdmin(false)
+                .setIsDelegatedAdmin(false)
+                .setSuspended(false)
+                .setAgreedToTerms(true)
+                .setChangePasswordAtNextLogin(false)
+                .setIncludeInGlobalAddressList(true)
+                .setCustomerId("C01234567")
+                .setKind("admin#directory#user")
+                .setEmails(Arrays.asList(new UserEmail().setAddress(email).setPrimary(true),
+                                         new UserEmail().setAddress("aluno." + index + "@foreducation.com.br")))
+                .setPhones(Arrays.asList(new UserPhone().setValue("+551112345678").setType("work").setPrimary(true),
+                                         new UserPhone().setValue("+5511912345678").setType("mobile")))
+                .setAddresses(Arrays.asList(new UserAddress().setType("home").setStreetAddress("Rua Exemplo, " + index)
+                                              .setLocality("São Paulo").setRegion("SP").setPostalCode("01000-000").setCountry("Brasil")))
+                .setOrganizations(Arrays.asList(new UserOrganization().setName("Escola Exemplo").setTitle("Aluno")
+                                                  .setDepartment("Ensino Médio").setPrimary(true)));
+  }
+
+  /**
+   * Usuário apenas com os campos de uma listagem projetada ('fields').
+   */
+  static User newProjectedUser(int index) {
+
+    User user = newUser(index);
+
+    return new User()
+                .setId(user.getId())
+                .setPrimaryEmail(user.getPrimaryEmail())
+                .setName(user.getName())
+                .setOrgUnitPath(user.getOrgUnitPath())
+                .setSuspended(user.getSuspended());
+  }
+
+  /**
+   * @param size quantidade de usuários da página.
+   * @param offset número do primeiro usuário.
+   * @param nextPageToken token da próxima página (null na última).
+   * @param projected página com apenas os campos de uma listagem projetada.
+   * @return JSON da página, como devolvido por users.list.
+   * @throws IOException
+   */
+  static byte[] usersPage(int size, int offset, String nextPageToken, boolean projected) throws IOException {
+
+    List<User> users = new ArrayList<User>(size);
+    for(int i = offset; i < offset + size; i++) {
+      users.add(projected ? newProjectedUser(i) : newUser(i));
+    }
+
+    Users page = new Users().setKind("admin#directory#users").setUsers(users).setNextPageToken(nextPageToken);
+
+    return JSON_FACTORY.toByteArray(page);
+  }
+
+  /**
+   * @param parts quantidade de entradas do lote.
+   * @return corpo multipart de uma resposta de lote com 'parts' respostas
+   *         mínimas ("{}"), de forma que o benchmark meça a montagem do lote e
+   *         não a leitura da resposta.
+   */
+  static byte[] batchResponse(int parts) {
+
+    StringBuilder body = new StringBuilder();
+
+    for(int i = 1; i <= parts; i++) {
+      body.append("--").append(BATCH_BOUNDARY).append("\r\n")
+          .append("Content-Type: application/http\r\n")
+          .append("Content-ID: <response-").append(i).append(">\r\n\r\n")
+          .append("HTTP/1.1 200 OK\r\n")
+          .append("Content-Type: application/json; charset=UTF-8\r\n")
+          .append("Content-Length: 2\r\n\r\n")
+          .append("{}\r\n");
+    }
+
+    body.append("--").append(BATCH_BOUNDARY).append("--\r\n");
+
+    return body.toString().getBytes(UTF_8);
+  }
+
+  /**
+   * Monta o cliente como {@link br.com.webnize.googleapis.admin.directory.AbstractDirectoryService}:
+   * credencial envolvida pela fábrica de transporte, {@link DirectoryThrottle}
+   * e métricas, mas com limitador de taxa sem limite efetivo, para que o
+   * benchmark meça o cliente e não a cota.
+   *
+   * @param transport transporte (normalmente um MockHttpTransport).
+   * @return cliente da Directory API.
+   */
+  static Directory newClient(HttpTransport transport) {
+
+    Credential credential = new Credential(BearerToken.authorizationHeaderAccessMethod()).setAccessToken("benchmark");
+
+    NetHttpTransportFactory transportFactory = new NetHttpTransportFactory();
+
+    DirectoryThrottle throttle = new DirectoryThrottle(transportFactory.wrap(credential), new AdaptiveRateLimiter(1e9, 1e9, 1e9))
+                                      .setMetrics(new DirectoryMetrics("benchmark"));
+
+    return new Directory
+                .Builder(transport, JSON_FACTORY, throttle)
+                  .setApplicationName("Webnize - Benchmarks")
+                    .build();
+  }
+
+  /**
+   * Saída que apenas conta os bytes escritos.
+   */
+  static class CountingOutputStream extends OutputStream {
+
+    long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+
+}
@@ -0,0 +1,146 @@
+package br.com.webnize.googleapis.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.admin.directory.Directory;
+import com.google.api.services.admin.directory.model.User;
+
+import br.com.webnize.googleapis.admin.directory.DirectoryThrottle;
+import br.com.webnize.googleapis.admin.directory.user.UserPageIterator;
+
+/**
+ * Chamadas completas do cliente, do request à resposta lida, sobre um
+ * MockHttpTransport: users.get como em DirectoryUserService.getUser e a
+ * listagem completa de 'users' usuários em páginas de 500 pelo
+ * {@link UserPageIterator}, como em DirectoryUserService.listUsers.
+ *
+ * Não há rede: o resultado mede o custo do próprio cliente (montagem do
+ * request, DirectoryThrottle, métricas, credencial e leitura do JSON).
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectoryClientBenchmark {
+
+  private static final String USER_KEY = "aluno.0@" + BenchmarkFixtures.DOMAIN;
+
+  @Param({"2000"})
+  public int users;
+
+  private Directory service;
+
+  @Setup
+  public void setUp() throws IOException {
+
+    byte[] user = BenchmarkFixtures.JSON_FACTORY.toByteArray(BenchmarkFixtures.newUser(0));
+
+    int pageCount = (users + UserPageIterator.MAX_PAGE_SIZE - 1) / UserPageIterator.MAX_PAGE_SIZE;
+    byte[][] pages = new byte[pageCount][];
+
+    for(int i = 0; i < pageCount; i++) {
+      int offset = i * UserPageIterator.MAX_PAGE_SIZE;
+      pages[i] = BenchmarkFixtures.usersPage(Math.min(UserPageIterator.MAX_PAGE_SIZE, users - offset), offset,
+              i + 1 < pageCount ? String.valueOf(i + 1) : null, false);
+    }
+
+    service = BenchmarkFixtures.newClient(new DirectoryTransport(user, pages));
+  }
+
+  @Benchmark
+  public User getUser() throws IOException {
+    return DirectoryThrottle.execute(service.users().get(USER_KEY));
+  }
+
+  @Benchmark
+  public int listUsers(Blackhole blackhole) throws IOException {
+
+    Directory.Users.List request = service.users().list().setCustomer("my_customer").setMaxResults(UserPageIterator.MAX_PAGE_SIZE);
+
+    UserPageIterator iterator = new UserPageIterator(request, 0, UserPageIterator.DEFAULT_PAGES_IN_FLIGHT);
+
+    int count = 0;
+
+    try {
+      while(iterator.hasNext()) {
+        blackhole.consume(iterator.next());
+        count++;
+      }
+    }
+    finally {
+      iterator.close();
+    }
+
+    return count;
+  }
+
+  /**
+   * Transporte que responde users.get com um usuário fixo e users.list com a
+   * página indicada pelo 'pageToken' (o número da página).
+   */
+  private static class DirectoryTransport extends MockHttpTransport {
+
+    private final byte[] user;
+
+    private final byte[][] pages;
+
+    DirectoryTransport(byte[] user, byte[][] pages) {
+      this.user = user;
+      this.pages = pages;
+    }
+
+    @Override
+    public LowLevelHttpRequest buildRequest(String method, final String url) {
+
+      return new MockLowLevelHttpRequest(url) {
+
+        @Override
+        public LowLevelHttpResponse execute() {
+
+          GenericUrl genericUrl = new GenericUrl(url);
+
+          byte[] content;
+
+          if(genericUrl.getRawPath().endsWith("/users")) {
+            Object pageToken = genericUrl.getFirst("pageToken");
+            content = pages[pageToken == null ? 0 : Integer.parseInt(pageToken.toString())];
+          }
+          else {
+            content = user;
+          }
+
+          return new MockLowLevelHttpResponse()
+                        .setContentType("application/json; charset=UTF-8")
+                          .setContent(content);
+        }
+      };
+    }
+  }
+
+}
@@ -0,0 +1,265 @@
+package br.com.webnize.googleapis.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.api.client.auth.oauth2.BearerToken;
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.services.admin.directory.model.User;
+
+import br.com.webnize.googleapis.admin.directory.AbstractDirectoryService;
+import br.com.webnize.googleapis.admin.directory.batch.BatchReport;
+import br.com.webnize.googleapis.admin.directory.metrics.DirectoryMetrics;
+import br.com.webnize.googleapis.admin.directory.metrics.LatencyHistogram;
+import br.com.webnize.googleapis.admin.directory.metrics.OperationMetrics;
+import br.com.webnize.googleapis.admin.directory.user.DirectoryUserAsyncService;
+import br.com.webnize.googleapis.admin.directory.user.DirectoryUserService;
+
+/**
+ * Teste de carga do DirectoryUserService contra o {@link MockDirectoryServer},
+ * para ajustar concorrência, lotes e esperas sem usar a API de produção.
+ *
+ * O cliente é o da biblioteca, com limitador de taxa, reenvios e métricas,
+ * apenas apontado para o servidor local pela URL raiz. Para cada modo são
+ * informadas a vazão em operações por segundo e a latência p50/p99, tanto de
+ * cada operação do ponto de vista de quem chama (incluindo a espera pelo
+ * limitador de taxa) como de cada chamada HTTP.
+ *
+ *<pre>
+ * Modos:
+ *   get   - getUser em 'threads' threads;
+ *   async - getUserAsync, com a concorrência do DirectoryUserAsyncService;
+ *   batch - patchUsers, em lotes do DirectoryBatchExecutor;
+ *   list  - listUsers de todos os usuários (uma operação por usuário).
+ *
+ * Obs:
+ * 1. O limitador de taxa do cliente é compartilhado: a taxa alcançada em um
+ *    modo vale para o início do próximo.
+ * 2. Com DIRECTORY_ROOT_URL definida é utilizado o servidor já em execução
+ *    nessa URL, com os usuários de {@link MockDirectoryServer#addUsers(int)}.
+ * </pre>
+ *
+ * Uso: java -cp benchmarks.jar br.com.webnize.googleapis.benchmarks.LoadDriver
+ *      [modos] [operações] [threads] [latência ms] [taxa de erros] [cota por segundo]
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class LoadDriver {
+
+  private static final PrintStream log = System.out;
+
+  public static void main(String[] args) throws Exception {
+
+    String[] modes = (args.length > 0 ? args[0] : "get,async,batch,list").split(",");
+    int operations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+    int threads = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+    long latency = args.length > 3 ? Long.parseLong(args[3]) : 20;
+    double errors = args.length > 4 ? Double.parseDouble(args[4]) : 0.01;
+    double quota = args.length > 5 ? Double.parseDouble(args[5]) : 40;
+
+    MockDirectoryServer server = null;
+    String rootUrl = System.getProperty(AbstractDirectoryService.ROOT_URL_ENV, System.getenv(AbstractDirectoryService.ROOT_URL_ENV));
+
+    if(rootUrl == null) {
+      server = new MockDirectoryServer(0)
+                    .addUsers(Math.max(operations, 1000))
+                      .setLatencyMillis(latency, latency / 2)
+                        .setErrorRate(errors)
+                          .setQuotaPerSecond(quota);
+      rootUrl = server.getRootUrl();
+
+      log.println(String.format("Servidor local em %s: %d usuários, latência %d ms (+ até %d ms), erros %.1f%%, cota %.0f/s",
+              rootUrl, server.getUserCount(), latency, latency / 2, errors * 100, quota));
+    }
+
+    AbstractDirectoryService.setRootUrl(rootUrl);
+    AbstractDirectoryService.setInteractiveAuthorization(false);
+    AbstractDirectoryService.setCredential(new Credential(BearerToken.authorizationHeaderAccessMethod())
+                                              .setAccessToken("load-test")
+                                                .setExpiresInSeconds(3600L));
+
+    try {
+      for(String mode : modes) {
+
+        DirectoryMetrics metrics = AbstractDirectoryService.getMetrics();
+        metrics.reset();
+        if(server != null) {
+          server.resetCounters();
+        }
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        long start = System.nanoTime();
+
+        int done;
+
+        if("get".equals(mode)) {
+          done = runGet(operations, threads, latencies);
+        }
+        else if("async".equals(mode)) {
+          done = runAsync(operations, latencies);
+        }
+        else if("batch".equals(mode)) {
+          done = runBatch(operations, latencies);
+        }
+        else if("list".equals(mode)) {
+          done = runList(latencies);
+        }
+        else {
+          throw new IllegalArgumentException("Modo desconhecido: " + mode);
+        }
+
+        report(mode, done, System.nanoTime() - start, latencies, metrics, server);
+      }
+    }
+    finally {
+      AbstractDirectoryService.setCredential(null);
+      if(server != null) {
+        server.close();
+      }
+    }
+  }
+
+  private static int runGet(int operations, int threads, final LatencyHistogram latencies) throws Exception {
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final AtomicInteger next = new AtomicInteger();
+    final AtomicInteger succeeded = new AtomicInteger();
+    final int total = operations;
+
+    try {
+      List<Future<?>> futures = new ArrayList<Future<?>>();
+
+      for(int i = 0; i < threads; i++) {
+        futures.add(executor.submit(new Callable<Void>() {
+
+          public Void call() {
+            for(int index = next.getAndIncrement(); index < total; index = next.getAndIncrement()) {
+              long start = System.nanoTime();
+              try {
+                DirectoryUserService.getUser(email(index));
+                succeeded.incrementAndGet();
+              }
+              catch(IOException e) {
+                log.println("Falha: " + e.getMessage());
+              }
+              latencies.record(System.nanoTime() - start);
+            }
+            return null;
+          }
+        }));
+      }
+
+      for(Future<?> future : futures) {
+        future.get();
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+
+    return succeeded.get();
+  }
+
+  private static int runAsync(int operations, LatencyHistogram latencies) throws Exception {
+
+    List<Future<User>> futures = new ArrayList<Future<User>>(operations);
+    long[] starts = new long[operations];
+
+    for(int i = 0; i < operations; i++) {
+      starts[i] = System.nanoTime();
+      futures.add(DirectoryUserAsyncService.getUserAsync(email(i)));
+    }
+
+    int succeeded = 0;
+
+    /*
+     * Latência da submissão à conclusão: inclui a espera por uma vaga de concorrência.
+     */
+    for(int i = 0; i < operations; i++) {
+      try {
+        futures.get(i).get();
+        succeeded++;
+      }
+      catch(Exception e) {
+        log.println("Falha: " + e.getMessage());
+      }
+      latencies.record(System.nanoTime() - starts[i]);
+    }
+
+    return succeeded;
+  }
+
+  private static int runBatch(int operations, LatencyHistogram latencies) throws IOException {
+
+    Map<String, User> patches = new LinkedHashMap<String, User>();
+
+    for(int i = 0; i < operations; i++) {
+      patches.put(email(i), new User().setOrgUnitPath(i % 2 == 0 ? "/Students" : "/Staff"));
+    }
+
+    long start = System.nanoTime();
+
+    BatchReport<User> report = DirectoryUserService.patchUsers(patches);
+
+    /*
+     * Cada operação de um lote só é confirmada ao fim da execução.
+     */
+    long elapsed = System.nanoTime() - start;
+    for(int i = 0; i < operations; i++) {
+      latencies.record(elapsed);
+    }
+
+    return report.getSucceededCount();
+  }
+
+  private static int runList(LatencyHistogram latencies) throws IOException {
+
+    long start = System.nanoTime();
+
+    int count = DirectoryUserService.listUsers(0, null, "email").size();
+
+    long elapsed = System.nanoTime() - start;
+    for(int i = 0; i < count; i++) {
+      latencies.record(elapsed / count);
+    }
+
+    return count;
+  }
+
+  private static String email(int index) {
+    return String.format("user.%06d@%s", index, MockDirectoryServer.DOMAIN);
+  }
+
+  private static void report(String mode, int done, long nanos, LatencyHistogram latencies, DirectoryMetrics metrics,
+          MockDirectoryServer server) {
+
+    log.println(String.format("%-5s %d operações em %.1f s: %.1f ops/s, operação p50 %.1f ms, p99 %.1f ms",
+            mode, done, nanos / 1e9, done * 1e9 / nanos, latencies.getPercentileMillis(0.50), latencies.getPercentileMillis(0.99)));
+
+    for(String operation : metrics.getOperations()) {
+      OperationMetrics call = metrics.getOperation(operation);
+      log.println(String.format("      HTTP %-6s %d chamadas, p50 %.1f ms, p99 %.1f ms, %d com erro, %d reenvios",
+              operation, call.getCount(), call.getP50Millis(), call.getP99Millis(), call.getErrorCount(), call.getRetryCount()));
+    }
+
+    log.println(String.format("      status %s, taxa do cliente %.1f/s", metrics.getStatusCounts(),
+            AbstractDirectoryService.getRateLimiter().getRate()));
+
+    if(server != null) {
+      log.println(String.format("      servidor: %d HTTP requests, %d operações, %d acima da cota, %d erros injetados",
+              server.getHttpRequestCount(), server.getOperationCount(), server.getThrottledCount(), server.getInjectedErrorCount()));
+    }
+  }
+
+}
@@ -0,0 +1,897 @@
+package br.com.webnize.googleapis.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonErrorContainer;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.util.Data;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.admin.directory.model.User;
+import com.google.api.services.admin.directory.model.UserName;
+import com.google.api.services.admin.directory.model.Users;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import br.com.webnize.googleapis.admin.directory.AbstractDirectoryService;
+
+/**
+ * Servidor HTTP local que simula a parte da Directory API utilizada pelo
+ * DirectoryUserService, para testes de carga sem usar a API de produção:
+ * users.get, insert, update, patch, delete, list (com paginação) e /batch.
+ *
+ * Os usuários ficam em memória. Cada HTTP request espera 'latencyMillis'
+ * (mais um jitter aleatório) antes de ser atendido e cada operação, inclusive
+ * cada entrada de um lote, consome a cota e pode falhar com 503 de acordo com
+ * 'errorRate'. Sem cota disponível a resposta é 403 'userRateLimitExceeded',
+ * como na API, cuja cota é contada por minuto: aqui ela é um token bucket de
+ * 'quotaPerSecond' que acumula até 'quotaBurstSeconds' de cota, permitindo
+ * rajadas como a de um lote.
+ *
+ *<pre>
+ * Obs:
+ * 1. A listagem exige 'customer' ou 'domain', é ordenada por email e aceita
+ *    na 'query' apenas os termos "email:prefixo*", "isSuspended=" e "orgUnitPath=".
+ * 2. O parâmetro 'fields' é ignorado: as respostas trazem todos os campos.
+ * 3. update substitui o usuário, patch mescla os campos informados.
+ * 4. Não há autenticação: qualquer credencial é aceita.
+ * </pre>
+ *
+ * Uso: java -cp benchmarks.jar br.com.webnize.googleapis.benchmarks.MockDirectoryServer
+ *      [porta] [usuários] [latência ms] [taxa de erros] [cota por segundo]
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class MockDirectoryServer implements HttpHandler, Closeable {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(MockDirectoryServer.class.getName());
+
+  static {
+    /*
+     * Sem TCP_NODELAY o servidor soma ~40 ms de ACK atrasado a cada resposta.
+     */
+    if(System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+  }
+
+  public static final String DOMAIN = "loadtest.example.com";
+
+  public static final int MAX_PAGE_SIZE = 500;
+
+  public static final int DEFAULT_PAGE_SIZE = 100;
+
+  public static final int MAX_BATCH_SIZE = 1000;
+
+  private static final String USERS_PATH = "/admin/directory/v1/users";
+
+  private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+  private final HttpServer server;
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  /**
+   * Usuários por email (em minúsculas), em ordem de email para a listagem.
+   * Os objetos guardados nunca são alterados: cada escrita guarda uma cópia.
+   */
+  private final ConcurrentSkipListMap<String, User> users = new ConcurrentSkipListMap<String, User>();
+
+  private final ConcurrentMap<String, String> emailsById = new ConcurrentHashMap<String, String>();
+
+  private final AtomicLong nextId = new AtomicLong(100000000000000000L);
+
+  private final AtomicLong httpRequests = new AtomicLong();
+
+  private final AtomicLong operations = new AtomicLong();
+
+  private final AtomicLong throttled = new AtomicLong();
+
+  private final AtomicLong injectedErrors = new AtomicLong();
+
+  private volatile long latencyMillis;
+
+  private volatile long latencyJitterMillis;
+
+  private volatile double errorRate;
+
+  private double quotaPerSecond;
+
+  private double quotaBurstSeconds = 10;
+
+  private double quotaTokens;
+
+  private long quotaRefillNanos = System.nanoTime();
+
+  /**
+   * @param port porta local (0 para qualquer porta livre).
+   * @throws IOException
+   */
+  public MockDirectoryServer(int port) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+    server.createContext("/", this);
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  /**
+   * @return URL raiz a ser informada ao cliente (AbstractDirectoryService.setRootUrl).
+   */
+  public String getRootUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+  }
+
+  /**
+   * @param latencyMillis espera fixa antes de atender cada HTTP request.
+   * @param jitterMillis espera adicional aleatória, entre 0 e 'jitterMillis'.
+   */
+  public MockDirectoryServer setLatencyMillis(long latencyMillis, long jitterMillis) {
+
+    if(latencyMillis < 0 || jitterMillis < 0) {
+      throw new IllegalArgumentException("Latência não pode ser negativa.");
+    }
+
+    this.latencyMillis = latencyMillis;
+    this.latencyJitterMillis = jitterMillis;
+    return this;
+  }
+
+  /**
+   * @param errorRate fração das operações que falham com 503 (entre 0 e 1).
+   */
+  public MockDirectoryServer setErrorRate(double errorRate) {
+
+    if(errorRate < 0 || errorRate > 1) {
+      throw new IllegalArgumentException("'errorRate' deve estar entre 0 e 1.");
+    }
+
+    this.errorRate = errorRate;
+    return this;
+  }
+
+  /**
+   * @param quotaPerSecond operações por segundo aceitas antes de responder 403
+   *        (0 para sem cota). A cota padrão da API é de 2400 por minuto, 40 por segundo.
+   */
+  public MockDirectoryServer setQuotaPerSecond(double quotaPerSecond) {
+    return setQuota(quotaPerSecond, quotaBurstSeconds);
+  }
+
+  /**
+   * @param quotaPerSecond operações por segundo aceitas antes de responder 403 (0 para sem cota).
+   * @param burstSeconds segundos de cota que podem ser acumulados e gastos de uma vez.
+   */
+  public synchronized MockDirectoryServer setQuota(double quotaPerSecond, double burstSeconds) {
+
+    if(quotaPerSecond < 0 || burstSeconds <= 0) {
+      throw new IllegalArgumentException("'quotaPerSecond' não pode ser negativa e 'burstSeconds' deve ser maior que zero.");
+    }
+
+    this.quotaPerSecond = quotaPerSecond;
+    this.quotaBurstSeconds = burstSeconds;
+    this.quotaTokens = quotaPerSecond * burstSeconds;
+    this.quotaRefillNanos = System.nanoTime();
+    return this;
+  }
+
+  /**
+   * Cadastra usuários sintéticos "user.000000@loadtest.example.com", ...
+   *
+   * @param count quantidade de usuários.
+   */
+  public MockDirectoryServer addUsers(int count) {
+
+    int first = users.size();
+
+    for(int i = first; i < first + count; i++) {
+      User user = new User()
+                    .setPrimaryEmail(String.format("user.%06d@%s", i, DOMAIN))
+                    .setName(new UserName().setGivenName("User").setFamilyName(String.valueOf(i)).setFullName("User " + i))
+                    .setOrgUnitPath(i % 10 == 0 ? "/Staff" : "/Students")
+                    .setSuspended(i % 50 == 0);
+      store(null, newStoredUser(user));
+    }
+
+    return this;
+  }
+
+  public int getUserCount() {
+    return users.size();
+  }
+
+  /**
+   * @param userKey email ou id.
+   * @return cópia do usuário ou null.
+   */
+  public User getUser(String userKey) {
+    User user = find(userKey);
+    return user == null ? null : user.clone();
+  }
+
+  public long getHttpRequestCount() {
+    return httpRequests.get();
+  }
+
+  /**
+   * @return operações atendidas, contando cada entrada de lote.
+   */
+  public long getOperationCount() {
+    return operations.get();
+  }
+
+  public long getThrottledCount() {
+    return throttled.get();
+  }
+
+  public long getInjectedErrorCount() {
+    return injectedErrors.get();
+  }
+
+  public void resetCounters() {
+    httpRequests.set(0);
+    operations.set(0);
+    throttled.set(0);
+    injectedErrors.set(0);
+  }
+
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  public void handle(HttpExchange exchange) throws IOException {
+
+    try {
+      httpRequests.incrementAndGet();
+
+      sleepLatency();
+
+      URI uri = exchange.getRequestURI();
+      String method = exchange.getRequestMethod();
+
+      String override = exchange.getRequestHeaders().getFirst("X-HTTP-Method-Override");
+      if(override != null) {
+        method = override;
+      }
+
+      byte[] body = readBody(exchange.getRequestBody(), exchange.getRequestHeaders().getFirst("Content-Encoding"));
+
+      String contentType;
+      Response response;
+
+      if(uri.getRawPath().equals("/batch") || uri.getRawPath().startsWith("/batch/")) {
+        String boundary = "batch_" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        response = handleBatch(exchange.getRequestHeaders().getFirst("Content-Type"), body, boundary);
+        contentType = response.status == 200 ? "multipart/mixed; boundary=" + boundary : "application/json; charset=UTF-8";
+      }
+      else {
+        response = dispatch(method, uri, body);
+        contentType = "application/json; charset=UTF-8";
+      }
+
+      send(exchange, response, contentType);
+    }
+    catch(RuntimeException e) {
+      logger.log(Level.WARNING, "Falha ao atender " + exchange.getRequestURI(), e);
+      send(exchange, error(500, "internalError", e.toString()), "application/json; charset=UTF-8");
+    }
+    finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Atende uma operação: cota, erro injetado e então o endpoint.
+   */
+  private Response dispatch(String method, URI uri, byte[] body) throws IOException {
+
+    operations.incrementAndGet();
+
+    if(!acquireQuota()) {
+      throttled.incrementAndGet();
+      return error(403, "userRateLimitExceeded", "User Rate Limit Exceeded");
+    }
+
+    if(errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+      injectedErrors.incrementAndGet();
+      return error(503, "backendError", "Backend Error");
+    }
+
+    String path = uri.getRawPath();
+
+    if(path.equals(USERS_PATH)) {
+      if("GET".equals(method)) {
+        return list(parseQuery(uri.getRawQuery()));
+      }
+      if("POST".equals(method)) {
+        return insert(parseUser(body));
+      }
+    }
+    else if(path.startsWith(USERS_PATH + "/")) {
+
+      String userKey = URLDecoder.decode(path.substring(USERS_PATH.length() + 1), "UTF-8");
+
+      if("GET".equals(method)) {
+        User user = find(userKey);
+        return user == null ? notFound() : json(200, user);
+      }
+      if("PUT".equals(method)) {
+        return update(userKey, parseUser(body), false);
+      }
+      if("PATCH".equals(method)) {
+        return update(userKey, parseUser(body), true);
+      }
+      if("DELETE".equals(method)) {
+        return delete(userKey);
+      }
+    }
+
+    return error(404, "notFound", "Not Found: " + method + " " + path);
+  }
+
+  private Response list(Map<String, String> params) throws IOException {
+
+    if(params.get("customer") == null && params.get("domain") == null) {
+      return error(400, "badRequest", "Bad Request: customer or domain required");
+    }
+
+    int maxResults = DEFAULT_PAGE_SIZE;
+    if(params.get("maxResults") != null) {
+      maxResults = Integer.parseInt(params.get("maxResults"));
+      if(maxResults < 1 || maxResults > MAX_PAGE_SIZE) {
+        return error(400, "invalid", "Invalid value for: maxResults");
+      }
+    }
+
+    String[] query = params.get("query") == null ? new String[0] : params.get("query").trim().split("\\s+");
+
+    /*
+     * O pageToken é o email do último usuário da página anterior.
+     */
+    String pageToken = params.get("pageToken");
+    Map<String, User> tail = pageToken == null ? users : users.tailMap(pageToken, false);
+
+    List<User> page = new ArrayList<User>(maxResults);
+    String nextPageToken = null;
+
+    for(Map.Entry<String, User> entry : tail.entrySet()) {
+      if(matches(entry.getValue(), query)) {
+        if(page.size() == maxResults) {
+          nextPageToken = page.get(page.size() - 1).getPrimaryEmail().toLowerCase();
+          break;
+        }
+        page.add(entry.getValue());
+      }
+    }
+
+    Users result = new Users().setKind("admin#directory#users").setUsers(page).setNextPageToken(nextPageToken);
+
+    return json(200, result);
+  }
+
+  private static boolean matches(User user, String[] query) {
+
+    for(String term : query) {
+
+      if(term.startsWith("email:")) {
+        String email = term.substring("email:".length()).toLowerCase();
+        boolean prefix = email.endsWith("*");
+        String value = prefix ? email.substring(0, email.length() - 1) : email;
+        String primaryEmail = user.getPrimaryEmail().toLowerCase();
+        if(prefix ? !primaryEmail.startsWith(value) : !primaryEmail.equals(value)) {
+          return false;
+        }
+      }
+      else if(term.startsWith("isSuspended=")) {
+        if(Boolean.parseBoolean(term.substring("isSuspended=".length())) != Boolean.TRUE.equals(user.getSuspended())) {
+          return false;
+        }
+      }
+      else if(term.startsWith("orgUnitPath=")) {
+        String orgUnitPath = term.substring("orgUnitPath=".length()).replace("'", "");
+        if(!orgUnitPath.equals(user.getOrgUnitPath())) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  private Response insert(User user) throws IOException {
+
+    if(user == null || user.getPrimaryEmail() == null) {
+      return error(400, "required", "Required: primaryEmail");
+    }
+
+    if(user.getName() == null || user.getName().getGivenName() == null || user.getName().getFamilyName() == null) {
+      return error(400, "required", "Required: name");
+    }
+
+    if(user.getPassword() == null) {
+      return error(400, "required", "Required: password");
+    }
+
+    User stored = newStoredUser(user);
+
+    synchronized(users) {
+      if(users.containsKey(stored.getPrimaryEmail().toLowerCase())) {
+        return error(409, "duplicate", "Entity already exists.");
+      }
+      store(null, stored);
+    }
+
+    return json(200, stored);
+  }
+
+  private Response update(String userKey, User content, boolean patch) throws IOException {
+
+    if(content == null) {
+      return error(400, "invalid", "Invalid Input");
+    }
+
+    synchronized(users) {
+
+      User current = find(userKey);
+
+      if(current == null) {
+        return notFound();
+      }
+
+      User updated;
+
+      if(patch) {
+        updated = current.clone();
+        merge(updated, content);
+      }
+      else {
+        updated = content.clone();
+        if(updated.getPrimaryEmail() == null) {
+          updated.setPrimaryEmail(current.getPrimaryEmail());
+        }
+        if(updated.getName() == null) {
+          updated.setName(current.getName());
+        }
+      }
+
+      updated.setId(current.getId())
+               .setPassword(null)
+                 .setKind(current.getKind())
+                   .setCustomerId(current.getCustomerId())
+                     .setCreationTime(current.getCreationTime())
+                       .setEtag("\"" + Long.toHexString(ThreadLocalRandom.current().nextLong()) + "\"");
+
+      String email = updated.getPrimaryEmail().toLowerCase();
+
+      if(!email.equals(current.getPrimaryEmail().toLowerCase()) && users.containsKey(email)) {
+        return error(409, "duplicate", "Entity already exists.");
+      }
+
+      store(current, updated);
+
+      return json(200, updated);
+    }
+  }
+
+  private Response delete(String userKey) throws IOException {
+
+    synchronized(users) {
+
+      User current = find(userKey);
+
+      if(current == null) {
+        return notFound();
+      }
+
+      users.remove(current.getPrimaryEmail().toLowerCase());
+      emailsById.remove(current.getId());
+    }
+
+    return new Response(204, new byte[0]);
+  }
+
+  /**
+   * Mescla os campos do patch: objetos são mesclados campo a campo, listas e
+   * valores simples são substituídos e nulos JSON removem o campo.
+   */
+  @SuppressWarnings("unchecked")
+  private static void merge(Map<String, Object> target, Map<String, Object> patch) {
+
+    for(Map.Entry<String, Object> entry : patch.entrySet()) {
+
+      Object value = entry.getValue();
+      Object current = target.get(entry.getKey());
+
+      if(Data.isNull(value)) {
+        target.put(entry.getKey(), null);
+      }
+      else if(value instanceof Map && current instanceof Map) {
+        merge((Map<String, Object>) current, (Map<String, Object>) value);
+      }
+      else {
+        target.put(entry.getKey(), value);
+      }
+    }
+  }
+
+  private User find(String userKey) {
+
+    String email = emailsById.get(userKey);
+
+    return users.get(email != null ? email : userKey.toLowerCase());
+  }
+
+  /**
+   * Guarda 'updated' no lugar de 'current' (null em inclusões). Deve ser
+   * chamado com o lock de 'users' nas alterações.
+   */
+  private void store(User current, User updated) {
+
+    if(current != null && !current.getPrimaryEmail().equalsIgnoreCase(updated.getPrimaryEmail())) {
+      users.remove(current.getPrimaryEmail().toLowerCase());
+    }
+
+    users.put(updated.getPrimaryEmail().toLowerCase(), updated);
+    emailsById.put(updated.getId(), updated.getPrimaryEmail().toLowerCase());
+  }
+
+  /**
+   * Cópia do usuário incluído com os campos atribuídos pela API.
+   */
+  private User newStoredUser(User user) {
+
+    User stored = user.clone();
+
+    stored.setId(String.valueOf(nextId.incrementAndGet()))
+            .setPassword(null)
+              .setKind("admin#directory#user")
+                .setCustomerId("C0mock000")
+                  .setCreationTime(new DateTime(System.currentTimeMillis()))
+                    .setEtag("\"" + Long.toHexString(ThreadLocalRandom.current().nextLong()) + "\"");
+
+    if(stored.getOrgUnitPath() == null) {
+      stored.setOrgUnitPath("/");
+    }
+    if(stored.getSuspended() == null) {
+      stored.setSuspended(false);
+    }
+    if(stored.getIsAdmin() == null) {
+      stored.setIsAdmin(false);
+    }
+
+    return stored;
+  }
+
+  /**
+   * Atende um lote: cada parte é um HTTP request completo, atendido como uma
+   * operação e respondido na parte correspondente da resposta multipart.
+   */
+  private Response handleBatch(String contentType, byte[] body, String responseBoundary) throws IOException {
+
+    String boundary = contentType == null ? null : parameter(contentType, "boundary");
+
+    if(boundary == null) {
+      return error(400, "badRequest", "Bad Request: multipart boundary required");
+    }
+
+    /*
+     * ISO-8859-1 mapeia cada byte em um caractere: as posições no texto são as posições nos bytes.
+     */
+    String content = new String(body, ISO_8859_1);
+    String delimiter = "--" + boundary;
+
+    List<String> parts = new ArrayList<String>();
+
+    int start = content.indexOf(delimiter);
+    while(start >= 0) {
+      int partStart = content.indexOf("\r\n", start) + 2;
+      int next = content.indexOf("\r\n" + delimiter, partStart);
+      if(partStart < 2 || content.startsWith("--", start + delimiter.length()) || next < 0) {
+        break;
+      }
+      parts.add(content.substring(partStart, next));
+      start = next + 2;
+    }
+
+    if(parts.size() > MAX_BATCH_SIZE) {
+      return error(400, "invalid", "A batch cannot contain more than " + MAX_BATCH_SIZE + " requests.");
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    for(String part : parts) {
+
+      int headersEnd = part.indexOf("\r\n\r\n");
+      Map<String, String> partHeaders = parseHeaders(part.substring(0, headersEnd));
+      String httpRequest = part.substring(headersEnd + 4);
+
+      int requestHeadersEnd = httpRequest.indexOf("\r\n\r\n");
+      if(requestHeadersEnd < 0) {
+        requestHeadersEnd = httpRequest.length();
+      }
+
+      String[] lines = httpRequest.substring(0, requestHeadersEnd).split("\r\n", 2);
+      String[] requestLine = lines[0].split(" ");
+      Map<String, String> requestHeaders = parseHeaders(lines.length > 1 ? lines[1] : "");
+
+      byte[] requestBody = requestHeadersEnd + 4 <= httpRequest.length()
+                              ? httpRequest.substring(requestHeadersEnd + 4).getBytes(ISO_8859_1) : new byte[0];
+
+      String length = requestHeaders.get("content-length");
+      if(length != null && Integer.parseInt(length) < requestBody.length) {
+        requestBody = Arrays.copyOf(requestBody, Integer.parseInt(length));
+      }
+
+      if("gzip".equalsIgnoreCase(requestHeaders.get("content-encoding"))) {
+        requestBody = readBody(new ByteArrayInputStream(requestBody), "gzip");
+      }
+
+      String method = requestHeaders.containsKey("x-http-method-override") ? requestHeaders.get("x-http-method-override") : requestLine[0];
+
+      Response response = dispatch(method, URI.create(requestLine[1]), requestBody);
+
+      String contentId = partHeaders.get("content-id");
+
+      StringBuilder head = new StringBuilder()
+                              .append(delimiter(responseBoundary)).append("\r\n")
+                              .append("Content-Type: application/http\r\n");
+      if(contentId != null) {
+        head.append("Content-ID: <response-").append(contentId.replace("<", "").replace(">", "")).append(">\r\n");
+      }
+      head.append("\r\n")
+          .append("HTTP/1.1 ").append(response.status).append(' ').append(reasonPhrase(response.status)).append("\r\n")
+          .append("Content-Type: application/json; charset=UTF-8\r\n")
+          .append("Content-Length: ").append(response.body.length).append("\r\n\r\n");
+
+      out.write(head.toString().getBytes(ISO_8859_1));
+      out.write(response.body);
+      out.write("\r\n".getBytes(ISO_8859_1));
+    }
+
+    out.write((delimiter(responseBoundary) + "--\r\n").getBytes(ISO_8859_1));
+
+    return new Response(200, out.toByteArray());
+  }
+
+  private static String delimiter(String boundary) {
+    return "--" + boundary;
+  }
+
+  private static Map<String, String> parseHeaders(String headers) {
+
+    Map<String, String> result = new HashMap<String, String>();
+
+    for(String line : headers.split("\r\n")) {
+      int colon = line.indexOf(':');
+      if(colon > 0) {
+        result.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+      }
+    }
+
+    return result;
+  }
+
+  private static String parameter(String headerValue, String name) {
+
+    for(String token : headerValue.split(";")) {
+      String[] pair = token.trim().split("=", 2);
+      if(pair.length == 2 && pair[0].equalsIgnoreCase(name)) {
+        return pair[1].replace("\"", "");
+      }
+    }
+
+    return null;
+  }
+
+  private static Map<String, String> parseQuery(String rawQuery) throws IOException {
+
+    if(rawQuery == null || rawQuery.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, String> params = new HashMap<String, String>();
+
+    for(String pair : rawQuery.split("&")) {
+      String[] keyValue = pair.split("=", 2);
+      params.put(URLDecoder.decode(keyValue[0], "UTF-8"), keyValue.length > 1 ? URLDecoder.decode(keyValue[1], "UTF-8") : "");
+    }
+
+    return params;
+  }
+
+  private static User parseUser(byte[] body) throws IOException {
+    return body.length == 0 ? null : JSON_FACTORY.fromInputStream(new ByteArrayInputStream(body), UTF_8, User.class);
+  }
+
+  private static byte[] readBody(InputStream in, String contentEncoding) throws IOException {
+
+    if("gzip".equalsIgnoreCase(contentEncoding)) {
+      in = new GZIPInputStream(in);
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+
+    try {
+      for(int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+        out.write(buffer, 0, read);
+      }
+    }
+    finally {
+      in.close();
+    }
+
+    return out.toByteArray();
+  }
+
+  private void send(HttpExchange exchange, Response response, String contentType) throws IOException {
+
+    byte[] body = response.body;
+
+    String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+
+    if(body.length > 0 && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      GZIPOutputStream gzip = new GZIPOutputStream(buffer);
+      gzip.write(body);
+      gzip.close();
+      body = buffer.toByteArray();
+      exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+    }
+
+    if(body.length > 0) {
+      exchange.getResponseHeaders().set("Content-Type", contentType);
+    }
+
+    exchange.sendResponseHeaders(response.status, body.length == 0 ? -1 : body.length);
+
+    if(body.length > 0) {
+      OutputStream out = exchange.getResponseBody();
+      out.write(body);
+      out.close();
+    }
+  }
+
+  private void sleepLatency() {
+
+    long millis = latencyMillis + (latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1) : 0);
+
+    if(millis > 0) {
+      try {
+        Thread.sleep(millis);
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private synchronized boolean acquireQuota() {
+
+    if(quotaPerSecond <= 0) {
+      return true;
+    }
+
+    long now = System.nanoTime();
+    quotaTokens = Math.min(quotaPerSecond * quotaBurstSeconds, quotaTokens + (now - quotaRefillNanos) / 1e9 * quotaPerSecond);
+    quotaRefillNanos = now;
+
+    if(quotaTokens < 1) {
+      return false;
+    }
+
+    quotaTokens--;
+    return true;
+  }
+
+  private static Response json(int status, Object content) throws IOException {
+    return new Response(status, JSON_FACTORY.toByteArray(content));
+  }
+
+  private static Response notFound() throws IOException {
+    return error(404, "notFound", "Resource Not Found: userKey");
+  }
+
+  private static Response error(int status, String reason, String message) throws IOException {
+
+    GoogleJsonError.ErrorInfo info = new GoogleJsonError.ErrorInfo();
+    info.setDomain(status == 403 ? "usageLimits" : "global");
+    info.setReason(reason);
+    info.setMessage(message);
+
+    GoogleJsonError error = new GoogleJsonError();
+    error.setCode(status);
+    error.setMessage(message);
+    error.setErrors(Arrays.asList(info));
+
+    GoogleJsonErrorContainer container = new GoogleJsonErrorContainer();
+    container.setError(error);
+
+    return json(status, container);
+  }
+
+  private static String reasonPhrase(int status) {
+    switch(status) {
+      case 200: return "OK";
+      case 204: return "No Content";
+      case 400: return "Bad Request";
+      case 403: return "Forbidden";
+      case 404: return "Not Found";
+      case 409: return "Conflict";
+      case 503: return "Service Unavailable";
+      default: return "Error";
+    }
+  }
+
+  /**
+   * Resposta de uma operação: status e corpo JSON.
+   */
+  private static class Response {
+
+    private final int status;
+
+    private final byte[] body;
+
+    Response(int status, byte[] body) {
+      this.status = status;
+      this.body = body;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+    int userCount = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+    long latency = args.length > 2 ? Long.parseLong(args[2]) : 20;
+    double errors = args.length > 3 ? Double.parseDouble(args[3]) : 0;
+    double quota = args.length > 4 ? Double.parseDouble(args[4]) : 40;
+
+    MockDirectoryServer server = new MockDirectoryServer(port)
+                                    .addUsers(userCount)
+                                      .setLatencyMillis(latency, latency / 2)
+                                        .setErrorRate(errors)
+                                          .setQuotaPerSecond(quota);
+
+    System.out.println(String.format("Directory API simulada em %s (%d usuários, latência %d ms, erros %.1f%%, cota %.0f/s)",
+            server.getRootUrl(), userCount, latency, errors * 100, quota));
+    System.out.println(String.format("Aponte o cliente com -D%s=%s", AbstractDirectoryService.ROOT_URL_ENV, server.getRootUrl()));
+  }
+
+}
@@ -0,0 +1,60 @@
+package br.com.webnize.googleapis.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.api.client.json.JsonObjectParser;
+import com.google.api.services.admin.directory.model.Users;
+
+/**
+ * Leitura de uma página de users.list com o {@link JsonObjectParser} que o
+ * cliente utiliza nas respostas, para páginas de vários tamanhos (500 é o
+ * máximo da API), completas ou projetadas por 'fields'.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UsersPageParseBenchmark {
+
+  @Param({"1", "100", "500"})
+  public int pageSize;
+
+  @Param({"false", "true"})
+  public boolean projected;
+
+  private JsonObjectParser parser;
+
+  private byte[] page;
+
+  @Setup
+  public void setUp() throws IOException {
+    parser = new JsonObjectParser(BenchmarkFixtures.JSON_FACTORY);
+    page = BenchmarkFixtures.usersPage(pageSize, 0, "next-page", projected);
+  }
+
+  @Benchmark
+  public Users parsePage() throws IOException {
+    return parser.parseAndClose(new ByteArrayInputStream(page), BenchmarkFixtures.UTF_8, Users.class);
+  }
+
+}
@@ -14,8 +14,8 @@ import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.extensions.java6.auth.oauth2.AuthorizationCodeInstalledApp;
 import com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
+import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
 import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
 import com.google.api.client.http.HttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.jackson2.JacksonFactory;
@@ -23,6 +23,13 @@ import com.google.api.client.util.store.FileDataStoreFactory;
 import com.google.api.services.admin.directory.Directory;
 import com.google.api.services.admin.directory.DirectoryScopes;
 
+import br.com.webnize.googleapis.admin.directory.metrics.DirectoryMetrics;
+import br.com.webnize.googleapis.admin.directory.tenant.DirectoryClientRegistry;
+import br.com.webnize.googleapis.admin.directory.tenant.ServiceAccountTenantCredentialProvider;
+import br.com.webnize.googleapis.admin.directory.transport.HttpTransportFactory;
+import br.com.webnize.googleapis.admin.directory.transport.NetHttpTransportFactory;
+import br.com.webnize.googleapis.admin.directory.transport.PooledHttpTransportFactory;
+
 /**
  * Abstração de cliente da Google Admin Directory API.
  *
@@ -30,6 +37,25 @@ import com.google.api.services.admin.directory.DirectoryScopes;
  * um serviço {@link com.google.api.services.admin.directory.Directory} com a
  * autorização necessária.
  *
+ * Nada é feito no carregamento da classe: transporte, data store e credencial
+ * são criados no primeiro uso. A credencial é obtida, nesta ordem:
+ *
+ *<pre>
+ * 1. da credencial informada em {@link #setCredential(Credential)};
+ * 2. de uma conta de serviço com delegação em todo o domínio, se as variáveis
+ *    de ambiente (ou propriedades de sistema) GOOGLE_APPLICATION_CREDENTIALS e
+ *    DIRECTORY_ADMIN_USER estiverem definidas;
+ * 3. das credenciais salvas em <code>DATA_STORE_DIR</code> por uma autorização anterior;
+ * 4. do fluxo interativo OAuth2 (navegador), a menos que desabilitado por
+ *    {@link #setInteractiveAuthorization(boolean)}.
+ * </pre>
+ *
+ * Enquanto houver clientes, o access token é renovado em segundo plano pelo
+ * {@link TokenRefresher} antes de expirar.
+ *
+ * Esta classe atende a um único domínio. Para vários clientes (tenants) no
+ * mesmo processo utilize o {@link DirectoryClientRegistry}.
+ *
  * @see {@link DirectoryScopes}
  *
  * @see https://developers.google.com/admin-sdk/directory
@@ -48,7 +74,7 @@ public abstract class AbstractDirectoryService {
   /**
    * Nome da Aplicação.
    */
-  private static final String APPLICATION_NAME = "Webnize - Google Admin SDK";
+  public static final String APPLICATION_NAME = "Webnize - Google Admin SDK";
 
   /**
    * Diretório para guardar as "user credentials" para esta aplicação.
@@ -58,17 +84,60 @@ public abstract class AbstractDirectoryService {
                            ".credentials/googleapis-admin-sdk-v1.json");
 
   /**
-   * Instancia global de {@link FileDataStoreFactory}.
+   * Instancia global de {@link FileDataStoreFactory}, criada no primeiro uso.
    */
   private static FileDataStoreFactory DATA_STORE_FACTORY;
 
+  /**
+   * Variável de ambiente (ou propriedade de sistema) com o caminho do JSON da conta de serviço.
+   */
+  public static final String SERVICE_ACCOUNT_ENV = "GOOGLE_APPLICATION_CREDENTIALS";
+
+  /**
+   * Variável de ambiente (ou propriedade de sistema) com o email do administrador
+   * personificado pela conta de serviço.
+   */
+  public static final String ADMIN_USER_ENV = "DIRECTORY_ADMIN_USER";
+
+  /**
+   * Variável de ambiente (ou propriedade de sistema) com a URL raiz da API, por
+   * exemplo de um servidor local de testes de carga.
+   */
+  public static final String ROOT_URL_ENV = "DIRECTORY_ROOT_URL";
+
+  /**
+   * Credencial compartilhada pelos clientes criados por esta classe.
+   */
+  private static Credential CREDENTIAL;
+
+  /**
+   * Renovador em segundo plano da {@link #CREDENTIAL}.
+   */
+  private static TokenRefresher TOKEN_REFRESHER;
+
+  /**
+   * Permite recorrer ao fluxo interativo (navegador) quando não houver outra credencial.
+   */
+  private static boolean INTERACTIVE_AUTHORIZATION = true;
+
+  /**
+   * URL raiz da API definida em {@link #setRootUrl(String)}.
+   */
+  private static String ROOT_URL;
+
   /**
    * Instancia global de JSON factory.
    */
   private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
 
   /**
-   * Instancia global de HTTP transport.
+   * Fábrica do HTTP transport, com timeouts e compressão.
+   */
+  private static HttpTransportFactory TRANSPORT_FACTORY = new NetHttpTransportFactory();
+
+  /**
+   * Instancia global de HTTP transport, criada pela {@link #TRANSPORT_FACTORY}
+   * no primeiro uso.
    */
   private static HttpTransport HTTP_TRANSPORT;
 
@@ -81,16 +150,13 @@ public abstract class AbstractDirectoryService {
    */
   protected static List<String> SCOPES = new ArrayList<String>();
 
-  static {
-    try {
-      HTTP_TRANSPORT = GoogleNetHttpTransport.newTrustedTransport();
-      DATA_STORE_FACTORY = new FileDataStoreFactory(DATA_STORE_DIR);
-    }
-    catch(Throwable t) {
-      t.printStackTrace();
-      System.exit(1);
-    }
-  }
+  /**
+   * Instancia global do limitador de taxa compartilhado por todas as chamadas
+   * dos clientes criados por esta classe.
+   */
+  private static final AdaptiveRateLimiter RATE_LIMITER = new AdaptiveRateLimiter(AdaptiveRateLimiter.DEFAULT_INITIAL_RATE,
+                                                                                   AdaptiveRateLimiter.DEFAULT_MIN_RATE,
+                                                                                   AdaptiveRateLimiter.DEFAULT_MAX_RATE);
 
   /**
    * Cria um objeto Credential autorizado utilizando o cadastro
@@ -121,8 +187,8 @@ public abstract class AbstractDirectoryService {
      */
     GoogleAuthorizationCodeFlow flow =
             new GoogleAuthorizationCodeFlow
-              .Builder(HTTP_TRANSPORT, JSON_FACTORY, clientSecrets, SCOPES)
-                .setDataStoreFactory(DATA_STORE_FACTORY)
+              .Builder(getHttpTransport(), JSON_FACTORY, clientSecrets, SCOPES)
+                .setDataStoreFactory(getDataStoreFactory())
                   .setAccessType("offline")
                     .build();
 
@@ -133,6 +199,235 @@ public abstract class AbstractDirectoryService {
     return credential;
   }
 
+  /**
+   * Carrega as credenciais salvas em <code>DATA_STORE_DIR</code> por uma
+   * autorização anterior, sem interação com o usuário.
+   *
+   * @return credencial salva ou null se não houver.
+   * @throws IOException
+   */
+  protected static Credential loadStoredCredential() throws IOException {
+
+    if(!new File(DATA_STORE_DIR, "StoredCredential").exists()) {
+      return null;
+    }
+
+    InputStream in = AbstractDirectoryService.class.getResourceAsStream("/client_secret.json");
+
+    if(in == null){
+      in = getResourceAsStreamFromFileSystem();
+    }
+
+    GoogleClientSecrets clientSecrets = GoogleClientSecrets.load(JSON_FACTORY, new InputStreamReader(in));
+
+    Credential credential =
+            new GoogleAuthorizationCodeFlow
+              .Builder(getHttpTransport(), JSON_FACTORY, clientSecrets, SCOPES)
+                .setDataStoreFactory(getDataStoreFactory())
+                  .setAccessType("offline")
+                    .build()
+                      .loadCredential("user");
+
+    return credential != null && credential.getRefreshToken() != null ? credential : null;
+  }
+
+  /**
+   * Cria a credencial de uma conta de serviço com delegação em todo o domínio,
+   * personificando o administrador 'adminUser'. Nenhuma interação é necessária.
+   *
+   * @param serviceAccountJson JSON da chave da conta de serviço.
+   * @param adminUser email do administrador personificado.
+   * @return credencial da conta de serviço.
+   * @throws IOException
+   */
+  public static Credential serviceAccountCredential(InputStream serviceAccountJson, String adminUser) throws IOException {
+
+    if(SCOPES == null || SCOPES.isEmpty()){
+      throw new RuntimeException("Lista de 'scopes' está vazia.");
+    }
+
+    GoogleCredential key = GoogleCredential.fromStream(serviceAccountJson, getHttpTransport(), JSON_FACTORY);
+
+    return ServiceAccountTenantCredentialProvider.newDelegatedCredential(key, getHttpTransport(), JSON_FACTORY, SCOPES, adminUser);
+  }
+
+  /**
+   * Define a credencial dos clientes criados a partir de então, substituindo a
+   * anterior e sua renovação em segundo plano.
+   *
+   * @param credential credencial já autorizada.
+   */
+  public static synchronized void setCredential(Credential credential) {
+
+    if(TOKEN_REFRESHER != null) {
+      TOKEN_REFRESHER.stop();
+      TOKEN_REFRESHER = null;
+    }
+
+    CREDENTIAL = credential;
+
+    if(credential != null) {
+      TOKEN_REFRESHER = new TokenRefresher(credential).start();
+    }
+  }
+
+  /**
+   * @param interactive permite recorrer ao fluxo interativo (navegador) quando
+   *        não houver outra credencial. Desabilite em processos em lote.
+   */
+  public static synchronized void setInteractiveAuthorization(boolean interactive) {
+    INTERACTIVE_AUTHORIZATION = interactive;
+  }
+
+  /**
+   * Devolve a credencial compartilhada, obtendo-a no primeiro uso (ver a
+   * ordem de busca na documentação da classe).
+   *
+   * @return credencial autorizada.
+   * @throws IOException se nenhuma credencial puder ser obtida.
+   */
+  protected static synchronized Credential getCredential() throws IOException {
+
+    if(CREDENTIAL != null) {
+      return CREDENTIAL;
+    }
+
+    Credential credential = null;
+
+    String serviceAccountPath = getSetting(SERVICE_ACCOUNT_ENV);
+    String adminUser = getSetting(ADMIN_USER_ENV);
+
+    if(serviceAccountPath != null && adminUser != null) {
+      InputStream in = new FileInputStream(serviceAccountPath);
+      try {
+        credential = serviceAccountCredential(in, adminUser);
+      }
+      finally {
+        in.close();
+      }
+      logger.info(String.format("Utilizando conta de serviço de %s em nome de %s.", serviceAccountPath, adminUser));
+    }
+
+    if(credential == null) {
+      credential = loadStoredCredential();
+    }
+
+    if(credential == null) {
+      if(!INTERACTIVE_AUTHORIZATION) {
+        throw new IOException(String.format("Nenhuma credencial disponível: defina %s e %s ou execute a autorização interativa antes.",
+                SERVICE_ACCOUNT_ENV, ADMIN_USER_ENV));
+      }
+      credential = authorize();
+    }
+
+    setCredential(credential);
+
+    return credential;
+  }
+
+  /**
+   * Lê uma configuração da propriedade de sistema ou, se ausente, da variável de ambiente.
+   */
+  private static String getSetting(String name) {
+
+    String value = System.getProperty(name);
+
+    if(value == null || "".equals(value)) {
+      value = System.getenv(name);
+    }
+
+    return value == null || "".equals(value) ? null : value;
+  }
+
+  /**
+   * Devolve o data store das credenciais, criando-o no primeiro uso.
+   *
+   * @return data store em <code>DATA_STORE_DIR</code>.
+   * @throws IOException
+   */
+  private static synchronized FileDataStoreFactory getDataStoreFactory() throws IOException {
+    if(DATA_STORE_FACTORY == null) {
+      DATA_STORE_FACTORY = new FileDataStoreFactory(DATA_STORE_DIR);
+    }
+    return DATA_STORE_FACTORY;
+  }
+
+  /**
+   * Devolve o limitador de taxa compartilhado pelos clientes criados por esta classe.
+   *
+   * @return limitador de taxa.
+   */
+  public static AdaptiveRateLimiter getRateLimiter() {
+    return RATE_LIMITER;
+  }
+
+  /**
+   * Devolve as métricas das chamadas dos clientes criados por esta classe,
+   * registradas como MBeans no primeiro cliente criado.
+   *
+   * @return métricas das chamadas.
+   */
+  public static DirectoryMetrics getMetrics() {
+    return DirectoryMetrics.getDefault();
+  }
+
+  /**
+   * Substitui a fábrica do HTTP transport, por exemplo por um
+   * {@link PooledHttpTransportFactory}. Vale para os clientes criados a partir
+   * de então; os já criados continuam com o transporte anterior.
+   *
+   * @param transportFactory fábrica do HTTP transport.
+   */
+  public static synchronized void setTransportFactory(HttpTransportFactory transportFactory) {
+    TRANSPORT_FACTORY = transportFactory;
+    HTTP_TRANSPORT = null;
+  }
+
+  /**
+   * @return fábrica do HTTP transport em uso.
+   */
+  public static synchronized HttpTransportFactory getTransportFactory() {
+    return TRANSPORT_FACTORY;
+  }
+
+  /**
+   * Aponta os clientes criados a partir de então para outra URL raiz, por
+   * exemplo a de um servidor local que simula a Directory API.
+   *
+   * @param rootUrl URL raiz (null para a padrão ou a de DIRECTORY_ROOT_URL).
+   */
+  public static synchronized void setRootUrl(String rootUrl) {
+    ROOT_URL = rootUrl;
+  }
+
+  /**
+   * @return URL raiz em uso: a definida em {@link #setRootUrl(String)}, a de
+   *         DIRECTORY_ROOT_URL ou a da Directory API.
+   */
+  public static synchronized String getRootUrl() {
+
+    if(ROOT_URL != null) {
+      return ROOT_URL;
+    }
+
+    String rootUrl = getSetting(ROOT_URL_ENV);
+
+    return rootUrl != null ? rootUrl : Directory.DEFAULT_ROOT_URL;
+  }
+
+  /**
+   * Devolve o HTTP transport compartilhado, criando-o no primeiro uso.
+   *
+   * @return HTTP transport.
+   * @throws IOException
+   */
+  protected static synchronized HttpTransport getHttpTransport() throws IOException {
+    if(HTTP_TRANSPORT == null) {
+      HTTP_TRANSPORT = TRANSPORT_FACTORY.newTransport();
+    }
+    return HTTP_TRANSPORT;
+  }
+
   /**
    * Busca pelo arquivo client_secret.json no diretório corrente ou no
    * diretório informado pela variável ambiente CLIENT_SECRET_JSON_PATH.
@@ -175,12 +470,9 @@ public abstract class AbstractDirectoryService {
    */
   protected static Directory getDirectoryService() throws IOException {
 
-    Credential credential = authorize();
+    Credential credential = getCredential();
 
-    return new Directory
-            .Builder(HTTP_TRANSPORT, JSON_FACTORY, credential)
-              .setApplicationName(APPLICATION_NAME)
-                .build();
+    return getDirectoryService(credential);
   }
 
   /**
@@ -189,15 +481,26 @@ public abstract class AbstractDirectoryService {
    *
    * Este método pode ser utilizado quando o uso da API não for por linha de comando.
    *
+   * As chamadas do cliente passam pelo {@link DirectoryThrottle} com o limitador de
+   * taxa compartilhado e utilizam o transporte, os timeouts e a compressão da
+   * {@link HttpTransportFactory} em uso, e são medidas em {@link #getMetrics()}.
+   * O cliente acessa a URL raiz de {@link #getRootUrl()}.
+   *
    * @return Directory client service autorizado
    * @throws IOException
    */
   protected static Directory getDirectoryService(Credential credential) throws IOException {
 
+    HttpTransportFactory transportFactory = getTransportFactory();
+
+    getMetrics().registerMBeans();
+
     return new Directory
-            .Builder(HTTP_TRANSPORT, JSON_FACTORY, credential)
-              .setApplicationName(APPLICATION_NAME)
-                .build();
+            .Builder(getHttpTransport(), JSON_FACTORY,
+                     new DirectoryThrottle(transportFactory.wrap(credential), RATE_LIMITER).setMetrics(getMetrics()))
+              .setRootUrl(getRootUrl())
+                .setApplicationName(APPLICATION_NAME)
+                  .build();
   }
 
 }
@@ -0,0 +1,177 @@
+package br.com.webnize.googleapis.admin.directory;
+
+import java.io.InterruptedIOException;
+import java.util.logging.Logger;
+
+/**
+ * Limitador de taxa do tipo 'token bucket' com taxa adaptativa (AIMD).
+ *
+ * Cada chamada à Directory API consome uma permissão. A taxa cresce de forma
+ * aditiva enquanto não há erros de cota e cai de forma multiplicativa a cada
+ * erro de cota observado (no máximo uma redução por intervalo de ajuste, para
+ * que uma rajada de 429 causada pela mesma sobrecarga não derrube a taxa a zero).
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class AdaptiveRateLimiter {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(AdaptiveRateLimiter.class.getName());
+
+  /**
+   * Intervalo mínimo entre dois ajustes de taxa.
+   */
+  private static final long ADJUST_INTERVAL_MILLIS = 1000;
+
+  /**
+   * Taxa inicial padrão, em chamadas por segundo.
+   */
+  public static final double DEFAULT_INITIAL_RATE = 10;
+
+  /**
+   * Taxa mínima padrão, em chamadas por segundo.
+   */
+  public static final double DEFAULT_MIN_RATE = 1;
+
+  /**
+   * Taxa máxima padrão, em chamadas por segundo, de acordo com a cota padrão
+   * da Directory API (2400 chamadas por minuto).
+   */
+  public static final double DEFAULT_MAX_RATE = 40;
+
+  private final double minRate;
+
+  private final double maxRate;
+
+  private final double increaseStep;
+
+  private final double decreaseFactor;
+
+  private double rate;
+
+  private double tokens;
+
+  private long lastRefillNanos;
+
+  private long lastIncreaseMillis;
+
+  private long lastDecreaseMillis;
+
+  /**
+   * @param initialRate taxa inicial em chamadas por segundo.
+   * @param minRate taxa mínima em chamadas por segundo.
+   * @param maxRate taxa máxima em chamadas por segundo.
+   */
+  public AdaptiveRateLimiter(double initialRate, double minRate, double maxRate) {
+    this(initialRate, minRate, maxRate, 1.0, 0.5);
+  }
+
+  /**
+   * @param initialRate taxa inicial em chamadas por segundo.
+   * @param minRate taxa mínima em chamadas por segundo.
+   * @param maxRate taxa máxima em chamadas por segundo.
+   * @param increaseStep aumento aditivo da taxa por segundo sem erros de cota.
+   * @param decreaseFactor fator multiplicativo aplicado à taxa a cada erro de cota (entre 0 e 1).
+   */
+  public AdaptiveRateLimiter(double initialRate, double minRate, double maxRate, double increaseStep, double decreaseFactor) {
+
+    if(minRate <= 0 || minRate > maxRate || initialRate < minRate || initialRate > maxRate) {
+      throw new IllegalArgumentException("Taxas devem obedecer 0 < minRate <= initialRate <= maxRate.");
+    }
+
+    if(decreaseFactor <= 0 || decreaseFactor >= 1) {
+      throw new IllegalArgumentException("'decreaseFactor' deve estar entre 0 e 1.");
+    }
+
+    this.minRate = minRate;
+    this.maxRate = maxRate;
+    this.increaseStep = increaseStep;
+    this.decreaseFactor = decreaseFactor;
+    this.rate = initialRate;
+    this.tokens = initialRate;
+    this.lastRefillNanos = System.nanoTime();
+  }
+
+  /**
+   * Aguarda até que 'permits' permissões estejam disponíveis e as consome.
+   *
+   * As permissões são reservadas imediatamente, de forma que chamadores
+   * concorrentes são atendidos em ordem de chegada.
+   *
+   * @param permits quantidade de chamadas.
+   * @throws InterruptedIOException se a thread for interrompida durante a espera.
+   */
+  public void acquire(int permits) throws InterruptedIOException {
+
+    long waitNanos;
+
+    synchronized(this) {
+      refill();
+      tokens -= permits;
+      waitNanos = tokens >= 0 ? 0 : (long) (-tokens / rate * 1e9);
+    }
+
+    if(waitNanos > 0) {
+      try {
+        Thread.sleep(waitNanos / 1000000, (int) (waitNanos % 1000000));
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Espera por permissão de chamada interrompida.");
+      }
+    }
+  }
+
+  /**
+   * Registra uma chamada bem sucedida, aumentando a taxa de forma aditiva.
+   */
+  public synchronized void onSuccess() {
+
+    long now = System.currentTimeMillis();
+
+    if(now - lastIncreaseMillis >= ADJUST_INTERVAL_MILLIS && now - lastDecreaseMillis >= ADJUST_INTERVAL_MILLIS) {
+      refill();
+      rate = Math.min(maxRate, rate + increaseStep);
+      lastIncreaseMillis = now;
+    }
+  }
+
+  /**
+   * Registra um erro de cota (403 'rateLimitExceeded', 429) ou sobrecarga (503),
+   * reduzindo a taxa de forma multiplicativa.
+   */
+  public synchronized void onThrottle() {
+
+    long now = System.currentTimeMillis();
+
+    if(now - lastDecreaseMillis >= ADJUST_INTERVAL_MILLIS) {
+      refill();
+      rate = Math.max(minRate, rate * decreaseFactor);
+      tokens = Math.min(tokens, 0);
+      lastDecreaseMillis = now;
+      logger.info(String.format("Limite de cota atingido, taxa reduzida para %.1f chamadas/s.", rate));
+    }
+  }
+
+  /**
+   * @return taxa atual em chamadas por segundo.
+   */
+  public synchronized double getRate() {
+    return rate;
+  }
+
+  /**
+   * Acumula as permissões geradas desde o último abastecimento, limitadas a
+   * um segundo de rajada.
+   */
+  private void refill() {
+    long now = System.nanoTime();
+    tokens = Math.min(Math.max(rate, 1), tokens + (now - lastRefillNanos) / 1e9 * rate);
+    lastRefillNanos = now;
+  }
+
+}
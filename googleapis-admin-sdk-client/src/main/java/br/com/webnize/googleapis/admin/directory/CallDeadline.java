@@ -0,0 +1,53 @@
+package br.com.webnize.googleapis.admin.directory;
+
+/**
+ * Prazo das chamadas à Directory API feitas pela thread corrente.
+ *
+ * Enquanto definido, o {@link DirectoryThrottle} limita os timeouts de
+ * conexão e leitura de cada HTTP request ao tempo restante e recusa novas
+ * tentativas (reenvios inclusive) depois do prazo.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public final class CallDeadline {
+
+  private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<Long>();
+
+  private CallDeadline() {
+  }
+
+  /**
+   * Define o prazo das chamadas da thread corrente.
+   *
+   * @param deadlineMillis instante limite, em milissegundos desde a época.
+   */
+  public static void set(long deadlineMillis) {
+    DEADLINE.set(deadlineMillis);
+  }
+
+  /**
+   * Remove o prazo das chamadas da thread corrente.
+   */
+  public static void clear() {
+    DEADLINE.remove();
+  }
+
+  /**
+   * @return prazo das chamadas da thread corrente, ou null se não definido.
+   */
+  public static Long current() {
+    return DEADLINE.get();
+  }
+
+  /**
+   * @return milissegundos restantes até o prazo (negativo se esgotado), ou
+   *         {@link Long#MAX_VALUE} se não houver prazo definido.
+   */
+  public static long remainingMillis() {
+    Long deadline = DEADLINE.get();
+    return deadline == null ? Long.MAX_VALUE : deadline - System.currentTimeMillis();
+  }
+
+}
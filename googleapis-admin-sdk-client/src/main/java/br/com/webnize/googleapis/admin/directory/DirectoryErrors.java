@@ -0,0 +1,129 @@
+package br.com.webnize.googleapis.admin.directory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonError.ErrorInfo;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpResponseException;
+
+/**
+ * Classificação dos erros devolvidos pela Directory API.
+ *
+ * Centraliza a decisão de quais falhas são transitórias (cota, sobrecarga do
+ * servidor) e podem ser reenviadas, e quais são definitivas (dados inválidos,
+ * usuário existente, permissão negada).
+ *
+ * @see https://developers.google.com/admin-sdk/directory/v1/limits
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public final class DirectoryErrors {
+
+  /**
+   * Motivos ('reason') de erro 403 que indicam estouro de cota e não falta de permissão.
+   */
+  private static final List<String> QUOTA_REASONS =
+          Arrays.asList("userRateLimitExceeded", "rateLimitExceeded", "quotaExceeded");
+
+  private DirectoryErrors() {
+  }
+
+  /**
+   * Indica se o status HTTP é de uma falha transitória (429 ou 5xx).
+   *
+   * @param statusCode status HTTP.
+   * @return true se a requisição pode ser reenviada.
+   */
+  public static boolean isRetryableStatus(int statusCode) {
+    return statusCode == 429 || statusCode == 500 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+  }
+
+  /**
+   * Indica se o status HTTP pede redução da taxa de chamadas: 429 (cota) ou
+   * 503 (sobrecarga). Os demais 5xx são falhas transitórias do servidor, que
+   * são reenviadas mas não indicam excesso de chamadas.
+   *
+   * @param statusCode status HTTP.
+   * @return true se a taxa de chamadas deve ser reduzida.
+   */
+  public static boolean isThrottleStatus(int statusCode) {
+    return statusCode == 429 || statusCode == 503;
+  }
+
+  /**
+   * Indica se o erro pede redução da taxa de chamadas: estouro de cota
+   * ({@link #isQuotaError(GoogleJsonError)}) ou 503.
+   *
+   * @param error erro devolvido pela API.
+   * @return true se a taxa de chamadas deve ser reduzida.
+   */
+  public static boolean isThrottleError(GoogleJsonError error) {
+    return error != null && (error.getCode() == 503 || isQuotaError(error));
+  }
+
+  /**
+   * Indica se o erro é um estouro de cota, seja 429 ou 403 com motivo de limite de taxa.
+   *
+   * @param error erro devolvido pela API.
+   * @return true se o erro indica estouro de cota.
+   */
+  public static boolean isQuotaError(GoogleJsonError error) {
+
+    if(error == null) {
+      return false;
+    }
+
+    if(error.getCode() == 429) {
+      return true;
+    }
+
+    if(error.getCode() == 403 && error.getErrors() != null) {
+      for(ErrorInfo info : error.getErrors()) {
+        if(QUOTA_REASONS.contains(info.getReason())) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Indica se o erro é transitório e a operação pode ser reenviada.
+   *
+   * @param error erro devolvido pela API.
+   * @return true se a operação pode ser reenviada.
+   */
+  public static boolean isRetryable(GoogleJsonError error) {
+    return error != null && (isRetryableStatus(error.getCode()) || isQuotaError(error));
+  }
+
+  /**
+   * Indica se a falha de uma chamada é transitória: erro HTTP de cota ou 5xx,
+   * ou falha de rede sem resposta HTTP. Interrupções e prazos esgotados
+   * ({@link InterruptedIOException}, incluindo os timeouts) não são.
+   *
+   * @param e falha da chamada.
+   * @return true se a chamada pode ser reenviada.
+   */
+  public static boolean isRetryable(IOException e) {
+
+    if(e instanceof GoogleJsonResponseException) {
+      GoogleJsonResponseException response = (GoogleJsonResponseException) e;
+      return isRetryableStatus(response.getStatusCode()) || isQuotaError(response.getDetails());
+    }
+
+    if(e instanceof HttpResponseException) {
+      return isRetryableStatus(((HttpResponseException) e).getStatusCode());
+    }
+
+    return !(e instanceof InterruptedIOException);
+  }
+
+}
@@ -0,0 +1,347 @@
+package br.com.webnize.googleapis.admin.directory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.googleapis.services.AbstractGoogleClient;
+import com.google.api.client.googleapis.services.AbstractGoogleClientRequest;
+import com.google.api.client.http.HttpBackOffIOExceptionHandler;
+import com.google.api.client.http.HttpBackOffUnsuccessfulResponseHandler;
+import com.google.api.client.http.HttpExecuteInterceptor;
+import com.google.api.client.http.HttpIOExceptionHandler;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpResponseInterceptor;
+import com.google.api.client.http.HttpUnsuccessfulResponseHandler;
+import com.google.api.client.http.MultipartContent;
+import com.google.api.client.util.BackOff;
+import com.google.api.client.util.BackOffUtils;
+import com.google.api.client.util.ExponentialBackOff;
+import com.google.api.client.util.Sleeper;
+
+import br.com.webnize.googleapis.admin.directory.metrics.DirectoryMetrics;
+
+/**
+ * Controle de vazão das chamadas de um cliente da Directory API.
+ *
+ * Instalado como {@link HttpRequestInitializer} do cliente, envolvendo a
+ * credencial, faz com que toda chamada, inclusive cada entrada de um
+ * BatchRequest, consuma uma permissão do {@link AdaptiveRateLimiter}
+ * compartilhado, e que respostas 429/5xx sejam reenviadas com espera
+ * exponencial e jitter.
+ *
+ * Com um {@link CallDeadline} definido na thread, os timeouts de cada HTTP
+ * request são limitados ao tempo restante e nenhuma tentativa é feita depois
+ * do prazo. Uma thread interrompida também não inicia novas tentativas.
+ *
+ * Erros 403 de cota só podem ser distinguidos de 403 de permissão pelo corpo
+ * da resposta, por isso são tratados em {@link #execute(AbstractGoogleClientRequest)}.
+ *
+ * Com {@link DirectoryMetrics} definidas, cada chamada tem medidos latência,
+ * status final, reenvios e bytes trafegados.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DirectoryThrottle implements HttpRequestInitializer {
+
+  /**
+   * Quantidade máxima de reenvios de uma chamada com erro 403 de cota.
+   */
+  private static final int MAX_QUOTA_RETRIES = 5;
+
+  private final HttpRequestInitializer delegate;
+
+  private final AdaptiveRateLimiter rateLimiter;
+
+  private Sleeper sleeper = Sleeper.DEFAULT;
+
+  private volatile DirectoryMetrics metrics;
+
+  private volatile long lastActivityMillis = System.currentTimeMillis();
+
+  /**
+   * Medição da chamada em {@link #executeWithRetry(AbstractGoogleClientRequest)}
+   * na thread, compartilhada pelos HTTP requests de cada reenvio.
+   */
+  private final ThreadLocal<DirectoryMetrics.Call> retryCall = new ThreadLocal<DirectoryMetrics.Call>();
+
+  /**
+   * @param delegate inicializador original, normalmente a credencial (pode ser null).
+   * @param rateLimiter limitador compartilhado por todas as chamadas.
+   */
+  public DirectoryThrottle(HttpRequestInitializer delegate, AdaptiveRateLimiter rateLimiter) {
+    this.delegate = delegate;
+    this.rateLimiter = rateLimiter;
+  }
+
+  /**
+   * Substitui o {@link Sleeper} utilizado nas esperas, permitindo testes sem espera real.
+   */
+  public DirectoryThrottle setSleeper(Sleeper sleeper) {
+    this.sleeper = sleeper;
+    return this;
+  }
+
+  /**
+   * @param metrics métricas que recebem a medição de cada chamada (null desativa a medição).
+   */
+  public DirectoryThrottle setMetrics(DirectoryMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
+  public DirectoryMetrics getMetrics() {
+    return metrics;
+  }
+
+  public AdaptiveRateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  public HttpRequestInitializer getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * @return instante, em milissegundos, do último envio ou resposta de um HTTP
+   *         request deste cliente (ou da criação do controle, se nenhum).
+   */
+  public long getLastActivityMillis() {
+    return lastActivityMillis;
+  }
+
+  public void initialize(HttpRequest request) throws IOException {
+
+    if(delegate != null) {
+      delegate.initialize(request);
+    }
+
+    final HttpExecuteInterceptor authInterceptor = request.getInterceptor();
+    final HttpUnsuccessfulResponseHandler authHandler = request.getUnsuccessfulResponseHandler();
+    final HttpResponseInterceptor originalResponseInterceptor = request.getResponseInterceptor();
+
+    DirectoryMetrics currentMetrics = metrics;
+    DirectoryMetrics.Call heldCall = retryCall.get();
+    final DirectoryMetrics.Call call = heldCall != null ? heldCall : currentMetrics == null ? null : currentMetrics.newCall();
+
+    final HttpBackOffUnsuccessfulResponseHandler backOffHandler =
+            new HttpBackOffUnsuccessfulResponseHandler(newBackOff())
+              .setBackOffRequired(new HttpBackOffUnsuccessfulResponseHandler.BackOffRequired() {
+
+                public boolean isRequired(HttpResponse response) {
+                  return DirectoryErrors.isRetryableStatus(response.getStatusCode());
+                }
+              })
+                .setSleeper(sleeper);
+
+    long remaining = CallDeadline.remainingMillis();
+    if(remaining != Long.MAX_VALUE) {
+      int timeout = (int) Math.max(1, Math.min(Integer.MAX_VALUE, remaining));
+      request.setConnectTimeout(Math.min(request.getConnectTimeout(), timeout));
+      request.setReadTimeout(request.getReadTimeout() == 0 ? timeout : Math.min(request.getReadTimeout(), timeout));
+    }
+
+    request.setInterceptor(new HttpExecuteInterceptor() {
+
+      public void intercept(HttpRequest request) throws IOException {
+
+        if(Thread.currentThread().isInterrupted()) {
+          throw new InterruptedIOException("Chamada cancelada.");
+        }
+
+        if(CallDeadline.remainingMillis() <= 0) {
+          throw new SocketTimeoutException("Prazo da chamada esgotado.");
+        }
+
+        /*
+         * O HTTP request de um lote não conta para a cota: cada entrada do lote
+         * passa por este mesmo interceptor e consome sua própria permissão.
+         */
+        if(!(request.getContent() instanceof MultipartContent)) {
+          rateLimiter.acquire(1);
+        }
+
+        lastActivityMillis = System.currentTimeMillis();
+
+        if(call != null) {
+          call.onAttempt(request);
+        }
+
+        if(authInterceptor != null) {
+          authInterceptor.intercept(request);
+        }
+      }
+    });
+
+    request.setUnsuccessfulResponseHandler(new HttpUnsuccessfulResponseHandler() {
+
+      public boolean handleResponse(HttpRequest request, HttpResponse response, boolean supportsRetry) throws IOException {
+
+        if(authHandler != null && authHandler.handleResponse(request, response, supportsRetry)) {
+          return true;
+        }
+
+        if(!DirectoryErrors.isRetryableStatus(response.getStatusCode())) {
+          return false;
+        }
+
+        if(DirectoryErrors.isThrottleStatus(response.getStatusCode())) {
+          rateLimiter.onThrottle();
+        }
+
+        /*
+         * Entradas de um lote chegam com uma resposta "falsa" criada pelo próprio
+         * BatchRequest. Não esperamos aqui, pois a espera bloquearia o processamento
+         * das demais entradas: a falha segue para o callback e o reenvio fica a
+         * cargo de quem montou o lote.
+         */
+        if(response.getRequest() != request) {
+          return false;
+        }
+
+        return backOffHandler.handleResponse(request, response, supportsRetry);
+      }
+    });
+
+    final HttpIOExceptionHandler ioExceptionHandler = new HttpBackOffIOExceptionHandler(newBackOff()).setSleeper(sleeper);
+
+    request.setIOExceptionHandler(new HttpIOExceptionHandler() {
+
+      public boolean handleIOException(HttpRequest request, boolean supportsRetry) throws IOException {
+
+        boolean retry = ioExceptionHandler.handleIOException(request, supportsRetry);
+
+        if(!retry && call != null) {
+          call.onFailure();
+        }
+
+        return retry;
+      }
+    });
+
+    request.setResponseInterceptor(new HttpResponseInterceptor() {
+
+      public void interceptResponse(HttpResponse response) throws IOException {
+
+        lastActivityMillis = System.currentTimeMillis();
+
+        if(response.isSuccessStatusCode()) {
+          rateLimiter.onSuccess();
+        }
+
+        if(call != null) {
+          call.onResponse(response);
+        }
+
+        if(originalResponseInterceptor != null) {
+          originalResponseInterceptor.interceptResponse(response);
+        }
+      }
+    });
+  }
+
+  /**
+   * Executa a chamada reenviando-a, com espera exponencial, enquanto a API
+   * responder 403 por estouro de cota.
+   *
+   * Cada reenvio cria um novo HTTP request, mas todos são medidos como uma
+   * única chamada: reenvios contados e latência e status da resposta final.
+   *
+   * @param request chamada da Directory API.
+   * @return resultado da chamada.
+   * @throws IOException
+   */
+  public <T> T executeWithRetry(AbstractGoogleClientRequest<T> request) throws IOException {
+
+    DirectoryMetrics currentMetrics = metrics;
+
+    if(currentMetrics == null || retryCall.get() != null) {
+      return executeWithQuotaRetry(request);
+    }
+
+    DirectoryMetrics.Call call = currentMetrics.newCall();
+    call.hold();
+    retryCall.set(call);
+
+    try {
+      return executeWithQuotaRetry(request);
+    }
+    finally {
+      retryCall.remove();
+      call.complete();
+    }
+  }
+
+  private <T> T executeWithQuotaRetry(AbstractGoogleClientRequest<T> request) throws IOException {
+
+    BackOff backOff = newBackOff();
+
+    for(int attempt = 0; ; attempt++) {
+      try {
+        return request.execute();
+      }
+      catch(GoogleJsonResponseException e) {
+
+        if(attempt >= MAX_QUOTA_RETRIES || !DirectoryErrors.isQuotaError(e.getDetails())) {
+          throw e;
+        }
+
+        rateLimiter.onThrottle();
+
+        try {
+          if(!BackOffUtils.next(sleeper, backOff)) {
+            throw e;
+          }
+        }
+        catch(InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Espera por reenvio interrompida.");
+        }
+      }
+    }
+  }
+
+  /**
+   * Obtém o controle de vazão instalado no cliente, se houver.
+   *
+   * @param client cliente da Directory API.
+   * @return controle de vazão ou null.
+   */
+  public static DirectoryThrottle of(AbstractGoogleClient client) {
+
+    HttpRequestInitializer initializer = client.getRequestFactory().getInitializer();
+
+    return initializer instanceof DirectoryThrottle ? (DirectoryThrottle) initializer : null;
+  }
+
+  /**
+   * Executa a chamada através do controle de vazão do seu cliente, ou
+   * diretamente se o cliente não tiver um instalado.
+   *
+   * @param request chamada da Directory API.
+   * @return resultado da chamada.
+   * @throws IOException
+   */
+  public static <T> T execute(AbstractGoogleClientRequest<T> request) throws IOException {
+
+    DirectoryThrottle throttle = of(request.getAbstractGoogleClient());
+
+    return throttle == null ? request.execute() : throttle.executeWithRetry(request);
+  }
+
+  private static BackOff newBackOff() {
+    return new ExponentialBackOff.Builder()
+                .setInitialIntervalMillis(500)
+                  .setRandomizationFactor(0.5)
+                    .setMultiplier(2)
+                      .setMaxIntervalMillis(32000)
+                        .setMaxElapsedTimeMillis(120000)
+                          .build();
+  }
+
+}
@@ -0,0 +1,238 @@
+package br.com.webnize.googleapis.admin.directory;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
+
+/**
+ * Renova em segundo plano o access token de uma credencial antes que ele
+ * expire, de forma que nenhuma chamada pague a renovação.
+ *
+ * A {@link Credential} renova o token dentro de um lock que também é usado
+ * por cada request para ler o token: renovar chamando refreshToken() na
+ * própria credencial bloquearia as chamadas durante a ida ao servidor de
+ * autorização. Por isso o novo token é obtido por uma cópia da credencial e
+ * apenas copiado para a original, o que só bloqueia as chamadas por instantes.
+ *
+ *<pre>
+ * Obs:
+ * 1. Renovações disparadas por um 401 continuam a cargo da própria credencial,
+ *    que já as faz uma única vez: as demais chamadas que receberem 401 com o
+ *    mesmo token aguardam o lock e reenviam com o token novo.
+ * 2. Credenciais sem refresh token e que não sejam de conta de serviço são
+ *    renovadas pela própria credencial.
+ * 3. Em caso de falha a renovação é tentada novamente após 'retryDelaySeconds'.
+ * 4. A cópia recebe os refresh listeners da original, de forma que o novo token
+ *    seja gravado onde a credencial está armazenada (e. g. o
+ *    DataStoreCredentialRefreshListener do FileDataStoreFactory).
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class TokenRefresher {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(TokenRefresher.class.getName());
+
+  /**
+   * Antecedência padrão da renovação em relação à expiração do token, em segundos.
+   */
+  public static final long DEFAULT_MARGIN_SECONDS = 300;
+
+  /**
+   * Espera padrão antes de tentar novamente uma renovação que falhou, em segundos.
+   */
+  public static final long DEFAULT_RETRY_DELAY_SECONDS = 30;
+
+  /**
+   * Thread única compartilhada pelas renovações de todas as credenciais.
+   */
+  private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "directory-token-refresher");
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  private final Credential credential;
+
+  private final long marginSeconds;
+
+  private final long retryDelaySeconds;
+
+  private ScheduledFuture<?> next;
+
+  private volatile boolean stopped;
+
+  /**
+   * @param credential credencial a ser renovada.
+   */
+  public TokenRefresher(Credential credential) {
+    this(credential, DEFAULT_MARGIN_SECONDS, DEFAULT_RETRY_DELAY_SECONDS);
+  }
+
+  /**
+   * @param credential credencial a ser renovada.
+   * @param marginSeconds antecedência da renovação em relação à expiração do token.
+   * @param retryDelaySeconds espera antes de tentar novamente uma renovação que falhou.
+   */
+  public TokenRefresher(Credential credential, long marginSeconds, long retryDelaySeconds) {
+    this.credential = credential;
+    this.marginSeconds = marginSeconds;
+    this.retryDelaySeconds = retryDelaySeconds;
+  }
+
+  /**
+   * Agenda a primeira verificação imediatamente.
+   *
+   * @return este renovador.
+   */
+  public synchronized TokenRefresher start() {
+    stopped = false;
+    schedule(0);
+    return this;
+  }
+
+  /**
+   * Cancela as renovações agendadas.
+   */
+  public synchronized void stop() {
+    stopped = true;
+    if(next != null) {
+      next.cancel(false);
+    }
+  }
+
+  public Credential getCredential() {
+    return credential;
+  }
+
+  private synchronized void schedule(long delaySeconds) {
+    if(!stopped) {
+      next = SCHEDULER.schedule(new Runnable() {
+
+        public void run() {
+          refreshIfNeeded();
+        }
+      }, delaySeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Renova o token se ele expira em menos de 'marginSeconds' e agenda a próxima verificação.
+   */
+  void refreshIfNeeded() {
+
+    try {
+      Long expiresIn = credential.getExpiresInSeconds();
+
+      if(credential.getAccessToken() == null || expiresIn == null || expiresIn <= marginSeconds) {
+        refresh();
+        expiresIn = credential.getExpiresInSeconds();
+      }
+
+      /*
+       * Sem expiração conhecida não há o que antecipar: verifica de novo após a margem.
+       */
+      schedule(expiresIn == null ? marginSeconds : Math.max(1, expiresIn - marginSeconds));
+    }
+    catch(IOException e) {
+      logger.log(Level.WARNING, String.format("Falha ao renovar o access token, nova tentativa em %d s.", retryDelaySeconds), e);
+      schedule(retryDelaySeconds);
+    }
+    catch(RuntimeException e) {
+      logger.log(Level.WARNING, String.format("Falha ao renovar o access token, nova tentativa em %d s.", retryDelaySeconds), e);
+      schedule(retryDelaySeconds);
+    }
+  }
+
+  /**
+   * Obtém um novo token por uma cópia da credencial e o copia para a original.
+   */
+  private void refresh() throws IOException {
+
+    Credential copy = newCopy();
+
+    if(copy == null) {
+      if(!credential.refreshToken()) {
+        throw new IOException("Credencial não pôde ser renovada.");
+      }
+      return;
+    }
+
+    if(!copy.refreshToken()) {
+      throw new IOException("Credencial não pôde ser renovada.");
+    }
+
+    /*
+     * A expiração é copiada antes do token: um request entre as duas cópias usa o
+     * token anterior, ainda válido por pelo menos 'marginSeconds'.
+     */
+    credential.setExpirationTimeMilliseconds(copy.getExpirationTimeMilliseconds());
+    credential.setAccessToken(copy.getAccessToken());
+
+    if(copy.getRefreshToken() != null && !copy.getRefreshToken().equals(credential.getRefreshToken())) {
+      credential.setRefreshToken(copy.getRefreshToken());
+    }
+
+    logger.fine(String.format("Access token renovado, expira em %d s.", credential.getExpiresInSeconds()));
+  }
+
+  /**
+   * Cria uma cópia da credencial capaz de obter um novo token sem usar o lock
+   * da original, ou null se a credencial não puder ser copiada. Os refresh
+   * listeners são os da original, para que o token renovado seja persistido.
+   */
+  private Credential newCopy() {
+
+    if(credential instanceof GoogleCredential && ((GoogleCredential) credential).getServiceAccountId() != null) {
+
+      GoogleCredential serviceAccount = (GoogleCredential) credential;
+
+      return new GoogleCredential.Builder()
+                    .setTransport(serviceAccount.getTransport())
+                      .setJsonFactory(serviceAccount.getJsonFactory())
+                        .setClock(serviceAccount.getClock())
+                          .setTokenServerEncodedUrl(serviceAccount.getTokenServerEncodedUrl())
+                            .setServiceAccountId(serviceAccount.getServiceAccountId())
+                              .setServiceAccountPrivateKey(serviceAccount.getServiceAccountPrivateKey())
+                                .setServiceAccountPrivateKeyId(serviceAccount.getServiceAccountPrivateKeyId())
+                                  .setServiceAccountScopes(serviceAccount.getServiceAccountScopes())
+                                    .setServiceAccountUser(serviceAccount.getServiceAccountUser())
+                                      .setRequestInitializer(serviceAccount.getRequestInitializer())
+                                        .setRefreshListeners(serviceAccount.getRefreshListeners())
+                                          .build();
+    }
+
+    if(credential.getRefreshToken() != null && credential.getTokenServerEncodedUrl() != null) {
+
+      return new Credential.Builder(credential.getMethod())
+                    .setTransport(credential.getTransport())
+                      .setJsonFactory(credential.getJsonFactory())
+                        .setClock(credential.getClock())
+                          .setTokenServerEncodedUrl(credential.getTokenServerEncodedUrl())
+                            .setClientAuthentication(credential.getClientAuthentication())
+                              .setRequestInitializer(credential.getRequestInitializer())
+                                .setRefreshListeners(credential.getRefreshListeners())
+                                  .build()
+                                    .setRefreshToken(credential.getRefreshToken());
+    }
+
+    return null;
+  }
+
+}
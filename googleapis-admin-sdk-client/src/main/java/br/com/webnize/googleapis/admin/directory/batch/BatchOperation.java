@@ -0,0 +1,38 @@
+package br.com.webnize.googleapis.admin.directory.batch;
+
+import com.google.api.client.googleapis.services.json.AbstractGoogleJsonClientRequest;
+
+/**
+ * Operação a ser enviada em lote, identificada por uma chave legível
+ * (normalmente o email do usuário) utilizada no relatório de execução.
+ *
+ * @param <T> tipo do resultado da operação.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class BatchOperation<T> {
+
+  private final String key;
+
+  private final AbstractGoogleJsonClientRequest<T> request;
+
+  /**
+   * @param key chave que identifica a operação no relatório.
+   * @param request requisição da Directory API (insert, update, patch, delete, get).
+   */
+  public BatchOperation(String key, AbstractGoogleJsonClientRequest<T> request) {
+    this.key = key;
+    this.request = request;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public AbstractGoogleJsonClientRequest<T> getRequest() {
+    return request;
+  }
+
+}
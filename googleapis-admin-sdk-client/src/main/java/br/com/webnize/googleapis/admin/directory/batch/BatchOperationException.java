@@ -0,0 +1,49 @@
+package br.com.webnize.googleapis.admin.directory.batch;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+
+/**
+ * Falha de uma operação enviada em lote, com o erro devolvido pela API na
+ * resposta da operação (como a GoogleJsonResponseException de uma chamada
+ * individual).
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class BatchOperationException extends HttpResponseException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String key;
+
+  private final transient GoogleJsonError details;
+
+  /**
+   * @param key chave da operação.
+   * @param details erro devolvido pela API.
+   */
+  public BatchOperationException(String key, GoogleJsonError details) {
+    super(new HttpResponseException.Builder(details.getCode(), null, new HttpHeaders())
+                .setMessage(String.format("Operação '%s' falhou: %d %s", key, details.getCode(), details.getMessage())));
+    this.key = key;
+    this.details = details;
+  }
+
+  /**
+   * @return chave da operação.
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * @return erro devolvido pela API.
+   */
+  public GoogleJsonError getDetails() {
+    return details;
+  }
+
+}
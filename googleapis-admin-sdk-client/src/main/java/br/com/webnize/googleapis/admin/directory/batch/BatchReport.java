@@ -0,0 +1,96 @@
+package br.com.webnize.googleapis.admin.directory.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Relatório de uma execução em lote, com o resultado de cada operação na
+ * mesma ordem em que foram informadas.
+ *
+ * @param <T> tipo do resultado das operações.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class BatchReport<T> {
+
+  private final List<BatchResult<T>> results;
+
+  private final long elapsedMillis;
+
+  private final int httpRequests;
+
+  BatchReport(List<BatchResult<T>> results, long elapsedMillis, int httpRequests) {
+    this.results = Collections.unmodifiableList(results);
+    this.elapsedMillis = elapsedMillis;
+    this.httpRequests = httpRequests;
+  }
+
+  public List<BatchResult<T>> getResults() {
+    return results;
+  }
+
+  /**
+   * @return resultados das operações que falharam definitivamente.
+   */
+  public List<BatchResult<T>> getFailures() {
+    List<BatchResult<T>> failures = new ArrayList<BatchResult<T>>();
+    for(BatchResult<T> result : results) {
+      if(!result.isSucceeded()) {
+        failures.add(result);
+      }
+    }
+    return failures;
+  }
+
+  public int getSucceededCount() {
+    return results.size() - getFailedCount();
+  }
+
+  public int getFailedCount() {
+    int count = 0;
+    for(BatchResult<T> result : results) {
+      if(!result.isSucceeded()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  public int getRetriedCount() {
+    int count = 0;
+    for(BatchResult<T> result : results) {
+      if(result.isRetried()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * @return quantidade de HTTP requests de lote enviados, incluindo reenvios.
+   */
+  public int getHttpRequests() {
+    return httpRequests;
+  }
+
+  /**
+   * @return operações concluídas por segundo.
+   */
+  public double getThroughput() {
+    return elapsedMillis == 0 ? results.size() : results.size() * 1000.0 / elapsedMillis;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d operações (%d com sucesso, %d com falha, %d reenviadas) em %d ms com %d HTTP requests, %.1f operações/s",
+            results.size(), getSucceededCount(), getFailedCount(), getRetriedCount(), elapsedMillis, httpRequests, getThroughput());
+  }
+
+}
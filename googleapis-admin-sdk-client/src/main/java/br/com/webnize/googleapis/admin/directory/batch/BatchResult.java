@@ -0,0 +1,85 @@
+package br.com.webnize.googleapis.admin.directory.batch;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+
+/**
+ * Resultado de uma operação executada em lote.
+ *
+ * @param <T> tipo do resultado da operação.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class BatchResult<T> {
+
+  /**
+   * Situação final da operação.
+   */
+  public enum Status {
+    SUCCEEDED,
+    FAILED
+  }
+
+  private final String key;
+
+  private final Status status;
+
+  private final T result;
+
+  private final GoogleJsonError error;
+
+  private final int attempts;
+
+  BatchResult(String key, Status status, T result, GoogleJsonError error, int attempts) {
+    this.key = key;
+    this.status = status;
+    this.result = result;
+    this.error = error;
+    this.attempts = attempts;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public boolean isSucceeded() {
+    return status == Status.SUCCEEDED;
+  }
+
+  /**
+   * @return objeto devolvido pela API em caso de sucesso, ou null.
+   */
+  public T getResult() {
+    return result;
+  }
+
+  /**
+   * @return erro devolvido pela API na última tentativa, ou null em caso de sucesso.
+   */
+  public GoogleJsonError getError() {
+    return error;
+  }
+
+  /**
+   * @return quantidade de envios da operação (1 quando não houve reenvio).
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public boolean isRetried() {
+    return attempts > 1;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: %s (tentativas: %d)%s", key, status, attempts,
+            error == null ? "" : " - " + error.getCode() + " " + error.getMessage());
+  }
+
+}
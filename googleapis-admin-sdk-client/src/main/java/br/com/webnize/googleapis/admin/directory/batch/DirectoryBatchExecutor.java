@@ -0,0 +1,317 @@
+package br.com.webnize.googleapis.admin.directory.batch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.admin.directory.Directory;
+
+import br.com.webnize.googleapis.admin.directory.DirectoryErrors;
+import br.com.webnize.googleapis.admin.directory.DirectoryThrottle;
+
+/**
+ * Executa grandes quantidades de operações da Directory API em lotes.
+ *
+ * As operações são divididas em lotes de até 'batchSize' entradas (limite da
+ * API: {@value #MAX_BATCH_SIZE}) e até 'parallelism' lotes são enviados ao
+ * mesmo tempo. A falha de uma operação não interrompe as demais: falhas
+ * transitórias (cota, 5xx) são reenviadas em rodadas seguintes, com espera
+ * exponencial, e as definitivas são registradas no {@link BatchReport}.
+ *
+ * @see https://developers.google.com/admin-sdk/directory/v1/guides/batch
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DirectoryBatchExecutor {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(DirectoryBatchExecutor.class.getName());
+
+  /**
+   * Quantidade máxima de chamadas em um único lote aceita pela API.
+   */
+  public static final int MAX_BATCH_SIZE = 1000;
+
+  public static final int DEFAULT_BATCH_SIZE = 100;
+
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  public static final int DEFAULT_MAX_RETRIES = 3;
+
+  public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 1000;
+
+  private static final Random JITTER = new Random();
+
+  private final Directory service;
+
+  private int batchSize = DEFAULT_BATCH_SIZE;
+
+  private int parallelism = DEFAULT_PARALLELISM;
+
+  private int maxRetries = DEFAULT_MAX_RETRIES;
+
+  private long initialBackOffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+
+  /**
+   * @param service cliente da Directory API utilizado para criar os lotes.
+   */
+  public DirectoryBatchExecutor(Directory service) {
+    this.service = service;
+  }
+
+  /**
+   * @param batchSize quantidade de operações por lote (1 a {@value #MAX_BATCH_SIZE}).
+   */
+  public DirectoryBatchExecutor setBatchSize(int batchSize) {
+    if(batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("'batchSize' deve estar entre 1 e " + MAX_BATCH_SIZE + ".");
+    }
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * @param parallelism quantidade máxima de lotes enviados simultaneamente.
+   */
+  public DirectoryBatchExecutor setParallelism(int parallelism) {
+    if(parallelism < 1) {
+      throw new IllegalArgumentException("'parallelism' deve ser maior que zero.");
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * @param maxRetries quantidade máxima de reenvios de uma operação com falha transitória.
+   */
+  public DirectoryBatchExecutor setMaxRetries(int maxRetries) {
+    this.maxRetries = maxRetries;
+    return this;
+  }
+
+  /**
+   * @param initialBackOffMillis espera antes da primeira rodada de reenvio, dobrada a cada rodada.
+   */
+  public DirectoryBatchExecutor setInitialBackOffMillis(long initialBackOffMillis) {
+    this.initialBackOffMillis = initialBackOffMillis;
+    return this;
+  }
+
+  /**
+   * Executa as operações e aguarda a conclusão de todas elas.
+   *
+   * @param operations operações a executar.
+   * @return relatório com o resultado de cada operação, na ordem informada.
+   * @throws IOException se a execução for interrompida.
+   */
+  public <T> BatchReport<T> execute(List<BatchOperation<T>> operations) throws IOException {
+
+    long start = System.currentTimeMillis();
+
+    List<BatchResult<T>> results = new ArrayList<BatchResult<T>>(operations.size());
+    for(int i = 0; i < operations.size(); i++) {
+      results.add(null);
+    }
+
+    int[] attempts = new int[operations.size()];
+    AtomicInteger httpRequests = new AtomicInteger();
+
+    List<Integer> pending = new ArrayList<Integer>(operations.size());
+    for(int i = 0; i < operations.size(); i++) {
+      pending.add(i);
+    }
+
+    /*
+     * Com uma única thread os lotes são enviados pela própria thread chamadora,
+     * sem criar um pool a cada execução (por exemplo, um lote por chamada).
+     */
+    int threads = Math.min(parallelism, Math.max(1, chunkCount(pending.size())));
+    ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+
+    try {
+      for(int round = 0; !pending.isEmpty(); round++) {
+
+        if(round > 0) {
+          sleep(backOffMillis(round));
+          logger.info(String.format("Reenviando %d operações (rodada %d de %d).", pending.size(), round, maxRetries));
+        }
+
+        Queue<Integer> retry = new ConcurrentLinkedQueue<Integer>();
+        boolean retryAllowed = round < maxRetries;
+
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for(int from = 0; from < pending.size(); from += batchSize) {
+          List<Integer> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+          Callable<Void> task = newChunkTask(operations, chunk, results, attempts, retry, retryAllowed, httpRequests);
+          if(executor == null) {
+            call(task);
+          }
+          else {
+            futures.add(executor.submit(task));
+          }
+        }
+
+        for(Future<?> future : futures) {
+          await(future);
+        }
+
+        pending = new ArrayList<Integer>(retry);
+      }
+    }
+    finally {
+      if(executor != null) {
+        executor.shutdownNow();
+      }
+    }
+
+    BatchReport<T> report = new BatchReport<T>(results, System.currentTimeMillis() - start, httpRequests.get());
+
+    logger.fine("Execução em lote concluída: " + report);
+
+    return report;
+  }
+
+  /**
+   * Cria a tarefa que envia um lote e registra o resultado de cada operação.
+   */
+  private <T> Callable<Void> newChunkTask(final List<BatchOperation<T>> operations, final List<Integer> chunk,
+          final List<BatchResult<T>> results, final int[] attempts, final Queue<Integer> retry,
+          final boolean retryAllowed, final AtomicInteger httpRequests) {
+
+    return new Callable<Void>() {
+
+      public Void call() throws IOException {
+
+        /*
+         * Sem inicializador o HTTP request do próprio lote não passaria pelo
+         * DirectoryThrottle: não seria medido nem reenviado em falhas de rede.
+         */
+        BatchRequest batch = service.batch(service.getRequestFactory().getInitializer());
+        final DirectoryThrottle throttle = DirectoryThrottle.of(service);
+
+        for(final Integer index : chunk) {
+
+          final BatchOperation<T> operation = operations.get(index);
+          attempts[index]++;
+
+          operation.getRequest().queue(batch, new JsonBatchCallback<T>() {
+
+            public void onSuccess(T result, HttpHeaders responseHeaders) {
+              results.set(index, new BatchResult<T>(operation.getKey(), BatchResult.Status.SUCCEEDED, result, null, attempts[index]));
+            }
+
+            @Override
+            public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) {
+              if(throttle != null && DirectoryErrors.isThrottleError(e)) {
+                throttle.getRateLimiter().onThrottle();
+              }
+              if(retryAllowed && DirectoryErrors.isRetryable(e)) {
+                retry.add(index);
+              }
+              else {
+                logger.fine(String.format("Operação '%s' falhou: %s", operation.getKey(), e.getMessage()));
+              }
+              results.set(index, new BatchResult<T>(operation.getKey(), BatchResult.Status.FAILED, null, e, attempts[index]));
+            }
+          });
+        }
+
+        httpRequests.incrementAndGet();
+
+        try {
+          batch.execute();
+        }
+        catch(IOException e) {
+          /*
+           * Falha do HTTP request do lote inteiro: nenhuma operação foi confirmada.
+           */
+          logger.warning("Falha no envio de lote: " + e.getMessage());
+          GoogleJsonError error = new GoogleJsonError();
+          error.setMessage(e.getMessage());
+          for(Integer index : chunk) {
+            if(results.get(index) == null || !results.get(index).isSucceeded()) {
+              if(retryAllowed) {
+                retry.add(index);
+              }
+              results.set(index, new BatchResult<T>(operations.get(index).getKey(), BatchResult.Status.FAILED, null, error, attempts[index]));
+            }
+          }
+        }
+
+        return null;
+      }
+    };
+  }
+
+  private int chunkCount(int size) {
+    return (size + batchSize - 1) / batchSize;
+  }
+
+  /**
+   * Espera exponencial com jitter de +/- 50%.
+   */
+  private long backOffMillis(int round) {
+    long base = initialBackOffMillis << Math.min(round - 1, 16);
+    return base / 2 + (long) (JITTER.nextDouble() * base);
+  }
+
+  private static void sleep(long millis) throws IOException {
+    try {
+      Thread.sleep(millis);
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Execução em lote interrompida.", e);
+    }
+  }
+
+  private static void call(Callable<Void> task) throws IOException {
+    try {
+      task.call();
+    }
+    catch(IOException e) {
+      throw e;
+    }
+    catch(RuntimeException e) {
+      throw e;
+    }
+    catch(Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void await(Future<?> future) throws IOException {
+    try {
+      future.get();
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Execução em lote interrompida.", e);
+    }
+    catch(ExecutionException e) {
+      if(e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+}
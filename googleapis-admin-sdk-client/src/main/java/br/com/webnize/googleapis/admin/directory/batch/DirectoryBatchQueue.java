@@ -0,0 +1,643 @@
+package br.com.webnize.googleapis.admin.directory.batch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.services.json.AbstractGoogleJsonClientRequest;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.admin.directory.Directory;
+
+import br.com.webnize.googleapis.admin.directory.DirectoryErrors;
+import br.com.webnize.googleapis.admin.directory.DirectoryThrottle;
+import br.com.webnize.googleapis.admin.directory.metrics.LatencyHistogram;
+import br.com.webnize.googleapis.admin.directory.metrics.SizeHistogram;
+
+/**
+ * Fila de operações da Directory API enviadas em lotes à medida que chegam.
+ *
+ * Diferente de {@link DirectoryBatchExecutor}, que recebe uma lista pronta, a
+ * fila aceita operações de qualquer tipo (get, insert, update, patch, delete,
+ * misturadas) a qualquer momento e devolve um {@link Future} por operação. As
+ * operações pendentes são enviadas em um lote quando chegam a 'batchSize' ou
+ * quando a mais antiga espera 'maxDelayMillis', o que vier antes; até
+ * 'parallelism' lotes ficam em andamento ao mesmo tempo.
+ *
+ * Uma operação com falha transitória (cota, 5xx) volta sozinha para a fila,
+ * após uma espera exponencial, e segue no próximo lote junto com as demais;
+ * as outras operações do lote não são reenviadas. Falhas definitivas
+ * completam o Future com {@link BatchOperationException}.
+ *
+ *<pre>
+ * Exemplo:
+ *   DirectoryBatchQueue queue = new DirectoryBatchQueue(service);
+ *   Future<User> user = queue.submit(email, service.users().get(email));
+ *   Future<Void> deleted = queue.submit(other, service.users().delete(other));
+ *   ...
+ *   queue.close();   // envia o que falta e aguarda todas as operações
+ * </pre>
+ *
+ * @see https://developers.google.com/admin-sdk/directory/v1/guides/batch
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DirectoryBatchQueue implements Closeable {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(DirectoryBatchQueue.class.getName());
+
+  public static final long DEFAULT_MAX_DELAY_MILLIS = 20;
+
+  private static final Random JITTER = new Random();
+
+  private static final AtomicInteger QUEUE_COUNT = new AtomicInteger();
+
+  private final Directory service;
+
+  private final Object lock = new Object();
+
+  private final String threadPrefix = "directory-batch-" + QUEUE_COUNT.incrementAndGet() + "-";
+
+  private int batchSize = DirectoryBatchExecutor.DEFAULT_BATCH_SIZE;
+
+  private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+
+  private int parallelism = DirectoryBatchExecutor.DEFAULT_PARALLELISM;
+
+  private int maxRetries = DirectoryBatchExecutor.DEFAULT_MAX_RETRIES;
+
+  private long initialBackOffMillis = DirectoryBatchExecutor.DEFAULT_INITIAL_BACKOFF_MILLIS;
+
+  /**
+   * Operações aguardando o próximo lote.
+   */
+  private List<Entry<?>> pending = new ArrayList<Entry<?>>();
+
+  /**
+   * Envio agendado das operações pendentes, se houver.
+   */
+  private ScheduledFuture<?> flushTimer;
+
+  /**
+   * Operações submetidas e ainda não concluídas (pendentes, em lote ou aguardando reenvio).
+   */
+  private int outstanding;
+
+  private boolean closed;
+
+  private ExecutorService senders;
+
+  private ScheduledExecutorService scheduler;
+
+  private final AtomicLong submitted = new AtomicLong();
+
+  private final AtomicLong batches = new AtomicLong();
+
+  private final AtomicLong retried = new AtomicLong();
+
+  private final AtomicLong failed = new AtomicLong();
+
+  private final SizeHistogram batchSizes = new SizeHistogram();
+
+  private final LatencyHistogram waitTimes = new LatencyHistogram();
+
+  /**
+   * @param service cliente da Directory API utilizado para criar os lotes.
+   */
+  public DirectoryBatchQueue(Directory service) {
+    this.service = service;
+  }
+
+  /**
+   * @param batchSize quantidade de operações que dispara o envio de um lote
+   *        (1 a {@value DirectoryBatchExecutor#MAX_BATCH_SIZE}).
+   */
+  public DirectoryBatchQueue setBatchSize(int batchSize) {
+    if(batchSize < 1 || batchSize > DirectoryBatchExecutor.MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("'batchSize' deve estar entre 1 e " + DirectoryBatchExecutor.MAX_BATCH_SIZE + ".");
+    }
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * @param maxDelayMillis espera máxima de uma operação até o envio do seu lote.
+   */
+  public DirectoryBatchQueue setMaxDelayMillis(long maxDelayMillis) {
+    if(maxDelayMillis < 0) {
+      throw new IllegalArgumentException("'maxDelayMillis' não pode ser negativo.");
+    }
+    this.maxDelayMillis = maxDelayMillis;
+    return this;
+  }
+
+  /**
+   * @param parallelism quantidade máxima de lotes enviados simultaneamente
+   *        (antes da primeira operação).
+   */
+  public DirectoryBatchQueue setParallelism(int parallelism) {
+    if(parallelism < 1) {
+      throw new IllegalArgumentException("'parallelism' deve ser maior que zero.");
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * @param maxRetries quantidade máxima de reenvios de uma operação com falha transitória.
+   */
+  public DirectoryBatchQueue setMaxRetries(int maxRetries) {
+    this.maxRetries = maxRetries;
+    return this;
+  }
+
+  /**
+   * @param initialBackOffMillis espera antes do primeiro reenvio de uma operação, dobrada a cada reenvio.
+   */
+  public DirectoryBatchQueue setInitialBackOffMillis(long initialBackOffMillis) {
+    this.initialBackOffMillis = initialBackOffMillis;
+    return this;
+  }
+
+  /**
+   * @see #submit(BatchOperation)
+   */
+  public <T> Future<T> submit(String key, AbstractGoogleJsonClientRequest<T> request) {
+    return submit(new BatchOperation<T>(key, request));
+  }
+
+  /**
+   * Coloca a operação na fila. Não bloqueia: o envio é feito pelas threads da fila.
+   *
+   * @param operation operação da Directory API.
+   * @return Future com o resultado da operação; em caso de falha, get() lança
+   *         ExecutionException com {@link BatchOperationException} (erro da
+   *         API), IOException (falha do lote inteiro) ou RuntimeException
+   *         (erro inesperado no envio) como causa.
+   * @throws IllegalStateException se a fila já foi fechada.
+   */
+  public <T> Future<T> submit(BatchOperation<T> operation) {
+    return submit(operation, null);
+  }
+
+  /**
+   * Como {@link #submit(BatchOperation)}, executando 'listener' quando o
+   * Future for concluído (resultado, falha ou cancelamento), na thread que o
+   * concluiu.
+   *
+   * @param operation operação da Directory API.
+   * @param listener ação executada na conclusão (null para nenhuma); deve ser rápida.
+   */
+  public <T> Future<T> submit(BatchOperation<T> operation, Runnable listener) {
+
+    Entry<T> entry = new Entry<T>(operation, listener);
+
+    synchronized(lock) {
+      if(closed) {
+        throw new IllegalStateException("Fila de lotes encerrada.");
+      }
+      outstanding++;
+      enqueue(entry);
+    }
+
+    submitted.incrementAndGet();
+
+    return entry.future;
+  }
+
+  /**
+   * Envia imediatamente as operações pendentes, sem aguardar 'maxDelayMillis'.
+   */
+  public void flush() {
+    synchronized(lock) {
+      flushPending();
+    }
+  }
+
+  /**
+   * Envia as operações pendentes e aguarda a conclusão de todas as
+   * operações submetidas, inclusive reenvios.
+   *
+   * @throws IOException se a espera for interrompida.
+   */
+  public void drain() throws IOException {
+
+    synchronized(lock) {
+
+      flushPending();
+
+      try {
+        while(outstanding > 0) {
+          lock.wait();
+        }
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Espera pelos lotes interrompida.", e);
+      }
+    }
+  }
+
+  /**
+   * Recusa novas operações, aguarda as submetidas ({@link #drain()}) e
+   * encerra as threads da fila.
+   *
+   * @throws IOException se a espera for interrompida.
+   */
+  public void close() throws IOException {
+
+    synchronized(lock) {
+      closed = true;
+    }
+
+    try {
+      drain();
+    }
+    finally {
+      synchronized(lock) {
+        if(senders != null) {
+          senders.shutdown();
+        }
+        if(scheduler != null) {
+          scheduler.shutdownNow();
+        }
+      }
+    }
+
+    logger.fine("Fila de lotes encerrada: " + this);
+  }
+
+  /**
+   * @return quantidade de operações submetidas.
+   */
+  public long getSubmittedCount() {
+    return submitted.get();
+  }
+
+  /**
+   * @return quantidade de lotes (HTTP requests) enviados.
+   */
+  public long getHttpRequests() {
+    return batches.get();
+  }
+
+  /**
+   * @return quantidade de reenvios de operações com falha transitória.
+   */
+  public long getRetriedCount() {
+    return retried.get();
+  }
+
+  /**
+   * @return quantidade de operações concluídas com falha.
+   */
+  public long getFailedCount() {
+    return failed.get();
+  }
+
+  /**
+   * @return distribuição da quantidade de operações por lote enviado.
+   */
+  public SizeHistogram getBatchSizeHistogram() {
+    return batchSizes;
+  }
+
+  /**
+   * @return distribuição da espera de cada envio de operação na fila, da
+   *         entrada (ou reentrada, após a espera de um reenvio) até o envio do
+   *         lote, incluindo a espera por uma thread de envio livre.
+   */
+  public LatencyHistogram getWaitTimeHistogram() {
+    return waitTimes;
+  }
+
+  /**
+   * Acrescenta a operação às pendentes, enviando o lote se ele ficou cheio
+   * ou agendando o envio se ela é a primeira. Chamado com 'lock'.
+   */
+  private void enqueue(Entry<?> entry) {
+
+    entry.enqueuedNanos = System.nanoTime();
+    pending.add(entry);
+
+    if(pending.size() >= batchSize) {
+      flushPending();
+    }
+    else if(flushTimer == null) {
+      flushTimer = scheduler().schedule(new Runnable() {
+
+        public void run() {
+          flush();
+        }
+      }, maxDelayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Entrega as operações pendentes às threads de envio, em lotes de até
+   * 'batchSize'. Chamado com 'lock'.
+   */
+  private void flushPending() {
+
+    if(flushTimer != null) {
+      flushTimer.cancel(false);
+      flushTimer = null;
+    }
+
+    for(int from = 0; from < pending.size(); from += batchSize) {
+      final List<Entry<?>> chunk = new ArrayList<Entry<?>>(pending.subList(from, Math.min(from + batchSize, pending.size())));
+      senders().execute(new Runnable() {
+
+        public void run() {
+          send(chunk);
+        }
+      });
+    }
+
+    pending = new ArrayList<Entry<?>>();
+  }
+
+  /**
+   * Envia um lote e completa (ou devolve à fila) cada operação.
+   */
+  private void send(List<Entry<?>> chunk) {
+
+    /*
+     * Sem inicializador o HTTP request do próprio lote não passaria pelo
+     * DirectoryThrottle: não seria medido nem reenviado em falhas de rede.
+     */
+    BatchRequest batch = service.batch(service.getRequestFactory().getInitializer());
+    DirectoryThrottle throttle = DirectoryThrottle.of(service);
+
+    List<Entry<?>> queued = new ArrayList<Entry<?>>(chunk.size());
+    long now = System.nanoTime();
+
+    for(Entry<?> entry : chunk) {
+
+      waitTimes.record(now - entry.enqueuedNanos);
+
+      if(entry.future.isCancelled()) {
+        finished();
+        continue;
+      }
+
+      try {
+        entry.queue(batch, throttle);
+        queued.add(entry);
+      }
+      catch(IOException e) {
+        entry.fail(e);
+      }
+      catch(RuntimeException e) {
+        entry.fail(e);
+      }
+    }
+
+    if(queued.isEmpty()) {
+      return;
+    }
+
+    batches.incrementAndGet();
+    batchSizes.record(queued.size());
+
+    try {
+      batch.execute();
+    }
+    catch(IOException e) {
+      /*
+       * Falha do HTTP request do lote inteiro: se transitória, as operações
+       * sem resposta voltam para a fila; senão (401, 400, interrupção) falham
+       * com o erro do envio.
+       */
+      boolean retryable = DirectoryErrors.isRetryable(e);
+      logger.warning(String.format("Falha no envio de lote com %d operações: %s", queued.size(), e.getMessage()));
+      for(Entry<?> entry : queued) {
+        if(!entry.answered) {
+          if(retryable && entry.attempts <= maxRetries) {
+            retry(entry);
+          }
+          else {
+            entry.fail(e);
+          }
+        }
+      }
+    }
+    catch(RuntimeException e) {
+      /*
+       * Erro inesperado (não transitório): as operações sem resposta falham
+       * com ele, para que nenhum Future fique sem conclusão e drain() termine.
+       */
+      logger.severe(String.format("Erro no envio de lote com %d operações: %s", queued.size(), e));
+      for(Entry<?> entry : queued) {
+        if(!entry.answered) {
+          entry.fail(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Devolve a operação à fila após a espera exponencial das suas tentativas.
+   */
+  private void retry(final Entry<?> entry) {
+
+    retried.incrementAndGet();
+
+    Runnable requeue = new Runnable() {
+
+      public void run() {
+        synchronized(lock) {
+          enqueue(entry);
+        }
+      }
+    };
+
+    synchronized(lock) {
+      scheduler().schedule(requeue, backOffMillis(entry.attempts), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Marca uma operação como concluída. Chamado sem 'lock'.
+   */
+  private void finished() {
+    synchronized(lock) {
+      if(--outstanding == 0) {
+        lock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Threads de envio dos lotes, criadas no primeiro envio. Chamado com 'lock'.
+   */
+  private ExecutorService senders() {
+    if(senders == null) {
+      senders = Executors.newFixedThreadPool(parallelism, newThreadFactory("sender-"));
+    }
+    return senders;
+  }
+
+  /**
+   * Thread dos envios agendados e dos reenvios. Chamado com 'lock'.
+   */
+  private ScheduledExecutorService scheduler() {
+    if(scheduler == null) {
+      scheduler = Executors.newSingleThreadScheduledExecutor(newThreadFactory("timer"));
+    }
+    return scheduler;
+  }
+
+  private ThreadFactory newThreadFactory(final String name) {
+
+    return new ThreadFactory() {
+
+      private final AtomicInteger count = new AtomicInteger();
+
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, threadPrefix + name + (name.endsWith("-") ? count.incrementAndGet() : ""));
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+  }
+
+  /**
+   * Espera exponencial com jitter de +/- 50%.
+   */
+  private long backOffMillis(int attempt) {
+    long base = initialBackOffMillis << Math.min(attempt - 1, 16);
+    return base / 2 + (long) (JITTER.nextDouble() * base);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d operações em %d lotes, %d reenvios, %d falhas", submitted.get(), batches.get(), retried.get(), failed.get());
+  }
+
+  /**
+   * Operação na fila, com o seu Future e a quantidade de envios.
+   */
+  private class Entry<T> {
+
+    private final BatchOperation<T> operation;
+
+    private final OperationFuture<T> future;
+
+    private int attempts;
+
+    /**
+     * Momento da última entrada na fila, em System.nanoTime().
+     */
+    private long enqueuedNanos;
+
+    /**
+     * Resposta do envio atual já recebida (sucesso, falha ou reenvio).
+     */
+    private volatile boolean answered;
+
+    Entry(BatchOperation<T> operation, Runnable listener) {
+      this.operation = operation;
+      this.future = new OperationFuture<T>(listener);
+    }
+
+    void queue(BatchRequest batch, final DirectoryThrottle throttle) throws IOException {
+
+      attempts++;
+      answered = false;
+
+      operation.getRequest().queue(batch, new JsonBatchCallback<T>() {
+
+        public void onSuccess(T result, HttpHeaders responseHeaders) {
+          answered = true;
+          try {
+            future.complete(result);
+          }
+          finally {
+            finished();
+          }
+        }
+
+        @Override
+        public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) {
+          answered = true;
+          if(throttle != null && DirectoryErrors.isThrottleError(e)) {
+            throttle.getRateLimiter().onThrottle();
+          }
+          if(attempts <= maxRetries && DirectoryErrors.isRetryable(e)) {
+            retry(Entry.this);
+          }
+          else {
+            logger.fine(String.format("Operação '%s' falhou: %s", operation.getKey(), e.getMessage()));
+            fail(new BatchOperationException(operation.getKey(), e));
+          }
+        }
+      });
+    }
+
+    void fail(Throwable cause) {
+      failed.incrementAndGet();
+      try {
+        future.fail(cause);
+      }
+      finally {
+        finished();
+      }
+    }
+  }
+
+  /**
+   * Future completado pela fila, e não pela execução de uma tarefa.
+   */
+  private static class OperationFuture<T> extends FutureTask<T> {
+
+    private final Runnable listener;
+
+    OperationFuture(Runnable listener) {
+      super(new Callable<T>() {
+
+        public T call() {
+          throw new IllegalStateException("Concluído apenas pela fila de lotes.");
+        }
+      });
+      this.listener = listener;
+    }
+
+    @Override
+    protected void done() {
+      if(listener != null) {
+        listener.run();
+      }
+    }
+
+    void complete(T result) {
+      set(result);
+    }
+
+    void fail(Throwable cause) {
+      setException(cause);
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+package br.com.webnize.googleapis.admin.directory.metrics;
+
+/**
+ * Medição de uma chamada HTTP à Directory API, entregue aos {@link MetricsSink}s.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class CallSample {
+
+  private final String operation;
+
+  private final int statusCode;
+
+  private final long latencyNanos;
+
+  private final int retries;
+
+  private final long requestBytes;
+
+  private final long responseBytes;
+
+  CallSample(String operation, int statusCode, long latencyNanos, int retries, long requestBytes, long responseBytes) {
+    this.operation = operation;
+    this.statusCode = statusCode;
+    this.latencyNanos = latencyNanos;
+    this.retries = retries;
+    this.requestBytes = requestBytes;
+    this.responseBytes = responseBytes;
+  }
+
+  /**
+   * @return operação: get, list, insert, update, patch, delete, batch ou o método HTTP.
+   */
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * @return status HTTP da resposta final, ou 0 se a chamada terminou em IOException.
+   */
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * @return latência da primeira tentativa até a resposta final, incluindo reenvios.
+   */
+  public long getLatencyNanos() {
+    return latencyNanos;
+  }
+
+  public int getRetries() {
+    return retries;
+  }
+
+  /**
+   * @return bytes do corpo enviado, antes da compressão (0 sem corpo, -1 se desconhecido).
+   */
+  public long getRequestBytes() {
+    return requestBytes;
+  }
+
+  /**
+   * @return bytes do corpo recebido segundo o Content-Length (-1 se desconhecido,
+   *         por exemplo em respostas chunked).
+   */
+  public long getResponseBytes() {
+    return responseBytes;
+  }
+
+  public boolean isSucceeded() {
+    return statusCode >= 200 && statusCode < 300;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s %d em %.1f ms, %d reenvios, %d/%d bytes", operation, statusCode, latencyNanos / 1e6, retries,
+            requestBytes, responseBytes);
+  }
+
+}
@@ -0,0 +1,419 @@
+package br.com.webnize.googleapis.admin.directory.metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.google.api.client.http.HttpContent;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpResponse;
+
+/**
+ * Métricas das chamadas HTTP à Directory API: latência por operação (get,
+ * list, insert, update, patch, delete, batch), distribuição de status HTTP,
+ * reenvios e bytes de request e de resposta.
+ *
+ * As medições são feitas pelo {@link br.com.webnize.googleapis.admin.directory.DirectoryThrottle}
+ * de cada cliente, acumuladas sem locks e expostas via JMX (domínio
+ * {@value #JMX_DOMAIN}) e a {@link MetricsSink}s adicionais.
+ *
+ *<pre>
+ * Obs:
+ * 1. A latência vai da primeira tentativa à resposta final, incluindo reenvios
+ *    e suas esperas, mas não a espera pelo limitador de taxa.
+ * 2. Um lote é medido como uma única chamada "batch"; suas entradas não são
+ *    medidas individualmente.
+ * 3. Os bytes de resposta vêm do Content-Length: respostas chunked não são contadas.
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DirectoryMetrics implements DirectoryMetricsMXBean {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(DirectoryMetrics.class.getName());
+
+  public static final String JMX_DOMAIN = "br.com.webnize.googleapis.admin.directory";
+
+  private static final DirectoryMetrics DEFAULT = new DirectoryMetrics("default");
+
+  private final String name;
+
+  private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<String, OperationMetrics>();
+
+  private final ConcurrentMap<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<Integer, AtomicLong>();
+
+  private final AtomicLong calls = new AtomicLong();
+
+  private final AtomicLong retries = new AtomicLong();
+
+  private final List<MetricsSink> sinks = new CopyOnWriteArrayList<MetricsSink>();
+
+  private volatile boolean registered;
+
+  /**
+   * @param name nome das métricas, parte do ObjectName JMX.
+   */
+  public DirectoryMetrics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return métricas compartilhadas pelos clientes de {@link br.com.webnize.googleapis.admin.directory.AbstractDirectoryService}.
+   */
+  public static DirectoryMetrics getDefault() {
+    return DEFAULT;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @param sink destino adicional das medições.
+   */
+  public DirectoryMetrics addSink(MetricsSink sink) {
+    sinks.add(sink);
+    return this;
+  }
+
+  public DirectoryMetrics removeSink(MetricsSink sink) {
+    sinks.remove(sink);
+    return this;
+  }
+
+  /**
+   * @param operation nome da operação.
+   * @return métricas da operação (criadas se não existirem).
+   */
+  public OperationMetrics getOperation(String operation) {
+
+    OperationMetrics metrics = operations.get(operation);
+
+    if(metrics == null) {
+      OperationMetrics created = new OperationMetrics();
+      metrics = operations.putIfAbsent(operation, created);
+      if(metrics == null) {
+        metrics = created;
+        if(registered) {
+          register(objectName(operation), created);
+        }
+      }
+    }
+
+    return metrics;
+  }
+
+  /**
+   * Acumula a medição e a repassa aos sinks.
+   *
+   * @param sample medição de uma chamada concluída.
+   */
+  public void record(CallSample sample) {
+
+    calls.incrementAndGet();
+    retries.addAndGet(sample.getRetries());
+
+    AtomicLong count = statusCounts.get(sample.getStatusCode());
+    if(count == null) {
+      AtomicLong created = new AtomicLong();
+      count = statusCounts.putIfAbsent(sample.getStatusCode(), created);
+      if(count == null) {
+        count = created;
+      }
+    }
+    count.incrementAndGet();
+
+    getOperation(sample.getOperation()).record(sample);
+
+    for(MetricsSink sink : sinks) {
+      try {
+        sink.record(sample);
+      }
+      catch(RuntimeException e) {
+        logger.log(Level.WARNING, "Falha em MetricsSink, medição descartada.", e);
+      }
+    }
+  }
+
+  /**
+   * Inicia a medição de uma chamada.
+   *
+   * @return medição a ser conduzida pelos interceptors do HTTP request.
+   */
+  public Call newCall() {
+    return new Call();
+  }
+
+  public long getCallCount() {
+    return calls.get();
+  }
+
+  public long getRetryCount() {
+    return retries.get();
+  }
+
+  public Map<String, Long> getStatusCounts() {
+
+    Map<String, Long> counts = new TreeMap<String, Long>();
+
+    for(Map.Entry<Integer, AtomicLong> entry : statusCounts.entrySet()) {
+      counts.put(String.valueOf(entry.getKey()), entry.getValue().get());
+    }
+
+    return counts;
+  }
+
+  public String[] getOperations() {
+    return operations.keySet().toArray(new String[0]);
+  }
+
+  public void reset() {
+    calls.set(0);
+    retries.set(0);
+    statusCounts.clear();
+    for(OperationMetrics metrics : operations.values()) {
+      metrics.reset();
+    }
+  }
+
+  /**
+   * Registra estas métricas e as de cada operação no MBeanServer da plataforma.
+   * Operações que surgirem depois são registradas ao surgir.
+   */
+  public synchronized void registerMBeans() {
+
+    if(registered) {
+      return;
+    }
+
+    registered = true;
+
+    register(objectName(null), this);
+
+    for(Map.Entry<String, OperationMetrics> entry : operations.entrySet()) {
+      register(objectName(entry.getKey()), entry.getValue());
+    }
+  }
+
+  /**
+   * Remove os MBeans registrados por {@link #registerMBeans()}.
+   */
+  public synchronized void unregisterMBeans() {
+
+    if(!registered) {
+      return;
+    }
+
+    registered = false;
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    try {
+      server.unregisterMBean(objectName(null));
+      for(String operation : operations.keySet()) {
+        ObjectName objectName = objectName(operation);
+        if(server.isRegistered(objectName)) {
+          server.unregisterMBean(objectName);
+        }
+      }
+    }
+    catch(Exception e) {
+      logger.log(Level.WARNING, "Falha ao remover MBeans de métricas.", e);
+    }
+  }
+
+  private ObjectName objectName(String operation) {
+    try {
+      return new ObjectName(JMX_DOMAIN + ":type=DirectoryMetrics,name=" + ObjectName.quote(name)
+              + (operation == null ? "" : ",operation=" + ObjectName.quote(operation)));
+    }
+    catch(Exception e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  private static void register(ObjectName objectName, Object mbean) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      if(!server.isRegistered(objectName)) {
+        server.registerMBean(mbean, objectName);
+      }
+    }
+    catch(Exception e) {
+      logger.log(Level.WARNING, "Falha ao registrar MBean " + objectName, e);
+    }
+  }
+
+  /**
+   * Deduz a operação pelo método e pelo caminho do HTTP request.
+   */
+  static String operationOf(HttpRequest request) {
+
+    String method = request.getRequestMethod();
+
+    String override = request.getHeaders().getFirstHeaderStringValue("X-HTTP-Method-Override");
+    if(override != null) {
+      method = override;
+    }
+
+    String path = request.getUrl() == null ? "" : request.getUrl().getRawPath();
+    String lastSegment = path.substring(path.lastIndexOf('/') + 1);
+
+    if("batch".equals(lastSegment)) {
+      return "batch";
+    }
+
+    if("GET".equals(method)) {
+      return isCollection(lastSegment) ? "list" : "get";
+    }
+
+    if("POST".equals(method)) {
+      return "insert";
+    }
+
+    if("PUT".equals(method)) {
+      return "update";
+    }
+
+    return method.toLowerCase();
+  }
+
+  private static boolean isCollection(String segment) {
+    return "users".equals(segment) || "groups".equals(segment) || "members".equals(segment) || "aliases".equals(segment)
+        || "orgunits".equals(segment) || "domains".equals(segment) || "tokens".equals(segment) || "asps".equals(segment);
+  }
+
+  /**
+   * Medição de uma chamada, da primeira tentativa à resposta final.
+   */
+  public class Call {
+
+    private String operation;
+
+    private long startNanos;
+
+    private HttpRequest request;
+
+    private int attempts;
+
+    private int statusCode;
+
+    private long responseBytes = -1;
+
+    private boolean held;
+
+    private boolean done;
+
+    private Call() {
+    }
+
+    /**
+     * Mantém a medição aberta entre HTTP requests distintos, quando quem
+     * executa a chamada a reenvia por conta própria (por exemplo, 403 de cota):
+     * a resposta de cada um é apenas guardada até {@link #complete()}.
+     */
+    public void hold() {
+      held = true;
+    }
+
+    /**
+     * Encerra uma medição mantida por {@link #hold()} com a última resposta recebida.
+     */
+    public void complete() {
+      held = false;
+      finish(statusCode, responseBytes);
+    }
+
+    /**
+     * Deve ser chamado no início de cada tentativa (execute interceptor).
+     */
+    public void onAttempt(HttpRequest request) {
+
+      statusCode = 0;
+      responseBytes = -1;
+
+      if(attempts++ > 0) {
+        return;
+      }
+
+      startNanos = System.nanoTime();
+      operation = operationOf(request);
+      this.request = request;
+    }
+
+    /**
+     * Deve ser chamado com a resposta final (response interceptor).
+     */
+    public void onResponse(HttpResponse response) {
+
+      Long contentLength = response.getHeaders().getContentLength();
+
+      statusCode = response.getStatusCode();
+      responseBytes = contentLength == null ? -1 : contentLength;
+
+      if(!held) {
+        finish(statusCode, responseBytes);
+      }
+    }
+
+    /**
+     * Deve ser chamado quando a chamada termina em IOException, sem resposta.
+     */
+    public void onFailure() {
+
+      statusCode = 0;
+      responseBytes = -1;
+
+      if(!held) {
+        finish(statusCode, responseBytes);
+      }
+    }
+
+    private void finish(int statusCode, long responseBytes) {
+
+      if(done || attempts == 0) {
+        return;
+      }
+
+      done = true;
+
+      long latencyNanos = System.nanoTime() - startNanos;
+
+      record(new CallSample(operation, statusCode, latencyNanos, attempts - 1, requestBytes(), responseBytes));
+    }
+
+    /**
+     * Tamanho do corpo enviado. Só é lido ao fim da chamada: o conteúdo guarda o
+     * tamanho calculado, e calculá-lo no interceptor, antes que as entradas de um
+     * lote recebam seus cabeçalhos, fixaria um tamanho menor que o enviado.
+     */
+    private long requestBytes() {
+
+      HttpContent content = request.getContent();
+
+      try {
+        return content == null ? 0 : content.getLength();
+      }
+      catch(IOException e) {
+        return -1;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,30 @@
+package br.com.webnize.googleapis.admin.directory.metrics;
+
+import java.util.Map;
+
+/**
+ * Métricas gerais das chamadas à Directory API expostas via JMX.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public interface DirectoryMetricsMXBean {
+
+  long getCallCount();
+
+  long getRetryCount();
+
+  /**
+   * @return quantidade de chamadas por status HTTP final ("0" para IOException).
+   */
+  Map<String, Long> getStatusCounts();
+
+  /**
+   * @return operações com métricas registradas.
+   */
+  String[] getOperations();
+
+  void reset();
+
+}
@@ -0,0 +1,131 @@
+package br.com.webnize.googleapis.admin.directory.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências com faixas em escala logarítmica (fator raiz de 2,
+ * de 100 µs a cerca de 100 s), sem locks: registrar uma amostra custa alguns
+ * incrementos atômicos.
+ *
+ * Os percentis são aproximados pelo limite superior da faixa, com erro
+ * relativo de até ~41%.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class LatencyHistogram {
+
+  /**
+   * Limite superior da primeira faixa, em nanossegundos.
+   */
+  private static final long FIRST_BOUND_NANOS = 100000;
+
+  private static final int BUCKETS = 42;
+
+  private static final long[] BOUNDS = new long[BUCKETS];
+
+  static {
+    for(int i = 0; i < BUCKETS; i++) {
+      BOUNDS[i] = (long) (FIRST_BOUND_NANOS * Math.pow(2, i / 2.0));
+    }
+  }
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS + 1);
+
+  private final AtomicLong count = new AtomicLong();
+
+  private final AtomicLong sumNanos = new AtomicLong();
+
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  /**
+   * @param nanos latência em nanossegundos.
+   */
+  public void record(long nanos) {
+
+    counts.incrementAndGet(bucketOf(nanos));
+    count.incrementAndGet();
+    sumNanos.addAndGet(nanos);
+
+    for(long max = maxNanos.get(); nanos > max && !maxNanos.compareAndSet(max, nanos); max = maxNanos.get()) {
+      // repete até registrar o novo máximo ou outro maior
+    }
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public double getMeanMillis() {
+    long n = count.get();
+    return n == 0 ? 0 : sumNanos.get() / 1e6 / n;
+  }
+
+  public double getMaxMillis() {
+    return maxNanos.get() / 1e6;
+  }
+
+  /**
+   * @param percentile percentil entre 0 e 1, por exemplo 0.99.
+   * @return limite superior, em milissegundos, da faixa que contém o percentil.
+   */
+  public double getPercentileMillis(double percentile) {
+
+    long total = 0;
+    long[] snapshot = new long[BUCKETS + 1];
+
+    for(int i = 0; i <= BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+
+    if(total == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(percentile * total);
+    long seen = 0;
+
+    for(int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if(seen >= rank) {
+        return Math.min(BOUNDS[i], maxNanos.get()) / 1e6;
+      }
+    }
+
+    return getMaxMillis();
+  }
+
+  public void reset() {
+    for(int i = 0; i <= BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.set(0);
+    sumNanos.set(0);
+    maxNanos.set(0);
+  }
+
+  private static int bucketOf(long nanos) {
+
+    /*
+     * Busca binária pela primeira faixa cujo limite superior comporta a amostra.
+     */
+    int low = 0;
+    int high = BUCKETS;
+
+    while(low < high) {
+      int middle = (low + high) >>> 1;
+      if(BOUNDS[middle] < nanos) {
+        low = middle + 1;
+      }
+      else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+}
@@ -0,0 +1,40 @@
+package br.com.webnize.googleapis.admin.directory.metrics;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registra cada chamada no log, em nível FINE, ou em WARNING se a chamada
+ * falhou ou levou mais que 'slowCallMillis'.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class LoggingMetricsSink implements MetricsSink {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(LoggingMetricsSink.class.getName());
+
+  private final long slowCallNanos;
+
+  /**
+   * @param slowCallMillis latência a partir da qual a chamada é registrada como lenta.
+   */
+  public LoggingMetricsSink(long slowCallMillis) {
+    this.slowCallNanos = slowCallMillis * 1000000;
+  }
+
+  public void record(CallSample sample) {
+
+    if(!sample.isSucceeded() || sample.getLatencyNanos() >= slowCallNanos) {
+      logger.warning("Chamada à Directory API: " + sample);
+    }
+    else if(logger.isLoggable(Level.FINE)) {
+      logger.fine("Chamada à Directory API: " + sample);
+    }
+  }
+
+}
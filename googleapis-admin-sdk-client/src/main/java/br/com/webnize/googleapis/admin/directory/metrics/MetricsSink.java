@@ -0,0 +1,18 @@
+package br.com.webnize.googleapis.admin.directory.metrics;
+
+/**
+ * Destino das medições de cada chamada, para integração com outros sistemas
+ * de métricas. É chamado na thread da chamada e deve retornar rapidamente.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public interface MetricsSink {
+
+  /**
+   * @param sample medição de uma chamada concluída.
+   */
+  void record(CallSample sample);
+
+}
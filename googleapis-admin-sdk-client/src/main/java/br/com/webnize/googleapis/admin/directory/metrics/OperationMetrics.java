@@ -0,0 +1,105 @@
+package br.com.webnize.googleapis.admin.directory.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas acumuladas de uma operação: histograma de latência, erros,
+ * reenvios e bytes trafegados.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  private final AtomicLong errors = new AtomicLong();
+
+  private final AtomicLong retries = new AtomicLong();
+
+  private final AtomicLong requestBytes = new AtomicLong();
+
+  private final AtomicLong responseBytes = new AtomicLong();
+
+  void record(CallSample sample) {
+
+    latency.record(sample.getLatencyNanos());
+
+    if(!sample.isSucceeded()) {
+      errors.incrementAndGet();
+    }
+
+    if(sample.getRetries() > 0) {
+      retries.addAndGet(sample.getRetries());
+    }
+
+    if(sample.getRequestBytes() > 0) {
+      requestBytes.addAndGet(sample.getRequestBytes());
+    }
+
+    if(sample.getResponseBytes() > 0) {
+      responseBytes.addAndGet(sample.getResponseBytes());
+    }
+  }
+
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+  public long getCount() {
+    return latency.getCount();
+  }
+
+  public long getErrorCount() {
+    return errors.get();
+  }
+
+  public long getRetryCount() {
+    return retries.get();
+  }
+
+  public long getRequestBytes() {
+    return requestBytes.get();
+  }
+
+  public long getResponseBytes() {
+    return responseBytes.get();
+  }
+
+  public double getMeanMillis() {
+    return latency.getMeanMillis();
+  }
+
+  public double getP50Millis() {
+    return latency.getPercentileMillis(0.50);
+  }
+
+  public double getP90Millis() {
+    return latency.getPercentileMillis(0.90);
+  }
+
+  public double getP99Millis() {
+    return latency.getPercentileMillis(0.99);
+  }
+
+  public double getMaxMillis() {
+    return latency.getMaxMillis();
+  }
+
+  public void reset() {
+    latency.reset();
+    errors.set(0);
+    retries.set(0);
+    requestBytes.set(0);
+    responseBytes.set(0);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d chamadas (%d com erro, %d reenvios), média %.1f ms, p50 %.1f ms, p99 %.1f ms, máx %.1f ms, %d/%d bytes",
+            getCount(), getErrorCount(), getRetryCount(), getMeanMillis(), getP50Millis(), getP99Millis(), getMaxMillis(),
+            getRequestBytes(), getResponseBytes());
+  }
+
+}
@@ -0,0 +1,34 @@
+package br.com.webnize.googleapis.admin.directory.metrics;
+
+/**
+ * Métricas de uma operação da Directory API expostas via JMX.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public interface OperationMetricsMXBean {
+
+  long getCount();
+
+  long getErrorCount();
+
+  long getRetryCount();
+
+  long getRequestBytes();
+
+  long getResponseBytes();
+
+  double getMeanMillis();
+
+  double getP50Millis();
+
+  double getP90Millis();
+
+  double getP99Millis();
+
+  double getMaxMillis();
+
+  void reset();
+
+}
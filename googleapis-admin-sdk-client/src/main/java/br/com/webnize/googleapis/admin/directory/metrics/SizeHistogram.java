@@ -0,0 +1,128 @@
+package br.com.webnize.googleapis.admin.directory.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de tamanhos (por exemplo, operações por lote) com faixas em
+ * potências de 2 (1, 2, 4, ... 1024 e acima), sem locks, como o
+ * {@link LatencyHistogram}.
+ *
+ * Os percentis são aproximados pelo limite superior da faixa.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class SizeHistogram {
+
+  /**
+   * Faixas até 2^10: a última acumula os tamanhos acima de 1024.
+   */
+  private static final int BUCKETS = 12;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+  private final AtomicLong count = new AtomicLong();
+
+  private final AtomicLong sum = new AtomicLong();
+
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * @param size tamanho registrado.
+   */
+  public void record(long size) {
+
+    counts.incrementAndGet(bucketOf(size));
+    count.incrementAndGet();
+    sum.addAndGet(size);
+
+    for(long current = max.get(); size > current && !max.compareAndSet(current, size); current = max.get()) {
+      // repete até registrar o novo máximo ou outro maior
+    }
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public double getMean() {
+    long n = count.get();
+    return n == 0 ? 0 : (double) sum.get() / n;
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * @param percentile percentil entre 0 e 1, por exemplo 0.99.
+   * @return limite superior da faixa que contém o percentil.
+   */
+  public long getPercentile(double percentile) {
+
+    long total = 0;
+    long[] snapshot = new long[BUCKETS];
+
+    for(int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+
+    if(total == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(percentile * total);
+    long seen = 0;
+
+    for(int i = 0; i < BUCKETS - 1; i++) {
+      seen += snapshot[i];
+      if(seen >= rank) {
+        return Math.min(1L << i, max.get());
+      }
+    }
+
+    return max.get();
+  }
+
+  /**
+   * @return quantidade de amostras por faixa: índice i conta os tamanhos até
+   *         2^i (acima de 2^(i-1)); o último, os acima de 1024.
+   */
+  public long[] getCounts() {
+
+    long[] snapshot = new long[BUCKETS];
+
+    for(int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+    }
+
+    return snapshot;
+  }
+
+  public void reset() {
+    for(int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.set(0);
+    sum.set(0);
+    max.set(0);
+  }
+
+  private static int bucketOf(long size) {
+
+    if(size <= 1) {
+      return 0;
+    }
+
+    /*
+     * Menor i com 2^i >= size.
+     */
+    int bucket = 64 - Long.numberOfLeadingZeros(size - 1);
+
+    return Math.min(bucket, BUCKETS - 1);
+  }
+
+}
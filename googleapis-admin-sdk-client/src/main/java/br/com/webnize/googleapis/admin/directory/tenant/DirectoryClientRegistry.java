@@ -0,0 +1,360 @@
+package br.com.webnize.googleapis.admin.directory.tenant;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.admin.directory.Directory;
+
+import br.com.webnize.googleapis.admin.directory.AbstractDirectoryService;
+import br.com.webnize.googleapis.admin.directory.AdaptiveRateLimiter;
+import br.com.webnize.googleapis.admin.directory.DirectoryThrottle;
+import br.com.webnize.googleapis.admin.directory.TokenRefresher;
+import br.com.webnize.googleapis.admin.directory.metrics.DirectoryMetrics;
+import br.com.webnize.googleapis.admin.directory.transport.HttpTransportFactory;
+
+/**
+ * Registro de clientes da Directory API de vários clientes (tenants), para
+ * uso por um mesmo processo que administra domínios de vários clientes.
+ *
+ * Todos os clientes compartilham um único {@link HttpTransport} (e seu pool
+ * de conexões) e uma única {@link JsonFactory}. Cada tenant tem sua própria
+ * credencial, renovada em segundo plano, e seu próprio {@link AdaptiveRateLimiter},
+ * de forma que o estouro de cota de um tenant não atrasa os demais.
+ *
+ * As chamadas de todos os tenants são medidas em um mesmo {@link DirectoryMetrics}
+ * (por padrão o compartilhado, {@link DirectoryMetrics#getDefault()}).
+ *
+ * Tenants sem uso há mais de 'idleTimeoutMillis' são descartados, liberando a
+ * credencial e o renovador; o próximo uso cria um novo cliente. O uso é medido
+ * a cada HTTP request feito pelo cliente, de forma que um cliente obtido uma
+ * vez e usado continuamente (por exemplo, em uma exportação longa) não é
+ * descartado.
+ *
+ *<pre>
+ * Exemplo:
+ *   DirectoryClientRegistry registry = new DirectoryClientRegistry(new PooledHttpTransportFactory(),
+ *           provider, Arrays.asList(DirectoryScopes.ADMIN_DIRECTORY_USER));
+ *   Directory client = registry.getClient("C01234567");
+ *   new UserExporter(client).export(Collections.singletonList(UserShard.ofCustomer("my_customer", null)), output);
+ *
+ * Obs:
+ * 1. Não guarde o cliente por mais tempo sem uso que 'idleTimeoutMillis': depois
+ *    do descarte a credencial dele deixa de ser renovada em segundo plano e o
+ *    próximo getClient cria outro cliente, com outro limitador de taxa para a
+ *    mesma cota. Obtenha-o com getClient a cada tarefa.
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DirectoryClientRegistry implements Closeable {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(DirectoryClientRegistry.class.getName());
+
+  /**
+   * Tempo padrão sem uso, em milissegundos, após o qual um tenant é descartado.
+   */
+  public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 30 * 60 * 1000;
+
+  private final HttpTransportFactory transportFactory;
+
+  private final HttpTransport transport;
+
+  private final JsonFactory jsonFactory = JacksonFactory.getDefaultInstance();
+
+  private final TenantCredentialProvider credentialProvider;
+
+  private final List<String> scopes;
+
+  private final ConcurrentMap<String, FutureTask<TenantClient>> tenants = new ConcurrentHashMap<String, FutureTask<TenantClient>>();
+
+  private final Map<String, double[]> rateLimits = new ConcurrentHashMap<String, double[]>();
+
+  private final ScheduledExecutorService evictor;
+
+  private volatile double[] defaultRateLimit = {AdaptiveRateLimiter.DEFAULT_INITIAL_RATE,
+                                                AdaptiveRateLimiter.DEFAULT_MIN_RATE,
+                                                AdaptiveRateLimiter.DEFAULT_MAX_RATE};
+
+  private volatile long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+
+  private volatile DirectoryMetrics metrics = DirectoryMetrics.getDefault();
+
+  private volatile String rootUrl = Directory.DEFAULT_ROOT_URL;
+
+  /**
+   * @param transportFactory fábrica do transporte compartilhado por todos os tenants.
+   * @param credentialProvider fornecedor das credenciais de cada tenant.
+   * @param scopes scopes requeridos.
+   * @throws IOException
+   */
+  public DirectoryClientRegistry(HttpTransportFactory transportFactory, TenantCredentialProvider credentialProvider,
+          Collection<String> scopes) throws IOException {
+
+    this.transportFactory = transportFactory;
+    this.transport = transportFactory.newTransport();
+    this.credentialProvider = credentialProvider;
+    this.scopes = Collections.unmodifiableList(new ArrayList<String>(scopes));
+
+    this.evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "directory-tenant-evictor");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+
+    this.evictor.scheduleWithFixedDelay(new Runnable() {
+
+      public void run() {
+        evictIdle();
+      }
+    }, 1, 1, TimeUnit.MINUTES);
+  }
+
+  /**
+   * @param idleTimeoutMillis tempo sem uso após o qual um tenant é descartado.
+   */
+  public DirectoryClientRegistry setIdleTimeoutMillis(long idleTimeoutMillis) {
+    this.idleTimeoutMillis = idleTimeoutMillis;
+    return this;
+  }
+
+  /**
+   * @param metrics métricas das chamadas dos clientes criados a partir de então (null desativa a medição).
+   */
+  public DirectoryClientRegistry setMetrics(DirectoryMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
+  public DirectoryMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * @param rootUrl URL raiz da API dos clientes criados a partir de então, por
+   *        exemplo a de um servidor local que simula a Directory API.
+   */
+  public DirectoryClientRegistry setRootUrl(String rootUrl) {
+    this.rootUrl = rootUrl;
+    return this;
+  }
+
+  /**
+   * Define a taxa, em chamadas por segundo, dos tenants sem taxa própria,
+   * valendo para os clientes criados a partir de então.
+   */
+  public DirectoryClientRegistry setRateLimit(double initialRate, double minRate, double maxRate) {
+    this.defaultRateLimit = new double[] {initialRate, minRate, maxRate};
+    return this;
+  }
+
+  /**
+   * Define a taxa, em chamadas por segundo, de um tenant (por exemplo, com
+   * cota ampliada), valendo a partir da próxima criação do seu cliente.
+   */
+  public DirectoryClientRegistry setRateLimit(String tenantId, double initialRate, double minRate, double maxRate) {
+    rateLimits.put(tenantId, new double[] {initialRate, minRate, maxRate});
+    return this;
+  }
+
+  /**
+   * Devolve o cliente do tenant, criando-o no primeiro uso (uma única vez,
+   * mesmo com chamadas simultâneas).
+   *
+   * @param tenantId identificador do tenant.
+   * @return cliente da Directory API autorizado para o tenant.
+   * @throws IOException se a credencial do tenant não puder ser obtida.
+   */
+  public Directory getClient(String tenantId) throws IOException {
+
+    FutureTask<TenantClient> task = tenants.get(tenantId);
+
+    if(task == null) {
+
+      FutureTask<TenantClient> created = new FutureTask<TenantClient>(newTenantClient(tenantId));
+
+      task = tenants.putIfAbsent(tenantId, created);
+
+      if(task == null) {
+        task = created;
+        created.run();
+      }
+    }
+
+    try {
+      TenantClient client = task.get();
+      client.lastAccess = System.currentTimeMillis();
+      return client.service;
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Criação do cliente interrompida.", e);
+    }
+    catch(ExecutionException e) {
+      /*
+       * Falhas não ficam registradas: a próxima chamada tenta novamente.
+       */
+      tenants.remove(tenantId, task);
+      if(e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * @param tenantId identificador do tenant.
+   * @return limitador de taxa do tenant ou null se o tenant não estiver registrado.
+   */
+  public AdaptiveRateLimiter getRateLimiter(String tenantId) {
+
+    TenantClient client = getIfDone(tenants.get(tenantId));
+
+    return client == null ? null : DirectoryThrottle.of(client.service).getRateLimiter();
+  }
+
+  /**
+   * @return quantidade de tenants registrados.
+   */
+  public int size() {
+    return tenants.size();
+  }
+
+  /**
+   * Descarta o cliente do tenant, interrompendo a renovação da sua credencial.
+   *
+   * @param tenantId identificador do tenant.
+   */
+  public void evict(String tenantId) {
+
+    FutureTask<TenantClient> task = tenants.remove(tenantId);
+
+    TenantClient client = getIfDone(task);
+    if(client != null) {
+      client.refresher.stop();
+    }
+  }
+
+  /**
+   * Descarta os tenants sem chamadas nem getClient há mais de 'idleTimeoutMillis'.
+   */
+  void evictIdle() {
+
+    long limit = System.currentTimeMillis() - idleTimeoutMillis;
+
+    for(Map.Entry<String, FutureTask<TenantClient>> entry : tenants.entrySet()) {
+
+      TenantClient client = getIfDone(entry.getValue());
+
+      if(client != null && client.lastAccess() < limit && tenants.remove(entry.getKey(), entry.getValue())) {
+        client.refresher.stop();
+        logger.info(String.format("Tenant '%s' descartado por inatividade.", entry.getKey()));
+      }
+    }
+  }
+
+  /**
+   * Descarta todos os tenants e encerra o transporte compartilhado.
+   */
+  public void close() throws IOException {
+
+    evictor.shutdownNow();
+
+    for(String tenantId : new ArrayList<String>(tenants.keySet())) {
+      evict(tenantId);
+    }
+
+    transport.shutdown();
+  }
+
+  private Callable<TenantClient> newTenantClient(final String tenantId) {
+
+    return new Callable<TenantClient>() {
+
+      public TenantClient call() throws IOException {
+
+        Credential credential = credentialProvider.getCredential(tenantId, transport, jsonFactory, scopes);
+
+        double[] rate = rateLimits.containsKey(tenantId) ? rateLimits.get(tenantId) : defaultRateLimit;
+
+        DirectoryThrottle throttle = new DirectoryThrottle(transportFactory.wrap(credential), new AdaptiveRateLimiter(rate[0], rate[1], rate[2]))
+                                          .setMetrics(metrics);
+
+        Directory service = new Directory
+                                  .Builder(transport, jsonFactory, throttle)
+                                    .setRootUrl(rootUrl)
+                                      .setApplicationName(AbstractDirectoryService.APPLICATION_NAME)
+                                        .build();
+
+        logger.info(String.format("Cliente do tenant '%s' criado.", tenantId));
+
+        return new TenantClient(service, new TokenRefresher(credential).start());
+      }
+    };
+  }
+
+  private static TenantClient getIfDone(FutureTask<TenantClient> task) {
+
+    if(task == null || !task.isDone()) {
+      return null;
+    }
+
+    try {
+      return task.get();
+    }
+    catch(Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * Cliente de um tenant e o renovador da sua credencial.
+   */
+  private static class TenantClient {
+
+    private final Directory service;
+
+    private final TokenRefresher refresher;
+
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    TenantClient(Directory service, TokenRefresher refresher) {
+      this.service = service;
+      this.refresher = refresher;
+    }
+
+    /**
+     * Último getClient ou HTTP request do tenant, o que for mais recente.
+     */
+    long lastAccess() {
+      return Math.max(lastAccess, DirectoryThrottle.of(service).getLastActivityMillis());
+    }
+  }
+
+}
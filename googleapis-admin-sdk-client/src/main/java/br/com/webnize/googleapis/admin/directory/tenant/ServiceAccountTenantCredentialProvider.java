@@ -0,0 +1,88 @@
+package br.com.webnize.googleapis.admin.directory.tenant;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.util.IOUtils;
+
+/**
+ * Credenciais de uma conta de serviço autorizada, com delegação em todo o
+ * domínio, nos domínios de vários clientes: para cada tenant é personificado
+ * o administrador informado em {@link #setAdminUser(String, String)}.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class ServiceAccountTenantCredentialProvider implements TenantCredentialProvider {
+
+  private final byte[] serviceAccountJson;
+
+  private final Map<String, String> adminUsers = new ConcurrentHashMap<String, String>();
+
+  /**
+   * @param serviceAccountJson JSON da chave da conta de serviço (lido por completo, não é fechado).
+   * @throws IOException
+   */
+  public ServiceAccountTenantCredentialProvider(InputStream serviceAccountJson) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    IOUtils.copy(serviceAccountJson, buffer, false);
+    this.serviceAccountJson = buffer.toByteArray();
+  }
+
+  /**
+   * @param tenantId identificador do tenant.
+   * @param adminUser email do administrador do tenant personificado pela conta de serviço.
+   */
+  public ServiceAccountTenantCredentialProvider setAdminUser(String tenantId, String adminUser) {
+    adminUsers.put(tenantId, adminUser);
+    return this;
+  }
+
+  public Credential getCredential(String tenantId, HttpTransport transport, JsonFactory jsonFactory, Collection<String> scopes) throws IOException {
+
+    String adminUser = adminUsers.get(tenantId);
+
+    if(adminUser == null) {
+      throw new IOException(String.format("Administrador do tenant '%s' não definido.", tenantId));
+    }
+
+    GoogleCredential key = GoogleCredential.fromStream(new ByteArrayInputStream(serviceAccountJson), transport, jsonFactory);
+
+    return newDelegatedCredential(key, transport, jsonFactory, scopes, adminUser);
+  }
+
+  /**
+   * Cria a credencial da conta de serviço 'key' personificando 'adminUser'.
+   *
+   * @param key chave da conta de serviço.
+   * @param transport transporte das chamadas de autorização.
+   * @param jsonFactory JSON factory.
+   * @param scopes scopes requeridos.
+   * @param adminUser email do administrador personificado.
+   * @return credencial com delegação.
+   */
+  public static GoogleCredential newDelegatedCredential(GoogleCredential key, HttpTransport transport, JsonFactory jsonFactory,
+          Collection<String> scopes, String adminUser) {
+
+    return new GoogleCredential.Builder()
+                  .setTransport(transport)
+                    .setJsonFactory(jsonFactory)
+                      .setServiceAccountId(key.getServiceAccountId())
+                        .setServiceAccountPrivateKey(key.getServiceAccountPrivateKey())
+                          .setServiceAccountPrivateKeyId(key.getServiceAccountPrivateKeyId())
+                            .setServiceAccountScopes(scopes)
+                              .setServiceAccountUser(adminUser)
+                                .build();
+  }
+
+}
@@ -0,0 +1,79 @@
+package br.com.webnize.googleapis.admin.directory.tenant;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.extensions.java6.auth.oauth2.AuthorizationCodeInstalledApp;
+import com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver;
+import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
+import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.util.store.FileDataStoreFactory;
+
+/**
+ * Credenciais OAuth2 salvas em um {@link FileDataStoreFactory}, uma por tenant,
+ * usando o id do tenant como chave (em vez da chave única "user").
+ *
+ * A autorização de um novo tenant é feita uma vez, de forma interativa, por
+ * {@link #authorize(String, HttpTransport, JsonFactory, Collection)}; a partir
+ * de então a credencial é carregada sem interação.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class StoredTenantCredentialProvider implements TenantCredentialProvider {
+
+  private final GoogleClientSecrets clientSecrets;
+
+  private final FileDataStoreFactory dataStoreFactory;
+
+  /**
+   * @param clientSecrets credenciais da aplicação (client_secret.json).
+   * @param dataStoreDir diretório das credenciais salvas.
+   * @throws IOException
+   */
+  public StoredTenantCredentialProvider(GoogleClientSecrets clientSecrets, File dataStoreDir) throws IOException {
+    this.clientSecrets = clientSecrets;
+    this.dataStoreFactory = new FileDataStoreFactory(dataStoreDir);
+  }
+
+  public Credential getCredential(String tenantId, HttpTransport transport, JsonFactory jsonFactory, Collection<String> scopes) throws IOException {
+
+    Credential credential = newFlow(transport, jsonFactory, scopes).loadCredential(tenantId);
+
+    if(credential == null || credential.getRefreshToken() == null) {
+      throw new IOException(String.format("Tenant '%s' sem credencial salva, execute a autorização antes.", tenantId));
+    }
+
+    return credential;
+  }
+
+  /**
+   * Executa o fluxo interativo OAuth2 (navegador) para o tenant, salvando sua credencial.
+   *
+   * @param tenantId identificador do tenant.
+   * @param transport transporte das chamadas de autorização.
+   * @param jsonFactory JSON factory.
+   * @param scopes scopes requeridos.
+   * @return credencial autorizada.
+   * @throws IOException
+   */
+  public Credential authorize(String tenantId, HttpTransport transport, JsonFactory jsonFactory, Collection<String> scopes) throws IOException {
+
+    return new AuthorizationCodeInstalledApp(newFlow(transport, jsonFactory, scopes), new LocalServerReceiver()).authorize(tenantId);
+  }
+
+  private GoogleAuthorizationCodeFlow newFlow(HttpTransport transport, JsonFactory jsonFactory, Collection<String> scopes) throws IOException {
+
+    return new GoogleAuthorizationCodeFlow
+                .Builder(transport, jsonFactory, clientSecrets, scopes)
+                  .setDataStoreFactory(dataStoreFactory)
+                    .setAccessType("offline")
+                      .build();
+  }
+
+}
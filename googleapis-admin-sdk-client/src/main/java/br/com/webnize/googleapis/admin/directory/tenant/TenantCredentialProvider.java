@@ -0,0 +1,32 @@
+package br.com.webnize.googleapis.admin.directory.tenant;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
+
+/**
+ * Fornece a credencial de cada cliente (tenant) gerenciado pelo
+ * {@link DirectoryClientRegistry}.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public interface TenantCredentialProvider {
+
+  /**
+   * Obtém a credencial do tenant, sem interação com o usuário.
+   *
+   * @param tenantId identificador do tenant (id do cliente ou domínio).
+   * @param transport transporte compartilhado, para as chamadas de autorização.
+   * @param jsonFactory JSON factory compartilhada.
+   * @param scopes scopes requeridos.
+   * @return credencial autorizada do tenant.
+   * @throws IOException se o tenant não tiver credencial disponível.
+   */
+  Credential getCredential(String tenantId, HttpTransport transport, JsonFactory jsonFactory, Collection<String> scopes) throws IOException;
+
+}
@@ -0,0 +1,134 @@
+package br.com.webnize.googleapis.admin.directory.transport;
+
+import java.io.IOException;
+
+import com.google.api.client.http.HttpExecuteInterceptor;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpTransport;
+
+/**
+ * Fábrica do {@link HttpTransport} utilizado pelos clientes da Directory API,
+ * com os timeouts aplicados a cada HTTP request.
+ *
+ * Os timeouts de conexão e de leitura são definidos por HTTP request (a
+ * biblioteca cliente sobrescreve qualquer valor padrão do transporte), por
+ * isso são aplicados pelo inicializador devolvido em {@link #wrap(HttpRequestInitializer)},
+ * antes do inicializador original.
+ *
+ *<pre>
+ * Obs:
+ * 1. A biblioteca cliente já pede respostas comprimidas: envia "Accept-Encoding: gzip"
+ *    e o sufixo "(gzip)" no User-Agent em todo request. {@link #setGzip(boolean)}
+ *    com false desliga esse padrão (por exemplo, para medir o ganho da compressão).
+ * 2. O corpo dos requests também é comprimido pela biblioteca cliente.
+ * </pre>
+ *
+ * @see https://developers.google.com/admin-sdk/directory/v1/guides/performance#gzip
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public abstract class HttpTransportFactory {
+
+  /**
+   * Timeout padrão, em milissegundos, igual ao da biblioteca cliente.
+   */
+  public static final int DEFAULT_TIMEOUT_MILLIS = 20000;
+
+  private int connectTimeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+  private int readTimeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+  private boolean gzip = true;
+
+  /**
+   * Cria um novo transporte. Cada transporte tem seu próprio pool de conexões
+   * e deve ser compartilhado pelos clientes que o utilizam.
+   *
+   * @return transporte HTTP.
+   * @throws IOException
+   */
+  public abstract HttpTransport newTransport() throws IOException;
+
+  /**
+   * @param connectTimeoutMillis timeout de conexão em milissegundos (0 para infinito).
+   */
+  public HttpTransportFactory setConnectTimeoutMillis(int connectTimeoutMillis) {
+    this.connectTimeoutMillis = connectTimeoutMillis;
+    return this;
+  }
+
+  /**
+   * @param readTimeoutMillis timeout de leitura do socket em milissegundos (0 para infinito).
+   */
+  public HttpTransportFactory setReadTimeoutMillis(int readTimeoutMillis) {
+    this.readTimeoutMillis = readTimeoutMillis;
+    return this;
+  }
+
+  /**
+   * @param gzip false remove o "Accept-Encoding: gzip" enviado por padrão pela
+   *        biblioteca cliente, recebendo as respostas sem compressão.
+   */
+  public HttpTransportFactory setGzip(boolean gzip) {
+    this.gzip = gzip;
+    return this;
+  }
+
+  public int getConnectTimeoutMillis() {
+    return connectTimeoutMillis;
+  }
+
+  public int getReadTimeoutMillis() {
+    return readTimeoutMillis;
+  }
+
+  public boolean isGzip() {
+    return gzip;
+  }
+
+  /**
+   * Envolve o inicializador dos HTTP requests (normalmente a credencial),
+   * aplicando antes dele os timeouts configurados (e, com 'gzip' desabilitado,
+   * removendo o pedido de compressão).
+   *
+   * @param delegate inicializador original (pode ser null).
+   * @return inicializador com a configuração desta fábrica.
+   */
+  public HttpRequestInitializer wrap(final HttpRequestInitializer delegate) {
+
+    return new HttpRequestInitializer() {
+
+      public void initialize(HttpRequest request) throws IOException {
+
+        request.setConnectTimeout(connectTimeoutMillis);
+        request.setReadTimeout(readTimeoutMillis);
+
+        if(delegate != null) {
+          delegate.initialize(request);
+        }
+
+        if(!gzip) {
+          /*
+           * A biblioteca cliente copia os próprios cabeçalhos, que pedem gzip, depois
+           * da inicialização: o cabeçalho só pode ser removido na execução.
+           */
+          final HttpExecuteInterceptor interceptor = request.getInterceptor();
+
+          request.setInterceptor(new HttpExecuteInterceptor() {
+
+            public void intercept(HttpRequest request) throws IOException {
+              request.getHeaders().setAcceptEncoding(null);
+              if(interceptor != null) {
+                interceptor.intercept(request);
+              }
+            }
+          });
+        }
+      }
+    };
+  }
+
+}
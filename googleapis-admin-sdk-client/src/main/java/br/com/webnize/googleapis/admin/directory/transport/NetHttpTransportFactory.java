@@ -0,0 +1,34 @@
+package br.com.webnize.googleapis.admin.directory.transport;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpTransport;
+
+/**
+ * Transporte padrão, baseado em {@link java.net.HttpURLConnection}, confiando
+ * apenas nos certificados do Google.
+ *
+ * O reaproveitamento de conexões fica a cargo da JVM e é limitado pela
+ * propriedade de sistema "http.maxConnections" (5 conexões ociosas por destino
+ * por padrão). Para muitas chamadas simultâneas prefira {@link PooledHttpTransportFactory}.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class NetHttpTransportFactory extends HttpTransportFactory {
+
+  @Override
+  public HttpTransport newTransport() throws IOException {
+
+    try {
+      return GoogleNetHttpTransport.newTrustedTransport();
+    }
+    catch(GeneralSecurityException e) {
+      throw new IOException("Falha ao carregar os certificados do Google.", e);
+    }
+  }
+
+}
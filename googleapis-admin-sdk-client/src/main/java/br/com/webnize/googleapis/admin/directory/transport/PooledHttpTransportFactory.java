@@ -0,0 +1,108 @@
+package br.com.webnize.googleapis.admin.directory.transport;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+import org.apache.http.conn.params.ConnManagerParams;
+import org.apache.http.conn.params.ConnPerRouteBean;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+
+import com.google.api.client.googleapis.GoogleUtils;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.apache.ApacheHttpTransport;
+
+/**
+ * Transporte com pool de conexões persistentes do Apache HttpClient,
+ * confiando apenas nos certificados do Google.
+ *
+ * Cada chamada obtém uma conexão do pool e a devolve ao final da leitura da
+ * resposta, evitando um novo handshake TCP/TLS por chamada quando há muitas
+ * chamadas simultâneas para o mesmo host.
+ *
+ *<pre>
+ * Obs:
+ * 1. 'maxConnectionsPerRoute' deve acompanhar a quantidade de chamadas
+ *    simultâneas esperadas: chamadas além dele aguardam uma conexão livre.
+ * 2. Conexões ociosas são verificadas antes do uso ('staleCheck'), evitando
+ *    falhas em conexões já fechadas pelo servidor.
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class PooledHttpTransportFactory extends HttpTransportFactory {
+
+  public static final int DEFAULT_MAX_CONNECTIONS = 200;
+
+  public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 64;
+
+  private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+
+  private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+  private boolean staleCheck = true;
+
+  /**
+   * @param maxConnections quantidade máxima de conexões do pool.
+   */
+  public PooledHttpTransportFactory setMaxConnections(int maxConnections) {
+    if(maxConnections < 1) {
+      throw new IllegalArgumentException("'maxConnections' deve ser maior que zero.");
+    }
+    this.maxConnections = maxConnections;
+    return this;
+  }
+
+  /**
+   * @param maxConnectionsPerRoute quantidade máxima de conexões para um mesmo host.
+   */
+  public PooledHttpTransportFactory setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+    if(maxConnectionsPerRoute < 1) {
+      throw new IllegalArgumentException("'maxConnectionsPerRoute' deve ser maior que zero.");
+    }
+    this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    return this;
+  }
+
+  /**
+   * @param staleCheck verifica conexões ociosas antes de reutilizá-las.
+   */
+  public PooledHttpTransportFactory setStaleCheck(boolean staleCheck) {
+    this.staleCheck = staleCheck;
+    return this;
+  }
+
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  public int getMaxConnectionsPerRoute() {
+    return maxConnectionsPerRoute;
+  }
+
+  @Override
+  public HttpTransport newTransport() throws IOException {
+
+    ApacheHttpTransport.Builder builder = new ApacheHttpTransport.Builder();
+
+    try {
+      builder.trustCertificates(GoogleUtils.getCertificateTrustStore());
+    }
+    catch(GeneralSecurityException e) {
+      throw new IOException("Falha ao carregar os certificados do Google.", e);
+    }
+
+    HttpParams params = builder.getHttpParams();
+
+    ConnManagerParams.setMaxTotalConnections(params, maxConnections);
+    ConnManagerParams.setMaxConnectionsPerRoute(params, new ConnPerRouteBean(maxConnectionsPerRoute));
+    ConnManagerParams.setTimeout(params, getConnectTimeoutMillis());
+    HttpConnectionParams.setStaleCheckingEnabled(params, staleCheck);
+    HttpConnectionParams.setTcpNoDelay(params, true);
+
+    return builder.build();
+  }
+
+}
@@ -0,0 +1,219 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.api.services.admin.directory.model.User;
+
+import br.com.webnize.googleapis.admin.directory.CallDeadline;
+
+/**
+ * Fachada assíncrona de {@link DirectoryUserService}.
+ *
+ * Cada chamada é executada em um {@link ExecutorService} configurável e
+ * devolve um {@link Future}. No máximo 'maxConcurrency' chamadas ficam em
+ * andamento ao mesmo tempo, independente do executor, as demais aguardam
+ * em fila sem ocupar a thread de quem chamou.
+ *
+ *<pre>
+ * Obs:
+ * 1. Com 'timeoutMillis' definido, o prazo conta a partir da submissão e
+ *    limita os timeouts de conexão/leitura e os reenvios da chamada HTTP
+ *    (ver {@link CallDeadline}).
+ * 2. Future.cancel(true) interrompe a thread da chamada: esperas do limitador
+ *    de taxa e de reenvio são abortadas e nenhuma nova tentativa HTTP é feita.
+ *    Uma leitura de socket já em andamento termina pelo timeout de leitura.
+ * 3. O módulo é compilado para Java 7, por isso não há CompletableFuture nem
+ *    virtual threads: o executor padrão é um pool fixo de threads daemon.
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DirectoryUserAsyncService {
+
+  /**
+   * Quantidade padrão de chamadas simultâneas.
+   */
+  public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+  private static volatile ExecutorService executor = newDefaultExecutor(DEFAULT_MAX_CONCURRENCY);
+
+  private static volatile Semaphore permits = new Semaphore(DEFAULT_MAX_CONCURRENCY, true);
+
+  private static volatile long timeoutMillis;
+
+  private static volatile boolean defaultExecutor = true;
+
+  private DirectoryUserAsyncService() {
+  }
+
+  /**
+   * Substitui o executor das chamadas. O executor padrão é encerrado, um
+   * executor informado anteriormente não.
+   *
+   * @param executorService executor das chamadas.
+   */
+  public static synchronized void setExecutor(ExecutorService executorService) {
+    if(defaultExecutor) {
+      executor.shutdown();
+    }
+    executor = executorService;
+    defaultExecutor = false;
+  }
+
+  /**
+   * Define a quantidade máxima de chamadas simultâneas, valendo para as
+   * chamadas submetidas a partir de então. Se o executor padrão estiver em
+   * uso, ele é substituído por um com a mesma quantidade de threads.
+   *
+   * @param maxConcurrency quantidade máxima de chamadas em andamento.
+   */
+  public static synchronized void setMaxConcurrency(int maxConcurrency) {
+    if(maxConcurrency < 1) {
+      throw new IllegalArgumentException("'maxConcurrency' deve ser maior que zero.");
+    }
+    permits = new Semaphore(maxConcurrency, true);
+    if(defaultExecutor) {
+      executor.shutdown();
+      executor = newDefaultExecutor(maxConcurrency);
+    }
+  }
+
+  /**
+   * Define o prazo de cada chamada, contado a partir da submissão.
+   *
+   * @param timeout prazo em milissegundos (0 para nenhum).
+   */
+  public static void setTimeoutMillis(long timeout) {
+    timeoutMillis = timeout;
+  }
+
+  /**
+   * Com o agrupamento habilitado (e sem o cache de usuários) devolve o Future
+   * do {@link UserGetCoalescer}, sem ocupar uma thread do executor e sem o
+   * prazo de {@link #setTimeoutMillis(long)}.
+   *
+   * @see DirectoryUserService#getUser(String)
+   */
+  public static Future<User> getUserAsync(final String userKey) {
+
+    UserGetCoalescer coalescer = DirectoryUserService.getUserCoalescer();
+    if(coalescer != null && DirectoryUserService.getUserCache() == null) {
+      try {
+        return coalescer.getUserAsync(userKey);
+      }
+      catch(IllegalStateException e) {
+        /*
+         * Agrupador encerrado depois da leitura: a chamada segue pelo
+         * executor, que usa o substituto, se houver.
+         */
+      }
+    }
+
+    return submit(new Callable<User>() {
+
+      public User call() throws Exception {
+        return DirectoryUserService.getUser(userKey);
+      }
+    });
+  }
+
+  /**
+   * @see DirectoryUserService#createUser(User)
+   */
+  public static Future<User> createUserAsync(final User userContent) {
+    return submit(new Callable<User>() {
+
+      public User call() throws Exception {
+        return DirectoryUserService.createUser(userContent);
+      }
+    });
+  }
+
+  /**
+   * @see DirectoryUserService#updateUser(String, User)
+   */
+  public static Future<User> updateUserAsync(final String userKey, final User userContent) {
+    return submit(new Callable<User>() {
+
+      public User call() throws Exception {
+        return DirectoryUserService.updateUser(userKey, userContent);
+      }
+    });
+  }
+
+  /**
+   * @see DirectoryUserService#deleteUser(String)
+   */
+  public static Future<Void> deleteUserAsync(final String userKey) {
+    return submit(new Callable<Void>() {
+
+      public Void call() throws Exception {
+        DirectoryUserService.deleteUser(userKey);
+        return null;
+      }
+    });
+  }
+
+  /**
+   * @see DirectoryUserService#listUsers(int, String, String)
+   */
+  public static Future<List<User>> listUsersAsync(final int maxResults, final String query, final String orderBy) {
+    return submit(new Callable<List<User>>() {
+
+      public List<User> call() throws Exception {
+        return DirectoryUserService.listUsers(maxResults, query, orderBy);
+      }
+    });
+  }
+
+  /**
+   * Submete a chamada ao executor, respeitando o limite de concorrência e o prazo.
+   */
+  static <T> Future<T> submit(final Callable<T> call) {
+
+    final Semaphore semaphore = permits;
+    final long deadline = timeoutMillis > 0 ? System.currentTimeMillis() + timeoutMillis : 0;
+
+    return executor.submit(new Callable<T>() {
+
+      public T call() throws Exception {
+
+        semaphore.acquire();
+        try {
+          if(deadline > 0) {
+            CallDeadline.set(deadline);
+          }
+          return call.call();
+        }
+        finally {
+          CallDeadline.clear();
+          semaphore.release();
+        }
+      }
+    });
+  }
+
+  private static ExecutorService newDefaultExecutor(int threads) {
+
+    return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+
+      private final AtomicInteger count = new AtomicInteger();
+
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "directory-async-" + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+}
@@ -1,21 +1,29 @@
 package br.com.webnize.googleapis.admin.directory.user;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import com.google.api.client.auth.oauth2.Credential;
-import com.google.api.client.googleapis.batch.BatchRequest;
-import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
-import com.google.api.client.googleapis.json.GoogleJsonError;
-import com.google.api.client.http.HttpHeaders;
 import com.google.api.services.admin.directory.Directory;
 import com.google.api.services.admin.directory.DirectoryScopes;
 import com.google.api.services.admin.directory.model.User;
-import com.google.api.services.admin.directory.model.Users;
 
 import br.com.webnize.googleapis.admin.directory.AbstractDirectoryService;
+import br.com.webnize.googleapis.admin.directory.DirectoryThrottle;
+import br.com.webnize.googleapis.admin.directory.batch.BatchOperation;
+import br.com.webnize.googleapis.admin.directory.batch.BatchReport;
+import br.com.webnize.googleapis.admin.directory.batch.BatchResult;
+import br.com.webnize.googleapis.admin.directory.batch.DirectoryBatchExecutor;
+import br.com.webnize.googleapis.admin.directory.batch.DirectoryBatchQueue;
 
 /**
  * Implementação de cliente da Google Admin Directory API com scope "ADMIN_DIRECTORY_USER"
@@ -35,31 +43,52 @@ public class DirectoryUserService extends AbstractDirectoryService {
   private static java.util.logging.Logger logger = Logger.getLogger(DirectoryUserService.class.getName());
 
   /**
-   * Definição de serviço para Google Directory API (Admin SDK)
+   * Definição de serviço para Google Directory API (Admin SDK), criada no primeiro uso.
    */
-  private static Directory service;
+  private static volatile Directory service;
 
   /**
-   * Obtém um serviço cliente autorizado para a Direcotry API
+   * Cache opcional de usuários obtidos por {@link #getUser(String)}.
    */
-  static {
-
-    SCOPES = Arrays.asList(DirectoryScopes.ADMIN_DIRECTORY_USER);
+  private static volatile UserCache userCache;
 
-    try {
-      service = getDirectoryService();
-    }
-    catch(IOException e) {
-      throw new RuntimeException(e);
-    }
+  /**
+   * Agrupamento opcional das chamadas simultâneas de {@link #getUser(String)}.
+   */
+  private static volatile UserGetCoalescer userCoalescer;
 
-    logger.info("***    Directory Service com scope ADMIN_DIRECTORY_USER inicializado.    ***");
+  static {
+    SCOPES = Arrays.asList(DirectoryScopes.ADMIN_DIRECTORY_USER);
   }
 
   public static Credential authorize() throws IOException {
     return AbstractDirectoryService.authorize();
   }
 
+  /**
+   * Obtém o serviço cliente autorizado para a Directory API, criando-o na
+   * primeira chamada (uma única vez, mesmo com chamadas simultâneas).
+   *
+   * @return serviço cliente autorizado.
+   * @throws IOException se nenhuma credencial puder ser obtida.
+   */
+  private static Directory getService() throws IOException {
+
+    Directory result = service;
+
+    if(result == null) {
+      synchronized(DirectoryUserService.class) {
+        result = service;
+        if(result == null) {
+          service = result = getDirectoryService();
+          logger.info("***    Directory Service com scope ADMIN_DIRECTORY_USER inicializado.    ***");
+        }
+      }
+    }
+
+    return result;
+  }
+
   /**
    * Cria usuário na plataforma (domínio).
    *
@@ -68,30 +97,205 @@ public class DirectoryUserService extends AbstractDirectoryService {
    * @throws IOException
    */
   public static User createUser(User userContent) throws IOException {
-    return service.users().insert(userContent).execute();
+
+    User user = DirectoryThrottle.execute(getService().users().insert(userContent));
+
+    UserCache cache = userCache;
+    if(cache != null) {
+      cache.put(user);
+    }
+
+    return user;
   }
 
   /**
    * Utiliza o 'userKey' para retorna um usuário já provisionado na plataforma.
    *
+   * Com o cache habilitado ({@link #enableUserCache(int, long)}) o usuário pode
+   * vir do cache, sem chamada à API. Sem o cache e com o agrupamento habilitado
+   * ({@link #enableUserCoalescing(long)}) a busca segue em lote com as demais
+   * chamadas simultâneas.
+   *
    * @param userKey email ou id imutável do usuário.
    * @return objeto User com dados do usuário.
    * @throws IOException
    */
   public static User getUser(String userKey) throws IOException {
-    return service.users().get(userKey).execute();
+
+    UserCache cache = userCache;
+    if(cache != null) {
+      return cache.getUser(userKey);
+    }
+
+    for(UserGetCoalescer coalescer = userCoalescer; coalescer != null; ) {
+      try {
+        return coalescer.getUser(userKey);
+      }
+      catch(IllegalStateException e) {
+        /*
+         * Agrupador encerrado entre a leitura e a chamada (enableUserCoalescing,
+         * disableUserCoalescing ou close): segue com o substituto, se houver,
+         * ou sem agrupamento.
+         */
+        UserGetCoalescer current = userCoalescer;
+        coalescer = current == coalescer ? null : current;
+      }
+    }
+
+    return DirectoryThrottle.execute(getService().users().get(userKey));
+  }
+
+  /**
+   * Utiliza o 'userKey' para retornar apenas os campos 'fields' de um usuário já
+   * provisionado na plataforma (resposta parcial, sem passar pelo cache).
+   *
+   * @param userKey email ou id imutável do usuário.
+   * @param fields campos desejados do usuário.
+   * @return objeto User apenas com os campos solicitados.
+   * @throws IOException
+   */
+  public static User getUser(String userKey, Set<UserField> fields) throws IOException {
+
+    return DirectoryThrottle.execute(getService().users().get(userKey).setFields(UserField.toFieldMask(fields)));
   }
 
   /**
    * Utiliza o 'userKey' para identificar o usuário provisionado na plataforma
    * e atualizá-lo com o conteúdo em 'userContent'.
    *
+   *<pre>
+   * Obs:
+   * 1. O recurso inteiro é substituído: campos ausentes em 'userContent' podem
+   *    ser apagados. Para alterar apenas alguns campos prefira
+   *    {@link #patchUser(String, User)} ou {@link #patchUser(UserChangeTracker)}.
+   * </pre>
+   *
    * @param userKey email ou id imutável do usuário, se id, o mesmo deve estar em userContent.
    * @return objeto User com dados atualizados do usuário.
    * @throws IOException
    */
   public static User updateUser(String userKey, User userContent) throws IOException {
-    return service.users().update(userKey, userContent).execute();
+
+    User user = DirectoryThrottle.execute(getService().users().update(userKey, userContent));
+
+    UserCache cache = userCache;
+    if(cache != null) {
+      cache.invalidate(userKey);
+      cache.put(user);
+    }
+
+    return user;
+  }
+
+  /**
+   * Utiliza o 'userKey' para identificar o usuário provisionado na plataforma
+   * e alterar apenas os campos presentes em 'patch', mantendo os demais.
+   *
+   * @param userKey email ou id imutável do usuário.
+   * @param patch objeto User apenas com os campos a alterar.
+   * @return objeto User com dados atualizados do usuário.
+   * @throws IOException
+   */
+  public static User patchUser(String userKey, User patch) throws IOException {
+
+    User user = DirectoryThrottle.execute(getService().users().patch(userKey, patch));
+
+    UserCache cache = userCache;
+    if(cache != null) {
+      cache.invalidate(userKey);
+      cache.put(user);
+    }
+
+    return user;
+  }
+
+  /**
+   * Envia em um patch apenas os campos alterados no usuário rastreado. Sem
+   * alterações nenhuma chamada é feita.
+   *
+   * @param changes rastreador do usuário alterado.
+   * @return objeto User com dados atualizados do usuário, ou o próprio
+   *         usuário rastreado se não houver alterações.
+   * @throws IOException
+   */
+  public static User patchUser(UserChangeTracker changes) throws IOException {
+
+    if(!changes.isDirty()) {
+      return changes.getUser();
+    }
+
+    User user = patchUser(changes.getUserKey(), changes.toPatch());
+
+    changes.reset();
+
+    return user;
+  }
+
+  /**
+   * Envia em lotes os patches dos usuários rastreados, apenas com os campos
+   * alterados de cada um. Usuários sem alterações não geram chamadas.
+   *
+   * @param changesList rastreadores dos usuários alterados.
+   * @return relatório com o resultado do patch de cada usuário alterado.
+   * @throws IOException
+   */
+  public static BatchReport<User> patchUsers(Collection<UserChangeTracker> changesList) throws IOException {
+
+    Map<String, User> patches = new LinkedHashMap<String, User>();
+    Map<String, UserChangeTracker> trackers = new HashMap<String, UserChangeTracker>();
+
+    for(UserChangeTracker changes : changesList) {
+      if(changes.isDirty()) {
+        patches.put(changes.getUserKey(), changes.toPatch());
+        trackers.put(changes.getUserKey(), changes);
+      }
+    }
+
+    BatchReport<User> report = patchUsers(patches);
+
+    for(BatchResult<User> result : report.getResults()) {
+      if(result.isSucceeded()) {
+        trackers.get(result.getKey()).reset();
+      }
+    }
+
+    return report;
+  }
+
+  /**
+   * Envia em lotes de até {@value DirectoryBatchExecutor#DEFAULT_BATCH_SIZE} entradas
+   * um patch por usuário.
+   *
+   * @param patches objetos User apenas com os campos a alterar, por email ou id do usuário.
+   * @return relatório com o resultado do patch de cada usuário.
+   * @throws IOException
+   */
+  public static BatchReport<User> patchUsers(Map<String, User> patches) throws IOException {
+
+    List<BatchOperation<User>> operations = new ArrayList<BatchOperation<User>>(patches.size());
+
+    for(Map.Entry<String, User> patch : patches.entrySet()) {
+      operations.add(new BatchOperation<User>(patch.getKey(), getService().users().patch(patch.getKey(), patch.getValue())));
+    }
+
+    BatchReport<User> report = new DirectoryBatchExecutor(getService()).execute(operations);
+
+    UserCache cache = userCache;
+
+    for(BatchResult<User> result : report.getResults()) {
+      if(cache != null) {
+        cache.invalidate(result.getKey());
+      }
+      if(!result.isSucceeded()) {
+        logger.severe(String.format("Usuário '%s' não alterado: %s", result.getKey(),
+                result.getError() == null ? "" : result.getError().getMessage()));
+      }
+    }
+
+    logger.info(String.format("Patch em lote: %d usuários alterados, %d com falha em %d HTTP requests.",
+            report.getSucceededCount(), report.getFailedCount(), report.getHttpRequests()));
+
+    return report;
   }
 
   /**
@@ -102,31 +306,240 @@ public class DirectoryUserService extends AbstractDirectoryService {
    * @throws IOException
    */
   public static void deleteUser(String userKey) throws IOException {
-    service.users().delete(userKey).execute();
+
+    DirectoryThrottle.execute(getService().users().delete(userKey));
+
+    UserCache cache = userCache;
+    if(cache != null) {
+      cache.invalidate(userKey);
+    }
+  }
+
+  /**
+   * Cria uma fila que agrupa em lotes operações de qualquer tipo (get, insert,
+   * update, patch, delete), devolvendo um Future por operação.
+   *
+   *<pre>
+   * Obs:
+   * 1. As operações da fila não passam pelo cache de usuários: com o cache
+   *    habilitado, invalide os usuários alterados ({@link UserCache#invalidate(String)}).
+   * 2. A fila deve ser fechada ao final, para enviar o que falta e encerrar suas threads.
+   * </pre>
+   *
+   * @return fila de lotes do serviço.
+   * @throws IOException
+   */
+  public static DirectoryBatchQueue newBatchQueue() throws IOException {
+
+    return new DirectoryBatchQueue(getService());
+  }
+
+  /**
+   * Habilita o cache de usuários para {@link #getUser(String)}, descartando o cache anterior.
+   *
+   * @param maxEntries quantidade máxima de usuários em cache.
+   * @param ttlMillis tempo, em milissegundos, em que um usuário é usado sem revalidação.
+   * @return cache criado, com os contadores de hits, misses e revalidações.
+   * @throws IOException
+   */
+  public static UserCache enableUserCache(int maxEntries, long ttlMillis) throws IOException {
+    userCache = new UserCache(getService(), maxEntries, ttlMillis);
+    return userCache;
   }
 
   /**
-   * Lista os 'maxResults' primeiros usuários provisionados na plataforma ordenados por 'orderBy'.
+   * Desabilita o cache de usuários.
+   */
+  public static void disableUserCache() {
+    userCache = null;
+  }
+
+  /**
+   * @return cache de usuários ou null se desabilitado.
+   */
+  public static UserCache getUserCache() {
+    return userCache;
+  }
+
+  /**
+   * Habilita o agrupamento das chamadas simultâneas de {@link #getUser(String)}
+   * em lotes, encerrando o agrupador anterior.
+   *
+   *<pre>
+   * Obs:
+   * 1. Com o cache de usuários habilitado, o cache tem precedência e o agrupamento não é usado.
+   * 2. Um usuário inexistente gera BatchOperationException (HttpResponseException
+   *    com status 404) em vez de GoogleJsonResponseException.
+   * </pre>
+   *
+   * @param windowMillis espera máxima de uma chamada pelas demais do seu lote
+   *        ({@value UserGetCoalescer#DEFAULT_WINDOW_MILLIS} ms é um bom início).
+   * @return agrupador criado, com os histogramas de tamanho dos lotes e de espera.
+   * @throws IOException
+   */
+  public static UserGetCoalescer enableUserCoalescing(long windowMillis) throws IOException {
+    UserGetCoalescer previous = userCoalescer;
+    userCoalescer = new UserGetCoalescer(getService(), windowMillis);
+    if(previous != null) {
+      previous.close();
+    }
+    return userCoalescer;
+  }
+
+  /**
+   * Desabilita o agrupamento, aguardando as chamadas em andamento.
+   *
+   * @throws IOException se a espera for interrompida.
+   */
+  public static void disableUserCoalescing() throws IOException {
+    UserGetCoalescer previous = userCoalescer;
+    userCoalescer = null;
+    if(previous != null) {
+      previous.close();
+    }
+  }
+
+  /**
+   * @return agrupador de {@link #getUser(String)} ou null se desabilitado.
+   */
+  public static UserGetCoalescer getUserCoalescer() {
+    return userCoalescer;
+  }
+
+  /**
+   * Lista os 'maxResults' primeiros usuários provisionados na plataforma ordenados por 'orderBy',
+   * seguindo todas as páginas da listagem.
    *
    *<pre>
    * Obs:
    * 1. Valores permitidos orderBy: [email, familyname, givenname]
    * 2. Esta listagem é multi-domínio
+   * 3. Com 'maxResults' igual a zero todos os usuários são carregados em memória,
+   *    para domínios grandes prefira {@link #iterateUsers(int, String, String)}
    * </pre>
    *
-   * @param maxResults
+   * @param maxResults quantidade máxima de usuários (0 para todos).
+   * @param query
    * @param orderBy
    * @return List de objetos User.
    * @throws IOException
    */
   public static List<User> listUsers(int maxResults, String query, String orderBy) throws IOException {
 
-    com.google.api.services.admin.directory.Directory.Users.List usersListService = service.users().list().setCustomer("my_customer");
+    return collect(iterateUsers(maxResults, query, orderBy));
+  }
 
-    if(maxResults > 0){
-      usersListService.setMaxResults(maxResults);
+  /**
+   * Lista os 'maxResults' primeiros usuários provisionados na plataforma ordenados por 'orderBy',
+   * trazendo apenas os campos 'fields' de cada usuário.
+   *
+   * @param maxResults quantidade máxima de usuários (0 para todos).
+   * @param query
+   * @param orderBy
+   * @param fields campos desejados de cada usuário.
+   * @return List de objetos User apenas com os campos solicitados.
+   * @throws IOException
+   */
+  public static List<User> listUsers(int maxResults, String query, String orderBy, Set<UserField> fields) throws IOException {
+
+    return collect(iterateUsers(maxResults, query, orderBy, fields, UserPageIterator.DEFAULT_PAGES_IN_FLIGHT));
+  }
+
+  /**
+   * Consome o iterador, relançando a IOException original em caso de falha na busca.
+   */
+  private static List<User> collect(UserPageIterator iterator) throws IOException {
+
+    List<User> users = new ArrayList<User>();
+
+    try {
+      while(iterator.hasNext()) {
+        users.add(iterator.next());
+      }
+    }
+    catch(RuntimeException e) {
+      if(e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw e;
+    }
+    finally {
+      iterator.close();
     }
 
+    return users;
+  }
+
+  /**
+   * Percorre de forma preguiçosa os 'maxResults' primeiros usuários provisionados na
+   * plataforma ordenados por 'orderBy', buscando a próxima página em segundo plano.
+   *
+   * @param maxResults quantidade máxima de usuários (0 para todos).
+   * @param query
+   * @param orderBy
+   * @return iterador de objetos User, deve ser fechado se abandonado antes do fim.
+   * @throws IOException
+   */
+  public static UserPageIterator iterateUsers(int maxResults, String query, String orderBy) throws IOException {
+
+    return iterateUsers(maxResults, query, orderBy, UserPageIterator.DEFAULT_PAGES_IN_FLIGHT);
+  }
+
+  /**
+   * Percorre de forma preguiçosa os 'maxResults' primeiros usuários provisionados na
+   * plataforma ordenados por 'orderBy', mantendo no máximo 'pagesInFlight' páginas
+   * buscadas e ainda não consumidas.
+   *
+   * @param maxResults quantidade máxima de usuários (0 para todos).
+   * @param query
+   * @param orderBy
+   * @param pagesInFlight quantidade máxima de páginas buscadas antecipadamente.
+   * @return iterador de objetos User, deve ser fechado se abandonado antes do fim.
+   * @throws IOException
+   */
+  public static UserPageIterator iterateUsers(int maxResults, String query, String orderBy, int pagesInFlight) throws IOException {
+
+    return iterateUsers(maxResults, query, orderBy, null, pagesInFlight);
+  }
+
+  /**
+   * Percorre de forma preguiçosa os 'maxResults' primeiros usuários provisionados na
+   * plataforma ordenados por 'orderBy', trazendo apenas os campos 'fields' de cada usuário.
+   *
+   * @param maxResults quantidade máxima de usuários (0 para todos).
+   * @param query
+   * @param orderBy
+   * @param fields campos desejados de cada usuário (null para todos).
+   * @param pagesInFlight quantidade máxima de páginas buscadas antecipadamente.
+   * @return iterador de objetos User, deve ser fechado se abandonado antes do fim.
+   * @throws IOException
+   */
+  public static UserPageIterator iterateUsers(int maxResults, String query, String orderBy, Set<UserField> fields, int pagesInFlight) throws IOException {
+
+    Directory.Users.List request = newListRequest(maxResults, query, orderBy);
+
+    if(fields != null) {
+      request.setFields(UserField.toListFieldMask(fields));
+    }
+
+    return new UserPageIterator(request, maxResults, pagesInFlight);
+  }
+
+  /**
+   * Constrói a requisição de listagem de usuários do cliente.
+   *
+   * @param maxResults quantidade máxima de usuários, limita o tamanho da página.
+   * @param query
+   * @param orderBy
+   * @return requisição de listagem configurada.
+   * @throws IOException
+   */
+  private static Directory.Users.List newListRequest(int maxResults, String query, String orderBy) throws IOException {
+
+    Directory.Users.List usersListService = getService().users().list().setCustomer("my_customer");
+
+    usersListService.setMaxResults(maxResults > 0 && maxResults < UserPageIterator.MAX_PAGE_SIZE ? maxResults : UserPageIterator.MAX_PAGE_SIZE);
+
     if(query != null && !"".equals(query)){
       usersListService.setQuery(query);
     }
@@ -135,15 +548,95 @@ public class DirectoryUserService extends AbstractDirectoryService {
       usersListService.setOrderBy(orderBy);
     }
 
-    Users result = usersListService.execute();
+    return usersListService;
+  }
+
+  /**
+   * Exporta todos os usuários para um arquivo JSONL, percorrendo em paralelo
+   * as fatias por caractere inicial do email ({@link UserShard#emailPrefixShards(String)}).
+   *
+   * @param output arquivo JSONL de destino.
+   * @return quantidade de usuários exportados.
+   * @throws IOException
+   */
+  public static long exportUsers(File output) throws IOException {
+
+    return exportUsers(UserShard.emailPrefixShards("my_customer"), output);
+  }
+
+  /**
+   * Exporta os usuários das fatias informadas para um arquivo JSONL,
+   * percorrendo-as em paralelo e descartando usuários repetidos.
+   *
+   * @param shards fatias do diretório (inicial do email, unidade organizacional, domínio).
+   * @param output arquivo JSONL de destino.
+   * @return quantidade de usuários exportados.
+   * @throws IOException
+   */
+  public static long exportUsers(List<UserShard> shards, File output) throws IOException {
+
+    return new UserExporter(getService()).export(shards, output);
+  }
+
+  /**
+   * Grava uma cópia local compacta e indexada (email, id, unidade
+   * organizacional, suspensos) de todos os usuários, substituindo a anterior.
+   * Consultas à cópia não fazem chamadas à API.
+   *
+   * @param file arquivo da cópia local.
+   * @return cópia gravada, já aberta.
+   * @throws IOException
+   */
+  public static UserSnapshot snapshotUsers(File file) throws IOException {
+
+    return new UserSnapshotBuilder(getService()).refresh(file);
+  }
+
+  /**
+   * Importa usuários de um arquivo CSV ou JSONL em lotes, registrando o progresso
+   * no diário informado. Executada novamente com o mesmo diário, a importação
+   * continua de onde parou.
+   *
+   * @param input arquivo CSV (com cabeçalho) ou JSONL.
+   * @param journal diário de progresso.
+   * @return resumo da importação.
+   * @throws IOException
+   */
+  public static UserImporter.Report importUsers(File input, File journal) throws IOException {
+
+    return new UserImporter(getService()).importFile(input, journal);
+  }
+
+  /**
+   * Reconcilia os usuários do domínio com o estado desejado, enviando em lotes
+   * apenas os inserts, patches e remoções necessários.
+   *
+   * @param desired estado desejado, um objeto User por usuário.
+   * @param deleteMissing remove os usuários ausentes do estado desejado.
+   * @param dryRun apenas registra o plano, sem alterar o domínio.
+   * @return resumo da reconciliação, com as chamadas economizadas.
+   * @throws IOException
+   */
+  public static UserReconciler.Report reconcileUsers(Collection<User> desired, boolean deleteMissing, boolean dryRun) throws IOException {
+
+    UserReconciler.Report report = new UserReconciler(getService()).setDeleteMissing(deleteMissing).reconcile(desired, dryRun);
 
-    return result.getUsers();
+    UserCache cache = userCache;
+    if(cache != null && !dryRun) {
+      for(User patch : report.getPlan().getPatches().values()) {
+        cache.invalidate(patch.getPrimaryEmail());
+      }
+      for(String email : report.getPlan().getDeletes().values()) {
+        cache.invalidate(email);
+      }
+    }
+
+    return report;
   }
 
   /**
-   * Lista usuários do domínio ordenados por 'email'.
+   * Lista todos os usuários do domínio ordenados por 'email'.
    *
-   * @param maxResults
    * @throws IOException
    */
   public static List<User> listUsersByEmail() throws IOException {
@@ -152,9 +645,8 @@ public class DirectoryUserService extends AbstractDirectoryService {
   }
 
   /**
-   * Lista usuários do domínio ordenados por 'givenname'.
+   * Lista todos os usuários do domínio ordenados por 'givenname'.
    *
-   * @param maxResults
    * @throws IOException
    */
   public static List<User> listUsersByName() throws IOException {
@@ -163,40 +655,74 @@ public class DirectoryUserService extends AbstractDirectoryService {
   }
 
   /**
-   * Cria uma fila de chamadas ao serviço de inserção de usuário e executa apenas
-   * um Http Request para todas as entradas de uma só vez.
+   * Percorre de forma preguiçosa os usuários do domínio ordenados por 'email'.
    *
-   * @param userContentList lista de objetos User com informações de usuários.
    * @throws IOException
    */
-  public static void createUsers(List<User> userContentList) throws IOException {
+  public static UserPageIterator iterateUsersByEmail() throws IOException {
 
-    BatchRequest batch = service.batch();
+    return iterateUsers(0, "", "email");
+  }
 
-    /*
-     * Criando callback do processo batch para cada request.
-     */
-    JsonBatchCallback<User> callback = new JsonBatchCallback<User>() {
+  /**
+   * Percorre de forma preguiçosa os usuários do domínio ordenados por 'givenname'.
+   *
+   * @throws IOException
+   */
+  public static UserPageIterator iterateUsersByName() throws IOException {
 
-      public void onSuccess(User user, HttpHeaders responseHeaders) {
-        logger.finest(String.format("Usuário '%s' criado com sucesso.", user.getName().getFullName()));
-      }
+    return iterateUsers(0, "", "givenname");
+  }
 
-      @Override
-      public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) {
-        logger.severe("Error Message: " + e.getMessage());
-        throw new RuntimeException(e.getMessage());
-      }
-    };
+  /**
+   * Cria os usuários em lotes de até {@value DirectoryBatchExecutor#DEFAULT_BATCH_SIZE} entradas,
+   * enviando até {@value DirectoryBatchExecutor#DEFAULT_PARALLELISM} lotes simultaneamente.
+   *
+   * A falha de um usuário não interrompe a criação dos demais: falhas transitórias
+   * são reenviadas e as definitivas ficam registradas no relatório devolvido.
+   *
+   * @param userContentList lista de objetos User com informações de usuários.
+   * @return relatório com o resultado da criação de cada usuário.
+   * @throws IOException
+   */
+  public static BatchReport<User> createUsers(List<User> userContentList) throws IOException {
+
+    return createUsers(userContentList, DirectoryBatchExecutor.DEFAULT_BATCH_SIZE, DirectoryBatchExecutor.DEFAULT_PARALLELISM);
+  }
+
+  /**
+   * Cria os usuários em lotes de até 'batchSize' entradas, enviando até 'parallelism'
+   * lotes simultaneamente.
+   *
+   * @param userContentList lista de objetos User com informações de usuários.
+   * @param batchSize quantidade de usuários por HTTP request.
+   * @param parallelism quantidade máxima de HTTP requests simultâneos.
+   * @return relatório com o resultado da criação de cada usuário.
+   * @throws IOException
+   */
+  public static BatchReport<User> createUsers(List<User> userContentList, int batchSize, int parallelism) throws IOException {
+
+    List<BatchOperation<User>> operations = new ArrayList<BatchOperation<User>>(userContentList.size());
 
-    /*
-     * Preenchendo processo batch.
-     */
     for(User user : userContentList) {
-      service.users().insert(user).queue(batch, callback);
+      operations.add(new BatchOperation<User>(user.getPrimaryEmail(), getService().users().insert(user)));
     }
 
-    batch.execute();
+    BatchReport<User> report = new DirectoryBatchExecutor(getService())
+                                  .setBatchSize(batchSize)
+                                    .setParallelism(parallelism)
+                                      .execute(operations);
+
+    for(BatchResult<User> failure : report.getFailures()) {
+      logger.severe(String.format("Usuário '%s' não criado: %s", failure.getKey(),
+              failure.getError() == null ? "" : failure.getError().getMessage()));
+    }
+
+    logger.info(String.format("Criação em lote: %d usuários criados, %d com falha, %d reenviados em %d ms (%.1f usuários/s).",
+            report.getSucceededCount(), report.getFailedCount(), report.getRetriedCount(),
+            report.getElapsedMillis(), report.getThroughput()));
+
+    return report;
   }
 
 }
@@ -0,0 +1,289 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.HttpStatusCodes;
+import com.google.api.services.admin.directory.Directory;
+import com.google.api.services.admin.directory.model.User;
+
+import br.com.webnize.googleapis.admin.directory.DirectoryThrottle;
+
+/**
+ * Cache em memória de usuários obtidos por 'userKey', com limite de entradas
+ * (LRU) e tempo de validade (TTL).
+ *
+ * Uma mesma entrada é encontrada tanto pelo email primário quanto pelo id
+ * imutável do usuário (ou pela chave usada na busca, como um alias). Entradas
+ * vencidas são revalidadas com uma requisição condicional (If-None-Match com
+ * o ETag do usuário): se o usuário não mudou a API responde 304 sem corpo e a
+ * entrada volta a valer por mais um TTL.
+ *
+ * Os objetos User devolvidos são cópias, alterá-los não afeta o cache.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserCache {
+
+  private final Directory service;
+
+  private final int maxEntries;
+
+  private final long ttlMillis;
+
+  /**
+   * Entradas indexadas pelo id imutável, em ordem de acesso.
+   */
+  private final LinkedHashMap<String, CachedUser> entries;
+
+  /**
+   * Índice de chaves (email, alias, id) para o id imutável.
+   */
+  private final Map<String, String> ids = new HashMap<String, String>();
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  private final AtomicLong revalidations = new AtomicLong();
+
+  private final AtomicLong notModified = new AtomicLong();
+
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * @param service cliente da Directory API utilizado nas buscas.
+   * @param maxEntries quantidade máxima de usuários em cache.
+   * @param ttlMillis tempo, em milissegundos, em que uma entrada é usada sem revalidação.
+   */
+  public UserCache(Directory service, final int maxEntries, long ttlMillis) {
+
+    if(maxEntries < 1) {
+      throw new IllegalArgumentException("'maxEntries' deve ser maior que zero.");
+    }
+
+    this.service = service;
+    this.maxEntries = maxEntries;
+    this.ttlMillis = ttlMillis;
+
+    this.entries = new LinkedHashMap<String, CachedUser>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+        if(size() > UserCache.this.maxEntries) {
+          ids.keySet().removeAll(eldest.getValue().keys);
+          evictions.incrementAndGet();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Obtém o usuário do cache, buscando-o na API se ausente ou revalidando-o se vencido.
+   *
+   * @param userKey email, alias ou id imutável do usuário.
+   * @return cópia do objeto User.
+   * @throws IOException
+   */
+  public User getUser(String userKey) throws IOException {
+
+    CachedUser entry = lookup(userKey);
+
+    if(entry == null) {
+      misses.incrementAndGet();
+      return put(userKey, DirectoryThrottle.execute(service.users().get(userKey)));
+    }
+
+    if(System.currentTimeMillis() - entry.fetchedAt < ttlMillis) {
+      hits.incrementAndGet();
+      return entry.user.clone();
+    }
+
+    revalidations.incrementAndGet();
+
+    Directory.Users.Get request = service.users().get(userKey);
+    request.getRequestHeaders().setIfNoneMatch(entry.user.getEtag());
+
+    try {
+      return put(userKey, DirectoryThrottle.execute(request));
+    }
+    catch(HttpResponseException e) {
+
+      if(e.getStatusCode() != HttpStatusCodes.STATUS_CODE_NOT_MODIFIED) {
+        if(e.getStatusCode() == HttpStatusCodes.STATUS_CODE_NOT_FOUND) {
+          invalidate(userKey);
+        }
+        throw e;
+      }
+
+      notModified.incrementAndGet();
+
+      synchronized(this) {
+        entry.fetchedAt = System.currentTimeMillis();
+      }
+
+      return entry.user.clone();
+    }
+  }
+
+  /**
+   * Armazena (ou substitui) o usuário no cache.
+   *
+   * @param user usuário completo devolvido pela API.
+   * @return cópia do objeto User.
+   */
+  public User put(User user) {
+    return put(null, user);
+  }
+
+  private synchronized User put(String userKey, User user) {
+
+    if(user == null || user.getId() == null) {
+      return user;
+    }
+
+    CachedUser previous = entries.remove(user.getId());
+    if(previous != null) {
+      ids.keySet().removeAll(previous.keys);
+    }
+
+    CachedUser entry = new CachedUser(user.clone());
+
+    entry.keys.add(normalize(user.getId()));
+    if(user.getPrimaryEmail() != null) {
+      entry.keys.add(normalize(user.getPrimaryEmail()));
+    }
+    if(userKey != null) {
+      entry.keys.add(normalize(userKey));
+    }
+
+    for(String key : entry.keys) {
+      ids.put(key, user.getId());
+    }
+
+    entries.put(user.getId(), entry);
+
+    return user.clone();
+  }
+
+  /**
+   * Remove do cache o usuário identificado por 'userKey'.
+   *
+   * @param userKey email, alias ou id imutável do usuário.
+   */
+  public synchronized void invalidate(String userKey) {
+
+    String id = ids.get(normalize(userKey));
+
+    if(id != null) {
+      CachedUser entry = entries.remove(id);
+      if(entry != null) {
+        ids.keySet().removeAll(entry.keys);
+      }
+    }
+  }
+
+  /**
+   * Remove todos os usuários do cache.
+   */
+  public synchronized void invalidateAll() {
+    entries.clear();
+    ids.clear();
+  }
+
+  private synchronized CachedUser lookup(String userKey) {
+
+    String id = ids.get(normalize(userKey));
+
+    return id == null ? null : entries.get(id);
+  }
+
+  /**
+   * Emails não diferenciam maiúsculas de minúsculas, ids são numéricos.
+   */
+  private static String normalize(String userKey) {
+    return userKey.toLowerCase();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public long getTtlMillis() {
+    return ttlMillis;
+  }
+
+  /**
+   * @return buscas atendidas pelo cache sem chamada à API.
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * @return buscas de usuários ausentes do cache.
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * @return requisições condicionais de entradas vencidas.
+   */
+  public long getRevalidations() {
+    return revalidations.get();
+  }
+
+  /**
+   * @return revalidações respondidas com 304 (usuário não modificado).
+   */
+  public long getNotModified() {
+    return notModified.get();
+  }
+
+  /**
+   * @return entradas descartadas pelo limite de tamanho.
+   */
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("UserCache[entradas=%d/%d, hits=%d, misses=%d, revalidações=%d (304: %d), descartes=%d]",
+            size(), maxEntries, getHits(), getMisses(), getRevalidations(), getNotModified(), getEvictions());
+  }
+
+  /**
+   * Usuário em cache e as chaves que o referenciam.
+   */
+  private static final class CachedUser {
+
+    private final User user;
+
+    private final Set<String> keys = new HashSet<String>();
+
+    private volatile long fetchedAt = System.currentTimeMillis();
+
+    private CachedUser(User user) {
+      this.user = user;
+    }
+  }
+
+}
@@ -0,0 +1,148 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.google.api.client.util.ClassInfo;
+import com.google.api.client.util.Data;
+import com.google.api.client.util.FieldInfo;
+import com.google.api.services.admin.directory.model.User;
+
+/**
+ * Rastreia os campos de um objeto User alterados pelo chamador, para que
+ * apenas eles sejam enviados em um patch ({@link DirectoryUserService#patchUser(UserChangeTracker)}).
+ *
+ * No início do rastreamento é guardada uma cópia profunda do usuário; os
+ * campos sujos são os que diferem dessa cópia, inclusive alterações em
+ * objetos aninhados (por exemplo, um telefone da lista 'phones'). Um campo
+ * removido (definido como null) é enviado como null JSON, limpando o valor
+ * no servidor.
+ *
+ *<pre>
+ * Exemplo:
+ *   UserChangeTracker changes = UserChangeTracker.track(DirectoryUserService.getUser(email));
+ *   changes.getUser().setOrgUnitPath("/MyOrg/Alunos");
+ *   DirectoryUserService.patchUser(changes);  // envia apenas {"orgUnitPath":"/MyOrg/Alunos"}
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserChangeTracker {
+
+  private final User user;
+
+  private User snapshot;
+
+  private UserChangeTracker(User user) {
+    this.user = user;
+    this.snapshot = user.clone();
+  }
+
+  /**
+   * Inicia o rastreamento de um usuário obtido da API.
+   *
+   * @param user usuário a ser alterado pelo chamador.
+   * @return rastreador do usuário.
+   */
+  public static UserChangeTracker track(User user) {
+    return new UserChangeTracker(user);
+  }
+
+  /**
+   * Inicia o rastreamento de um usuário vazio, identificado pela chave: todo
+   * campo definido pelo chamador será enviado.
+   *
+   * @param userKey email ou id imutável do usuário.
+   * @return rastreador do usuário.
+   */
+  public static UserChangeTracker forKey(String userKey) {
+    UserChangeTracker tracker = new UserChangeTracker(new User());
+    tracker.snapshot.setPrimaryEmail(userKey);
+    tracker.user.setPrimaryEmail(userKey);
+    return tracker;
+  }
+
+  /**
+   * @return usuário rastreado, a ser alterado pelos seus setters.
+   */
+  public User getUser() {
+    return user;
+  }
+
+  /**
+   * @return id do usuário ou, se não houver, o email original.
+   */
+  public String getUserKey() {
+    return snapshot.getId() != null ? snapshot.getId() : snapshot.getPrimaryEmail();
+  }
+
+  /**
+   * @return nomes JSON dos campos alterados desde o início do rastreamento.
+   */
+  public Set<String> getDirtyFields() {
+
+    Set<String> dirty = new LinkedHashSet<String>();
+
+    for(String name : user.keySet()) {
+      if(!equal(user.get(name), snapshot.get(name))) {
+        dirty.add(name);
+      }
+    }
+
+    for(String name : snapshot.keySet()) {
+      if(user.get(name) == null) {
+        dirty.add(name);
+      }
+    }
+
+    return Collections.unmodifiableSet(dirty);
+  }
+
+  public boolean isDirty() {
+    return !getDirtyFields().isEmpty();
+  }
+
+  /**
+   * Monta o corpo do patch, apenas com os campos alterados.
+   *
+   * @return objeto User com os campos sujos (vazio se não houver alterações).
+   */
+  public User toPatch() {
+
+    User patch = new User();
+
+    for(String name : getDirtyFields()) {
+
+      Object value = user.get(name);
+
+      if(value == null) {
+        /*
+         * Campos como 'phones' e 'emails' são declarados como Object no modelo:
+         * para eles, e para chaves desconhecidas, o null JSON é uma String.
+         */
+        FieldInfo field = ClassInfo.of(User.class).getFieldInfo(name);
+        value = field == null || field.getType() == Object.class ? Data.NULL_STRING : Data.nullOf(field.getType());
+      }
+
+      patch.set(name, Data.clone(value));
+    }
+
+    return patch;
+  }
+
+  /**
+   * Passa a considerar o estado atual como limpo, normalmente após um patch
+   * bem-sucedido.
+   */
+  public void reset() {
+    snapshot = user.clone();
+  }
+
+  private static boolean equal(Object a, Object b) {
+    return a == null ? b == null : a.equals(b);
+  }
+
+}
@@ -0,0 +1,200 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.google.api.client.json.JsonFactory;
+import com.google.api.services.admin.directory.Directory;
+import com.google.api.services.admin.directory.model.User;
+
+/**
+ * Exportação do diretório de usuários para um arquivo JSONL (um usuário por
+ * linha), percorrendo várias {@link UserShard fatias} em paralelo.
+ *
+ * A listagem de uma fatia é sequencial, pois cada página depende do
+ * 'pageToken' da anterior, mas fatias diferentes são independentes. Usuários
+ * presentes em mais de uma fatia são escritos uma única vez (pelo id); apenas
+ * os ids ficam em memória, os usuários seguem direto para o arquivo.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserExporter {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(UserExporter.class.getName());
+
+  public static final int DEFAULT_PARALLELISM = 8;
+
+  private final Directory service;
+
+  private int parallelism = DEFAULT_PARALLELISM;
+
+  private Set<UserField> fields;
+
+  /**
+   * @param service cliente da Directory API.
+   */
+  public UserExporter(Directory service) {
+    this.service = service;
+  }
+
+  /**
+   * @param parallelism quantidade de fatias percorridas simultaneamente.
+   */
+  public UserExporter setParallelism(int parallelism) {
+    if(parallelism < 1) {
+      throw new IllegalArgumentException("'parallelism' deve ser maior que zero.");
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * @param fields campos exportados de cada usuário (null para todos). O id é
+   *        sempre incluído, pois é usado para descartar repetidos.
+   */
+  public UserExporter setFields(Set<UserField> fields) {
+    this.fields = fields;
+    return this;
+  }
+
+  /**
+   * Exporta os usuários das fatias para o arquivo, sobrescrevendo-o.
+   *
+   * @param shards fatias do diretório.
+   * @param output arquivo JSONL de destino.
+   * @return quantidade de usuários exportados.
+   * @throws IOException
+   */
+  public long export(List<UserShard> shards, File output) throws IOException {
+
+    long start = System.currentTimeMillis();
+
+    final JsonFactory jsonFactory = service.getJsonFactory();
+    final Set<String> exportedIds = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    final AtomicLong duplicates = new AtomicLong();
+
+    final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(output), "UTF-8"), 1 << 16);
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, shards.size())));
+
+    try {
+      List<Future<Long>> futures = new ArrayList<Future<Long>>();
+
+      for(final UserShard shard : shards) {
+        futures.add(executor.submit(new Callable<Long>() {
+
+          public Long call() throws IOException {
+            return exportShard(shard, jsonFactory, exportedIds, duplicates, writer);
+          }
+        }));
+      }
+
+      for(Future<Long> future : futures) {
+        await(future);
+      }
+    }
+    finally {
+      executor.shutdownNow();
+      writer.close();
+    }
+
+    long elapsed = Math.max(1, System.currentTimeMillis() - start);
+
+    logger.info(String.format("Exportação concluída: %d usuários (%d repetidos descartados) de %d fatias em %d ms (%.1f usuários/s) para %s",
+            exportedIds.size(), duplicates.get(), shards.size(), elapsed, exportedIds.size() * 1000.0 / elapsed, output.getAbsolutePath()));
+
+    return exportedIds.size();
+  }
+
+  /**
+   * Percorre a cadeia de páginas de uma fatia escrevendo os usuários inéditos.
+   */
+  private long exportShard(UserShard shard, JsonFactory jsonFactory, Set<String> exportedIds,
+          AtomicLong duplicates, Writer writer) throws IOException {
+
+    Directory.Users.List request = shard.newListRequest(service);
+
+    if(fields != null) {
+      Set<UserField> projection = EnumSet.copyOf(fields);
+      projection.add(UserField.ID);
+      request.setFields(UserField.toListFieldMask(projection));
+    }
+
+    long exported = 0;
+
+    UserPageIterator iterator = new UserPageIterator(request, 0, 1);
+
+    try {
+      while(iterator.hasNext()) {
+
+        User user = iterator.next();
+
+        if(!exportedIds.add(user.getId())) {
+          duplicates.incrementAndGet();
+          continue;
+        }
+
+        String line = jsonFactory.toString(user);
+
+        synchronized(writer) {
+          writer.write(line);
+          writer.write('\n');
+        }
+
+        exported++;
+      }
+    }
+    catch(RuntimeException e) {
+      if(e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw e;
+    }
+    finally {
+      iterator.close();
+    }
+
+    logger.fine(String.format("Fatia '%s': %d usuários exportados.", shard, exported));
+
+    return exported;
+  }
+
+  private static void await(Future<?> future) throws IOException {
+    try {
+      future.get();
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Exportação interrompida.", e);
+    }
+    catch(ExecutionException e) {
+      if(e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+}
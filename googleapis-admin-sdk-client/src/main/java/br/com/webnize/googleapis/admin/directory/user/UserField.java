@@ -0,0 +1,113 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.util.Collection;
+
+/**
+ * Campos do recurso User que podem ser solicitados em uma resposta parcial
+ * (parâmetro 'fields' da Directory API).
+ *
+ * Solicitar apenas os campos necessários reduz o tamanho das respostas e o
+ * tempo de parse, principalmente em listagens do domínio inteiro.
+ *
+ * @see https://developers.google.com/admin-sdk/directory/v1/guides/performance#partial
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public enum UserField {
+
+  ID("id"),
+  PRIMARY_EMAIL("primaryEmail"),
+  NAME("name"),
+  ORG_UNIT_PATH("orgUnitPath"),
+  SUSPENDED("suspended"),
+  SUSPENSION_REASON("suspensionReason"),
+  IS_ADMIN("isAdmin"),
+  IS_DELEGATED_ADMIN("isDelegatedAdmin"),
+  ALIASES("aliases"),
+  NON_EDITABLE_ALIASES("nonEditableAliases"),
+  EMAILS("emails"),
+  PHONES("phones"),
+  ADDRESSES("addresses"),
+  ORGANIZATIONS("organizations"),
+  RELATIONS("relations"),
+  EXTERNAL_IDS("externalIds"),
+  IMS("ims"),
+  CUSTOM_SCHEMAS("customSchemas"),
+  CHANGE_PASSWORD_AT_NEXT_LOGIN("changePasswordAtNextLogin"),
+  AGREED_TO_TERMS("agreedToTerms"),
+  INCLUDE_IN_GLOBAL_ADDRESS_LIST("includeInGlobalAddressList"),
+  IP_WHITELISTED("ipWhitelisted"),
+  IS_MAILBOX_SETUP("isMailboxSetup"),
+  CUSTOMER_ID("customerId"),
+  CREATION_TIME("creationTime"),
+  LAST_LOGIN_TIME("lastLoginTime"),
+  DELETION_TIME("deletionTime"),
+  THUMBNAIL_PHOTO_URL("thumbnailPhotoUrl"),
+  ETAG("etag");
+
+  private final String jsonName;
+
+  private UserField(String jsonName) {
+    this.jsonName = jsonName;
+  }
+
+  /**
+   * @return nome do campo no JSON do recurso User.
+   */
+  public String getJsonName() {
+    return jsonName;
+  }
+
+  /**
+   * @param jsonName nome do campo no JSON do recurso User.
+   * @return campo correspondente ou null se não houver.
+   */
+  public static UserField fromJsonName(String jsonName) {
+
+    for(UserField field : values()) {
+      if(field.jsonName.equals(jsonName)) {
+        return field;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Monta a máscara de campos de um recurso User, por exemplo "id,primaryEmail".
+   *
+   * @param fields campos desejados.
+   * @return valor do parâmetro 'fields'.
+   */
+  public static String toFieldMask(Collection<UserField> fields) {
+
+    if(fields == null || fields.isEmpty()) {
+      throw new IllegalArgumentException("A projeção deve ter ao menos um campo.");
+    }
+
+    StringBuilder mask = new StringBuilder();
+
+    for(UserField field : fields) {
+      if(mask.length() > 0) {
+        mask.append(',');
+      }
+      mask.append(field.jsonName);
+    }
+
+    return mask.toString();
+  }
+
+  /**
+   * Monta a máscara de campos de uma página de listagem, por exemplo
+   * "nextPageToken,users(id,primaryEmail)".
+   *
+   * @param fields campos desejados de cada usuário.
+   * @return valor do parâmetro 'fields'.
+   */
+  public static String toListFieldMask(Collection<UserField> fields) {
+    return "nextPageToken,users(" + toFieldMask(fields) + ")";
+  }
+
+}
@@ -0,0 +1,313 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.api.services.admin.directory.Directory;
+import com.google.api.services.admin.directory.model.User;
+
+import br.com.webnize.googleapis.admin.directory.batch.BatchOperation;
+import br.com.webnize.googleapis.admin.directory.batch.BatchOperationException;
+import br.com.webnize.googleapis.admin.directory.batch.DirectoryBatchQueue;
+import br.com.webnize.googleapis.admin.directory.metrics.LatencyHistogram;
+import br.com.webnize.googleapis.admin.directory.metrics.SizeHistogram;
+
+/**
+ * Agrupamento de buscas simultâneas de usuários por 'userKey'.
+ *
+ * As buscas feitas dentro de uma janela curta ('windowMillis', 5 ms por
+ * padrão) seguem juntas em um único lote (BatchRequest) de uma
+ * {@link DirectoryBatchQueue}. Buscas pela mesma chave (sem distinção de
+ * maiúsculas) enquanto a primeira está em andamento não geram outra operação:
+ * todas recebem o mesmo resultado, ou a mesma falha.
+ *
+ * Os histogramas de tamanho dos lotes e de espera na fila permitem ajustar a
+ * janela: lotes com uma só operação indicam que a janela só acrescenta
+ * latência; esperas próximas da janela com lotes pequenos, que ela pode ser
+ * reduzida.
+ *
+ *<pre>
+ * Exemplo:
+ *   UserGetCoalescer coalescer = new UserGetCoalescer(service, 5);
+ *   User user = coalescer.getUser(email);                 // bloqueante
+ *   Future<User> future = coalescer.getUserAsync(email);  // assíncrono
+ *   ...
+ *   coalescer.close();
+ *
+ * Obs:
+ * 1. Um usuário inexistente gera {@link BatchOperationException} com status
+ *    404 (uma HttpResponseException, como a de uma chamada individual).
+ * 2. O Future de getUserAsync é compartilhado pelas buscas agrupadas: cancelá-lo
+ *    cancela para todas, e o objeto User devolvido por ele não deve ser
+ *    alterado. getUser devolve uma cópia.
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserGetCoalescer implements Closeable {
+
+  public static final long DEFAULT_WINDOW_MILLIS = 5;
+
+  private final Directory service;
+
+  private final DirectoryBatchQueue queue;
+
+  /**
+   * Buscas em andamento, pela chave em minúsculas.
+   */
+  private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<String, Flight>();
+
+  private final AtomicLong requests = new AtomicLong();
+
+  private final AtomicLong coalesced = new AtomicLong();
+
+  /**
+   * @param service cliente da Directory API utilizado nas buscas.
+   */
+  public UserGetCoalescer(Directory service) {
+    this(service, DEFAULT_WINDOW_MILLIS);
+  }
+
+  /**
+   * @param service cliente da Directory API utilizado nas buscas.
+   * @param windowMillis espera máxima de uma busca pelas demais do seu lote.
+   */
+  public UserGetCoalescer(Directory service, long windowMillis) {
+    this.service = service;
+    this.queue = new DirectoryBatchQueue(service).setMaxDelayMillis(windowMillis);
+  }
+
+  /**
+   * @param parallelism quantidade máxima de lotes enviados simultaneamente
+   *        (antes da primeira busca).
+   */
+  public UserGetCoalescer setParallelism(int parallelism) {
+    queue.setParallelism(parallelism);
+    return this;
+  }
+
+  /**
+   * @param batchSize quantidade de buscas que dispara o envio de um lote antes do fim da janela.
+   */
+  public UserGetCoalescer setBatchSize(int batchSize) {
+    queue.setBatchSize(batchSize);
+    return this;
+  }
+
+  /**
+   * Mesma assinatura de {@link DirectoryUserService#getUser(String)}.
+   *
+   * @param userKey email ou id imutável do usuário.
+   * @return cópia do objeto User.
+   * @throws IOException se a busca falhar ({@link BatchOperationException}
+   *         para erros da API) ou a espera for interrompida.
+   */
+  public User getUser(String userKey) throws IOException {
+
+    try {
+      return getUserAsync(userKey).get().clone();
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Espera pelo usuário interrompida.", e);
+    }
+    catch(CancellationException e) {
+      throw new IOException(String.format("Busca do usuário '%s' cancelada.", userKey), e);
+    }
+    catch(ExecutionException e) {
+      if(e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /**
+   * Busca o usuário no próximo lote, ou acompanha a busca já em andamento
+   * pela mesma chave. Não bloqueia.
+   *
+   * @param userKey email ou id imutável do usuário.
+   * @return Future com o usuário; em caso de falha, get() lança
+   *         ExecutionException com a IOException da busca como causa.
+   * @throws IllegalStateException se o agrupador já foi fechado.
+   */
+  public Future<User> getUserAsync(String userKey) {
+
+    requests.incrementAndGet();
+
+    String key = userKey.toLowerCase(Locale.ROOT);
+
+    Flight flight = inFlight.get(key);
+
+    if(flight == null) {
+
+      final Flight created = new Flight(key);
+      flight = inFlight.putIfAbsent(key, created);
+
+      if(flight == null) {
+        try {
+          BatchOperation<User> operation = new BatchOperation<User>(userKey, service.users().get(userKey));
+          created.attach(queue.submit(operation, new Runnable() {
+
+            public void run() {
+              created.operationDone();
+            }
+          }));
+        }
+        catch(IOException e) {
+          created.fail(e);
+        }
+        catch(RuntimeException e) {
+          inFlight.remove(key, created);
+          throw e;
+        }
+        return created;
+      }
+    }
+
+    coalesced.incrementAndGet();
+
+    return flight;
+  }
+
+  /**
+   * Recusa novas buscas, aguarda as em andamento e encerra as threads da fila.
+   *
+   * @throws IOException se a espera for interrompida.
+   */
+  public void close() throws IOException {
+    queue.close();
+  }
+
+  /**
+   * @return quantidade de buscas recebidas.
+   */
+  public long getRequestCount() {
+    return requests.get();
+  }
+
+  /**
+   * @return quantidade de buscas atendidas por outra já em andamento.
+   */
+  public long getCoalescedCount() {
+    return coalesced.get();
+  }
+
+  /**
+   * @return quantidade de lotes (HTTP requests) enviados.
+   */
+  public long getHttpRequests() {
+    return queue.getHttpRequests();
+  }
+
+  /**
+   * @return distribuição da quantidade de buscas por lote.
+   */
+  public SizeHistogram getBatchSizeHistogram() {
+    return queue.getBatchSizeHistogram();
+  }
+
+  /**
+   * @return distribuição da espera das buscas pelo envio do seu lote.
+   */
+  public LatencyHistogram getWaitTimeHistogram() {
+    return queue.getWaitTimeHistogram();
+  }
+
+  @Override
+  public String toString() {
+
+    SizeHistogram sizes = queue.getBatchSizeHistogram();
+    LatencyHistogram waits = queue.getWaitTimeHistogram();
+
+    return String.format("%d buscas (%d agrupadas) em %d lotes, lote p50=%d p99=%d, espera p50=%.2fms p99=%.2fms",
+                         requests.get(), coalesced.get(), queue.getHttpRequests(),
+                         sizes.getPercentile(0.5), sizes.getPercentile(0.99),
+                         waits.getPercentileMillis(0.5), waits.getPercentileMillis(0.99));
+  }
+
+  /**
+   * Busca em andamento, compartilhada pelas chamadas com a mesma chave e
+   * concluída com o resultado da operação na fila.
+   */
+  private class Flight extends FutureTask<User> {
+
+    private final String key;
+
+    private Future<User> operation;
+
+    private boolean operationDone;
+
+    Flight(String key) {
+      super(new Callable<User>() {
+
+        public User call() {
+          throw new IllegalStateException("Concluído apenas pela fila de lotes.");
+        }
+      });
+      this.key = key;
+    }
+
+    /**
+     * Associa a operação submetida à fila.
+     */
+    synchronized void attach(Future<User> operation) {
+      this.operation = operation;
+      if(operationDone) {
+        copyResult();
+      }
+    }
+
+    /**
+     * Fim da operação na fila, chamado pela thread que a concluiu,
+     * possivelmente antes de {@link #attach(Future)}.
+     */
+    synchronized void operationDone() {
+      operationDone = true;
+      if(operation != null) {
+        copyResult();
+      }
+    }
+
+    void fail(Throwable cause) {
+      setException(cause);
+    }
+
+    private void copyResult() {
+      try {
+        set(operation.get());
+      }
+      catch(ExecutionException e) {
+        setException(e.getCause());
+      }
+      catch(CancellationException e) {
+        cancel(false);
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        setException(e);
+      }
+    }
+
+    /**
+     * Concluída (ou cancelada), a busca deixa de ser compartilhada: a próxima
+     * chamada com a mesma chave gera outra operação.
+     */
+    @Override
+    protected void done() {
+      inFlight.remove(key, this);
+    }
+  }
+
+}
@@ -0,0 +1,542 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.services.admin.directory.Directory;
+import com.google.api.services.admin.directory.model.User;
+import com.google.api.services.admin.directory.model.UserName;
+
+import br.com.webnize.googleapis.admin.directory.batch.BatchOperation;
+import br.com.webnize.googleapis.admin.directory.batch.BatchReport;
+import br.com.webnize.googleapis.admin.directory.batch.BatchResult;
+import br.com.webnize.googleapis.admin.directory.batch.DirectoryBatchExecutor;
+
+/**
+ * Importação de usuários a partir de arquivos CSV ou JSONL, lidos linha a
+ * linha e criados em lotes.
+ *
+ * No máximo 'maxBatchesInFlight' lotes ficam em memória ao mesmo tempo: a
+ * leitura do arquivo aguarda quando todos estão em andamento, de forma que a
+ * memória utilizada não depende do tamanho do arquivo.
+ *
+ * Cada lote concluído é registrado em um diário ('journal') somente de
+ * inclusão, com o intervalo de linhas processadas. Uma importação
+ * interrompida e executada novamente com o mesmo diário pula as linhas já
+ * registradas; usuários de um lote enviado mas não registrado antes da
+ * interrupção voltam com 409 e são contados como já existentes.
+ *
+ *<pre>
+ * Formatos:
+ * 1. CSV com cabeçalho, colunas reconhecidas: primaryEmail, givenName, familyName,
+ *    password, orgUnitPath, changePasswordAtNextLogin, suspended
+ * 2. JSONL (.jsonl ou .json) com um recurso User por linha
+ *
+ * Formato do diário:
+ * 1-100 98 1 1      (linhas, criados, já existentes, falhas)
+ * # 17 joao@dominio 400 Invalid Given/Family Name
+ * # linha 101 inválida: ...
+ * 101-101 0 0 1     (linha inválida fora de um lote)
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserImporter {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(UserImporter.class.getName());
+
+  public static final int DEFAULT_MAX_BATCHES_IN_FLIGHT = 4;
+
+  private final Directory service;
+
+  private int batchSize = DirectoryBatchExecutor.DEFAULT_BATCH_SIZE;
+
+  private int maxBatchesInFlight = DEFAULT_MAX_BATCHES_IN_FLIGHT;
+
+  /**
+   * @param service cliente da Directory API.
+   */
+  public UserImporter(Directory service) {
+    this.service = service;
+  }
+
+  /**
+   * @param batchSize quantidade de usuários por lote.
+   */
+  public UserImporter setBatchSize(int batchSize) {
+    if(batchSize < 1 || batchSize > DirectoryBatchExecutor.MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("'batchSize' deve estar entre 1 e " + DirectoryBatchExecutor.MAX_BATCH_SIZE + ".");
+    }
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * @param maxBatchesInFlight quantidade máxima de lotes lidos e ainda não concluídos.
+   */
+  public UserImporter setMaxBatchesInFlight(int maxBatchesInFlight) {
+    if(maxBatchesInFlight < 1) {
+      throw new IllegalArgumentException("'maxBatchesInFlight' deve ser maior que zero.");
+    }
+    this.maxBatchesInFlight = maxBatchesInFlight;
+    return this;
+  }
+
+  /**
+   * Importa os usuários do arquivo, retomando de onde o diário parou.
+   *
+   * @param input arquivo CSV ou JSONL.
+   * @param journal diário de progresso (criado se não existir).
+   * @return resumo da importação.
+   * @throws IOException
+   */
+  public Report importFile(File input, File journal) throws IOException {
+
+    long start = System.currentTimeMillis();
+
+    final TreeMap<Long, Long> done = readJournal(journal);
+    final Report report = new Report();
+    final AtomicReference<IOException> failure = new AtomicReference<IOException>();
+    final Semaphore inFlight = new Semaphore(maxBatchesInFlight);
+    final Writer journalWriter = openJournal(journal);
+
+    boolean csv = input.getName().toLowerCase().endsWith(".csv");
+    JsonFactory jsonFactory = service.getJsonFactory();
+
+    ExecutorService executor = Executors.newFixedThreadPool(maxBatchesInFlight);
+
+    /*
+     * Cada lote é enviado pela thread do pool que o recebeu (paralelismo 1),
+     * sem um pool próprio por lote.
+     */
+    DirectoryBatchExecutor batchExecutor = new DirectoryBatchExecutor(service)
+                                                .setBatchSize(batchSize)
+                                                  .setParallelism(1);
+
+    BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(input), "UTF-8"));
+
+    try {
+      String[] header = csv ? parseCsvLine(reader.readLine()) : null;
+
+      long row = 0;
+      long firstRow = 0;
+      List<BatchOperation<User>> batch = new ArrayList<BatchOperation<User>>(batchSize);
+
+      for(String line = reader.readLine(); line != null && failure.get() == null; line = reader.readLine()) {
+
+        row++;
+
+        if(line.trim().isEmpty()) {
+          continue;
+        }
+
+        if(isDone(done, row)) {
+          report.skipped.incrementAndGet();
+          continue;
+        }
+
+        if(batch.isEmpty()) {
+          firstRow = row;
+        }
+
+        BatchOperation<User> operation;
+        try {
+          User user = csv ? toUser(header, parseCsvLine(line)) : jsonFactory.fromString(line, User.class);
+          operation = new BatchOperation<User>(user.getPrimaryEmail(), service.users().insert(user));
+        }
+        catch(Exception e) {
+          /*
+           * Linha inválida (JSON malformado, campos obrigatórios ausentes): registrada
+           * como falha. Com o lote corrente vazio nenhum intervalo a cobriria, então
+           * ela recebe o seu próprio, para não ser contada de novo na retomada.
+           */
+          report.failed.incrementAndGet();
+          synchronized(journalWriter) {
+            journalWriter.write(String.format("# linha %d inválida: %s%n", row, e.getMessage()));
+            if(batch.isEmpty()) {
+              journalWriter.write(String.format("%d-%d 0 0 1%n", row, row));
+            }
+            journalWriter.flush();
+          }
+          continue;
+        }
+
+        batch.add(operation);
+
+        if(batch.size() == batchSize) {
+          submit(executor, batchExecutor, inFlight, batch, firstRow, row, report, journalWriter, failure);
+          batch = new ArrayList<BatchOperation<User>>(batchSize);
+        }
+      }
+
+      if(!batch.isEmpty() && failure.get() == null) {
+        submit(executor, batchExecutor, inFlight, batch, firstRow, row, report, journalWriter, failure);
+      }
+
+      executor.shutdown();
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Importação interrompida.", e);
+    }
+    finally {
+      executor.shutdownNow();
+      reader.close();
+      synchronized(journalWriter) {
+        journalWriter.close();
+      }
+    }
+
+    if(failure.get() != null) {
+      throw failure.get();
+    }
+
+    report.elapsedMillis = System.currentTimeMillis() - start;
+
+    logger.info("Importação de " + input.getName() + " concluída: " + report);
+
+    return report;
+  }
+
+  /**
+   * Submete o lote, aguardando enquanto houver 'maxBatchesInFlight' lotes em andamento.
+   */
+  private void submit(ExecutorService executor, final DirectoryBatchExecutor batchExecutor, final Semaphore inFlight,
+          final List<BatchOperation<User>> batch,
+          final long firstRow, final long lastRow, final Report report, final Writer journalWriter,
+          final AtomicReference<IOException> failure) throws InterruptedException {
+
+    inFlight.acquire();
+
+    executor.execute(new Runnable() {
+
+      public void run() {
+        try {
+          createBatch(batchExecutor, batch, firstRow, report, journalWriter, lastRow);
+        }
+        catch(IOException e) {
+          logger.severe(String.format("Falha no lote das linhas %d-%d: %s", firstRow, lastRow, e.getMessage()));
+          failure.compareAndSet(null, e);
+        }
+        finally {
+          inFlight.release();
+        }
+      }
+    });
+  }
+
+  /**
+   * Cria os usuários do lote e registra o intervalo de linhas no diário.
+   */
+  private void createBatch(DirectoryBatchExecutor batchExecutor, List<BatchOperation<User>> batch, long firstRow,
+          Report report, Writer journalWriter, long lastRow) throws IOException {
+
+    BatchReport<User> batchReport = batchExecutor.execute(batch);
+
+    StringBuilder entry = new StringBuilder();
+    long created = 0;
+    long existing = 0;
+    long failed = 0;
+
+    for(BatchResult<User> result : batchReport.getResults()) {
+
+      GoogleJsonError error = result.getError();
+
+      if(result.isSucceeded()) {
+        created++;
+      }
+      else if(error != null && error.getCode() == 409) {
+        existing++;
+      }
+      else {
+        failed++;
+        entry.append(String.format("# %s %d %s%n", result.getKey(), error == null ? 0 : error.getCode(),
+                error == null ? "" : error.getMessage()));
+      }
+    }
+
+    entry.append(String.format("%d-%d %d %d %d%n", firstRow, lastRow, created, existing, failed));
+
+    synchronized(journalWriter) {
+      journalWriter.write(entry.toString());
+      journalWriter.flush();
+    }
+
+    report.created.addAndGet(created);
+    report.existing.addAndGet(existing);
+    report.failed.addAndGet(failed);
+  }
+
+  /**
+   * Abre o diário para inclusão. Uma linha incompleta no fim, gravada durante
+   * uma interrupção, é descartada antes: sem isso a próxima entrada seria
+   * emendada a ela e perdida na retomada seguinte.
+   */
+  private static Writer openJournal(File journal) throws IOException {
+
+    RandomAccessFile file = new RandomAccessFile(journal, "rw");
+
+    try {
+      long length = completeLength(file);
+      if(length < file.length()) {
+        logger.warning(String.format("Linha incompleta no fim de '%s' descartada (%d bytes).", journal.getName(), file.length() - length));
+        file.setLength(length);
+      }
+      file.seek(length);
+
+      return new OutputStreamWriter(Channels.newOutputStream(file.getChannel()), "UTF-8");
+    }
+    catch(IOException e) {
+      file.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return tamanho do arquivo até o último '\n', inclusive (0 se não houver).
+   */
+  private static long completeLength(RandomAccessFile file) throws IOException {
+
+    byte[] buffer = new byte[8192];
+
+    for(long end = file.length(); end > 0; ) {
+
+      int size = (int) Math.min(buffer.length, end);
+      long start = end - size;
+
+      file.seek(start);
+      file.readFully(buffer, 0, size);
+
+      for(int i = size - 1; i >= 0; i--) {
+        if(buffer[i] == '\n') {
+          return start + i + 1;
+        }
+      }
+
+      end = start;
+    }
+
+    return 0;
+  }
+
+  /**
+   * Lê os intervalos de linhas já processados (início -> fim).
+   */
+  private static TreeMap<Long, Long> readJournal(File journal) throws IOException {
+
+    TreeMap<Long, Long> done = new TreeMap<Long, Long>();
+
+    if(!journal.exists()) {
+      return done;
+    }
+
+    BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(journal), "UTF-8"));
+
+    try {
+      for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+
+        if(line.startsWith("#") || line.trim().isEmpty()) {
+          continue;
+        }
+
+        String range = line.split(" ")[0];
+        int dash = range.indexOf('-');
+
+        try {
+          done.put(Long.parseLong(range.substring(0, dash)), Long.parseLong(range.substring(dash + 1)));
+        }
+        catch(RuntimeException e) {
+          // Linha incompleta gravada durante uma interrupção: o lote será reenviado.
+          logger.warning("Entrada inválida no diário ignorada: " + line);
+        }
+      }
+    }
+    finally {
+      reader.close();
+    }
+
+    if(!done.isEmpty()) {
+      logger.info(String.format("Retomando importação, %d lotes já registrados em %s.", done.size(), journal.getName()));
+    }
+
+    return done;
+  }
+
+  private static boolean isDone(TreeMap<Long, Long> done, long row) {
+    Map.Entry<Long, Long> range = done.floorEntry(row);
+    return range != null && row <= range.getValue();
+  }
+
+  /**
+   * Converte uma linha CSV em User a partir dos nomes de coluna do cabeçalho.
+   */
+  private static User toUser(String[] header, String[] values) {
+
+    User user = new User();
+    UserName name = new UserName();
+
+    for(int i = 0; i < header.length && i < values.length; i++) {
+
+      String value = values[i];
+
+      if(value.isEmpty()) {
+        continue;
+      }
+
+      String column = header[i].trim();
+
+      if("primaryEmail".equalsIgnoreCase(column)) {
+        user.setPrimaryEmail(value);
+      }
+      else if("givenName".equalsIgnoreCase(column)) {
+        name.setGivenName(value);
+      }
+      else if("familyName".equalsIgnoreCase(column)) {
+        name.setFamilyName(value);
+      }
+      else if("password".equalsIgnoreCase(column)) {
+        user.setPassword(value);
+      }
+      else if("orgUnitPath".equalsIgnoreCase(column)) {
+        user.setOrgUnitPath(value);
+      }
+      else if("changePasswordAtNextLogin".equalsIgnoreCase(column)) {
+        user.setChangePasswordAtNextLogin(Boolean.valueOf(value));
+      }
+      else if("suspended".equalsIgnoreCase(column)) {
+        user.setSuspended(Boolean.valueOf(value));
+      }
+    }
+
+    return user.setName(name);
+  }
+
+  /**
+   * Separa uma linha CSV em campos, aceitando campos entre aspas com vírgulas
+   * e aspas duplicadas ("").
+   */
+  static String[] parseCsvLine(String line) {
+
+    if(line == null) {
+      throw new IllegalArgumentException("Arquivo CSV sem cabeçalho.");
+    }
+
+    List<String> fields = new ArrayList<String>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+
+    for(int i = 0; i < line.length(); i++) {
+
+      char c = line.charAt(i);
+
+      if(quoted) {
+        if(c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        }
+        else if(c == '"') {
+          quoted = false;
+        }
+        else {
+          field.append(c);
+        }
+      }
+      else if(c == '"') {
+        quoted = true;
+      }
+      else if(c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      }
+      else {
+        field.append(c);
+      }
+    }
+
+    fields.add(field.toString());
+
+    return fields.toArray(new String[fields.size()]);
+  }
+
+  /**
+   * Resumo de uma importação.
+   */
+  public static class Report {
+
+    private final AtomicLong created = new AtomicLong();
+
+    private final AtomicLong existing = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong skipped = new AtomicLong();
+
+    private long elapsedMillis;
+
+    /**
+     * @return usuários criados nesta execução.
+     */
+    public long getCreated() {
+      return created.get();
+    }
+
+    /**
+     * @return usuários que já existiam (409), normalmente de um lote reenviado na retomada.
+     */
+    public long getExisting() {
+      return existing.get();
+    }
+
+    /**
+     * @return usuários rejeitados pela API, detalhados no diário.
+     */
+    public long getFailed() {
+      return failed.get();
+    }
+
+    /**
+     * @return linhas puladas por já constarem no diário.
+     */
+    public long getSkipped() {
+      return skipped.get();
+    }
+
+    public long getElapsedMillis() {
+      return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d criados, %d já existentes, %d com falha, %d linhas já importadas em %d ms (%.1f usuários/s)",
+              getCreated(), getExisting(), getFailed(), getSkipped(), elapsedMillis,
+              elapsedMillis == 0 ? 0 : getCreated() * 1000.0 / elapsedMillis);
+    }
+  }
+
+}
@@ -0,0 +1,245 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Logger;
+
+import com.google.api.services.admin.directory.Directory;
+import com.google.api.services.admin.directory.model.User;
+import com.google.api.services.admin.directory.model.Users;
+
+import br.com.webnize.googleapis.admin.directory.CallDeadline;
+import br.com.webnize.googleapis.admin.directory.DirectoryThrottle;
+
+/**
+ * Iterador preguiçoso sobre todas as páginas de uma listagem de usuários da
+ * Directory API.
+ *
+ * Uma thread de fundo segue o 'nextPageToken' e busca a página N+1 enquanto
+ * o chamador consome a página N. As páginas já buscadas aguardam em uma fila
+ * limitada a 'pagesInFlight' posições, de forma que a memória utilizada
+ * depende do tamanho da página e não do tamanho do diretório.
+ *
+ * Erros de I/O da busca são relançados no consumidor como RuntimeException
+ * com a IOException original como causa.
+ *
+ * Deve ser fechado ({@link #close()}) quando abandonado antes do fim da
+ * listagem, para liberar a thread de busca.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserPageIterator implements Iterator<User>, Closeable {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(UserPageIterator.class.getName());
+
+  /**
+   * Quantidade padrão de páginas buscadas e ainda não consumidas.
+   */
+  public static final int DEFAULT_PAGES_IN_FLIGHT = 2;
+
+  /**
+   * Tamanho máximo de página aceito pela Directory API.
+   */
+  public static final int MAX_PAGE_SIZE = 500;
+
+  /**
+   * Marcador de fim da listagem.
+   */
+  private static final Page END_OF_LISTING = new Page(Collections.<User>emptyList(), null);
+
+  /**
+   * Páginas já buscadas e ainda não consumidas.
+   */
+  private final BlockingQueue<Page> pages;
+
+  /**
+   * Quantidade máxima de usuários a devolver (0 para todos).
+   */
+  private final int limit;
+
+  /**
+   * Thread responsável pela busca das páginas.
+   */
+  private final Thread fetcher;
+
+  private Iterator<User> current = Collections.<User>emptyList().iterator();
+
+  private int returned;
+
+  private boolean finished;
+
+  private volatile boolean closed;
+
+  /**
+   * Cria o iterador e inicia a busca da primeira página.
+   *
+   * @param request requisição de listagem já configurada (customer, query, orderBy, ...).
+   *        Passa a pertencer ao iterador e não deve ser reutilizada.
+   * @param limit quantidade máxima de usuários a devolver (0 para todos).
+   * @param pagesInFlight quantidade máxima de páginas buscadas e não consumidas.
+   */
+  public UserPageIterator(final Directory.Users.List request, int limit, int pagesInFlight) {
+
+    if(pagesInFlight < 1) {
+      throw new IllegalArgumentException("'pagesInFlight' deve ser maior que zero.");
+    }
+
+    this.limit = limit;
+    this.pages = new ArrayBlockingQueue<Page>(pagesInFlight);
+
+    /*
+     * O prazo da thread que criou o iterador vale também para a busca das páginas.
+     */
+    final Long deadline = CallDeadline.current();
+
+    this.fetcher = new Thread(new Runnable() {
+
+      public void run() {
+        if(deadline != null) {
+          CallDeadline.set(deadline);
+        }
+        fetchPages(request);
+      }
+    }, "directory-users-prefetch");
+
+    this.fetcher.setDaemon(true);
+    this.fetcher.start();
+  }
+
+  /**
+   * Segue a cadeia de 'pageToken' até o fim da listagem, até o iterador ser
+   * fechado ou até um erro.
+   */
+  private void fetchPages(Directory.Users.List request) {
+
+    try {
+      String pageToken = null;
+
+      do {
+        request.setPageToken(pageToken);
+
+        Users result = DirectoryThrottle.execute(request);
+
+        List<User> users = result.getUsers();
+        pageToken = result.getNextPageToken();
+
+        if(users != null && !users.isEmpty()) {
+          pages.put(new Page(users, null));
+        }
+      }
+      while(pageToken != null && !closed);
+
+      pages.put(END_OF_LISTING);
+    }
+    catch(IOException e) {
+      logger.warning("Falha na busca de página de usuários: " + e.getMessage());
+      putQuietly(new Page(null, e));
+    }
+    catch(InterruptedException e) {
+      // Iterador fechado pelo consumidor.
+    }
+    catch(RuntimeException e) {
+      putQuietly(new Page(null, e));
+    }
+  }
+
+  private void putQuietly(Page page) {
+    try {
+      pages.put(page);
+    }
+    catch(InterruptedException e) {
+      // Iterador fechado pelo consumidor.
+    }
+  }
+
+  public boolean hasNext() {
+
+    if(finished) {
+      return false;
+    }
+
+    if(limit > 0 && returned >= limit) {
+      close();
+      return false;
+    }
+
+    while(!current.hasNext()) {
+
+      Page page;
+      try {
+        page = pages.take();
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        close();
+        throw new RuntimeException(e);
+      }
+
+      if(page == END_OF_LISTING) {
+        finished = true;
+        return false;
+      }
+
+      if(page.error != null) {
+        close();
+        throw new RuntimeException(page.error.getMessage(), page.error);
+      }
+
+      current = page.users.iterator();
+    }
+
+    return true;
+  }
+
+  public User next() {
+
+    if(!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    returned++;
+
+    return current.next();
+  }
+
+  public void remove() {
+    throw new UnsupportedOperationException("Listagem de usuários é somente leitura.");
+  }
+
+  /**
+   * Interrompe a busca de páginas e descarta as páginas pendentes.
+   */
+  public void close() {
+    finished = true;
+    closed = true;
+    fetcher.interrupt();
+    pages.clear();
+  }
+
+  /**
+   * Página buscada ou erro ocorrido durante a busca.
+   */
+  private static final class Page {
+
+    private final List<User> users;
+
+    private final Exception error;
+
+    private Page(List<User> users, Exception error) {
+      this.users = users;
+      this.error = error;
+    }
+  }
+
+}
@@ -0,0 +1,294 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Consulta na sintaxe de busca de usuários da Directory API (parâmetro
+ * 'query' de users.list), interpretada para avaliação local por
+ * {@link UserQueryEngine}.
+ *
+ * Uma consulta é uma sequência de termos 'campo:valor' ou 'campo=valor',
+ * separados por espaços (ou 'AND'), que devem ser todos atendidos. Valores
+ * com espaços vão entre aspas simples ('Jose Emanuel', com \' para uma aspa):
+ *
+ *<pre>
+ *   givenName:'Jose Emanuel*' orgUnitPath='/Alunos' isSuspended=false
+ * </pre>
+ *
+ * Como na API, o operador define a comparação:
+ *
+ *<pre>
+ * - '=' compara o valor inteiro: givenName='Jose' não encontra "Jose Emanuel";
+ * - ':' nos nomes (givenName, familyName, name) procura as palavras do valor,
+ *   em sequência, em qualquer posição: givenName:Jose encontra "Jose Emanuel"
+ *   e "Maria Jose"; com um '*' final a última palavra é um prefixo
+ *   (givenName:'Jose Ema*');
+ * - ':' no email compara o endereço inteiro ou, com '*' final, o seu início
+ *   (email:jose*), tanto do email primário quanto dos aliases.
+ * </pre>
+ *
+ * Campos aceitos: email, givenName, familyName, name, orgUnitPath ('=',
+ * incluindo as sub-unidades), isSuspended, isAdmin e isDelegatedAdmin (sem
+ * distinção de maiúsculas nos nomes e nos valores). Outros campos, o '*' com
+ * '=' e o ':' em orgUnitPath não têm avaliação local fiel à da API e geram
+ * IllegalArgumentException.
+ *
+ * @see https://developers.google.com/admin-sdk/directory/v1/guides/search-users
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserQuery {
+
+  /**
+   * Campos pesquisáveis na cópia local.
+   */
+  public enum Field {
+
+    EMAIL("email"),
+    GIVEN_NAME("givenName"),
+    FAMILY_NAME("familyName"),
+    NAME("name"),
+    ORG_UNIT_PATH("orgUnitPath"),
+    IS_SUSPENDED("isSuspended"),
+    IS_ADMIN("isAdmin"),
+    IS_DELEGATED_ADMIN("isDelegatedAdmin");
+
+    private final String queryName;
+
+    private Field(String queryName) {
+      this.queryName = queryName;
+    }
+
+    /**
+     * @return nome do campo na sintaxe de busca.
+     */
+    public String getQueryName() {
+      return queryName;
+    }
+
+    /**
+     * @return true para os campos com valor true/false.
+     */
+    public boolean isBoolean() {
+      return this == IS_SUSPENDED || this == IS_ADMIN || this == IS_DELEGATED_ADMIN;
+    }
+
+    static Field fromQueryName(String name) {
+
+      for(Field field : values()) {
+        if(field.queryName.equalsIgnoreCase(name)) {
+          return field;
+        }
+      }
+
+      throw new IllegalArgumentException(String.format("Campo '%s' não suportado pela consulta local.", name));
+    }
+  }
+
+  /**
+   * Operadores de comparação de um termo.
+   */
+  public enum Operator {
+
+    /**
+     * '=': valor inteiro.
+     */
+    EQUALS('='),
+
+    /**
+     * ':': palavras do valor nos nomes, valor inteiro (ou início) nos demais campos.
+     */
+    MATCHES(':');
+
+    private final char symbol;
+
+    private Operator(char symbol) {
+      this.symbol = symbol;
+    }
+
+    public char getSymbol() {
+      return symbol;
+    }
+  }
+
+  /**
+   * Termo 'campo:valor' de uma consulta.
+   */
+  public static class Term {
+
+    private final Field field;
+
+    private final Operator operator;
+
+    private final String value;
+
+    private final boolean prefix;
+
+    Term(Field field, Operator operator, String value, boolean prefix) {
+      this.field = field;
+      this.operator = operator;
+      this.value = value;
+      this.prefix = prefix;
+    }
+
+    public Field getField() {
+      return field;
+    }
+
+    public Operator getOperator() {
+      return operator;
+    }
+
+    /**
+     * @return true se o termo procura palavras do valor ('givenName:Jose'),
+     *         e não o valor inteiro.
+     */
+    public boolean isWordMatch() {
+      return operator == Operator.MATCHES && (field == Field.GIVEN_NAME || field == Field.FAMILY_NAME || field == Field.NAME);
+    }
+
+    /**
+     * @return valor do termo, sem aspas e sem o '*' final.
+     */
+    public String getValue() {
+      return value;
+    }
+
+    /**
+     * @return true se o valor terminava com '*' (busca pelo início).
+     */
+    public boolean isPrefix() {
+      return prefix;
+    }
+
+    /**
+     * @return valor de um campo true/false.
+     */
+    public boolean getBooleanValue() {
+      return Boolean.parseBoolean(value);
+    }
+
+    @Override
+    public String toString() {
+      return field.queryName + operator.symbol + "'" + value.replace("'", "\\'") + (prefix ? "*'" : "'");
+    }
+  }
+
+  private final String text;
+
+  private final List<Term> terms;
+
+  private UserQuery(String text, List<Term> terms) {
+    this.text = text;
+    this.terms = Collections.unmodifiableList(terms);
+  }
+
+  /**
+   * @param query consulta na sintaxe de busca da API (null ou vazia para todos os usuários).
+   * @return consulta interpretada.
+   * @throws IllegalArgumentException se a consulta for inválida ou usar um campo não suportado.
+   */
+  public static UserQuery parse(String query) {
+
+    List<Term> terms = new ArrayList<Term>();
+
+    String text = query == null ? "" : query;
+    int length = text.length();
+    int i = 0;
+
+    while(true) {
+
+      while(i < length && Character.isWhitespace(text.charAt(i))) {
+        i++;
+      }
+
+      if(i == length) {
+        break;
+      }
+
+      if(text.startsWith("AND", i) && (i + 3 == length || Character.isWhitespace(text.charAt(i + 3)))) {
+        i += 3;
+        continue;
+      }
+
+      int start = i;
+
+      while(i < length && text.charAt(i) != ':' && text.charAt(i) != '=' && !Character.isWhitespace(text.charAt(i))) {
+        i++;
+      }
+
+      if(i == length || i == start || Character.isWhitespace(text.charAt(i))) {
+        throw new IllegalArgumentException(String.format("Consulta inválida na posição %d, esperado 'campo:valor': %s", start, text));
+      }
+
+      Field field = Field.fromQueryName(text.substring(start, i));
+      Operator operator = text.charAt(i) == '=' ? Operator.EQUALS : Operator.MATCHES;
+
+      i++;
+
+      StringBuilder value = new StringBuilder();
+
+      if(i < length && (text.charAt(i) == '\'' || text.charAt(i) == '"')) {
+
+        char quote = text.charAt(i++);
+
+        while(i < length && text.charAt(i) != quote) {
+          if(text.charAt(i) == '\\' && i + 1 < length) {
+            i++;
+          }
+          value.append(text.charAt(i++));
+        }
+
+        if(i == length) {
+          throw new IllegalArgumentException(String.format("Consulta inválida, aspas não fechadas na posição %d: %s", start, text));
+        }
+
+        i++;
+      }
+      else {
+        while(i < length && !Character.isWhitespace(text.charAt(i))) {
+          value.append(text.charAt(i++));
+        }
+      }
+
+      boolean prefix = value.length() > 0 && value.charAt(value.length() - 1) == '*';
+
+      if(prefix) {
+        value.setLength(value.length() - 1);
+      }
+
+      if(field.isBoolean() && (prefix || !("true".equalsIgnoreCase(value.toString()) || "false".equalsIgnoreCase(value.toString())))) {
+        throw new IllegalArgumentException(String.format("'%s' aceita apenas true ou false: %s", field.queryName, text));
+      }
+
+      if(prefix && operator == Operator.EQUALS) {
+        throw new IllegalArgumentException(String.format("Busca pelo início do valor apenas com ':' (%s:valor*): %s", field.queryName, text));
+      }
+
+      if(field == Field.ORG_UNIT_PATH && operator == Operator.MATCHES) {
+        throw new IllegalArgumentException(String.format("'%s' aceita apenas '=': %s", field.queryName, text));
+      }
+
+      terms.add(new Term(field, operator, field.isBoolean() ? value.toString().toLowerCase() : value.toString(), prefix));
+    }
+
+    return new UserQuery(text, terms);
+  }
+
+  /**
+   * @return termos da consulta, todos obrigatórios (vazio para todos os usuários).
+   */
+  public List<Term> getTerms() {
+    return terms;
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+
+}
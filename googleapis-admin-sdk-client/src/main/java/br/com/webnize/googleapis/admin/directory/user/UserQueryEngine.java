@@ -0,0 +1,409 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.api.services.admin.directory.model.User;
+
+/**
+ * Avaliação local de consultas na sintaxe de busca da Directory API
+ * ({@link UserQuery}) sobre uma {@link UserSnapshot cópia local} do diretório,
+ * sem chamadas à API.
+ *
+ * Cada consulta vira um plano: entre os termos atendidos por um índice da
+ * cópia (email e aliases, nome e sobrenome com '=', unidade organizacional, suspensos),
+ * o de menor resultado estimado fornece os candidatos, e os demais termos são
+ * verificados apenas sobre eles. Sem nenhum termo indexado, todos os
+ * registros são verificados; é o caso da busca por palavras dos nomes
+ * ('givenName:Jose'), que podem estar em qualquer posição do valor. A ordenação por email é a própria ordem dos
+ * registros; por nome ou sobrenome usa os índices da cópia.
+ *
+ *<pre>
+ * Exemplo:
+ *   UserQueryEngine engine = new UserQueryEngine(UserSnapshot.open(new File("users.snapshot")));
+ *   List<User> users = engine.listUsers(0, "givenName:'Jose Emanuel*'", "familyName");
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserQueryEngine {
+
+  /**
+   * Estimativa dos termos sem índice: verificados registro a registro.
+   */
+  private static final int NOT_INDEXED = Integer.MAX_VALUE;
+
+  private final UserSnapshot snapshot;
+
+  /**
+   * @param snapshot cópia local consultada.
+   */
+  public UserQueryEngine(UserSnapshot snapshot) {
+    this.snapshot = snapshot;
+  }
+
+  /**
+   * @return cópia local consultada.
+   */
+  public UserSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Mesma assinatura de {@link DirectoryUserService#listUsers(int, String, String)},
+   * respondida pela cópia local.
+   *
+   * @param maxResults quantidade máxima de usuários (0 para todos).
+   * @param query consulta na sintaxe de busca da API.
+   * @param orderBy email, familyname ou givenname (null para email).
+   * @return objetos User apenas com os campos da cópia local.
+   */
+  public List<User> listUsers(int maxResults, String query, String orderBy) {
+
+    int[] indexes = search(query, orderBy, false);
+
+    int size = maxResults > 0 ? Math.min(maxResults, indexes.length) : indexes.length;
+
+    List<User> users = new ArrayList<User>(size);
+
+    for(int i = 0; i < size; i++) {
+      users.add(snapshot.get(indexes[i]).toUser());
+    }
+
+    return users;
+  }
+
+  /**
+   * @param query consulta na sintaxe de busca da API.
+   * @param orderBy email, familyname ou givenname (null para email).
+   * @param descending ordem decrescente.
+   * @return registros dos usuários encontrados, na ordem pedida.
+   */
+  public int[] search(String query, String orderBy, boolean descending) {
+
+    int[] indexes = new Plan(UserQuery.parse(query)).execute();
+
+    indexes = sort(indexes, orderField(orderBy));
+
+    if(descending) {
+      for(int i = 0, j = indexes.length - 1; i < j; i++, j--) {
+        int index = indexes[i];
+        indexes[i] = indexes[j];
+        indexes[j] = index;
+      }
+    }
+
+    return indexes;
+  }
+
+  /**
+   * @param query consulta na sintaxe de busca da API.
+   * @return descrição do plano escolhido, por exemplo
+   *         "índice email:'jose*' (~12) + verificação isSuspended='false'".
+   */
+  public String explain(String query) {
+    return new Plan(UserQuery.parse(query)).toString();
+  }
+
+  /**
+   * Plano de uma consulta: termo que fornece os candidatos e termos verificados.
+   */
+  private class Plan {
+
+    private final UserQuery.Term driver;
+
+    private final int estimate;
+
+    private final List<UserQuery.Term> filters = new ArrayList<UserQuery.Term>();
+
+    Plan(UserQuery query) {
+
+      UserQuery.Term best = null;
+      int bestEstimate = NOT_INDEXED;
+
+      for(UserQuery.Term term : query.getTerms()) {
+        int termEstimate = estimate(term);
+        if(termEstimate < bestEstimate) {
+          best = term;
+          bestEstimate = termEstimate;
+        }
+      }
+
+      this.driver = best;
+      this.estimate = bestEstimate;
+
+      for(UserQuery.Term term : query.getTerms()) {
+        /*
+         * O índice de 'name' (nome pelo início da primeira palavra) apenas
+         * restringe os candidatos: o termo ainda precisa ser verificado.
+         */
+        if(term != driver || term.getField() == UserQuery.Field.NAME) {
+          filters.add(term);
+        }
+      }
+    }
+
+    int[] execute() {
+
+      int[] candidates = driver == null ? null : lookup(driver);
+      int size = candidates == null ? snapshot.size() : candidates.length;
+
+      int[] result = new int[size];
+      int count = 0;
+
+      for(int i = 0; i < size; i++) {
+        int index = candidates == null ? i : candidates[i];
+        if(matchesAll(index)) {
+          result[count++] = index;
+        }
+      }
+
+      return count == size ? result : Arrays.copyOf(result, count);
+    }
+
+    private boolean matchesAll(int index) {
+
+      for(UserQuery.Term term : filters) {
+        if(!matches(index, term)) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    @Override
+    public String toString() {
+
+      StringBuilder plan = new StringBuilder(driver == null ? "varredura (" + snapshot.size() + ")" : "índice " + driver + " (~" + estimate + ")");
+
+      for(UserQuery.Term term : filters) {
+        plan.append(" + verificação ").append(term);
+      }
+
+      return plan.toString();
+    }
+  }
+
+  /**
+   * Tamanho do resultado do índice que atende o termo, sem montá-lo
+   * ({@value #NOT_INDEXED} se nenhum índice o atende).
+   */
+  private int estimate(UserQuery.Term term) {
+
+    if(term.isWordMatch()) {
+      return NOT_INDEXED;
+    }
+
+    int[] range;
+
+    switch(term.getField()) {
+      case EMAIL:
+        range = snapshot.range(UserSnapshot.EMAIL, term.getValue(), term.isPrefix());
+        int[] aliases = snapshot.aliasRange(term.getValue(), term.isPrefix());
+        return range[1] - range[0] + aliases[1] - aliases[0];
+      case GIVEN_NAME:
+        range = snapshot.range(UserSnapshot.GIVEN_NAME, term.getValue(), term.isPrefix());
+        return range[1] - range[0];
+      case FAMILY_NAME:
+        range = snapshot.range(UserSnapshot.FAMILY_NAME, term.getValue(), term.isPrefix());
+        return range[1] - range[0];
+      case NAME:
+        range = snapshot.range(UserSnapshot.GIVEN_NAME, firstWord(term.getValue()), true);
+        return range[1] - range[0];
+      case ORG_UNIT_PATH:
+        return snapshot.countByOrgUnit(term.getValue(), true);
+      case IS_SUSPENDED:
+        return term.getBooleanValue() ? snapshot.getSuspendedCount() : snapshot.size() - snapshot.getSuspendedCount();
+      default:
+        return NOT_INDEXED;
+    }
+  }
+
+  /**
+   * Registros do índice que atende o termo, em ordem crescente.
+   */
+  private int[] lookup(UserQuery.Term term) {
+
+    switch(term.getField()) {
+      case EMAIL:
+        return snapshot.findByEmailOrAlias(term.getValue(), term.isPrefix());
+      case GIVEN_NAME:
+        return snapshot.findByGivenName(term.getValue(), term.isPrefix());
+      case FAMILY_NAME:
+        return snapshot.findByFamilyName(term.getValue(), term.isPrefix());
+      case NAME:
+        return snapshot.findByGivenName(firstWord(term.getValue()), true);
+      case ORG_UNIT_PATH:
+        return snapshot.findByOrgUnit(term.getValue(), true);
+      case IS_SUSPENDED:
+        return snapshot.findBySuspended(term.getBooleanValue());
+      default:
+        throw new IllegalStateException("Campo sem índice: " + term.getField());
+    }
+  }
+
+  /**
+   * Verifica o termo em um registro.
+   */
+  private boolean matches(int index, UserQuery.Term term) {
+
+    switch(term.getField()) {
+      case EMAIL:
+        if(matches(snapshot.sortKey(index, UserSnapshot.EMAIL), term)) {
+          return true;
+        }
+        for(String alias : snapshot.aliases(index)) {
+          if(matches(alias, term)) {
+            return true;
+          }
+        }
+        return false;
+      case GIVEN_NAME:
+        return matches(snapshot.sortKey(index, UserSnapshot.GIVEN_NAME), term);
+      case FAMILY_NAME:
+        return matches(snapshot.sortKey(index, UserSnapshot.FAMILY_NAME), term);
+      case NAME:
+        String fullName = snapshot.get(index).getFullName();
+        return matches(fullName == null ? "" : fullName.toLowerCase(Locale.ROOT), term);
+      case ORG_UNIT_PATH:
+        String path = snapshot.get(index).getOrgUnitPath().toLowerCase(Locale.ROOT);
+        String key = term.getValue().toLowerCase(Locale.ROOT);
+        String base = key.endsWith("/") ? key.substring(0, key.length() - 1) : key;
+        return path.equals(key) || path.startsWith(base + "/");
+      case IS_SUSPENDED:
+        return snapshot.isSuspended(index) == term.getBooleanValue();
+      case IS_ADMIN:
+        return snapshot.get(index).isAdmin() == term.getBooleanValue();
+      case IS_DELEGATED_ADMIN:
+        return snapshot.get(index).isDelegatedAdmin() == term.getBooleanValue();
+      default:
+        throw new IllegalStateException("Campo não suportado: " + term.getField());
+    }
+  }
+
+  private static boolean matches(String value, UserQuery.Term term) {
+
+    String key = term.getValue().toLowerCase(Locale.ROOT);
+
+    if(!term.isWordMatch()) {
+      return term.isPrefix() ? value.startsWith(key) : value.equals(key);
+    }
+
+    /*
+     * Palavras do termo em sequência em qualquer posição do valor, a última
+     * pelo início quando o termo termina com '*'.
+     */
+    String[] keys = key.trim().split("\\s+");
+
+    /*
+     * Descarte rápido pela primeira palavra, que vale com qualquer espaçamento
+     * entre as palavras do termo ou do valor.
+     */
+    if(!value.contains(keys[0])) {
+      return false;
+    }
+
+    String[] words = value.trim().split("\\s+");
+
+    for(int start = 0; start + keys.length <= words.length; start++) {
+
+      int k = 0;
+
+      while(k < keys.length - 1 && words[start + k].equals(keys[k])) {
+        k++;
+      }
+
+      if(k == keys.length - 1 && (term.isPrefix() ? words[start + k].startsWith(keys[k]) : words[start + k].equals(keys[k]))) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Ordena os registros (em ordem de email) pelo campo: compara os valores
+   * quando o resultado é pequeno, percorre o índice do campo quando é grande.
+   */
+  private int[] sort(int[] indexes, final int field) {
+
+    if(field == UserSnapshot.EMAIL || indexes.length < 2) {
+      return indexes;
+    }
+
+    int total = snapshot.size();
+
+    if((long) indexes.length * (32 - Integer.numberOfLeadingZeros(indexes.length)) < total) {
+
+      final String[] keys = new String[indexes.length];
+      Integer[] order = new Integer[indexes.length];
+
+      for(int i = 0; i < indexes.length; i++) {
+        keys[i] = snapshot.sortKey(indexes[i], field);
+        order[i] = i;
+      }
+
+      Arrays.sort(order, new Comparator<Integer>() {
+
+        public int compare(Integer a, Integer b) {
+          int cmp = keys[a].compareTo(keys[b]);
+          return cmp != 0 ? cmp : a.compareTo(b);
+        }
+      });
+
+      int[] sorted = new int[indexes.length];
+      for(int i = 0; i < sorted.length; i++) {
+        sorted[i] = indexes[order[i]];
+      }
+
+      return sorted;
+    }
+
+    BitSet selected = new BitSet(total);
+    for(int index : indexes) {
+      selected.set(index);
+    }
+
+    int[] sorted = new int[indexes.length];
+    int count = 0;
+
+    for(int position = 0; position < total && count < sorted.length; position++) {
+      int index = snapshot.sortedAt(field, position);
+      if(selected.get(index)) {
+        sorted[count++] = index;
+      }
+    }
+
+    return sorted;
+  }
+
+  private static int orderField(String orderBy) {
+
+    if(orderBy == null || "".equals(orderBy) || "email".equalsIgnoreCase(orderBy)) {
+      return UserSnapshot.EMAIL;
+    }
+
+    if("givenname".equalsIgnoreCase(orderBy)) {
+      return UserSnapshot.GIVEN_NAME;
+    }
+
+    if("familyname".equalsIgnoreCase(orderBy)) {
+      return UserSnapshot.FAMILY_NAME;
+    }
+
+    throw new IllegalArgumentException("'orderBy' deve ser email, familyname ou givenname.");
+  }
+
+  private static String firstWord(String value) {
+    int space = value.indexOf(' ');
+    return space < 0 ? value : value.substring(0, space);
+  }
+
+}
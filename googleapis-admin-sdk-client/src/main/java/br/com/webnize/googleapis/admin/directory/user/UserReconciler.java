@@ -0,0 +1,509 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import com.google.api.services.admin.directory.Directory;
+import com.google.api.services.admin.directory.model.User;
+
+import br.com.webnize.googleapis.admin.directory.batch.BatchOperation;
+import br.com.webnize.googleapis.admin.directory.batch.BatchReport;
+import br.com.webnize.googleapis.admin.directory.batch.BatchResult;
+import br.com.webnize.googleapis.admin.directory.batch.DirectoryBatchExecutor;
+
+/**
+ * Reconciliação do diretório de usuários com um estado desejado (por exemplo,
+ * o cadastro do sistema acadêmico).
+ *
+ * O estado atual é obtido por uma única listagem paginada, apenas com os
+ * campos presentes no estado desejado. Para cada usuário é calculada a
+ * diferença campo a campo e somente o necessário é enviado, em lotes:
+ * inserts dos usuários ausentes, patches apenas com os campos alterados e,
+ * opcionalmente, a remoção dos usuários que não constam no estado desejado.
+ *
+ *<pre>
+ * Obs:
+ * 1. Os usuários são relacionados pelo 'primaryEmail', sem diferenciar maiúsculas.
+ * 2. Apenas os valores informados no estado desejado são comparados: um 'name'
+ *    só com 'givenName' e 'familyName' não difere de um 'name' que também tem
+ *    'fullName'. Listas são comparadas elemento a elemento.
+ * 3. 'password' não é devolvida pela API, por isso só é enviada em inserts.
+ * 4. Administradores nunca são removidos.
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserReconciler {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(UserReconciler.class.getName());
+
+  /**
+   * Campos que identificam o usuário e não são reconciliados.
+   */
+  private static final Set<UserField> IDENTITY_FIELDS = EnumSet.of(UserField.ID, UserField.PRIMARY_EMAIL, UserField.ETAG);
+
+  private final Directory service;
+
+  private UserShard scope = UserShard.ofCustomer("my_customer", null);
+
+  private boolean deleteMissing;
+
+  private int batchSize = DirectoryBatchExecutor.DEFAULT_BATCH_SIZE;
+
+  private int parallelism = DirectoryBatchExecutor.DEFAULT_PARALLELISM;
+
+  /**
+   * @param service cliente da Directory API.
+   */
+  public UserReconciler(Directory service) {
+    this.service = service;
+  }
+
+  /**
+   * @param scope parte do diretório reconciliada, por exemplo uma unidade
+   *        organizacional. Usuários fora dela não são listados nem removidos.
+   */
+  public UserReconciler setScope(UserShard scope) {
+    this.scope = scope;
+    return this;
+  }
+
+  /**
+   * @param deleteMissing remove os usuários do escopo ausentes do estado desejado.
+   */
+  public UserReconciler setDeleteMissing(boolean deleteMissing) {
+    this.deleteMissing = deleteMissing;
+    return this;
+  }
+
+  /**
+   * @param batchSize quantidade de operações por HTTP request.
+   */
+  public UserReconciler setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * @param parallelism quantidade máxima de HTTP requests simultâneos.
+   */
+  public UserReconciler setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * Calcula e, fora do modo de simulação, aplica o plano de reconciliação.
+   *
+   * @param desired estado desejado, um objeto User por usuário.
+   * @param dryRun apenas calcula e registra o plano, sem alterar o diretório.
+   * @return resumo da reconciliação.
+   * @throws IOException
+   */
+  public Report reconcile(Collection<User> desired, boolean dryRun) throws IOException {
+
+    Plan plan = plan(desired);
+
+    if(dryRun) {
+      logger.info("Simulação de reconciliação:\n" + plan);
+      return new Report(plan, null, null);
+    }
+
+    return apply(plan);
+  }
+
+  /**
+   * Compara o estado desejado com o estado atual do diretório.
+   *
+   * @param desired estado desejado, um objeto User por usuário.
+   * @return plano com inserts, patches e remoções necessários.
+   * @throws IOException
+   */
+  public Plan plan(Collection<User> desired) throws IOException {
+
+    Map<String, User> desiredByEmail = new LinkedHashMap<String, User>();
+    Set<UserField> managed = EnumSet.noneOf(UserField.class);
+
+    for(User user : desired) {
+      if(user.getPrimaryEmail() == null) {
+        throw new IllegalArgumentException("Usuário sem 'primaryEmail' no estado desejado.");
+      }
+      if(desiredByEmail.put(user.getPrimaryEmail().toLowerCase(), user) != null) {
+        throw new IllegalArgumentException("Usuário repetido no estado desejado: " + user.getPrimaryEmail());
+      }
+      for(String name : user.keySet()) {
+        UserField field = UserField.fromJsonName(name);
+        if(field != null && !IDENTITY_FIELDS.contains(field)) {
+          managed.add(field);
+        }
+      }
+    }
+
+    Set<UserField> projection = EnumSet.copyOf(IDENTITY_FIELDS);
+    projection.remove(UserField.ETAG);
+    projection.add(UserField.IS_ADMIN);
+    projection.addAll(managed);
+
+    Plan plan = new Plan(desired.size());
+    Map<String, User> pending = new HashMap<String, User>(desiredByEmail);
+
+    Directory.Users.List request = scope.newListRequest(service).setFields(UserField.toListFieldMask(projection));
+
+    UserPageIterator iterator = new UserPageIterator(request, 0, UserPageIterator.DEFAULT_PAGES_IN_FLIGHT);
+    try {
+      while(iterator.hasNext()) {
+
+        User current = iterator.next();
+        plan.listed++;
+
+        User target = pending.remove(current.getPrimaryEmail().toLowerCase());
+
+        if(target == null) {
+          if(deleteMissing && !Boolean.TRUE.equals(current.getIsAdmin())) {
+            plan.deletes.put(current.getId(), current.getPrimaryEmail());
+          }
+          continue;
+        }
+
+        User patch = diff(target, current, managed);
+        if(patch == null) {
+          plan.unchanged++;
+        }
+        else {
+          plan.patches.put(current.getId(), patch.setPrimaryEmail(current.getPrimaryEmail()));
+        }
+      }
+    }
+    catch(RuntimeException e) {
+      if(e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw e;
+    }
+    finally {
+      iterator.close();
+    }
+
+    for(User user : desiredByEmail.values()) {
+      if(pending.containsKey(user.getPrimaryEmail().toLowerCase())) {
+        plan.creates.add(user);
+      }
+    }
+
+    return plan;
+  }
+
+  /**
+   * Aplica o plano em lotes: inserts e patches primeiro, remoções depois.
+   *
+   * @param plan plano calculado por {@link #plan(Collection)}.
+   * @return resumo da reconciliação.
+   * @throws IOException
+   */
+  public Report apply(Plan plan) throws IOException {
+
+    List<BatchOperation<User>> writes = new ArrayList<BatchOperation<User>>(plan.creates.size() + plan.patches.size());
+
+    for(User user : plan.creates) {
+      writes.add(new BatchOperation<User>(user.getPrimaryEmail(), service.users().insert(user)));
+    }
+
+    for(Map.Entry<String, User> patch : plan.patches.entrySet()) {
+      User content = patch.getValue().clone();
+      content.setPrimaryEmail(null);
+      writes.add(new BatchOperation<User>(patch.getValue().getPrimaryEmail(), service.users().patch(patch.getKey(), content)));
+    }
+
+    List<BatchOperation<Void>> deletes = new ArrayList<BatchOperation<Void>>(plan.deletes.size());
+
+    for(Map.Entry<String, String> delete : plan.deletes.entrySet()) {
+      deletes.add(new BatchOperation<Void>(delete.getValue(), service.users().delete(delete.getKey())));
+    }
+
+    DirectoryBatchExecutor executor = new DirectoryBatchExecutor(service).setBatchSize(batchSize).setParallelism(parallelism);
+
+    BatchReport<User> writeReport = executor.execute(writes);
+    BatchReport<Void> deleteReport = executor.execute(deletes);
+
+    Report report = new Report(plan, writeReport, deleteReport);
+
+    for(BatchResult<User> failure : writeReport.getFailures()) {
+      logger.severe(String.format("Usuário '%s' não reconciliado: %s", failure.getKey(),
+              failure.getError() == null ? "" : failure.getError().getMessage()));
+    }
+
+    for(BatchResult<Void> failure : deleteReport.getFailures()) {
+      logger.severe(String.format("Usuário '%s' não removido: %s", failure.getKey(),
+              failure.getError() == null ? "" : failure.getError().getMessage()));
+    }
+
+    logger.info(report.toString());
+
+    return report;
+  }
+
+  /**
+   * Monta o patch com os campos gerenciados cujo valor desejado difere do atual.
+   *
+   * @return patch ou null se não há diferença.
+   */
+  private static User diff(User target, User current, Set<UserField> managed) {
+
+    User patch = null;
+
+    for(UserField field : managed) {
+
+      Object value = target.get(field.getJsonName());
+
+      if(value != null && !matches(value, current.get(field.getJsonName()))) {
+        if(patch == null) {
+          patch = new User();
+        }
+        patch.set(field.getJsonName(), value);
+      }
+    }
+
+    return patch;
+  }
+
+  /**
+   * Verifica se o valor atual contém o valor desejado: objetos são comparados
+   * apenas nas chaves informadas, listas elemento a elemento.
+   */
+  private static boolean matches(Object desired, Object current) {
+
+    if(current == null) {
+      return false;
+    }
+
+    if(desired instanceof Map) {
+
+      if(!(current instanceof Map)) {
+        return false;
+      }
+
+      for(Map.Entry<?, ?> entry : ((Map<?, ?>) desired).entrySet()) {
+        if(entry.getValue() != null && !matches(entry.getValue(), ((Map<?, ?>) current).get(entry.getKey()))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    if(desired instanceof List) {
+
+      if(!(current instanceof List) || ((List<?>) desired).size() != ((List<?>) current).size()) {
+        return false;
+      }
+
+      for(int i = 0; i < ((List<?>) desired).size(); i++) {
+        if(!matches(((List<?>) desired).get(i), ((List<?>) current).get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /*
+     * Valores simples podem chegar com tipos diferentes (por exemplo, Integer
+     * no estado desejado e BigDecimal no JSON da API).
+     */
+    return String.valueOf(desired).equals(String.valueOf(current));
+  }
+
+  /**
+   * Plano de reconciliação.
+   */
+  public static class Plan {
+
+    private final int desired;
+
+    private final List<User> creates = new ArrayList<User>();
+
+    private final Map<String, User> patches = new LinkedHashMap<String, User>();
+
+    private final Map<String, String> deletes = new LinkedHashMap<String, String>();
+
+    private int listed;
+
+    private int unchanged;
+
+    Plan(int desired) {
+      this.desired = desired;
+    }
+
+    /**
+     * @return usuários a inserir.
+     */
+    public List<User> getCreates() {
+      return Collections.unmodifiableList(creates);
+    }
+
+    /**
+     * @return patches por id do usuário, apenas com os campos alterados (e o 'primaryEmail').
+     */
+    public Map<String, User> getPatches() {
+      return Collections.unmodifiableMap(patches);
+    }
+
+    /**
+     * @return emails por id dos usuários a remover.
+     */
+    public Map<String, String> getDeletes() {
+      return Collections.unmodifiableMap(deletes);
+    }
+
+    /**
+     * @return quantidade de usuários do estado desejado que já estão corretos.
+     */
+    public int getUnchanged() {
+      return unchanged;
+    }
+
+    /**
+     * @return quantidade de usuários do escopo obtidos na listagem.
+     */
+    public int getListed() {
+      return listed;
+    }
+
+    /**
+     * @return quantidade de chamadas de escrita do plano.
+     */
+    public int getWriteCalls() {
+      return creates.size() + patches.size() + deletes.size();
+    }
+
+    /**
+     * @return quantidade de chamadas de uma sincronização cega, com um insert
+     *         ou update por usuário desejado, mais as mesmas remoções.
+     */
+    public int getBlindWriteCalls() {
+      return desired + deletes.size();
+    }
+
+    /**
+     * @return chamadas de escrita economizadas em relação à sincronização cega.
+     */
+    public int getSavedCalls() {
+      return getBlindWriteCalls() - getWriteCalls();
+    }
+
+    /**
+     * Imprime o plano, uma operação por linha.
+     */
+    public void print(PrintStream out) {
+      out.print(toString());
+    }
+
+    @Override
+    public String toString() {
+
+      StringBuilder text = new StringBuilder();
+
+      for(User user : creates) {
+        text.append("+ ").append(user.getPrimaryEmail()).append('\n');
+      }
+
+      for(User patch : patches.values()) {
+        text.append("~ ").append(patch.getPrimaryEmail()).append(' ');
+        String separator = "";
+        for(String field : patch.keySet()) {
+          if(!"primaryEmail".equals(field)) {
+            text.append(separator).append(field);
+            separator = ",";
+          }
+        }
+        text.append('\n');
+      }
+
+      for(String email : deletes.values()) {
+        text.append("- ").append(email).append('\n');
+      }
+
+      text.append(String.format("%d inserts, %d patches, %d remoções, %d sem alteração; %d de %d chamadas de escrita economizadas.%n",
+              creates.size(), patches.size(), deletes.size(), unchanged, getSavedCalls(), getBlindWriteCalls()));
+
+      return text.toString();
+    }
+  }
+
+  /**
+   * Resumo de uma reconciliação.
+   */
+  public static class Report {
+
+    private final Plan plan;
+
+    private final BatchReport<User> writeReport;
+
+    private final BatchReport<Void> deleteReport;
+
+    Report(Plan plan, BatchReport<User> writeReport, BatchReport<Void> deleteReport) {
+      this.plan = plan;
+      this.writeReport = writeReport;
+      this.deleteReport = deleteReport;
+    }
+
+    public Plan getPlan() {
+      return plan;
+    }
+
+    /**
+     * @return resultado dos inserts e patches (null em simulação).
+     */
+    public BatchReport<User> getWriteReport() {
+      return writeReport;
+    }
+
+    /**
+     * @return resultado das remoções (null em simulação).
+     */
+    public BatchReport<Void> getDeleteReport() {
+      return deleteReport;
+    }
+
+    public boolean isDryRun() {
+      return writeReport == null;
+    }
+
+    /**
+     * @return quantidade de operações que falharam definitivamente.
+     */
+    public int getFailedCount() {
+      return isDryRun() ? 0 : writeReport.getFailedCount() + deleteReport.getFailedCount();
+    }
+
+    /**
+     * @return HTTP requests de lote enviados (0 em simulação).
+     */
+    public int getHttpRequests() {
+      return isDryRun() ? 0 : writeReport.getHttpRequests() + deleteReport.getHttpRequests();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("Reconciliação%s: %d inserts, %d patches, %d remoções, %d sem alteração, %d com falha; "
+              + "%d chamadas de escrita em vez de %d (%d economizadas) em %d HTTP requests de lote.",
+              isDryRun() ? " (simulação)" : "", plan.creates.size(), plan.patches.size(), plan.deletes.size(),
+              plan.unchanged, getFailedCount(), plan.getWriteCalls(), plan.getBlindWriteCalls(), plan.getSavedCalls(),
+              getHttpRequests());
+    }
+  }
+
+}
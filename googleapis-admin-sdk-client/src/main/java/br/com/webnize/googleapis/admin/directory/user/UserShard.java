@@ -0,0 +1,164 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.api.services.admin.directory.Directory;
+
+/**
+ * Fatia independente de uma listagem de usuários, definida por 'customer'
+ * ou 'domain' e uma 'query' opcional.
+ *
+ * Cada fatia tem sua própria cadeia de 'pageToken', de forma que fatias
+ * diferentes podem ser percorridas em paralelo. Fatias podem se sobrepor
+ * (por exemplo, unidades organizacionais aninhadas): quem as percorre deve
+ * descartar usuários repetidos pelo id.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserShard {
+
+  /**
+   * Caracteres permitidos pelo Google em nomes de usuário (letras, dígitos, '-',
+   * '_', apóstrofo e '.'), um por fatia de {@link #emailPrefixShards(String)}.
+   */
+  private static final String EMAIL_INITIALS = "abcdefghijklmnopqrstuvwxyz0123456789-_'.";
+
+  private final String customer;
+
+  private final String domain;
+
+  private final String query;
+
+  private UserShard(String customer, String domain, String query) {
+    this.customer = customer;
+    this.domain = domain;
+    this.query = query;
+  }
+
+  /**
+   * @param customer id do cliente ou "my_customer".
+   * @param query filtro da fatia, por exemplo "email:a*" (null para nenhum).
+   */
+  public static UserShard ofCustomer(String customer, String query) {
+    return new UserShard(customer, null, query);
+  }
+
+  /**
+   * @param domain domínio dos usuários.
+   * @param query filtro da fatia (null para nenhum).
+   */
+  public static UserShard ofDomain(String domain, String query) {
+    return new UserShard(null, domain, query);
+  }
+
+  /**
+   * Fatias por caractere inicial do email ("email:a*" ... "email:9*",
+   * "email:'-*'" ... "email:'.*'").
+   *
+   * Há uma fatia para cada caractere permitido em nomes de usuário, de forma
+   * que nenhum usuário fica de fora. Como a busca por email também considera
+   * os aliases, um usuário pode aparecer em mais de uma fatia.
+   *
+   * @param customer id do cliente ou "my_customer".
+   * @return fatias por inicial do email.
+   */
+  public static List<UserShard> emailPrefixShards(String customer) {
+
+    List<UserShard> shards = new ArrayList<UserShard>();
+
+    for(char initial : EMAIL_INITIALS.toCharArray()) {
+      if(Character.isLetterOrDigit(initial)) {
+        shards.add(ofCustomer(customer, "email:" + initial + "*"));
+      }
+      else {
+        shards.add(ofCustomer(customer, "email:'" + (initial == '\'' ? "\\'" : String.valueOf(initial)) + "*'"));
+      }
+    }
+
+    return shards;
+  }
+
+  /**
+   * Fatias por unidade organizacional. A busca por 'orgUnitPath' inclui as
+   * sub-unidades, por isso unidades aninhadas geram usuários repetidos.
+   *
+   * @param customer id do cliente ou "my_customer".
+   * @param orgUnitPaths caminhos das unidades, por exemplo "/MyOrg/Alunos".
+   * @return fatias por unidade organizacional.
+   */
+  public static List<UserShard> orgUnitShards(String customer, List<String> orgUnitPaths) {
+
+    List<UserShard> shards = new ArrayList<UserShard>();
+
+    for(String path : orgUnitPaths) {
+      shards.add(ofCustomer(customer, "orgUnitPath='" + path.replace("'", "\\'") + "'"));
+    }
+
+    return shards;
+  }
+
+  /**
+   * Fatias por domínio.
+   *
+   * @param domains domínios do cliente.
+   * @return uma fatia por domínio.
+   */
+  public static List<UserShard> domainShards(List<String> domains) {
+
+    List<UserShard> shards = new ArrayList<UserShard>();
+
+    for(String domain : domains) {
+      shards.add(ofDomain(domain, null));
+    }
+
+    return shards;
+  }
+
+  /**
+   * Constrói a requisição de listagem da fatia com páginas de tamanho máximo.
+   *
+   * @param service cliente da Directory API.
+   * @return requisição de listagem.
+   * @throws IOException
+   */
+  public Directory.Users.List newListRequest(Directory service) throws IOException {
+
+    Directory.Users.List request = service.users().list().setMaxResults(UserPageIterator.MAX_PAGE_SIZE);
+
+    if(customer != null) {
+      request.setCustomer(customer);
+    }
+
+    if(domain != null) {
+      request.setDomain(domain);
+    }
+
+    if(query != null && !"".equals(query)) {
+      request.setQuery(query);
+    }
+
+    return request;
+  }
+
+  public String getCustomer() {
+    return customer;
+  }
+
+  public String getDomain() {
+    return domain;
+  }
+
+  public String getQuery() {
+    return query;
+  }
+
+  @Override
+  public String toString() {
+    return (customer != null ? "customer=" + customer : "domain=" + domain) + (query != null ? " query=" + query : "");
+  }
+
+}
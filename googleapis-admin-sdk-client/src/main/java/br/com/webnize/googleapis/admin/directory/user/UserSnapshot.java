@@ -0,0 +1,793 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.admin.directory.model.User;
+import com.google.api.services.admin.directory.model.UserName;
+
+/**
+ * Cópia local e somente leitura do diretório de usuários, em um arquivo
+ * binário compacto mapeado em memória ({@link UserSnapshotWriter}).
+ *
+ * Os usuários não ficam no heap como objetos User: cada consulta lê apenas
+ * os bytes necessários do arquivo mapeado, e o sistema operacional mantém em
+ * memória as páginas mais usadas. O arquivo traz índices prontos para as
+ * perguntas mais comuns, respondidas sem chamadas à API:
+ *
+ *<pre>
+ *   email       - os registros são gravados em ordem de email (minúsculo): busca exata ou por prefixo;
+ *   id          - permutação dos registros em ordem de id;
+ *   orgUnitPath - tabela das unidades em ordem de caminho, com os registros de cada uma;
+ *   suspended   - mapa de bits dos usuários suspensos;
+ *   givenName   - permutação dos registros em ordem de nome (minúsculo);
+ *   familyName  - permutação dos registros em ordem de sobrenome (minúsculo);
+ *   aliases     - aliases de cada registro, com uma permutação em ordem de alias (minúsculo).
+ * </pre>
+ *
+ * Os resultados das buscas são números de registro em ordem crescente (e,
+ * portanto, em ordem de email), lidos por {@link #get(int)} ou
+ * {@link #entries(int[])}. Consultas simultâneas são seguras. Consultas na
+ * sintaxe de busca da Directory API são avaliadas sobre a cópia por
+ * {@link UserQueryEngine}.
+ *
+ *<pre>
+ * Exemplo:
+ *   UserSnapshot snapshot = new UserSnapshotBuilder(service).refresh(new File("users.snapshot"));
+ *   for(UserSnapshot.Entry entry : snapshot.entries(snapshot.findByOrgUnit("/Alunos", true))) { ... }
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserSnapshot {
+
+  /**
+   * "DUS1": identifica o arquivo.
+   */
+  static final int MAGIC = 0x44555331;
+
+  static final int VERSION = 3;
+
+  static final int HEADER_SIZE = 80;
+
+  /**
+   * Registro de tamanho fixo: referências às strings (id, email, nome, sobrenome),
+   * número da unidade, flags, criação e último login.
+   */
+  static final int RECORD_SIZE = 40;
+
+  static final int ID = 0;
+
+  static final int EMAIL = 4;
+
+  static final int GIVEN_NAME = 8;
+
+  static final int FAMILY_NAME = 12;
+
+  static final int ORG_UNIT = 16;
+
+  static final int FLAGS = 20;
+
+  static final int CREATION_TIME = 24;
+
+  static final int LAST_LOGIN_TIME = 32;
+
+  static final int FLAG_SUSPENDED = 1;
+
+  static final int FLAG_ADMIN = 2;
+
+  static final int FLAG_DELEGATED_ADMIN = 4;
+
+  /**
+   * Referência de string ausente.
+   */
+  static final int NO_STRING = -1;
+
+  /**
+   * Data ausente.
+   */
+  static final long NO_TIME = Long.MIN_VALUE;
+
+  static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final File file;
+
+  private final ByteBuffer buffer;
+
+  private final int count;
+
+  private final int unitCount;
+
+  private final long createdMillis;
+
+  private final int recordsOffset;
+
+  private final int idIndexOffset;
+
+  private final int unitTableOffset;
+
+  private final int unitIndexOffset;
+
+  private final int suspendedOffset;
+
+  private final int suspendedCount;
+
+  private final int givenNameIndexOffset;
+
+  private final int familyNameIndexOffset;
+
+  private final int aliasCount;
+
+  /**
+   * Aliases na ordem dos registros: referência da string e número do registro (8 bytes cada).
+   */
+  private final int aliasTableOffset;
+
+  /**
+   * Posição do primeiro alias de cada registro na tabela, mais o total.
+   */
+  private final int aliasStartsOffset;
+
+  /**
+   * Posições da tabela de aliases em ordem de alias.
+   */
+  private final int aliasIndexOffset;
+
+  private UserSnapshot(File file, ByteBuffer buffer) throws IOException {
+
+    this.file = file;
+    this.buffer = buffer;
+
+    if(buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IOException(String.format("'%s' não é uma cópia local do diretório.", file));
+    }
+
+    if(buffer.getInt(4) != VERSION) {
+      throw new IOException(String.format("Versão %d da cópia local '%s' não suportada, atualize a cópia.", buffer.getInt(4), file));
+    }
+
+    this.count = buffer.getInt(8);
+    this.unitCount = buffer.getInt(12);
+    this.createdMillis = buffer.getLong(16);
+    this.recordsOffset = buffer.getInt(24);
+    this.idIndexOffset = buffer.getInt(32);
+    this.unitTableOffset = buffer.getInt(36);
+    this.unitIndexOffset = buffer.getInt(40);
+    this.suspendedOffset = buffer.getInt(44);
+    this.suspendedCount = buffer.getInt(48);
+    this.givenNameIndexOffset = buffer.getInt(56);
+    this.familyNameIndexOffset = buffer.getInt(60);
+    this.aliasCount = buffer.getInt(64);
+    this.aliasTableOffset = buffer.getInt(68);
+    this.aliasStartsOffset = buffer.getInt(72);
+    this.aliasIndexOffset = buffer.getInt(76);
+
+    if(buffer.getInt(52) != buffer.capacity()) {
+      throw new IOException(String.format("Cópia local '%s' incompleta.", file));
+    }
+  }
+
+  /**
+   * Mapeia uma cópia local em memória. O mapeamento continua válido mesmo que
+   * o arquivo seja substituído por uma cópia mais nova.
+   *
+   * @param file arquivo gravado por {@link UserSnapshotWriter}.
+   * @return cópia local aberta.
+   * @throws IOException se o arquivo não existir ou não for uma cópia válida.
+   */
+  public static UserSnapshot open(File file) throws IOException {
+
+    RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+    try {
+      FileChannel channel = raf.getChannel();
+      return new UserSnapshot(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+    finally {
+      raf.close();
+    }
+  }
+
+  /**
+   * @return arquivo da cópia local.
+   */
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * @return quantidade de usuários.
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * @return momento em que a cópia foi gravada (ms desde 1970).
+   */
+  public long getCreatedMillis() {
+    return createdMillis;
+  }
+
+  /**
+   * @return quantidade de usuários suspensos.
+   */
+  public int getSuspendedCount() {
+    return suspendedCount;
+  }
+
+  /**
+   * @param index número do registro (0 a {@link #size()} - 1).
+   * @return usuário do registro.
+   */
+  public Entry get(int index) {
+    if(index < 0 || index >= count) {
+      throw new IndexOutOfBoundsException("Registro " + index + " de " + count + ".");
+    }
+    return new Entry(index);
+  }
+
+  /**
+   * @param indexes números de registro, por exemplo o resultado de uma busca.
+   * @return usuários dos registros, lidos sob demanda.
+   */
+  public List<Entry> entries(final int[] indexes) {
+
+    return new AbstractList<Entry>() {
+
+      @Override
+      public Entry get(int i) {
+        return UserSnapshot.this.get(indexes[i]);
+      }
+
+      @Override
+      public int size() {
+        return indexes.length;
+      }
+    };
+  }
+
+  /**
+   * @param email email primário (sem distinção de maiúsculas).
+   * @return usuário com o email ou null se não houver.
+   */
+  public Entry findByEmail(String email) {
+
+    String key = email.toLowerCase(Locale.ROOT);
+
+    int index = lowerBound(EMAIL, key);
+
+    return index < count && key.equals(string(record(index) + EMAIL)) ? new Entry(index) : null;
+  }
+
+  /**
+   * Busca pelo email primário ou por um alias, como a busca 'email:' da API.
+   *
+   * @param email email ou início do email (sem distinção de maiúsculas).
+   * @param prefix true para buscar pelo início do email.
+   * @return registros dos usuários com o email primário ou um alias.
+   */
+  public int[] findByEmailOrAlias(String email, boolean prefix) {
+
+    int[] emails = range(EMAIL, email, prefix);
+    int[] aliases = aliasRange(email, prefix);
+
+    int[] result = new int[emails[1] - emails[0] + aliases[1] - aliases[0]];
+    int size = 0;
+
+    for(int position = emails[0]; position < emails[1]; position++) {
+      result[size++] = position;
+    }
+
+    for(int position = aliases[0]; position < aliases[1]; position++) {
+      result[size++] = aliasRecord(position);
+    }
+
+    if(aliases[1] == aliases[0]) {
+      return result;
+    }
+
+    Arrays.sort(result);
+
+    /*
+     * Um usuário pode ter o email e aliases (ou vários aliases) no intervalo.
+     */
+    int unique = 0;
+
+    for(int i = 0; i < size; i++) {
+      if(unique == 0 || result[i] != result[unique - 1]) {
+        result[unique++] = result[i];
+      }
+    }
+
+    return unique == size ? result : Arrays.copyOf(result, unique);
+  }
+
+  /**
+   * @param id id imutável do usuário.
+   * @return usuário com o id ou null se não houver.
+   */
+  public Entry findById(String id) {
+
+    int low = 0;
+    int high = count - 1;
+
+    while(low <= high) {
+      int mid = (low + high) >>> 1;
+      int index = buffer.getInt(idIndexOffset + mid * 4);
+      int cmp = string(record(index) + ID).compareTo(id);
+      if(cmp < 0) {
+        low = mid + 1;
+      }
+      else if(cmp > 0) {
+        high = mid - 1;
+      }
+      else {
+        return new Entry(index);
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * @param prefix início do email (sem distinção de maiúsculas), por exemplo "jose." ou "a".
+   * @return registros dos usuários cujo email começa com o prefixo.
+   */
+  public int[] findByEmailPrefix(String prefix) {
+
+    int[] range = range(EMAIL, prefix, true);
+
+    int[] result = new int[range[1] - range[0]];
+
+    for(int i = 0; i < result.length; i++) {
+      result[i] = range[0] + i;
+    }
+
+    return result;
+  }
+
+  /**
+   * @param givenName nome ou início do nome (sem distinção de maiúsculas).
+   * @param prefix true para buscar pelo início do nome.
+   * @return registros dos usuários com o nome.
+   */
+  public int[] findByGivenName(String givenName, boolean prefix) {
+    return findByName(GIVEN_NAME, givenName, prefix);
+  }
+
+  /**
+   * @param familyName sobrenome ou início do sobrenome (sem distinção de maiúsculas).
+   * @param prefix true para buscar pelo início do sobrenome.
+   * @return registros dos usuários com o sobrenome.
+   */
+  public int[] findByFamilyName(String familyName, boolean prefix) {
+    return findByName(FAMILY_NAME, familyName, prefix);
+  }
+
+  private int[] findByName(int field, String value, boolean prefix) {
+
+    int[] range = range(field, value, prefix);
+
+    int[] result = new int[range[1] - range[0]];
+
+    for(int i = 0; i < result.length; i++) {
+      result[i] = sortedAt(field, range[0] + i);
+    }
+
+    Arrays.sort(result);
+
+    return result;
+  }
+
+  /**
+   * @param orgUnitPath caminho da unidade, por exemplo "/Alunos" (sem distinção de maiúsculas).
+   * @param includeSubUnits inclui os usuários das sub-unidades, como faz a busca 'orgUnitPath=' da API.
+   * @return registros dos usuários da unidade.
+   */
+  public int[] findByOrgUnit(String orgUnitPath, boolean includeSubUnits) {
+
+    List<Integer> units = matchingUnits(orgUnitPath, includeSubUnits);
+
+    int[] result = new int[countByUnits(units)];
+    int size = 0;
+
+    for(int unit : units) {
+      for(int i = unitStart(unit); i < unitStart(unit + 1); i++) {
+        result[size++] = buffer.getInt(unitIndexOffset + i * 4);
+      }
+    }
+
+    if(units.size() > 1) {
+      Arrays.sort(result);
+    }
+
+    return result;
+  }
+
+  /**
+   * @return quantidade de usuários da unidade, sem montar o resultado.
+   */
+  int countByOrgUnit(String orgUnitPath, boolean includeSubUnits) {
+    return countByUnits(matchingUnits(orgUnitPath, includeSubUnits));
+  }
+
+  private List<Integer> matchingUnits(String orgUnitPath, boolean includeSubUnits) {
+
+    String key = orgUnitPath.toLowerCase(Locale.ROOT);
+    String base = key.endsWith("/") ? key.substring(0, key.length() - 1) : key;
+
+    List<Integer> units = new ArrayList<Integer>();
+
+    for(int unit = lowerBoundByUnit(base); unit < unitCount; unit++) {
+
+      String path = unitPath(unit).toLowerCase(Locale.ROOT);
+
+      if(!path.startsWith(base)) {
+        break;
+      }
+
+      if(path.equals(key) || (includeSubUnits && path.startsWith(base + "/"))) {
+        units.add(unit);
+      }
+    }
+
+    return units;
+  }
+
+  private int countByUnits(List<Integer> units) {
+
+    int total = 0;
+
+    for(int unit : units) {
+      total += unitStart(unit + 1) - unitStart(unit);
+    }
+
+    return total;
+  }
+
+  /**
+   * @param suspended true para os suspensos, false para os ativos.
+   * @return registros dos usuários suspensos (ou ativos).
+   */
+  public int[] findBySuspended(boolean suspended) {
+
+    int[] result = new int[suspended ? suspendedCount : count - suspendedCount];
+    int size = 0;
+
+    for(int index = 0; index < count; index++) {
+      if(isSuspended(index) == suspended) {
+        result[size++] = index;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * @return caminhos das unidades organizacionais presentes, em ordem.
+   */
+  public List<String> getOrgUnitPaths() {
+
+    return new AbstractList<String>() {
+
+      @Override
+      public String get(int unit) {
+        return unitPath(unit);
+      }
+
+      @Override
+      public int size() {
+        return unitCount;
+      }
+    };
+  }
+
+  /**
+   * @param index número do registro.
+   * @return true se o usuário está suspenso (pelo mapa de bits, sem ler o registro).
+   */
+  public boolean isSuspended(int index) {
+    return (buffer.getLong(suspendedOffset + (index >>> 6) * 8) & (1L << (index & 63))) != 0;
+  }
+
+  /**
+   * Intervalo [de, até) de posições na ordem do campo (EMAIL, GIVEN_NAME ou
+   * FAMILY_NAME) com o valor ou prefixo informado, sem distinção de maiúsculas.
+   */
+  int[] range(int field, String value, boolean prefix) {
+
+    String key = value.toLowerCase(Locale.ROOT);
+
+    return new int[] { lowerBound(field, key), lowerBound(field, prefix ? key + Character.MAX_VALUE : key + Character.MIN_VALUE) };
+  }
+
+  /**
+   * Intervalo [de, até) de posições na ordem dos aliases com o valor ou
+   * prefixo informado, sem distinção de maiúsculas.
+   */
+  int[] aliasRange(String value, boolean prefix) {
+
+    String key = value.toLowerCase(Locale.ROOT);
+
+    return new int[] { lowerBoundByAlias(key), lowerBoundByAlias(prefix ? key + Character.MAX_VALUE : key + Character.MIN_VALUE) };
+  }
+
+  /**
+   * @return aliases do registro, em minúsculas.
+   */
+  List<String> aliases(int index) {
+
+    int start = buffer.getInt(aliasStartsOffset + index * 4);
+    int end = buffer.getInt(aliasStartsOffset + (index + 1) * 4);
+
+    if(start == end) {
+      return Collections.emptyList();
+    }
+
+    List<String> aliases = new ArrayList<String>(end - start);
+
+    for(int alias = start; alias < end; alias++) {
+      aliases.add(string(aliasTableOffset + alias * 8));
+    }
+
+    return aliases;
+  }
+
+  /**
+   * Registro do alias na posição da ordem dos aliases.
+   */
+  private int aliasRecord(int position) {
+    return buffer.getInt(aliasTableOffset + buffer.getInt(aliasIndexOffset + position * 4) * 8 + 4);
+  }
+
+  /**
+   * Primeira posição da ordem dos aliases cujo alias não é menor que a chave.
+   */
+  private int lowerBoundByAlias(String key) {
+
+    int low = 0;
+    int high = aliasCount;
+
+    while(low < high) {
+      int mid = (low + high) >>> 1;
+      if(string(aliasTableOffset + buffer.getInt(aliasIndexOffset + mid * 4) * 8).compareTo(key) < 0) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Registro na posição da ordem do campo: a própria posição para EMAIL, a
+   * permutação do índice para GIVEN_NAME e FAMILY_NAME.
+   */
+  int sortedAt(int field, int position) {
+    switch(field) {
+      case EMAIL:
+        return position;
+      case GIVEN_NAME:
+        return buffer.getInt(givenNameIndexOffset + position * 4);
+      case FAMILY_NAME:
+        return buffer.getInt(familyNameIndexOffset + position * 4);
+      default:
+        throw new IllegalArgumentException("Campo sem ordem na cópia local: " + field);
+    }
+  }
+
+  /**
+   * Chave de ordenação do registro no campo: o valor em minúsculas ("" se ausente).
+   */
+  String sortKey(int index, int field) {
+    String value = string(record(index) + field);
+    return value == null ? "" : value.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Primeira posição da ordem do campo cuja chave não é menor que 'key'.
+   */
+  private int lowerBound(int field, String key) {
+
+    int low = 0;
+    int high = count;
+
+    while(low < high) {
+      int mid = (low + high) >>> 1;
+      if(sortKey(sortedAt(field, mid), field).compareTo(key) < 0) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Primeira unidade cujo caminho (minúsculo) não é menor que a chave.
+   */
+  private int lowerBoundByUnit(String key) {
+
+    int low = 0;
+    int high = unitCount;
+
+    while(low < high) {
+      int mid = (low + high) >>> 1;
+      if(unitPath(mid).toLowerCase(Locale.ROOT).compareTo(key) < 0) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+
+  private String unitPath(int unit) {
+    return string(unitTableOffset + unit * 8);
+  }
+
+  /**
+   * Posição do primeiro registro da unidade na lista por unidade; a tabela
+   * tem uma entrada final com o total de registros.
+   */
+  private int unitStart(int unit) {
+    return buffer.getInt(unitTableOffset + unit * 8 + 4);
+  }
+
+  private int record(int index) {
+    return recordsOffset + index * RECORD_SIZE;
+  }
+
+  /**
+   * Lê a string referenciada na posição: tamanho (2 bytes) seguido dos bytes em UTF-8.
+   */
+  private String string(int position) {
+
+    int ref = buffer.getInt(position);
+
+    if(ref == NO_STRING) {
+      return null;
+    }
+
+    byte[] bytes = new byte[buffer.getShort(ref) & 0xFFFF];
+
+    for(int i = 0; i < bytes.length; i++) {
+      bytes[i] = buffer.get(ref + 2 + i);
+    }
+
+    return new String(bytes, UTF_8);
+  }
+
+  private DateTime time(int position) {
+    long millis = buffer.getLong(position);
+    return millis == NO_TIME ? null : new DateTime(millis);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: %d usuários (%d suspensos) em %d unidades", file, count, suspendedCount, unitCount);
+  }
+
+  /**
+   * Usuário de um registro da cópia local. Os campos são lidos do arquivo a
+   * cada chamada.
+   */
+  public final class Entry {
+
+    private final int index;
+
+    private Entry(int index) {
+      this.index = index;
+    }
+
+    /**
+     * @return número do registro.
+     */
+    public int getIndex() {
+      return index;
+    }
+
+    public String getId() {
+      return string(record(index) + ID);
+    }
+
+    /**
+     * @return email primário, em minúsculas.
+     */
+    public String getPrimaryEmail() {
+      return string(record(index) + EMAIL);
+    }
+
+    /**
+     * @return aliases (editáveis e não editáveis), em minúsculas.
+     */
+    public List<String> getAliases() {
+      return aliases(index);
+    }
+
+    public String getGivenName() {
+      return string(record(index) + GIVEN_NAME);
+    }
+
+    public String getFamilyName() {
+      return string(record(index) + FAMILY_NAME);
+    }
+
+    public String getFullName() {
+      String givenName = getGivenName();
+      String familyName = getFamilyName();
+      if(givenName == null || familyName == null) {
+        return givenName == null ? familyName : givenName;
+      }
+      return givenName + " " + familyName;
+    }
+
+    public String getOrgUnitPath() {
+      return unitPath(buffer.getInt(record(index) + ORG_UNIT));
+    }
+
+    public boolean isSuspended() {
+      return (buffer.getInt(record(index) + FLAGS) & FLAG_SUSPENDED) != 0;
+    }
+
+    public boolean isAdmin() {
+      return (buffer.getInt(record(index) + FLAGS) & FLAG_ADMIN) != 0;
+    }
+
+    public boolean isDelegatedAdmin() {
+      return (buffer.getInt(record(index) + FLAGS) & FLAG_DELEGATED_ADMIN) != 0;
+    }
+
+    public DateTime getCreationTime() {
+      return time(record(index) + CREATION_TIME);
+    }
+
+    public DateTime getLastLoginTime() {
+      return time(record(index) + LAST_LOGIN_TIME);
+    }
+
+    /**
+     * @return objeto User apenas com os campos da cópia local.
+     */
+    public User toUser() {
+      List<String> aliases = getAliases();
+      return new User()
+                .setId(getId())
+                  .setPrimaryEmail(getPrimaryEmail())
+                    .setName(new UserName().setGivenName(getGivenName()).setFamilyName(getFamilyName()).setFullName(getFullName()))
+                      .setOrgUnitPath(getOrgUnitPath())
+                        .setSuspended(isSuspended())
+                          .setIsAdmin(isAdmin())
+                            .setIsDelegatedAdmin(isDelegatedAdmin())
+                              .setCreationTime(getCreationTime())
+                                .setLastLoginTime(getLastLoginTime())
+                                  .setAliases(aliases.isEmpty() ? null : aliases);
+    }
+
+    @Override
+    public String toString() {
+      return getPrimaryEmail();
+    }
+  }
+
+}
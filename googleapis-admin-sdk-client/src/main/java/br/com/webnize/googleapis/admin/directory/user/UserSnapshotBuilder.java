@@ -0,0 +1,179 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import com.google.api.services.admin.directory.Directory;
+
+/**
+ * Atualização de uma {@link UserSnapshot cópia local} do diretório a partir
+ * da listagem paginada de usuários.
+ *
+ * As {@link UserShard fatias} são percorridas em paralelo, pedindo à API
+ * apenas os campos guardados na cópia ({@link #FIELDS}); cada página segue
+ * direto para o {@link UserSnapshotWriter}, sem manter objetos User em
+ * memória. A cópia anterior é substituída apenas quando a nova estiver
+ * completa.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserSnapshotBuilder {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(UserSnapshotBuilder.class.getName());
+
+  public static final int DEFAULT_PARALLELISM = 8;
+
+  /**
+   * Campos pedidos à API: os guardados na cópia local.
+   */
+  public static final Set<UserField> FIELDS = Collections.unmodifiableSet(EnumSet.of(UserField.ID, UserField.PRIMARY_EMAIL,
+          UserField.ALIASES, UserField.NON_EDITABLE_ALIASES, UserField.NAME, UserField.ORG_UNIT_PATH, UserField.SUSPENDED, UserField.IS_ADMIN, UserField.IS_DELEGATED_ADMIN,
+          UserField.CREATION_TIME, UserField.LAST_LOGIN_TIME));
+
+  private final Directory service;
+
+  private int parallelism = DEFAULT_PARALLELISM;
+
+  /**
+   * @param service cliente da Directory API.
+   */
+  public UserSnapshotBuilder(Directory service) {
+    this.service = service;
+  }
+
+  /**
+   * @param parallelism quantidade de fatias percorridas simultaneamente.
+   */
+  public UserSnapshotBuilder setParallelism(int parallelism) {
+    if(parallelism < 1) {
+      throw new IllegalArgumentException("'parallelism' deve ser maior que zero.");
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * Grava uma nova cópia com todos os usuários do cliente, em uma única listagem.
+   *
+   * @param file arquivo da cópia local.
+   * @return cópia gravada, já aberta.
+   * @throws IOException
+   */
+  public UserSnapshot refresh(File file) throws IOException {
+
+    return refresh(Collections.singletonList(UserShard.ofCustomer("my_customer", null)), file);
+  }
+
+  /**
+   * Grava uma nova cópia com os usuários das fatias, percorridas em paralelo.
+   * Usuários presentes em mais de uma fatia são gravados uma única vez.
+   *
+   * @param shards fatias do diretório (inicial do email, unidade organizacional, domínio).
+   * @param file arquivo da cópia local.
+   * @return cópia gravada, já aberta.
+   * @throws IOException
+   */
+  public UserSnapshot refresh(List<UserShard> shards, File file) throws IOException {
+
+    long start = System.currentTimeMillis();
+
+    final UserSnapshotWriter writer = new UserSnapshotWriter();
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, shards.size())));
+
+    try {
+      List<Future<Long>> futures = new ArrayList<Future<Long>>();
+
+      for(final UserShard shard : shards) {
+        futures.add(executor.submit(new Callable<Long>() {
+
+          public Long call() throws IOException {
+            return listShard(shard, writer);
+          }
+        }));
+      }
+
+      for(Future<Long> future : futures) {
+        await(future);
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+
+    long listed = System.currentTimeMillis() - start;
+
+    UserSnapshot snapshot = writer.write(file);
+
+    logger.info(String.format("Cópia local atualizada: %d usuários de %d fatias em %d ms (listagem %d ms, %d bytes) em %s",
+            snapshot.size(), shards.size(), System.currentTimeMillis() - start, listed, file.length(), file.getAbsolutePath()));
+
+    return snapshot;
+  }
+
+  /**
+   * Percorre a cadeia de páginas de uma fatia acrescentando os usuários à cópia.
+   */
+  private long listShard(UserShard shard, UserSnapshotWriter writer) throws IOException {
+
+    Directory.Users.List request = shard.newListRequest(service).setFields(UserField.toListFieldMask(FIELDS));
+
+    long added = 0;
+
+    UserPageIterator iterator = new UserPageIterator(request, 0, UserPageIterator.DEFAULT_PAGES_IN_FLIGHT);
+
+    try {
+      while(iterator.hasNext()) {
+        if(writer.add(iterator.next())) {
+          added++;
+        }
+      }
+    }
+    catch(RuntimeException e) {
+      if(e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw e;
+    }
+    finally {
+      iterator.close();
+    }
+
+    logger.fine(String.format("Fatia '%s': %d usuários.", shard, added));
+
+    return added;
+  }
+
+  private static void await(Future<?> future) throws IOException {
+    try {
+      future.get();
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Atualização da cópia local interrompida.", e);
+    }
+    catch(ExecutionException e) {
+      if(e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+}
@@ -0,0 +1,519 @@
+package br.com.webnize.googleapis.admin.directory.user;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.admin.directory.model.User;
+
+/**
+ * Grava uma {@link UserSnapshot cópia local} do diretório a partir de
+ * objetos User, vindos da listagem ({@link UserSnapshotBuilder}) ou de uma
+ * exportação JSONL.
+ *
+ * De cada usuário são guardados apenas os campos da cópia (id, email, aliases,
+ * nome, unidade, flags e datas); as unidades organizacionais, repetidas entre
+ * muitos usuários, são guardadas uma única vez. Usuários repetidos (mesmo id)
+ * são descartados.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserSnapshotWriter {
+
+  /**
+   * Tamanho máximo, em bytes, de uma string da cópia (tamanho gravado em 2 bytes).
+   */
+  private static final int MAX_STRING_BYTES = 0xFFFF;
+
+  private final List<Row> rows = new ArrayList<Row>();
+
+  private final Set<String> ids = new HashSet<String>();
+
+  private final Map<String, String> orgUnitPaths = new HashMap<String, String>();
+
+  /**
+   * Acrescenta um usuário. Pode ser chamado por várias threads.
+   *
+   * @param user usuário com ao menos id e email primário.
+   * @return false se o usuário (pelo id) já foi acrescentado.
+   */
+  public synchronized boolean add(User user) {
+
+    if(user.getId() == null || user.getPrimaryEmail() == null) {
+      throw new IllegalArgumentException("O usuário deve ter 'id' e 'primaryEmail'.");
+    }
+
+    if(!ids.add(user.getId())) {
+      return false;
+    }
+
+    Row row = new Row();
+    row.id = user.getId();
+    row.email = user.getPrimaryEmail().toLowerCase(Locale.ROOT);
+    row.aliases = aliases(user, row.email);
+
+    if(user.getName() != null) {
+      row.givenName = user.getName().getGivenName();
+      row.familyName = user.getName().getFamilyName();
+    }
+
+    String orgUnitPath = user.getOrgUnitPath() == null ? "/" : user.getOrgUnitPath();
+    row.orgUnitPath = orgUnitPaths.get(orgUnitPath);
+    if(row.orgUnitPath == null) {
+      orgUnitPaths.put(orgUnitPath, orgUnitPath);
+      row.orgUnitPath = orgUnitPath;
+    }
+
+    row.flags = (Boolean.TRUE.equals(user.getSuspended()) ? UserSnapshot.FLAG_SUSPENDED : 0)
+              | (Boolean.TRUE.equals(user.getIsAdmin()) ? UserSnapshot.FLAG_ADMIN : 0)
+              | (Boolean.TRUE.equals(user.getIsDelegatedAdmin()) ? UserSnapshot.FLAG_DELEGATED_ADMIN : 0);
+
+    row.creationTime = millis(user.getCreationTime());
+    row.lastLoginTime = millis(user.getLastLoginTime());
+
+    rows.add(row);
+
+    return true;
+  }
+
+  /**
+   * @return quantidade de usuários acrescentados.
+   */
+  public synchronized int size() {
+    return rows.size();
+  }
+
+  /**
+   * Grava a cópia em um arquivo temporário e o move sobre 'file' apenas no
+   * fim, de forma que leitores nunca vejam uma cópia pela metade.
+   *
+   * @param file arquivo da cópia local.
+   * @return cópia gravada, já aberta.
+   * @throws IOException
+   */
+  public synchronized UserSnapshot write(File file) throws IOException {
+
+    int count = rows.size();
+
+    /*
+     * Registros em ordem de email: a busca por email (exata ou por prefixo)
+     * dispensa um índice próprio.
+     */
+    Collections.sort(rows, new Comparator<Row>() {
+
+      public int compare(Row a, Row b) {
+        return a.email.compareTo(b.email);
+      }
+    });
+
+    List<String> units = sortedUnits();
+    Map<String, Integer> unitNumbers = new HashMap<String, Integer>();
+    for(int unit = 0; unit < units.size(); unit++) {
+      unitNumbers.put(units.get(unit), unit);
+    }
+
+    /*
+     * Posições de cada seção: registros, strings (na ordem em que são
+     * referenciadas), índice por id, tabela de unidades, registros por
+     * unidade, mapa de bits dos suspensos e índices por nome e sobrenome.
+     */
+    long recordsOffset = UserSnapshot.HEADER_SIZE;
+    long stringsOffset = recordsOffset + (long) count * UserSnapshot.RECORD_SIZE;
+
+    long position = stringsOffset;
+
+    int aliasCount = 0;
+
+    for(Row row : rows) {
+      aliasCount += row.aliases.length;
+      row.idRef = position;
+      position += length(row.id);
+      row.emailRef = position;
+      position += length(row.email);
+      row.givenNameRef = position;
+      position += length(row.givenName);
+      row.familyNameRef = position;
+      position += length(row.familyName);
+    }
+
+    long[] unitRefs = new long[units.size()];
+    for(int unit = 0; unit < units.size(); unit++) {
+      unitRefs[unit] = position;
+      position += length(units.get(unit));
+    }
+
+    for(Row row : rows) {
+      row.aliasRefs = new long[row.aliases.length];
+      for(int i = 0; i < row.aliases.length; i++) {
+        row.aliasRefs[i] = position;
+        position += length(row.aliases[i]);
+      }
+    }
+
+    long idIndexOffset = position;
+    long unitTableOffset = idIndexOffset + count * 4L;
+    long unitIndexOffset = unitTableOffset + (units.size() + 1) * 8L;
+    long suspendedOffset = unitIndexOffset + count * 4L;
+    long givenNameIndexOffset = suspendedOffset + ((count + 63) / 64) * 8L;
+    long familyNameIndexOffset = givenNameIndexOffset + count * 4L;
+    long aliasTableOffset = familyNameIndexOffset + count * 4L;
+    long aliasStartsOffset = aliasTableOffset + aliasCount * 8L;
+    long aliasIndexOffset = aliasStartsOffset + (count + 1) * 4L;
+    long length = aliasIndexOffset + aliasCount * 4L;
+
+    if(length > Integer.MAX_VALUE) {
+      throw new IOException(String.format("Cópia local de %d usuários excede 2 GB.", count));
+    }
+
+    Integer[] byId = sortedIndexes(new Comparator<Integer>() {
+
+      public int compare(Integer a, Integer b) {
+        return rows.get(a).id.compareTo(rows.get(b).id);
+      }
+    });
+
+    /*
+     * Nomes em minúsculas, com o email (número do registro) como desempate.
+     */
+    final String[] keys = new String[count];
+
+    for(int i = 0; i < count; i++) {
+      keys[i] = nameKey(rows.get(i).givenName);
+    }
+
+    Integer[] byGivenName = sortedIndexes(new Comparator<Integer>() {
+
+      public int compare(Integer a, Integer b) {
+        int cmp = keys[a].compareTo(keys[b]);
+        return cmp != 0 ? cmp : a.compareTo(b);
+      }
+    });
+
+    for(int i = 0; i < count; i++) {
+      keys[i] = nameKey(rows.get(i).familyName);
+    }
+
+    Integer[] byFamilyName = sortedIndexes(new Comparator<Integer>() {
+
+      public int compare(Integer a, Integer b) {
+        int cmp = keys[a].compareTo(keys[b]);
+        return cmp != 0 ? cmp : a.compareTo(b);
+      }
+    });
+
+    /*
+     * Aliases na ordem dos registros, com a permutação em ordem de alias.
+     */
+    final String[] aliasKeys = new String[aliasCount];
+    int[] aliasRecords = new int[aliasCount];
+    long[] aliasRefs = new long[aliasCount];
+    int[] aliasStarts = new int[count + 1];
+
+    for(int i = 0, alias = 0; i < count; i++) {
+      Row row = rows.get(i);
+      aliasStarts[i] = alias;
+      for(int j = 0; j < row.aliases.length; j++, alias++) {
+        aliasKeys[alias] = row.aliases[j];
+        aliasRecords[alias] = i;
+        aliasRefs[alias] = row.aliasRefs[j];
+      }
+    }
+    aliasStarts[count] = aliasCount;
+
+    Integer[] byAlias = new Integer[aliasCount];
+    for(int alias = 0; alias < aliasCount; alias++) {
+      byAlias[alias] = alias;
+    }
+
+    Arrays.sort(byAlias, new Comparator<Integer>() {
+
+      public int compare(Integer a, Integer b) {
+        int cmp = aliasKeys[a].compareTo(aliasKeys[b]);
+        return cmp != 0 ? cmp : a.compareTo(b);
+      }
+    });
+
+    int[] unitStarts = new int[units.size() + 1];
+    for(Row row : rows) {
+      unitStarts[unitNumbers.get(row.orgUnitPath) + 1]++;
+    }
+    for(int unit = 0; unit < units.size(); unit++) {
+      unitStarts[unit + 1] += unitStarts[unit];
+    }
+
+    int[] byUnit = new int[count];
+    int[] next = Arrays.copyOf(unitStarts, units.size());
+    long[] suspended = new long[(count + 63) / 64];
+    int suspendedCount = 0;
+
+    for(int i = 0; i < count; i++) {
+      Row row = rows.get(i);
+      byUnit[next[unitNumbers.get(row.orgUnitPath)]++] = i;
+      if((row.flags & UserSnapshot.FLAG_SUSPENDED) != 0) {
+        suspended[i >>> 6] |= 1L << (i & 63);
+        suspendedCount++;
+      }
+    }
+
+    File temp = new File(file.getPath() + ".tmp");
+
+    FileOutputStream stream = new FileOutputStream(temp);
+
+    try {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+
+      out.writeInt(UserSnapshot.MAGIC);
+      out.writeInt(UserSnapshot.VERSION);
+      out.writeInt(count);
+      out.writeInt(units.size());
+      out.writeLong(System.currentTimeMillis());
+      out.writeInt((int) recordsOffset);
+      out.writeInt((int) stringsOffset);
+      out.writeInt((int) idIndexOffset);
+      out.writeInt((int) unitTableOffset);
+      out.writeInt((int) unitIndexOffset);
+      out.writeInt((int) suspendedOffset);
+      out.writeInt(suspendedCount);
+      out.writeInt((int) length);
+      out.writeInt((int) givenNameIndexOffset);
+      out.writeInt((int) familyNameIndexOffset);
+      out.writeInt(aliasCount);
+      out.writeInt((int) aliasTableOffset);
+      out.writeInt((int) aliasStartsOffset);
+      out.writeInt((int) aliasIndexOffset);
+
+      for(Row row : rows) {
+        out.writeInt(ref(row.id, row.idRef));
+        out.writeInt(ref(row.email, row.emailRef));
+        out.writeInt(ref(row.givenName, row.givenNameRef));
+        out.writeInt(ref(row.familyName, row.familyNameRef));
+        out.writeInt(unitNumbers.get(row.orgUnitPath));
+        out.writeInt(row.flags);
+        out.writeLong(row.creationTime);
+        out.writeLong(row.lastLoginTime);
+      }
+
+      for(Row row : rows) {
+        writeString(out, row.id);
+        writeString(out, row.email);
+        writeString(out, row.givenName);
+        writeString(out, row.familyName);
+      }
+
+      for(String unit : units) {
+        writeString(out, unit);
+      }
+
+      for(Row row : rows) {
+        for(String alias : row.aliases) {
+          writeString(out, alias);
+        }
+      }
+
+      for(Integer index : byId) {
+        out.writeInt(index);
+      }
+
+      for(int unit = 0; unit <= units.size(); unit++) {
+        out.writeInt(unit < units.size() ? (int) unitRefs[unit] : UserSnapshot.NO_STRING);
+        out.writeInt(unitStarts[unit]);
+      }
+
+      for(int index : byUnit) {
+        out.writeInt(index);
+      }
+
+      for(long word : suspended) {
+        out.writeLong(word);
+      }
+
+      for(Integer index : byGivenName) {
+        out.writeInt(index);
+      }
+
+      for(Integer index : byFamilyName) {
+        out.writeInt(index);
+      }
+
+      for(int alias = 0; alias < aliasCount; alias++) {
+        out.writeInt((int) aliasRefs[alias]);
+        out.writeInt(aliasRecords[alias]);
+      }
+
+      for(int start : aliasStarts) {
+        out.writeInt(start);
+      }
+
+      for(Integer alias : byAlias) {
+        out.writeInt(alias);
+      }
+
+      out.flush();
+
+      if(out.size() != length) {
+        throw new IOException(String.format("Cópia local com %d bytes, esperados %d.", out.size(), length));
+      }
+
+      stream.getChannel().force(true);
+    }
+    finally {
+      stream.close();
+    }
+
+    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    return UserSnapshot.open(file);
+  }
+
+  /**
+   * Números dos registros na ordem do comparador.
+   */
+  private Integer[] sortedIndexes(Comparator<Integer> comparator) {
+
+    Integer[] indexes = new Integer[rows.size()];
+
+    for(int i = 0; i < indexes.length; i++) {
+      indexes[i] = i;
+    }
+
+    Arrays.sort(indexes, comparator);
+
+    return indexes;
+  }
+
+  /**
+   * Aliases do usuário (editáveis e não editáveis), em minúsculas, sem
+   * repetições nem o email primário.
+   */
+  private static String[] aliases(User user, String email) {
+
+    Set<String> aliases = new TreeSet<String>();
+
+    addAliases(aliases, user.getAliases());
+    addAliases(aliases, user.getNonEditableAliases());
+
+    aliases.remove(email);
+
+    return aliases.toArray(new String[aliases.size()]);
+  }
+
+  private static void addAliases(Set<String> aliases, List<String> list) {
+    if(list != null) {
+      for(String alias : list) {
+        aliases.add(alias.toLowerCase(Locale.ROOT));
+      }
+    }
+  }
+
+  private static String nameKey(String name) {
+    return name == null ? "" : name.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Unidades distintas em ordem de caminho sem distinção de maiúsculas.
+   */
+  private List<String> sortedUnits() {
+
+    Set<String> units = new TreeSet<String>(new Comparator<String>() {
+
+      public int compare(String a, String b) {
+        int cmp = a.toLowerCase(Locale.ROOT).compareTo(b.toLowerCase(Locale.ROOT));
+        return cmp != 0 ? cmp : a.compareTo(b);
+      }
+    });
+
+    units.addAll(orgUnitPaths.keySet());
+
+    return new ArrayList<String>(units);
+  }
+
+  /**
+   * Bytes ocupados pela string na seção de strings (0 se ausente).
+   */
+  private static int length(String value) {
+
+    if(value == null) {
+      return 0;
+    }
+
+    int bytes = value.getBytes(UserSnapshot.UTF_8).length;
+
+    if(bytes > MAX_STRING_BYTES) {
+      throw new IllegalArgumentException(String.format("Valor com %d bytes excede o limite da cópia local: %.40s...", bytes, value));
+    }
+
+    return 2 + bytes;
+  }
+
+  private static int ref(String value, long position) {
+    return value == null ? UserSnapshot.NO_STRING : (int) position;
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+
+    if(value == null) {
+      return;
+    }
+
+    byte[] bytes = value.getBytes(UserSnapshot.UTF_8);
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  private static long millis(DateTime time) {
+    return time == null ? UserSnapshot.NO_TIME : time.getValue();
+  }
+
+  /**
+   * Campos de um usuário a gravar, bem menor que o objeto User.
+   */
+  private static class Row {
+
+    private String id;
+
+    private String email;
+
+    private String[] aliases;
+
+    private String givenName;
+
+    private String familyName;
+
+    private String orgUnitPath;
+
+    private int flags;
+
+    private long creationTime;
+
+    private long lastLoginTime;
+
+    private long idRef;
+
+    private long emailRef;
+
+    private long givenNameRef;
+
+    private long familyNameRef;
+
+    private long[] aliasRefs;
+  }
+
+}
@@ -11,6 +11,8 @@ import com.google.api.services.admin.directory.model.UserName;
 import com.google.api.services.admin.directory.model.UserPhone;
 
 import br.com.webnize.googleapis.admin.directory.user.DirectoryUserService;
+import br.com.webnize.googleapis.admin.directory.user.UserChangeTracker;
+import br.com.webnize.googleapis.admin.directory.user.UserPageIterator;
 
 /**
  * Centraliza chamadas aos métodos de exemplos de uso do Directory API Service.
@@ -123,7 +125,7 @@ public class DirectoryApiUserSamples {
       userList.add(userContent);
     }
 
-    DirectoryUserService.createUsers(userList);
+    log.println(DirectoryUserService.createUsers(userList));
   }
 
   public static void getUserSample() throws IOException {
@@ -144,10 +146,13 @@ public class DirectoryApiUserSamples {
 
     UserPhone phone = new UserPhone().setValue("+551112345678").setPrimary(true).setType("work");
 
-    User userContent = new User();
-    userContent.setPhones(Arrays.asList(phone));
+    /*
+     * Patch: apenas 'phones' é enviado, os demais campos do usuário são mantidos.
+     */
+    UserChangeTracker changes = UserChangeTracker.forKey("jose.emanuel@gedu.demo.foreducation.com.br");
+    changes.getUser().setPhones(Arrays.asList(phone));
 
-    User user = DirectoryUserService.updateUser("jose.emanuel@gedu.demo.foreducation.com.br", userContent);
+    User user = DirectoryUserService.patchUser(changes);
 
     if(user == null) {
       log.println("Usuário não incluído.");
@@ -164,17 +169,22 @@ public class DirectoryApiUserSamples {
   public static void listUsersSample() throws IOException {
     log.println("********************** List Users by email ********************** ");
 
-    List<User> users = DirectoryUserService.listUsersByName();
+    UserPageIterator users = DirectoryUserService.iterateUsersByName();
 
-    if(users == null || users.size() == 0) {
-      log.println("Nenhum usuário encontrado.");
-    }
-    else {
-      log.println("Usuários:");
-      for(User user : users) {
-        log.println(user.getName().getFullName());
+    try {
+      if(!users.hasNext()) {
+        log.println("Nenhum usuário encontrado.");
+      }
+      else {
+        log.println("Usuários:");
+        while(users.hasNext()) {
+          log.println(users.next().getName().getFullName());
+        }
       }
     }
+    finally {
+      users.close();
+    }
   }
 
   public static void queryUsersSample() throws IOException {
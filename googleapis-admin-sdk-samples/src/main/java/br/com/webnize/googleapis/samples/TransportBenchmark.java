@@ -0,0 +1,286 @@
+package br.com.webnize.googleapis.samples;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.admin.directory.Directory;
+import com.google.api.services.admin.directory.model.User;
+import com.google.api.services.admin.directory.model.UserAddress;
+import com.google.api.services.admin.directory.model.UserEmail;
+import com.google.api.services.admin.directory.model.UserName;
+import com.google.api.services.admin.directory.model.UserOrganization;
+import com.google.api.services.admin.directory.model.UserPhone;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import br.com.webnize.googleapis.admin.directory.transport.HttpTransportFactory;
+import br.com.webnize.googleapis.admin.directory.transport.NetHttpTransportFactory;
+import br.com.webnize.googleapis.admin.directory.transport.PooledHttpTransportFactory;
+
+/**
+ * Compara latência e vazão de users.get com o transporte padrão
+ * (HttpURLConnection) e com o transporte com pool de conexões, com e sem
+ * gzip, sob várias chamadas simultâneas.
+ *
+ * Executa sem acesso ao Google: um servidor HTTP local responde como a
+ * Directory API, com uma latência fixa por resposta, e comprime a resposta
+ * quando o request aceita gzip. Também é contada a quantidade de conexões
+ * TCP abertas: no loopback uma nova conexão é barata, mas contra a API cada
+ * uma custa um handshake TCP/TLS completo.
+ *
+ * Uso: java -cp googleapis-admin-sdk-samples-0.0.1-SNAPSHOT-jar-with-dependencies.jar
+ *      br.com.webnize.googleapis.samples.TransportBenchmark [chamadores] [chamadas por chamador] [latência ms]
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class TransportBenchmark {
+
+  private static final PrintStream log = System.out;
+
+  private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+  private static final int ROUNDS = 3;
+
+  public static void main(String[] args) throws Exception {
+
+    int callers = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+    int calls = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+    int latencyMillis = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+    /*
+     * Sem TCP_NODELAY o servidor local soma ~40 ms de ACK atrasado a cada resposta.
+     */
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+
+    LocalServer server = new LocalServer(newUserJson(), latencyMillis);
+
+    log.println(String.format("%d chamadores x %d chamadas, latência do servidor %d ms (%d rodadas, a primeira é descartada)",
+            callers, calls, latencyMillis, ROUNDS));
+
+    try {
+      for(int round = 0; round < ROUNDS; round++) {
+
+        Result net = run(new NetHttpTransportFactory().setGzip(false), server, callers, calls);
+        Result pooled = run(new PooledHttpTransportFactory().setMaxConnectionsPerRoute(callers).setGzip(false), server, callers, calls);
+        Result pooledGzip = run(new PooledHttpTransportFactory().setMaxConnectionsPerRoute(callers), server, callers, calls);
+
+        if(round > 0) {
+          log.println("HttpURLConnection:      " + net);
+          log.println("pool:                   " + pooled);
+          log.println("pool + gzip:            " + pooledGzip);
+        }
+      }
+    }
+    finally {
+      server.stop();
+    }
+  }
+
+  /**
+   * Executa 'callers' threads com 'calls' chamadas cada sobre um novo transporte.
+   */
+  private static Result run(HttpTransportFactory factory, final LocalServer server, int callers, final int calls) throws Exception {
+
+    HttpTransport transport = factory.newTransport();
+
+    final Directory service = new Directory.Builder(transport, JSON_FACTORY, factory.wrap(null))
+                                    .setApplicationName("TransportBenchmark")
+                                      .setRootUrl(server.getRootUrl())
+                                        .build();
+
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+    server.bytes.set(0);
+    server.connections.clear();
+    long start = System.nanoTime();
+
+    try {
+      Future<?>[] futures = new Future<?>[callers];
+      final long[][] latencies = new long[callers][calls];
+
+      for(int i = 0; i < callers; i++) {
+        final long[] callerLatencies = latencies[i];
+        futures[i] = executor.submit(new Callable<Void>() {
+
+          public Void call() throws IOException {
+            for(int j = 0; j < calls; j++) {
+              long callStart = System.nanoTime();
+              service.users().get("jose.emanuel@gedu.demo.foreducation.com.br").execute();
+              callerLatencies[j] = System.nanoTime() - callStart;
+            }
+            return null;
+          }
+        });
+      }
+
+      for(Future<?> future : futures) {
+        future.get();
+      }
+
+      long elapsed = System.nanoTime() - start;
+
+      long[] all = new long[callers * calls];
+      for(int i = 0; i < callers; i++) {
+        System.arraycopy(latencies[i], 0, all, i * calls, calls);
+      }
+      Arrays.sort(all);
+
+      return new Result(all, elapsed, server.bytes.get(), server.connections.size());
+    }
+    finally {
+      executor.shutdownNow();
+      transport.shutdown();
+    }
+  }
+
+  private static String newUserJson() throws IOException {
+
+    String email = "jose.emanuel@gedu.demo.foreducation.com.br";
+
+    User user = new User()
+                  .setId("100000000000000000")
+                  .setPrimaryEmail(email)
+                  .setName(new UserName().setGivenName("Jose").setFamilyName("Emanuel").setFullName("Jose Emanuel"))
+                  .setOrgUnitPath("/MyOrg/Alunos")
+                  .setEtag("\"etag\"")
+                  .setIsAdmin(false)
+                  .setSuspended(false)
+                  .setAgreedToTerms(true)
+                  .setCustomerId("C01234567")
+                  .setEmails(Arrays.asList(new UserEmail().setAddress(email).setPrimary(true),
+                                           new UserEmail().setAddress("jose@foreducation.com.br")))
+                  .setPhones(Arrays.asList(new UserPhone().setValue("+551112345678").setType("work").setPrimary(true),
+                                           new UserPhone().setValue("+5511912345678").setType("mobile")))
+                  .setAddresses(Arrays.asList(new UserAddress().setType("home").setStreetAddress("Rua Exemplo, 100")
+                                                .setLocality("São Paulo").setRegion("SP").setPostalCode("01000-000").setCountry("Brasil")))
+                  .setOrganizations(Arrays.asList(new UserOrganization().setName("Escola Exemplo").setTitle("Aluno")
+                                                    .setDepartment("Ensino Médio").setPrimary(true)));
+
+    return JSON_FACTORY.toPrettyString(user);
+  }
+
+  /**
+   * Servidor HTTP local que responde a qualquer request com o mesmo usuário,
+   * após 'latencyMillis', comprimindo a resposta se o request aceitar gzip.
+   */
+  private static class LocalServer implements HttpHandler {
+
+    private final HttpServer server;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final byte[] content;
+
+    private final byte[] gzipContent;
+
+    private final int latencyMillis;
+
+    private final AtomicLong bytes = new AtomicLong();
+
+    /**
+     * Endereços remotos (ip:porta) vistos, um por conexão TCP aberta pelo cliente.
+     */
+    private final Set<String> connections = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    LocalServer(String json, int latencyMillis) throws IOException {
+
+      this.content = json.getBytes("UTF-8");
+      this.latencyMillis = latencyMillis;
+
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      GZIPOutputStream gzip = new GZIPOutputStream(buffer);
+      gzip.write(content);
+      gzip.close();
+      this.gzipContent = buffer.toByteArray();
+
+      server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+      server.createContext("/", this);
+      server.setExecutor(executor);
+      server.start();
+    }
+
+    String getRootUrl() {
+      return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public void handle(HttpExchange exchange) throws IOException {
+
+      try {
+        Thread.sleep(latencyMillis);
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+      boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+      byte[] body = gzip ? gzipContent : content;
+
+      exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+      if(gzip) {
+        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+      }
+      exchange.sendResponseHeaders(200, body.length);
+
+      OutputStream out = exchange.getResponseBody();
+      out.write(body);
+      out.close();
+
+      bytes.addAndGet(body.length);
+      connections.add(exchange.getRemoteAddress().toString());
+    }
+
+    void stop() {
+      server.stop(0);
+      executor.shutdownNow();
+    }
+  }
+
+  private static class Result {
+
+    private final long[] latencies;
+
+    private final long nanos;
+
+    private final long bytes;
+
+    private final int connections;
+
+    Result(long[] latencies, long nanos, long bytes, int connections) {
+      this.latencies = latencies;
+      this.nanos = nanos;
+      this.bytes = bytes;
+      this.connections = connections;
+    }
+
+    private double percentileMillis(double percentile) {
+      return latencies[(int) Math.min(latencies.length - 1, Math.ceil(percentile * latencies.length) - 1)] / 1e6;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%.0f chamadas/s, p50 %.2f ms, p99 %.2f ms, %.1f KB por resposta, %d conexões abertas",
+              latencies.length * 1e9 / nanos, percentileMillis(0.50), percentileMillis(0.99), bytes / 1024.0 / latencies.length, connections);
+    }
+  }
+
+}
@@ -0,0 +1,234 @@
+package br.com.webnize.googleapis.samples;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.admin.directory.Directory;
+import com.google.api.services.admin.directory.model.User;
+import com.google.api.services.admin.directory.model.UserAddress;
+import com.google.api.services.admin.directory.model.UserEmail;
+import com.google.api.services.admin.directory.model.UserExternalId;
+import com.google.api.services.admin.directory.model.UserName;
+import com.google.api.services.admin.directory.model.UserOrganization;
+import com.google.api.services.admin.directory.model.UserPhone;
+import com.google.api.services.admin.directory.model.Users;
+
+import br.com.webnize.googleapis.admin.directory.user.UserField;
+import br.com.webnize.googleapis.admin.directory.user.UserPageIterator;
+
+/**
+ * Compara bytes transferidos e tempo de parse de uma varredura do domínio com
+ * usuários completos e com a projeção id, primaryEmail e orgUnitPath.
+ *
+ * Executa sem rede: as páginas são servidas por um MockHttpTransport que,
+ * como a API, responde apenas os campos pedidos no parâmetro 'fields'.
+ *
+ * Uso: java -cp googleapis-admin-sdk-samples-0.0.1-SNAPSHOT-jar-with-dependencies.jar
+ *      br.com.webnize.googleapis.samples.UserProjectionBenchmark [páginas] [usuários por página]
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UserProjectionBenchmark {
+
+  private static final PrintStream log = System.out;
+
+  private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+  private static final Set<UserField> PROJECTION = EnumSet.of(UserField.ID, UserField.PRIMARY_EMAIL, UserField.ORG_UNIT_PATH);
+
+  private static final int ROUNDS = 5;
+
+  public static void main(String[] args) throws IOException {
+
+    int pages = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    int pageSize = args.length > 1 ? Integer.parseInt(args[1]) : UserPageIterator.MAX_PAGE_SIZE;
+
+    List<User> page = newPage(pageSize);
+
+    String fullPage = JSON_FACTORY.toString(new Users().setUsers(page));
+    String projectedPage = JSON_FACTORY.toString(new Users().setUsers(project(page)));
+
+    log.println(String.format("Varredura de %d páginas com %d usuários (%d rodadas, a primeira é descartada)", pages, pageSize, ROUNDS));
+
+    for(int round = 0; round < ROUNDS; round++) {
+      Result full = scan(fullPage, projectedPage, pages, null);
+      Result projected = scan(fullPage, projectedPage, pages, PROJECTION);
+
+      if(round > 0) {
+        log.println(String.format("completo: %s | projetado: %s", full, projected));
+      }
+    }
+  }
+
+  /**
+   * Percorre todas as páginas através do UserPageIterator e mede bytes e tempo.
+   */
+  private static Result scan(String fullPage, String projectedPage, int pages, Set<UserField> fields) throws IOException {
+
+    PagedTransport transport = new PagedTransport(fullPage, projectedPage, pages);
+
+    Directory service = new Directory.Builder(transport, JSON_FACTORY, null)
+                              .setApplicationName("UserProjectionBenchmark")
+                                .build();
+
+    Directory.Users.List request = service.users().list().setCustomer("my_customer").setMaxResults(UserPageIterator.MAX_PAGE_SIZE);
+
+    if(fields != null) {
+      request.setFields(UserField.toListFieldMask(fields));
+    }
+
+    long start = System.nanoTime();
+    long users = 0;
+
+    UserPageIterator iterator = new UserPageIterator(request, 0, 1);
+    try {
+      while(iterator.hasNext()) {
+        iterator.next();
+        users++;
+      }
+    }
+    finally {
+      iterator.close();
+    }
+
+    return new Result(users, transport.bytes.get(), System.nanoTime() - start);
+  }
+
+  private static List<User> newPage(int size) {
+
+    List<User> users = new ArrayList<User>(size);
+
+    for(int i = 0; i < size; i++) {
+
+      String email = "jose.emanuel.num" + i + "@gedu.demo.foreducation.com.br";
+
+      Map<String, Object> schema = new HashMap<String, Object>();
+      schema.put("matricula", String.valueOf(100000 + i));
+      schema.put("turma", "2026-A");
+
+      Map<String, Map<String, Object>> customSchemas = new HashMap<String, Map<String, Object>>();
+      customSchemas.put("Escola", schema);
+
+      users.add(new User()
+                  .setId(String.valueOf(100000000000000000L + i))
+                  .setPrimaryEmail(email)
+                  .setName(new UserName().setGivenName("Jose Emanuel").setFamilyName("Num" + i).setFullName("Jose Emanuel Num" + i))
+                  .setOrgUnitPath("/MyOrg/Alunos")
+                  .setEtag("\"etag-" + i + "\"")
+                  .setIsAdmin(false)
+                  .setSuspended(false)
+                  .setAgreedToTerms(true)
+                  .setChangePasswordAtNextLogin(false)
+                  .setIncludeInGlobalAddressList(true)
+                  .setCustomerId("C01234567")
+                  .setEmails(Arrays.asList(new UserEmail().setAddress(email).setPrimary(true),
+                                           new UserEmail().setAddress("jose" + i + "@foreducation.com.br")))
+                  .setPhones(Arrays.asList(new UserPhone().setValue("+551112345678").setType("work").setPrimary(true),
+                                           new UserPhone().setValue("+5511912345678").setType("mobile")))
+                  .setAddresses(Arrays.asList(new UserAddress().setType("home").setStreetAddress("Rua Exemplo, " + i)
+                                                .setLocality("São Paulo").setRegion("SP").setPostalCode("01000-000").setCountry("Brasil")))
+                  .setOrganizations(Arrays.asList(new UserOrganization().setName("Escola Exemplo").setTitle("Aluno")
+                                                    .setDepartment("Ensino Médio").setPrimary(true)))
+                  .setExternalIds(Arrays.asList(new UserExternalId().setType("organization").setValue("RA" + i)))
+                  .setCustomSchemas(customSchemas));
+    }
+
+    return users;
+  }
+
+  private static List<User> project(List<User> page) {
+
+    List<User> projected = new ArrayList<User>(page.size());
+
+    for(User user : page) {
+      projected.add(new User().setId(user.getId()).setPrimaryEmail(user.getPrimaryEmail()).setOrgUnitPath(user.getOrgUnitPath()));
+    }
+
+    return projected;
+  }
+
+  /**
+   * Serve 'pages' páginas encadeadas por 'nextPageToken', completas ou
+   * projetadas conforme o parâmetro 'fields', contando os bytes servidos.
+   */
+  private static class PagedTransport extends MockHttpTransport {
+
+    private final String fullPage;
+
+    private final String projectedPage;
+
+    private final int pages;
+
+    private final AtomicLong bytes = new AtomicLong();
+
+    PagedTransport(String fullPage, String projectedPage, int pages) {
+      this.fullPage = fullPage;
+      this.projectedPage = projectedPage;
+      this.pages = pages;
+    }
+
+    @Override
+    public LowLevelHttpRequest buildRequest(String method, final String url) {
+
+      return new MockLowLevelHttpRequest() {
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+
+          int pageNumber = url.contains("pageToken=") ? Integer.parseInt(url.replaceAll(".*pageToken=(\\d+).*", "$1")) : 0;
+
+          String page = url.contains("fields=") ? projectedPage : fullPage;
+
+          if(pageNumber + 1 < pages) {
+            page = page.substring(0, page.length() - 1) + ",\"nextPageToken\":\"" + (pageNumber + 1) + "\"}";
+          }
+
+          byte[] content = page.getBytes("UTF-8");
+          bytes.addAndGet(content.length);
+
+          return new MockLowLevelHttpResponse().setContent(content).setContentType("application/json; charset=UTF-8");
+        }
+      };
+    }
+  }
+
+  private static class Result {
+
+    private final long users;
+
+    private final long bytes;
+
+    private final long nanos;
+
+    Result(long users, long bytes, long nanos) {
+      this.users = users;
+      this.bytes = bytes;
+      this.nanos = nanos;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d usuários, %.1f MB, %d ms (%.0f usuários/s)",
+              users, bytes / 1048576.0, nanos / 1000000, users * 1e9 / nanos);
+    }
+  }
+
+}
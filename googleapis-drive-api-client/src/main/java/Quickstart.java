@@ -1,8 +1,11 @@
+import java.io.BufferedWriter;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -21,6 +24,17 @@ import com.google.api.services.drive.DriveScopes;
 import com.google.api.services.drive.model.File;
 import com.google.api.services.drive.model.FileList;
 
+import br.com.webnize.googleapis.drive.crawl.DriveCrawler;
+import br.com.webnize.googleapis.drive.download.DriveDownloader;
+import br.com.webnize.googleapis.drive.mirror.DriveMirror;
+import br.com.webnize.googleapis.drive.sync.DriveIndex;
+import br.com.webnize.googleapis.drive.sync.DriveSync;
+import br.com.webnize.googleapis.drive.sync.SyncReport;
+import br.com.webnize.googleapis.drive.upload.DriveUploader;
+import br.com.webnize.googleapis.drive.upload.UploadJob;
+import br.com.webnize.googleapis.drive.upload.UploadReport;
+import br.com.webnize.googleapis.drive.upload.UploadResult;
+
 public class Quickstart {
     /** Application name. */
     private static final String APPLICATION_NAME =
@@ -30,6 +44,10 @@ public class Quickstart {
     private static final java.io.File DATA_STORE_DIR = new java.io.File(
         System.getProperty("user.home"), ".credentials/drive-java-quickstart");
 
+    /** Directory to store the sessions of interrupted uploads, resumed on the next run. */
+    private static final java.io.File UPLOAD_SESSIONS_DIR = new java.io.File(
+        System.getProperty("user.home"), ".credentials/drive-java-quickstart-uploads");
+
     /** Global instance of the {@link FileDataStoreFactory}. */
     private static FileDataStoreFactory DATA_STORE_FACTORY;
 
@@ -101,7 +119,48 @@ public class Quickstart {
         // Build a new authorized API client service.
         Drive service = getDriveService();
 
-        // Print the names and IDs for up to 10 files.
+        String command = args.length > 0 ? args[0] : "list";
+
+        if ("download".equals(command) && args.length == 3) {
+            // Download (or export, for Google Docs) a file: download <fileId> <target>
+            java.io.File target = new java.io.File(args[2]);
+            long bytes = new DriveDownloader(service).download(args[1], target);
+            System.out.printf("%s (%d bytes)\n", target.getAbsolutePath(), bytes);
+        } else if ("upload".equals(command) && args.length >= 3) {
+            // Upload files into a folder: upload <folderId|root> <file>...
+            List<UploadJob> jobs = new ArrayList<UploadJob>();
+            for (int i = 2; i < args.length; i++) {
+                jobs.add(new UploadJob(new java.io.File(args[i]), args[1]));
+            }
+            UploadReport report = new DriveUploader(service, new FileDataStoreFactory(UPLOAD_SESSIONS_DIR)).upload(jobs);
+            for (UploadResult upload : report.getResults()) {
+                System.out.println(upload);
+            }
+            System.out.println(report);
+        } else if ("sync".equals(command) && args.length == 2) {
+            // Update a local metadata index with the changes since the last run: sync <indexDir>
+            SyncReport report = new DriveSync(service, new DriveIndex(new java.io.File(args[1]))).sync();
+            System.out.println(report);
+        } else if ("crawl".equals(command) && args.length == 3) {
+            // Write the folder tree as JSONL: crawl <folderId|root> <out.jsonl>
+            Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(args[2]), "UTF-8"));
+            try {
+                System.out.println(new DriveCrawler(service).crawl(args[1], "", out));
+            } finally {
+                out.close();
+            }
+        } else if ("mirror".equals(command) && args.length == 3) {
+            // Keep a local copy of a folder, transferring only what changed: mirror <folderId|root> <dir>
+            System.out.println(new DriveMirror(service, new java.io.File(args[2])).mirror(args[1]));
+        } else {
+            listFiles(service);
+        }
+    }
+
+    /**
+     * Print the names and IDs for up to 10 files.
+     */
+    private static void listFiles(Drive service) throws IOException {
         FileList result = service.files().list()
              .setPageSize(10)
              .setFields("nextPageToken, files(id, name)")
@@ -115,17 +174,6 @@ public class Quickstart {
                 System.out.printf("%s (%s)\n", file.getName(), file.getId());
             }
         }
-        
-        String fileId = "1ZU2VdbRIof9A6g-unET5C5ZpPjEieOvFkUbEXJW2CVQ";
-        
-        java.io.File fileDownload = new java.io.File("/home/reginaldosantos/Downloads/test.xls");
-        
-        //OutputStream outputStream = new ByteArrayOutputStream();
-        OutputStream outputStream = new FileOutputStream(fileDownload);
-        service
-          .files()
-          .export(fileId, "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-          .executeMediaAndDownloadTo(outputStream);
     }
 
 }
\ No newline at end of file
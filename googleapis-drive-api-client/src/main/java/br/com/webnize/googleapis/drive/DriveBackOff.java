@@ -0,0 +1,55 @@
+package br.com.webnize.googleapis.drive;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Espera exponencial com jitter entre as repetições de chamadas à Drive API,
+ * compartilhada pelo upload, download, varredura e sincronização.
+ *
+ * A espera da tentativa 'n' é 'initialBackOffMillis' dobrado n-1 vezes, com
+ * jitter de +/- 50% para que clientes com falha ao mesmo tempo não repitam
+ * juntos.
+ *
+ * @see DriveErrors
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public final class DriveBackOff {
+
+  private static final Random JITTER = new Random();
+
+  private DriveBackOff() {
+  }
+
+  /**
+   * @param initialBackOffMillis espera antes da primeira repetição.
+   * @param attempt número da repetição, a partir de 1.
+   * @return espera em milissegundos.
+   */
+  public static long millis(long initialBackOffMillis, int attempt) {
+    long base = initialBackOffMillis << Math.min(attempt - 1, 16);
+    return base / 2 + (long) (JITTER.nextDouble() * base);
+  }
+
+  /**
+   * Aguarda a espera da repetição.
+   *
+   * @param initialBackOffMillis espera antes da primeira repetição.
+   * @param attempt número da repetição, a partir de 1.
+   * @param interruptedMessage mensagem da IOException em caso de interrupção.
+   * @throws IOException se a thread for interrompida (o estado de interrupção é mantido).
+   */
+  public static void sleep(long initialBackOffMillis, int attempt, String interruptedMessage) throws IOException {
+    try {
+      Thread.sleep(millis(initialBackOffMillis, attempt));
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(interruptedMessage, e);
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+package br.com.webnize.googleapis.drive;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Cálculo do md5 de arquivos locais, no mesmo formato do 'md5Checksum' do Drive,
+ * compartilhado pelo download e pelo espelhamento.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public final class DriveChecksums {
+
+  /**
+   * Tamanho de cada região mapeada: limita o espaço de endereçamento usado
+   * por arquivo, sem custo de cópia para o heap.
+   */
+  private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private DriveChecksums() {
+  }
+
+  /**
+   * Calcula o md5 lendo o arquivo por mapeamento em memória, região a região.
+   *
+   * @param file arquivo local.
+   * @return md5 em hexadecimal minúsculo.
+   * @throws IOException
+   */
+  public static String md5(File file) throws IOException {
+
+    MessageDigest digest = newMd5();
+
+    FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+    try {
+      long size = channel.size();
+      for(long position = 0; position < size; position += REGION_SIZE) {
+        digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(REGION_SIZE, size - position)));
+      }
+    }
+    finally {
+      channel.close();
+    }
+
+    return hex(digest.digest());
+  }
+
+  /**
+   * Calcula o md5 de um arquivo já aberto, lendo-o do início por um buffer.
+   * Sem mapeamento: em alguns sistemas uma região mapeada mantém o arquivo
+   * bloqueado até ser coletada, impedindo movê-lo em seguida.
+   *
+   * @param channel canal aberto para leitura (a posição não é alterada).
+   * @return md5 em hexadecimal minúsculo.
+   * @throws IOException
+   */
+  public static String md5(FileChannel channel) throws IOException {
+
+    MessageDigest digest = newMd5();
+
+    ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+    for(long position = 0; channel.read(buffer, position) > 0; ) {
+      buffer.flip();
+      position += buffer.remaining();
+      digest.update(buffer);
+      buffer.clear();
+    }
+
+    return hex(digest.digest());
+  }
+
+  /**
+   * @param bytes valor a converter.
+   * @return valor em hexadecimal minúsculo.
+   */
+  public static String hex(byte[] bytes) {
+
+    char[] hex = new char[bytes.length * 2];
+
+    for(int i = 0; i < bytes.length; i++) {
+      hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+      hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xf];
+    }
+
+    return new String(hex);
+  }
+
+  private static MessageDigest newMd5() {
+    try {
+      return MessageDigest.getInstance("MD5");
+    }
+    catch(NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
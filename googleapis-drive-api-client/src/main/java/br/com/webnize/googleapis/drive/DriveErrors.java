@@ -0,0 +1,94 @@
+package br.com.webnize.googleapis.drive;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonError.ErrorInfo;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpResponseException;
+
+/**
+ * Classificação dos erros devolvidos pela Drive API.
+ *
+ * Centraliza a decisão de quais falhas são transitórias (cota, sobrecarga do
+ * servidor, rede) e podem ser repetidas, e quais são definitivas (arquivo
+ * inexistente, permissão negada).
+ *
+ * @see https://developers.google.com/drive/api/v3/handle-errors
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public final class DriveErrors {
+
+  /**
+   * Motivos ('reason') de erro 403 que indicam estouro de cota e não falta de permissão.
+   */
+  private static final List<String> QUOTA_REASONS =
+          Arrays.asList("userRateLimitExceeded", "rateLimitExceeded", "sharingRateLimitExceeded");
+
+  private DriveErrors() {
+  }
+
+  /**
+   * Indica se o status HTTP é de uma falha transitória (429 ou 5xx).
+   *
+   * @param statusCode status HTTP.
+   * @return true se a requisição pode ser repetida.
+   */
+  public static boolean isRetryableStatus(int statusCode) {
+    return statusCode == 429 || statusCode == 500 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+  }
+
+  /**
+   * Indica se o erro é um estouro de cota, seja 429 ou 403 com motivo de limite de taxa.
+   *
+   * @param error erro devolvido pela API.
+   * @return true se o erro indica estouro de cota.
+   */
+  public static boolean isQuotaError(GoogleJsonError error) {
+
+    if(error == null) {
+      return false;
+    }
+
+    if(error.getCode() == 429) {
+      return true;
+    }
+
+    if(error.getCode() == 403 && error.getErrors() != null) {
+      for(ErrorInfo info : error.getErrors()) {
+        if(QUOTA_REASONS.contains(info.getReason())) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Indica se a falha de uma chamada é transitória: erro HTTP de cota ou 5xx,
+   * ou falha de rede (qualquer IOException sem resposta HTTP).
+   *
+   * @param e falha da chamada.
+   * @return true se a chamada pode ser repetida.
+   */
+  public static boolean isRetryable(IOException e) {
+
+    if(e instanceof GoogleJsonResponseException) {
+      GoogleJsonResponseException response = (GoogleJsonResponseException) e;
+      return isRetryableStatus(response.getStatusCode()) || isQuotaError(response.getDetails());
+    }
+
+    if(e instanceof HttpResponseException) {
+      return isRetryableStatus(((HttpResponseException) e).getStatusCode());
+    }
+
+    return true;
+  }
+
+}
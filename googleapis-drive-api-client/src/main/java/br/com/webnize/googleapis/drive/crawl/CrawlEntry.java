@@ -0,0 +1,99 @@
+package br.com.webnize.googleapis.drive.crawl;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.util.Key;
+
+/**
+ * Uma linha da saída JSONL do {@link DriveCrawler}: um arquivo ou pasta e
+ * o seu caminho a partir da pasta inicial.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class CrawlEntry extends GenericJson {
+
+  @Key
+  private String path;
+
+  @Key
+  private String id;
+
+  @Key
+  private String mimeType;
+
+  @Key
+  private Long size;
+
+  @Key("md5")
+  private String md5Checksum;
+
+  @Key
+  private String modifiedTime;
+
+  public String getPath() {
+    return path;
+  }
+
+  public CrawlEntry setPath(String path) {
+    this.path = path;
+    return this;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public CrawlEntry setId(String id) {
+    this.id = id;
+    return this;
+  }
+
+  public String getMimeType() {
+    return mimeType;
+  }
+
+  public CrawlEntry setMimeType(String mimeType) {
+    this.mimeType = mimeType;
+    return this;
+  }
+
+  /**
+   * @return tamanho em bytes (null para pastas e documentos do Google).
+   */
+  public Long getSize() {
+    return size;
+  }
+
+  public CrawlEntry setSize(Long size) {
+    this.size = size;
+    return this;
+  }
+
+  public String getMd5Checksum() {
+    return md5Checksum;
+  }
+
+  public CrawlEntry setMd5Checksum(String md5Checksum) {
+    this.md5Checksum = md5Checksum;
+    return this;
+  }
+
+  /**
+   * @return data de alteração no formato RFC 3339.
+   */
+  public String getModifiedTime() {
+    return modifiedTime;
+  }
+
+  public CrawlEntry setModifiedTime(String modifiedTime) {
+    this.modifiedTime = modifiedTime;
+    return this;
+  }
+
+  @Override
+  public CrawlEntry clone() {
+    return (CrawlEntry) super.clone();
+  }
+
+}
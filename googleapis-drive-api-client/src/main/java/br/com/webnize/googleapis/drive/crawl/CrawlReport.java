@@ -0,0 +1,65 @@
+package br.com.webnize.googleapis.drive.crawl;
+
+/**
+ * Resultado de uma varredura da árvore de pastas.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class CrawlReport {
+
+  private final long files;
+
+  private final long folders;
+
+  private final long bytes;
+
+  private final long httpRequests;
+
+  private final long elapsedMillis;
+
+  CrawlReport(long files, long folders, long bytes, long httpRequests, long elapsedMillis) {
+    this.files = files;
+    this.folders = folders;
+    this.bytes = bytes;
+    this.httpRequests = httpRequests;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  public long getFiles() {
+    return files;
+  }
+
+  /**
+   * @return pastas percorridas, sem contar a inicial.
+   */
+  public long getFolders() {
+    return folders;
+  }
+
+  /**
+   * @return soma do tamanho dos arquivos com conteúdo binário.
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * @return chamadas a files.list, incluindo repetições.
+   */
+  public long getHttpRequests() {
+    return httpRequests;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d arquivos em %d pastas (%.1f MB), %d HTTP requests em %d ms",
+            files, folders, bytes / (1024.0 * 1024.0), httpRequests, elapsedMillis);
+  }
+
+}
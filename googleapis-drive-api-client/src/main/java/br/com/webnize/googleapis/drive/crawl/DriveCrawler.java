@@ -0,0 +1,345 @@
+package br.com.webnize.googleapis.drive.crawl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.FileList;
+
+import br.com.webnize.googleapis.drive.DriveBackOff;
+import br.com.webnize.googleapis.drive.DriveErrors;
+
+/**
+ * Varredura concorrente de uma árvore de pastas do Drive, com a saída em
+ * JSONL: uma linha ({@link CrawlEntry}) por arquivo ou pasta, com caminho,
+ * id, tipo, tamanho, md5 e data de alteração.
+ *
+ * Cada pasta é uma tarefa de um ForkJoinPool: as subpastas encontradas em
+ * cada página são bifurcadas na hora, e threads ociosas roubam essas tarefas
+ * enquanto a pasta atual segue o seu 'nextPageToken'. Um semáforo limita as
+ * chamadas a files.list em andamento (cota da API), independentemente da
+ * quantidade de threads. As linhas são escritas à medida que as páginas
+ * chegam: em memória ficam apenas as pastas pendentes e os ids das pastas já
+ * visitadas (uma pasta com mais de um pai é percorrida uma única vez).
+ *
+ *<pre>
+ * Exemplo:
+ *   Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream("tree.jsonl"), "UTF-8"));
+ *   CrawlReport report = new DriveCrawler(service).setTeamDriveId(driveId).crawl(driveId, "", out);
+ *   out.close();
+ * </pre>
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DriveCrawler {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(DriveCrawler.class.getName());
+
+  public static final String FOLDER_MIME_TYPE = "application/vnd.google-apps.folder";
+
+  /**
+   * Tamanho máximo de página aceito por files.list.
+   */
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  public static final int DEFAULT_PARALLELISM = 16;
+
+  public static final int DEFAULT_MAX_IN_FLIGHT = 10;
+
+  public static final int DEFAULT_MAX_RETRIES = 5;
+
+  public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 1000;
+
+  /**
+   * Apenas os campos da saída (e o tipo, para reconhecer pastas) são pedidos à API.
+   */
+  private static final String LIST_FIELDS = "nextPageToken,files(id,name,mimeType,size,md5Checksum,modifiedTime)";
+
+  private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+  private final Drive service;
+
+  private int parallelism = DEFAULT_PARALLELISM;
+
+  private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+  private int maxRetries = DEFAULT_MAX_RETRIES;
+
+  private long initialBackOffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+
+  private String teamDriveId;
+
+  /**
+   * @param service cliente da Drive API.
+   */
+  public DriveCrawler(Drive service) {
+    this.service = service;
+  }
+
+  /**
+   * @param parallelism quantidade de threads do pool.
+   */
+  public DriveCrawler setParallelism(int parallelism) {
+    if(parallelism < 1) {
+      throw new IllegalArgumentException("'parallelism' deve ser maior que zero.");
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * @param maxInFlight quantidade máxima de chamadas a files.list em andamento.
+   */
+  public DriveCrawler setMaxInFlight(int maxInFlight) {
+    if(maxInFlight < 1) {
+      throw new IllegalArgumentException("'maxInFlight' deve ser maior que zero.");
+    }
+    this.maxInFlight = maxInFlight;
+    return this;
+  }
+
+  /**
+   * @param maxRetries quantidade máxima de repetições de uma página com falha transitória.
+   */
+  public DriveCrawler setMaxRetries(int maxRetries) {
+    this.maxRetries = maxRetries;
+    return this;
+  }
+
+  /**
+   * @param initialBackOffMillis espera antes da primeira repetição, dobrada a cada repetição.
+   */
+  public DriveCrawler setInitialBackOffMillis(long initialBackOffMillis) {
+    this.initialBackOffMillis = initialBackOffMillis;
+    return this;
+  }
+
+  /**
+   * @param teamDriveId id do drive compartilhado a percorrer (null para o Meu Drive).
+   */
+  public DriveCrawler setTeamDriveId(String teamDriveId) {
+    this.teamDriveId = teamDriveId;
+    return this;
+  }
+
+  /**
+   * Percorre a árvore a partir de uma pasta, escrevendo cada arquivo e
+   * subpasta encontrados.
+   *
+   * @param folderId pasta inicial ('root', o id de uma pasta ou de um drive compartilhado).
+   * @param path caminho da pasta inicial na saída (por exemplo, "" ou "/Backup").
+   * @param out saída JSONL, escrita por várias threads (cada linha de uma vez).
+   * @return totais da varredura.
+   * @throws IOException se uma página falhar após as repetições ou a escrita falhar.
+   */
+  public CrawlReport crawl(String folderId, String path, Writer out) throws IOException {
+
+    long start = System.currentTimeMillis();
+
+    Crawl crawl = new Crawl(out);
+    crawl.visited.add(folderId);
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+    try {
+      pool.invoke(crawl.new FolderTask(folderId, path));
+    }
+    catch(RuntimeException e) {
+      for(Throwable cause = e; cause != null; cause = cause.getCause()) {
+        if(cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+      }
+      throw e;
+    }
+    finally {
+      pool.shutdownNow();
+    }
+
+    out.flush();
+
+    CrawlReport report = new CrawlReport(crawl.files.get(), crawl.folders.get(), crawl.bytes.get(), crawl.httpRequests.get(),
+            System.currentTimeMillis() - start);
+
+    logger.info("Varredura concluída: " + report);
+
+    return report;
+  }
+
+  /**
+   * Estado de uma varredura, compartilhado pelas tarefas.
+   */
+  private class Crawl {
+
+    private final Writer out;
+
+    private final Semaphore inFlight = new Semaphore(maxInFlight);
+
+    private final Set<String> visited = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private final AtomicLong files = new AtomicLong();
+
+    private final AtomicLong folders = new AtomicLong();
+
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final AtomicLong httpRequests = new AtomicLong();
+
+    Crawl(Writer out) {
+      this.out = out;
+    }
+
+    /**
+     * Uma página de filhos da pasta, repetida em falhas transitórias.
+     */
+    private FileList list(String folderId, String pageToken) throws IOException {
+
+      Drive.Files.List request = service.files().list()
+                                    .setQ("'" + folderId + "' in parents and trashed = false")
+                                      .setPageSize(MAX_PAGE_SIZE)
+                                        .setPageToken(pageToken)
+                                          .setFields(LIST_FIELDS);
+
+      if(teamDriveId != null) {
+        request.setCorpora("teamDrive")
+                 .setTeamDriveId(teamDriveId)
+                   .setIncludeTeamDriveItems(true)
+                     .setSupportsTeamDrives(true);
+      }
+
+      for(int attempt = 0; ; attempt++) {
+        try {
+          return execute(request);
+        }
+        catch(IOException e) {
+          if(attempt >= maxRetries || !DriveErrors.isRetryable(e)) {
+            throw e;
+          }
+          logger.fine(String.format("Listagem da pasta '%s' falhou (%s), repetindo.", folderId, e.getMessage()));
+        }
+        DriveBackOff.sleep(initialBackOffMillis, attempt + 1, "Varredura interrompida.");
+      }
+    }
+
+    /**
+     * Executa a listagem ocupando uma das 'maxInFlight' vagas. A vaga só é
+     * devolvida se foi obtida: uma espera interrompida não libera nada.
+     */
+    private FileList execute(Drive.Files.List request) throws IOException {
+      acquire();
+      try {
+        httpRequests.incrementAndGet();
+        return request.execute();
+      }
+      finally {
+        inFlight.release();
+      }
+    }
+
+    private void write(CrawlEntry entry) throws IOException {
+      String line = JSON_FACTORY.toString(entry);
+      synchronized(out) {
+        out.write(line);
+        out.write('\n');
+      }
+    }
+
+    private void acquire() throws IOException {
+      try {
+        inFlight.acquire();
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Varredura interrompida.", e);
+      }
+    }
+
+    /**
+     * Lista uma pasta, página a página, bifurcando as subpastas assim que encontradas.
+     */
+    private class FolderTask extends RecursiveAction {
+
+      private static final long serialVersionUID = 1L;
+
+      private final String folderId;
+
+      private final String path;
+
+      FolderTask(String folderId, String path) {
+        this.folderId = folderId;
+        this.path = path;
+      }
+
+      @Override
+      protected void compute() {
+
+        List<FolderTask> subfolders = new ArrayList<FolderTask>();
+
+        try {
+          String pageToken = null;
+
+          do {
+            FileList page = list(folderId, pageToken);
+
+            if(page.getFiles() != null) {
+              for(com.google.api.services.drive.model.File file : page.getFiles()) {
+
+                CrawlEntry entry = new CrawlEntry()
+                                        .setPath(path + "/" + file.getName())
+                                          .setId(file.getId())
+                                            .setMimeType(file.getMimeType())
+                                              .setSize(file.getSize())
+                                                .setMd5Checksum(file.getMd5Checksum())
+                                                  .setModifiedTime(file.getModifiedTime() == null ? null : file.getModifiedTime().toStringRfc3339());
+                write(entry);
+
+                if(FOLDER_MIME_TYPE.equals(file.getMimeType())) {
+                  if(visited.add(file.getId())) {
+                    folders.incrementAndGet();
+                    FolderTask subfolder = new FolderTask(file.getId(), entry.getPath());
+                    subfolder.fork();
+                    subfolders.add(subfolder);
+                  }
+                }
+                else {
+                  files.incrementAndGet();
+                  if(file.getSize() != null) {
+                    bytes.addAndGet(file.getSize());
+                  }
+                }
+              }
+            }
+
+            pageToken = page.getNextPageToken();
+          }
+          while(pageToken != null);
+        }
+        catch(IOException e) {
+          throw new RuntimeException(e);
+        }
+
+        for(FolderTask subfolder : subfolders) {
+          subfolder.join();
+        }
+      }
+    }
+  }
+
+}
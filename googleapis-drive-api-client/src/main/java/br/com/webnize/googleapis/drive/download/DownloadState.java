@@ -0,0 +1,183 @@
+package br.com.webnize.googleapis.drive.download;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.util.Key;
+
+/**
+ * Estado de um download em partes, salvo ao lado do arquivo parcial para que
+ * um download interrompido (queda do processo, da rede) seja retomado apenas
+ * com as partes que faltam.
+ *
+ * O estado só é válido para a mesma versão do arquivo no Drive (tamanho, md5
+ * e data de alteração) e o mesmo tamanho de parte.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DownloadState extends GenericJson {
+
+  private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  @Key
+  private String fileId;
+
+  @Key
+  private Long size;
+
+  @Key
+  private String md5Checksum;
+
+  @Key
+  private String modifiedTime;
+
+  @Key
+  private Long chunkSize;
+
+  @Key
+  private List<Integer> completedChunks;
+
+  public String getFileId() {
+    return fileId;
+  }
+
+  public DownloadState setFileId(String fileId) {
+    this.fileId = fileId;
+    return this;
+  }
+
+  public Long getSize() {
+    return size;
+  }
+
+  public DownloadState setSize(Long size) {
+    this.size = size;
+    return this;
+  }
+
+  public String getMd5Checksum() {
+    return md5Checksum;
+  }
+
+  public DownloadState setMd5Checksum(String md5Checksum) {
+    this.md5Checksum = md5Checksum;
+    return this;
+  }
+
+  public String getModifiedTime() {
+    return modifiedTime;
+  }
+
+  public DownloadState setModifiedTime(String modifiedTime) {
+    this.modifiedTime = modifiedTime;
+    return this;
+  }
+
+  public Long getChunkSize() {
+    return chunkSize;
+  }
+
+  public DownloadState setChunkSize(Long chunkSize) {
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  /**
+   * @return índices das partes já gravadas em disco.
+   */
+  public List<Integer> getCompletedChunks() {
+    if(completedChunks == null) {
+      completedChunks = new ArrayList<Integer>();
+    }
+    return completedChunks;
+  }
+
+  /**
+   * @param other estado salvo anteriormente.
+   * @return true se o estado salvo é do mesmo arquivo, na mesma versão, e com
+   *         o mesmo tamanho de parte.
+   */
+  public boolean isResumableFrom(DownloadState other) {
+    return other != null
+        && equal(fileId, other.fileId)
+        && equal(size, other.size)
+        && equal(md5Checksum, other.md5Checksum)
+        && equal(modifiedTime, other.modifiedTime)
+        && equal(chunkSize, other.chunkSize);
+  }
+
+  /**
+   * @param file arquivo de estado.
+   * @return estado salvo, ou null se o arquivo não existir ou estiver ilegível.
+   */
+  public static DownloadState load(File file) {
+
+    if(!file.isFile()) {
+      return null;
+    }
+
+    try {
+      InputStream in = new FileInputStream(file);
+      try {
+        return JSON_FACTORY.fromInputStream(in, UTF_8, DownloadState.class);
+      }
+      finally {
+        in.close();
+      }
+    }
+    catch(IOException e) {
+      /*
+       * Estado corrompido (por exemplo, gravação interrompida): o download recomeça.
+       */
+      return null;
+    }
+  }
+
+  /**
+   * Salva o estado em um arquivo temporário e o move sobre o anterior, para
+   * que uma queda durante a gravação não deixe um estado pela metade.
+   *
+   * @param file arquivo de estado.
+   * @throws IOException
+   */
+  public synchronized void save(File file) throws IOException {
+
+    File temp = new File(file.getPath() + ".tmp");
+
+    OutputStream out = new FileOutputStream(temp);
+    try {
+      out.write(JSON_FACTORY.toByteArray(this));
+    }
+    finally {
+      out.close();
+    }
+
+    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static boolean equal(Object a, Object b) {
+    return a == null ? b == null : a.equals(b);
+  }
+
+  @Override
+  public DownloadState clone() {
+    return (DownloadState) super.clone();
+  }
+
+}
@@ -0,0 +1,488 @@
+package br.com.webnize.googleapis.drive.download;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import com.google.api.client.http.HttpResponse;
+import com.google.api.services.drive.Drive;
+
+import br.com.webnize.googleapis.drive.DriveBackOff;
+import br.com.webnize.googleapis.drive.DriveChecksums;
+import br.com.webnize.googleapis.drive.DriveErrors;
+
+/**
+ * Download de arquivos do Drive direto para o disco.
+ *
+ * Arquivos binários são divididos em partes de 'chunkSize' bytes, baixadas
+ * em paralelo com HTTP Range e gravadas na sua posição de um arquivo já
+ * alocado com o tamanho final (FileChannel, sem passar por um buffer do
+ * arquivo inteiro). Cada parte é repetida individualmente em falhas
+ * transitórias, continuando do último byte gravado, e cada parte concluída é
+ * registrada no {@link DownloadState}: um download interrompido é retomado
+ * apenas com as partes que faltam, desde que o arquivo não tenha mudado no
+ * Drive.
+ *
+ * Documentos do Google (planilhas, textos, apresentações) não têm conteúdo
+ * binário nem aceitam Range: são exportados e gravados em fluxo, à medida que
+ * chegam.
+ *
+ *<pre>
+ * Arquivos gerados durante o download de 'destino':
+ *   destino.part          - conteúdo parcial, renomeado para 'destino' ao final;
+ *   destino.download.json - partes concluídas, removido ao final.
+ * </pre>
+ *
+ * @see https://developers.google.com/drive/api/v3/manage-downloads
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DriveDownloader {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(DriveDownloader.class.getName());
+
+  public static final long MIN_CHUNK_SIZE = 256 * 1024;
+
+  public static final long DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  public static final int DEFAULT_MAX_RETRIES = 5;
+
+  public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 1000;
+
+  /**
+   * Prefixo do tipo MIME dos documentos do Google, que só podem ser exportados.
+   */
+  public static final String GOOGLE_APPS_MIME_PREFIX = "application/vnd.google-apps.";
+
+  /**
+   * Formato de exportação usado por {@link #download(String, File)} para cada tipo de documento do Google.
+   */
+  public static final Map<String, String> DEFAULT_EXPORT_TYPES;
+
+  static {
+    Map<String, String> types = new HashMap<String, String>();
+    types.put(GOOGLE_APPS_MIME_PREFIX + "document", "application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+    types.put(GOOGLE_APPS_MIME_PREFIX + "spreadsheet", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    types.put(GOOGLE_APPS_MIME_PREFIX + "presentation", "application/vnd.openxmlformats-officedocument.presentationml.presentation");
+    types.put(GOOGLE_APPS_MIME_PREFIX + "drawing", "image/png");
+    DEFAULT_EXPORT_TYPES = Collections.unmodifiableMap(types);
+  }
+
+  private static final String METADATA_FIELDS = "id,name,mimeType,size,md5Checksum,modifiedTime";
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Drive service;
+
+  private long chunkSize = DEFAULT_CHUNK_SIZE;
+
+  private int parallelism = DEFAULT_PARALLELISM;
+
+  private int maxRetries = DEFAULT_MAX_RETRIES;
+
+  private long initialBackOffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+
+  private boolean verifyChecksum = true;
+
+  /**
+   * @param service cliente da Drive API.
+   */
+  public DriveDownloader(Drive service) {
+    this.service = service;
+  }
+
+  /**
+   * @param chunkSize tamanho de cada parte baixada em um HTTP request (mínimo {@value #MIN_CHUNK_SIZE}).
+   */
+  public DriveDownloader setChunkSize(long chunkSize) {
+    if(chunkSize < MIN_CHUNK_SIZE) {
+      throw new IllegalArgumentException("'chunkSize' deve ser de no mínimo " + MIN_CHUNK_SIZE + " bytes.");
+    }
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  /**
+   * @param parallelism quantidade máxima de partes baixadas simultaneamente.
+   */
+  public DriveDownloader setParallelism(int parallelism) {
+    if(parallelism < 1) {
+      throw new IllegalArgumentException("'parallelism' deve ser maior que zero.");
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * @param maxRetries quantidade máxima de repetições de uma parte (ou exportação) com falha transitória.
+   */
+  public DriveDownloader setMaxRetries(int maxRetries) {
+    this.maxRetries = maxRetries;
+    return this;
+  }
+
+  /**
+   * @param initialBackOffMillis espera antes da primeira repetição, dobrada a cada repetição.
+   */
+  public DriveDownloader setInitialBackOffMillis(long initialBackOffMillis) {
+    this.initialBackOffMillis = initialBackOffMillis;
+    return this;
+  }
+
+  /**
+   * @param verifyChecksum confere o md5 do arquivo baixado com o informado pelo Drive.
+   */
+  public DriveDownloader setVerifyChecksum(boolean verifyChecksum) {
+    this.verifyChecksum = verifyChecksum;
+    return this;
+  }
+
+  /**
+   * Baixa um arquivo, ou o exporta no formato de {@link #DEFAULT_EXPORT_TYPES}
+   * se for um documento do Google.
+   *
+   * @param fileId id do arquivo no Drive.
+   * @param target arquivo de destino (substituído se existir).
+   * @return quantidade de bytes do arquivo gravado.
+   * @throws IOException
+   */
+  public long download(String fileId, File target) throws IOException {
+
+    com.google.api.services.drive.model.File metadata = service.files().get(fileId).setFields(METADATA_FIELDS).execute();
+
+    String mimeType = metadata.getMimeType();
+
+    if(mimeType != null && mimeType.startsWith(GOOGLE_APPS_MIME_PREFIX)) {
+      String exportType = DEFAULT_EXPORT_TYPES.get(mimeType);
+      if(exportType == null) {
+        throw new IllegalArgumentException("Documento do tipo '" + mimeType + "' não pode ser baixado, informe o formato de exportação.");
+      }
+      return export(fileId, exportType, target);
+    }
+
+    return download(metadata, target);
+  }
+
+  /**
+   * Baixa um arquivo binário em partes paralelas, retomando um download
+   * anterior interrompido do mesmo arquivo.
+   *
+   * @param metadata arquivo no Drive, com 'id', 'size', 'md5Checksum' e 'modifiedTime'.
+   * @param target arquivo de destino (substituído se existir).
+   * @return quantidade de bytes do arquivo gravado.
+   * @throws IOException se alguma parte falhar após as repetições; as partes
+   *         concluídas são mantidas para a próxima tentativa.
+   */
+  public long download(com.google.api.services.drive.model.File metadata, File target) throws IOException {
+
+    long start = System.currentTimeMillis();
+
+    long size = metadata.getSize() == null ? 0 : metadata.getSize();
+
+    File part = new File(target.getPath() + ".part");
+    File stateFile = new File(target.getPath() + ".download.json");
+
+    DownloadState state = new DownloadState()
+                              .setFileId(metadata.getId())
+                                .setSize(size)
+                                  .setMd5Checksum(metadata.getMd5Checksum())
+                                    .setModifiedTime(metadata.getModifiedTime() == null ? null : metadata.getModifiedTime().toStringRfc3339())
+                                      .setChunkSize(chunkSize);
+
+    DownloadState saved = DownloadState.load(stateFile);
+
+    if(state.isResumableFrom(saved) && part.isFile() && part.length() == size) {
+      state.getCompletedChunks().addAll(saved.getCompletedChunks());
+      logger.info(String.format("Retomando download de '%s': %d partes já concluídas.", metadata.getId(), saved.getCompletedChunks().size()));
+    }
+
+    int chunkCount = (int) ((size + chunkSize - 1) / chunkSize);
+
+    Set<Integer> completed = new HashSet<Integer>(state.getCompletedChunks());
+    List<Integer> pending = new ArrayList<Integer>();
+    for(int i = 0; i < chunkCount; i++) {
+      if(!completed.contains(i)) {
+        pending.add(i);
+      }
+    }
+
+    FileChannel channel = FileChannel.open(part.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+    try {
+      if(completed.isEmpty()) {
+        /*
+         * Novo download: descarta conteúdo anterior e aloca o tamanho final,
+         * para que cada parte seja gravada na sua posição.
+         */
+        channel.truncate(0);
+        preallocate(channel, size);
+      }
+
+      state.save(stateFile);
+
+      if(!pending.isEmpty()) {
+        downloadChunks(metadata.getId(), channel, size, pending, state, stateFile);
+      }
+
+      channel.force(true);
+
+      if(verifyChecksum && metadata.getMd5Checksum() != null) {
+        String md5 = DriveChecksums.md5(channel);
+        if(!md5.equalsIgnoreCase(metadata.getMd5Checksum())) {
+          channel.close();
+          Files.deleteIfExists(part.toPath());
+          Files.deleteIfExists(stateFile.toPath());
+          throw new IOException(String.format("Checksum de '%s' não confere: esperado %s, obtido %s.",
+                  metadata.getId(), metadata.getMd5Checksum(), md5));
+        }
+      }
+    }
+    finally {
+      channel.close();
+    }
+
+    Files.move(part.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    Files.deleteIfExists(stateFile.toPath());
+
+    logger.fine(String.format("Download de '%s' concluído: %d bytes em %d partes, %d ms.",
+            metadata.getId(), size, chunkCount, System.currentTimeMillis() - start));
+
+    return size;
+  }
+
+  /**
+   * Exporta um documento do Google, gravando o conteúdo no disco à medida que
+   * é recebido. A exportação não aceita Range: em falha transitória é
+   * repetida desde o início.
+   *
+   * @param fileId id do documento no Drive.
+   * @param mimeType formato de exportação.
+   * @param target arquivo de destino (substituído se existir).
+   * @return quantidade de bytes do arquivo gravado.
+   * @throws IOException
+   */
+  public long export(String fileId, String mimeType, File target) throws IOException {
+
+    File part = new File(target.getPath() + ".part");
+
+    for(int attempt = 0; ; attempt++) {
+
+      try {
+        HttpResponse response = service.files().export(fileId, mimeType).executeMedia();
+
+        long size;
+        try {
+          size = transfer(response.getContent(), part);
+        }
+        finally {
+          response.disconnect();
+        }
+
+        Files.move(part.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        logger.fine(String.format("Exportação de '%s' como '%s' concluída: %d bytes.", fileId, mimeType, size));
+
+        return size;
+      }
+      catch(IOException e) {
+        if(attempt >= maxRetries || !DriveErrors.isRetryable(e)) {
+          Files.deleteIfExists(part.toPath());
+          throw e;
+        }
+        logger.fine(String.format("Exportação de '%s' falhou (%s), repetindo.", fileId, e.getMessage()));
+        DriveBackOff.sleep(initialBackOffMillis, attempt + 1, "Download interrompido.");
+      }
+    }
+  }
+
+  /**
+   * Baixa as partes pendentes em paralelo. A primeira parte que falhar de vez
+   * cancela as demais.
+   */
+  private void downloadChunks(final String fileId, final FileChannel channel, final long size, List<Integer> pending,
+          final DownloadState state, final File stateFile) throws IOException {
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, pending.size()));
+
+    try {
+      CompletionService<Void> completion = new ExecutorCompletionService<Void>(executor);
+
+      for(final Integer index : pending) {
+        completion.submit(new Callable<Void>() {
+
+          public Void call() throws IOException {
+
+            long from = index * chunkSize;
+            long to = Math.min(from + chunkSize, size);
+
+            downloadChunk(fileId, channel, from, to);
+
+            /*
+             * A parte só é registrada depois de gravada em disco: após uma
+             * queda, o estado nunca aponta uma parte que não está no arquivo.
+             */
+            channel.force(false);
+            synchronized(state) {
+              state.getCompletedChunks().add(index);
+              state.save(stateFile);
+            }
+
+            return null;
+          }
+        });
+      }
+
+      for(int i = 0; i < pending.size(); i++) {
+        await(completion);
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Baixa os bytes [from, to) para a mesma posição do arquivo. Cada repetição
+   * pede apenas o que ainda não foi gravado.
+   */
+  private void downloadChunk(String fileId, FileChannel channel, long from, long to) throws IOException {
+
+    long position = from;
+    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    for(int attempt = 0; ; attempt++) {
+
+      try {
+        Drive.Files.Get request = service.files().get(fileId);
+        request.getRequestHeaders().setRange("bytes=" + position + "-" + (to - 1));
+
+        HttpResponse response = request.executeMedia();
+
+        try {
+          InputStream in = response.getContent();
+
+          /*
+           * Um servidor pode ignorar o Range e devolver o arquivo inteiro (200).
+           */
+          if(response.getStatusCode() != 206) {
+            skipFully(in, position);
+          }
+
+          ReadableByteChannel source = Channels.newChannel(in);
+
+          while(position < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), to - position));
+            if(source.read(buffer) < 0) {
+              throw new IOException(String.format("Conteúdo de '%s' terminou em %d, esperado até %d.", fileId, position, to));
+            }
+            buffer.flip();
+            while(buffer.hasRemaining()) {
+              position += channel.write(buffer, position);
+            }
+          }
+        }
+        finally {
+          response.disconnect();
+        }
+
+        return;
+      }
+      catch(IOException e) {
+        if(attempt >= maxRetries || !DriveErrors.isRetryable(e)) {
+          throw e;
+        }
+        logger.fine(String.format("Parte [%d, %d) de '%s' falhou em %d (%s), repetindo.", from, to, fileId, position, e.getMessage()));
+        DriveBackOff.sleep(initialBackOffMillis, attempt + 1, "Download interrompido.");
+      }
+    }
+  }
+
+  /**
+   * Grava o conteúdo no arquivo sem acumulá-lo em memória.
+   */
+  private static long transfer(InputStream in, File file) throws IOException {
+
+    FileChannel out = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+    try {
+      ReadableByteChannel source = Channels.newChannel(in);
+      long position = 0;
+      for(long count; (count = out.transferFrom(source, position, BUFFER_SIZE)) > 0; ) {
+        position += count;
+      }
+      out.force(true);
+      return position;
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Aloca o tamanho final gravando o último byte, sem escrever o restante.
+   */
+  private static void preallocate(FileChannel channel, long size) throws IOException {
+    if(size > 0) {
+      channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+    }
+  }
+
+  private static void skipFully(InputStream in, long count) throws IOException {
+    while(count > 0) {
+      long skipped = in.skip(count);
+      if(skipped <= 0) {
+        if(in.read() < 0) {
+          throw new IOException("Conteúdo terminou antes da posição solicitada.");
+        }
+        skipped = 1;
+      }
+      count -= skipped;
+    }
+  }
+
+  private static void await(CompletionService<Void> completion) throws IOException {
+    try {
+      completion.take().get();
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Download interrompido.", e);
+    }
+    catch(ExecutionException e) {
+      if(e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+}
@@ -0,0 +1,626 @@
+package br.com.webnize.googleapis.drive.mirror;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.drive.Drive;
+
+import br.com.webnize.googleapis.drive.DriveChecksums;
+import br.com.webnize.googleapis.drive.crawl.CrawlEntry;
+import br.com.webnize.googleapis.drive.crawl.DriveCrawler;
+import br.com.webnize.googleapis.drive.download.DriveDownloader;
+
+/**
+ * Espelho local de uma pasta do Drive, que só transfere o que de fato mudou.
+ *
+ * A árvore remota é listada pelo {@link DriveCrawler} e cada arquivo é
+ * comparado com o {@link MirrorManifest} (id do Drive para md5, data de
+ * alteração e tamanho da versão copiada):
+ *
+ *<pre>
+ * - Arquivo binário com a mesma versão e cópia local intacta (mesmo tamanho
+ *   e data de alteração no disco): nada é feito;
+ * - Cópia local alterada, ou ainda não registrada mas com o mesmo tamanho: o
+ *   md5 local é calculado (leitura mapeada em memória, vários arquivos em
+ *   paralelo) e o arquivo só é baixado se for diferente do remoto;
+ * - Conteúdo já presente em outra cópia local com o mesmo md5: copiado no
+ *   disco, sem download;
+ * - Documento do Google: exportado apenas se a data de alteração mudou desde
+ *   a última exportação (o arquivo exportado é o cache).
+ * </pre>
+ *
+ * O Drive aceita arquivos com o mesmo nome na mesma pasta. Quando dois ou
+ * mais arquivos levariam ao mesmo caminho local (sem distinção de maiúsculas,
+ * como em sistemas de arquivos do macOS e do Windows), todos eles recebem o id
+ * do Drive no nome ("relatorio [1AbC...].pdf"), de forma que cada um tenha
+ * sempre a sua própria cópia, independente da ordem da listagem.
+ *
+ * Um arquivo cujo caminho local mudou (renomeado ou movido no Drive, ou que
+ * passou a ter o id no nome) tem a cópia anterior movida para o novo caminho,
+ * sem nova transferência, a menos que outro arquivo da listagem use o caminho
+ * anterior.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DriveMirror {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(DriveMirror.class.getName());
+
+  public static final String MANIFEST_FILE = ".drive-mirror.json";
+
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  /**
+   * Extensão do arquivo local de cada formato de exportação.
+   */
+  private static final Map<String, String> EXPORT_EXTENSIONS = new HashMap<String, String>();
+
+  static {
+    EXPORT_EXTENSIONS.put("application/vnd.openxmlformats-officedocument.wordprocessingml.document", ".docx");
+    EXPORT_EXTENSIONS.put("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", ".xlsx");
+    EXPORT_EXTENSIONS.put("application/vnd.openxmlformats-officedocument.presentationml.presentation", ".pptx");
+    EXPORT_EXTENSIONS.put("image/png", ".png");
+  }
+
+  /**
+   * Quantidade de arquivos processados entre gravações do manifesto.
+   */
+  private static final int SAVE_INTERVAL = 100;
+
+  private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final Drive service;
+
+  private final File root;
+
+  private final DriveDownloader downloader;
+
+  private int parallelism = DEFAULT_PARALLELISM;
+
+  private boolean verifyLocal;
+
+  private boolean deleteRemoved;
+
+  /**
+   * @param service cliente da Drive API.
+   * @param root diretório raiz do espelho local.
+   */
+  public DriveMirror(Drive service, File root) {
+    this.service = service;
+    this.root = root;
+    this.downloader = new DriveDownloader(service);
+  }
+
+  /**
+   * @return downloader usado nas transferências, para ajuste das partes e repetições.
+   */
+  public DriveDownloader getDownloader() {
+    return downloader;
+  }
+
+  /**
+   * @param parallelism quantidade de arquivos conferidos ou transferidos simultaneamente.
+   */
+  public DriveMirror setParallelism(int parallelism) {
+    if(parallelism < 1) {
+      throw new IllegalArgumentException("'parallelism' deve ser maior que zero.");
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * @param verifyLocal calcula o md5 de todas as cópias locais, mesmo as que
+   *        não mudaram de tamanho nem de data de alteração.
+   */
+  public DriveMirror setVerifyLocal(boolean verifyLocal) {
+    this.verifyLocal = verifyLocal;
+    return this;
+  }
+
+  /**
+   * @param deleteRemoved remove as cópias locais de arquivos que não estão mais na pasta do Drive.
+   */
+  public DriveMirror setDeleteRemoved(boolean deleteRemoved) {
+    this.deleteRemoved = deleteRemoved;
+    return this;
+  }
+
+  /**
+   * Atualiza o espelho com o conteúdo atual da pasta. A falha de um arquivo
+   * não interrompe os demais.
+   *
+   * @param folderId pasta do Drive ('root' para o Meu Drive inteiro).
+   * @return totais da atualização.
+   * @throws IOException se a listagem da pasta falhar ou a execução for interrompida.
+   */
+  public MirrorReport mirror(String folderId) throws IOException {
+
+    long start = System.currentTimeMillis();
+
+    Files.createDirectories(root.toPath());
+
+    Mirror mirror = new Mirror(new MirrorManifest(new File(root, MANIFEST_FILE)));
+
+    /*
+     * A listagem vai para um arquivo temporário: nem a árvore nem a fila de
+     * arquivos a conferir ficam inteiras em memória.
+     */
+    File listing = File.createTempFile(".drive-mirror", ".jsonl", root);
+
+    try {
+      Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(listing), UTF_8));
+      try {
+        new DriveCrawler(service).crawl(folderId, "", out);
+      }
+      finally {
+        out.close();
+      }
+
+      mirror.run(listing);
+
+      if(deleteRemoved) {
+        mirror.deleteRemoved();
+      }
+    }
+    finally {
+      mirror.manifest.save();
+      Files.deleteIfExists(listing.toPath());
+    }
+
+    MirrorReport report = new MirrorReport(mirror.unchanged.get(), mirror.downloaded.get(), mirror.exported.get(),
+            mirror.copied.get(), mirror.hashed.get(), mirror.failed.get(), mirror.bytes.get(), System.currentTimeMillis() - start);
+
+    logger.info("Espelho atualizado: " + report);
+
+    return report;
+  }
+
+  /**
+   * Estado de uma atualização do espelho, compartilhado pelas tarefas.
+   */
+  private class Mirror {
+
+    private final MirrorManifest manifest;
+
+    /**
+     * Cópias locais intactas por md5, para copiar em vez de baixar.
+     */
+    private final Map<String, File> localCopies = new ConcurrentHashMap<String, File>();
+
+    private final Set<String> seen = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * Hashes dos caminhos locais repetidos na listagem.
+     */
+    private final Set<Long> collisions = new HashSet<Long>();
+
+    /**
+     * Hashes, ordenados, dos caminhos locais de todos os arquivos da listagem.
+     */
+    private long[] paths = new long[0];
+
+    private final AtomicLong unchanged = new AtomicLong();
+
+    private final AtomicLong downloaded = new AtomicLong();
+
+    private final AtomicLong exported = new AtomicLong();
+
+    private final AtomicLong copied = new AtomicLong();
+
+    private final AtomicLong hashed = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final AtomicLong processed = new AtomicLong();
+
+    Mirror(MirrorManifest manifest) {
+      this.manifest = manifest;
+      for(ManifestEntry entry : manifest.getEntries().values()) {
+        File file = new File(root, entry.getPath());
+        if(entry.getMd5Checksum() != null && entry.isStampedBy(file)) {
+          localCopies.put(entry.getMd5Checksum(), file);
+        }
+      }
+    }
+
+    /**
+     * Confere os arquivos da listagem em paralelo, com no máximo o dobro de
+     * 'parallelism' arquivos lidos e ainda não conferidos.
+     */
+    private void run(File listing) throws IOException {
+
+      findCollisions(listing);
+
+      ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+      final Semaphore queued = new Semaphore(parallelism * 2);
+
+      BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(listing), UTF_8));
+
+      try {
+        for(String line; (line = reader.readLine()) != null; ) {
+
+          final CrawlEntry entry = JSON_FACTORY.fromString(line, CrawlEntry.class);
+          seen.add(entry.getId());
+
+          String localPath = localPath(entry);
+
+          if(localPath == null) {
+            if(!DriveCrawler.FOLDER_MIME_TYPE.equals(entry.getMimeType())) {
+              logger.fine(String.format("'%s' (%s) não tem conteúdo nem formato de exportação para espelhar.", entry.getPath(), entry.getMimeType()));
+            }
+            continue;
+          }
+
+          final String path = collisions.contains(pathHash(localPath)) ? withId(localPath, entry.getId()) : localPath;
+
+          queued.acquire();
+          executor.execute(new Runnable() {
+
+            public void run() {
+              try {
+                update(entry, path);
+              }
+              catch(IOException e) {
+                failed.incrementAndGet();
+                logger.warning(String.format("Falha ao espelhar '%s': %s", entry.getPath(), e.getMessage()));
+              }
+              finally {
+                queued.release();
+                if(processed.incrementAndGet() % SAVE_INTERVAL == 0) {
+                  save();
+                }
+              }
+            }
+          });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Atualização do espelho interrompida.", e);
+      }
+      finally {
+        reader.close();
+        executor.shutdownNow();
+      }
+    }
+
+    /**
+     * Primeira leitura da listagem: guarda apenas um hash de 64 bits por
+     * arquivo, para encontrar os caminhos locais repetidos e saber quais
+     * caminhos continuam em uso.
+     */
+    private void findCollisions(File listing) throws IOException {
+
+      long[] hashes = new long[1024];
+      int count = 0;
+
+      BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(listing), UTF_8));
+
+      try {
+        for(String line; (line = reader.readLine()) != null; ) {
+          String localPath = localPath(JSON_FACTORY.fromString(line, CrawlEntry.class));
+          if(localPath != null) {
+            if(count == hashes.length) {
+              hashes = Arrays.copyOf(hashes, count * 2);
+            }
+            hashes[count++] = pathHash(localPath);
+          }
+        }
+      }
+      finally {
+        reader.close();
+      }
+
+      Arrays.sort(hashes, 0, count);
+
+      for(int i = 1; i < count; i++) {
+        if(hashes[i] == hashes[i - 1]) {
+          collisions.add(hashes[i]);
+        }
+      }
+
+      paths = Arrays.copyOf(hashes, count);
+
+      if(!collisions.isEmpty()) {
+        logger.info(String.format("%d caminhos repetidos na pasta: os arquivos recebem o id do Drive no nome.", collisions.size()));
+      }
+    }
+
+    /**
+     * @return se algum arquivo da listagem usa o caminho local como está
+     *         (caminhos repetidos passam a ter o id no nome e ficam livres).
+     */
+    private boolean inUse(String path) {
+      long hash = pathHash(path);
+      return Arrays.binarySearch(paths, hash) >= 0 && !collisions.contains(hash);
+    }
+
+    /**
+     * Atualiza a cópia local de um arquivo, se necessário.
+     */
+    private void update(CrawlEntry entry, String path) throws IOException {
+
+      ManifestEntry known = manifest.get(entry.getId());
+
+      if(known != null && !path.equals(known.getPath())) {
+        relocate(entry.getId(), known, path);
+      }
+
+      String mimeType = entry.getMimeType();
+
+      if(mimeType != null && mimeType.startsWith(DriveDownloader.GOOGLE_APPS_MIME_PREFIX)) {
+        export(entry, path);
+      }
+      else {
+        download(entry, path);
+      }
+    }
+
+    /**
+     * Documento do Google: a exportação fica em cache enquanto a data de alteração não mudar.
+     */
+    private void export(CrawlEntry entry, String path) throws IOException {
+
+      String exportType = DriveDownloader.DEFAULT_EXPORT_TYPES.get(entry.getMimeType());
+      File target = target(path);
+
+      ManifestEntry known = manifest.get(entry.getId());
+
+      if(known != null && path.equals(known.getPath()) && exportType.equals(known.getExportMimeType())
+          && equal(entry.getModifiedTime(), known.getModifiedTime()) && target.isFile()) {
+        unchanged.incrementAndGet();
+        return;
+      }
+
+      Files.createDirectories(target.getParentFile().toPath());
+      bytes.addAndGet(downloader.export(entry.getId(), exportType, target));
+      exported.incrementAndGet();
+
+      manifest.put(entry.getId(), new ManifestEntry()
+                                      .setPath(path)
+                                        .setModifiedTime(entry.getModifiedTime())
+                                          .setExportMimeType(exportType)
+                                            .stamp(target));
+    }
+
+    /**
+     * Arquivo binário: baixado apenas se a cópia local não tiver o md5 remoto.
+     */
+    private void download(CrawlEntry entry, String path) throws IOException {
+
+      File target = target(path);
+      String md5 = entry.getMd5Checksum();
+      long size = entry.getSize() == null ? 0 : entry.getSize();
+
+      ManifestEntry known = manifest.get(entry.getId());
+
+      boolean sameVersion = known != null && path.equals(known.getPath()) && md5.equals(known.getMd5Checksum())
+          && equal(entry.getModifiedTime(), known.getModifiedTime());
+
+      if(sameVersion && !verifyLocal && known.isStampedBy(target)) {
+        unchanged.incrementAndGet();
+        localCopies.put(md5, target);
+        return;
+      }
+
+      /*
+       * Cópia local alterada no disco (ou ainda não registrada): só é
+       * substituída se o conteúdo for de fato diferente.
+       */
+      if(target.isFile() && target.length() == size) {
+        hashed.incrementAndGet();
+        if(md5.equalsIgnoreCase(DriveChecksums.md5(target))) {
+          unchanged.incrementAndGet();
+          record(entry, path, target);
+          return;
+        }
+        logger.fine(String.format("Cópia local de '%s' difere do Drive.", path));
+      }
+
+      Files.createDirectories(target.getParentFile().toPath());
+
+      File source = localCopies.get(md5);
+
+      if(source != null && !source.equals(target) && source.isFile() && source.length() == size) {
+        Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        copied.incrementAndGet();
+      }
+      else {
+        com.google.api.services.drive.model.File metadata = new com.google.api.services.drive.model.File()
+                                                                  .setId(entry.getId())
+                                                                    .setSize(size)
+                                                                      .setMd5Checksum(md5)
+                                                                        .setModifiedTime(entry.getModifiedTime() == null ? null : DateTime.parseRfc3339(entry.getModifiedTime()));
+        bytes.addAndGet(downloader.download(metadata, target));
+        downloaded.incrementAndGet();
+      }
+
+      record(entry, path, target);
+    }
+
+    /**
+     * Move a cópia anterior de um arquivo cujo caminho local mudou. Se o novo
+     * caminho já existe a cópia anterior é removida; se outro arquivo da
+     * listagem usa o caminho anterior, ela fica para ele.
+     */
+    private void relocate(String fileId, ManifestEntry known, String path) throws IOException {
+
+      if(inUse(known.getPath())) {
+        return;
+      }
+
+      File previous = target(known.getPath());
+
+      if(!previous.isFile()) {
+        return;
+      }
+
+      File target = target(path);
+
+      if(target.exists() && !Files.isSameFile(previous.toPath(), target.toPath())) {
+        Files.delete(previous.toPath());
+        logger.fine(String.format("Cópia anterior '%s' removida, substituída por '%s'.", known.getPath(), path));
+        return;
+      }
+
+      Files.createDirectories(target.getParentFile().toPath());
+      Files.move(previous.toPath(), target.toPath());
+
+      /*
+       * O move preserva tamanho e data de alteração: a cópia continua
+       * reconhecida pelo manifesto, agora no novo caminho.
+       */
+      manifest.put(fileId, known.clone().setPath(path));
+
+      if(known.getMd5Checksum() != null) {
+        localCopies.put(known.getMd5Checksum(), target);
+      }
+
+      logger.fine(String.format("Cópia de '%s' movida para '%s'.", known.getPath(), path));
+    }
+
+    private void record(CrawlEntry entry, String path, File target) {
+      manifest.put(entry.getId(), new ManifestEntry()
+                                      .setPath(path)
+                                        .setMd5Checksum(entry.getMd5Checksum())
+                                          .setModifiedTime(entry.getModifiedTime())
+                                            .setSize(entry.getSize())
+                                              .stamp(target));
+      localCopies.put(entry.getMd5Checksum(), target);
+    }
+
+    /**
+     * Remove as cópias locais de arquivos que não foram listados.
+     */
+    private void deleteRemoved() throws IOException {
+      for(Map.Entry<String, ManifestEntry> known : manifest.getEntries().entrySet()) {
+        if(!seen.contains(known.getKey())) {
+          Files.deleteIfExists(new File(root, known.getValue().getPath()).toPath());
+          manifest.remove(known.getKey());
+        }
+      }
+    }
+
+    private void save() {
+      try {
+        manifest.save();
+      }
+      catch(IOException e) {
+        logger.warning("Falha ao salvar o manifesto do espelho: " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * @return arquivo local do caminho remoto, que não pode sair da raiz do espelho.
+   */
+  private File target(String path) throws IOException {
+
+    File target = new File(root, path);
+
+    if(!target.getCanonicalPath().startsWith(root.getCanonicalPath() + File.separator)) {
+      throw new IOException("Caminho fora do espelho: " + path);
+    }
+
+    return target;
+  }
+
+  /**
+   * @return caminho local do arquivo, ou null se ele não é espelhado (pastas,
+   *         documentos sem formato de exportação, arquivos sem conteúdo).
+   */
+  private static String localPath(CrawlEntry entry) {
+
+    String mimeType = entry.getMimeType();
+
+    if(DriveCrawler.FOLDER_MIME_TYPE.equals(mimeType)) {
+      return null;
+    }
+
+    if(mimeType != null && mimeType.startsWith(DriveDownloader.GOOGLE_APPS_MIME_PREFIX)) {
+      String exportType = DriveDownloader.DEFAULT_EXPORT_TYPES.get(mimeType);
+      return exportType == null ? null : entry.getPath() + EXPORT_EXTENSIONS.get(exportType);
+    }
+
+    return entry.getMd5Checksum() == null ? null : entry.getPath();
+  }
+
+  /**
+   * @return caminho com o id do Drive antes da extensão: "a/b [id].pdf".
+   */
+  private static String withId(String path, String id) {
+
+    int slash = path.lastIndexOf('/');
+    int dot = path.lastIndexOf('.');
+
+    if(dot <= slash + 1) {
+      return path + " [" + id + "]";
+    }
+
+    return path.substring(0, dot) + " [" + id + "]" + path.substring(dot);
+  }
+
+  /**
+   * FNV-1a de 64 bits do caminho em minúsculas, já que caminhos que diferem
+   * apenas nas maiúsculas são o mesmo arquivo em sistemas de arquivos que não
+   * as distinguem.
+   */
+  private static long pathHash(String path) {
+
+    String key = path.toLowerCase(Locale.ROOT);
+
+    long hash = 0xcbf29ce484222325L;
+
+    for(int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+
+    return hash;
+  }
+
+  private static boolean equal(Object a, Object b) {
+    return a == null ? b == null : a.equals(b);
+  }
+
+}
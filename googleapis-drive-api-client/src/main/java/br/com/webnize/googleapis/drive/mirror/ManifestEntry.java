@@ -0,0 +1,130 @@
+package br.com.webnize.googleapis.drive.mirror;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.util.Key;
+
+/**
+ * Situação de um arquivo do Drive no espelho local: a versão remota copiada
+ * (md5, data de alteração e tamanho) e o carimbo do arquivo local (tamanho e
+ * data de alteração no disco) quando ele foi conferido pela última vez.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class ManifestEntry extends GenericJson {
+
+  @Key
+  private String path;
+
+  @Key
+  private String md5Checksum;
+
+  @Key
+  private String modifiedTime;
+
+  @Key
+  private Long size;
+
+  @Key
+  private String exportMimeType;
+
+  @Key
+  private Long localLength;
+
+  @Key
+  private Long localLastModified;
+
+  /**
+   * @return caminho do arquivo local, relativo à raiz do espelho.
+   */
+  public String getPath() {
+    return path;
+  }
+
+  public ManifestEntry setPath(String path) {
+    this.path = path;
+    return this;
+  }
+
+  public String getMd5Checksum() {
+    return md5Checksum;
+  }
+
+  public ManifestEntry setMd5Checksum(String md5Checksum) {
+    this.md5Checksum = md5Checksum;
+    return this;
+  }
+
+  public String getModifiedTime() {
+    return modifiedTime;
+  }
+
+  public ManifestEntry setModifiedTime(String modifiedTime) {
+    this.modifiedTime = modifiedTime;
+    return this;
+  }
+
+  public Long getSize() {
+    return size;
+  }
+
+  public ManifestEntry setSize(Long size) {
+    this.size = size;
+    return this;
+  }
+
+  /**
+   * @return formato da exportação, para documentos do Google.
+   */
+  public String getExportMimeType() {
+    return exportMimeType;
+  }
+
+  public ManifestEntry setExportMimeType(String exportMimeType) {
+    this.exportMimeType = exportMimeType;
+    return this;
+  }
+
+  public Long getLocalLength() {
+    return localLength;
+  }
+
+  public ManifestEntry setLocalLength(Long localLength) {
+    this.localLength = localLength;
+    return this;
+  }
+
+  public Long getLocalLastModified() {
+    return localLastModified;
+  }
+
+  public ManifestEntry setLocalLastModified(Long localLastModified) {
+    this.localLastModified = localLastModified;
+    return this;
+  }
+
+  /**
+   * @param file arquivo local.
+   * @return true se o arquivo não mudou no disco desde que foi conferido.
+   */
+  public boolean isStampedBy(java.io.File file) {
+    return localLength != null && localLastModified != null
+        && file.isFile() && file.length() == localLength && file.lastModified() == localLastModified;
+  }
+
+  /**
+   * Registra o tamanho e a data de alteração atuais do arquivo local.
+   */
+  public ManifestEntry stamp(java.io.File file) {
+    this.localLength = file.length();
+    this.localLastModified = file.lastModified();
+    return this;
+  }
+
+  @Override
+  public ManifestEntry clone() {
+    return (ManifestEntry) super.clone();
+  }
+
+}
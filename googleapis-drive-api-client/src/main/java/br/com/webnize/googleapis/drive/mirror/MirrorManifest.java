@@ -0,0 +1,116 @@
+package br.com.webnize.googleapis.drive.mirror;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.util.Key;
+
+/**
+ * Manifesto do espelho local: id do arquivo no Drive para {@link ManifestEntry},
+ * salvo em JSON na raiz do espelho.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class MirrorManifest {
+
+  private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final File file;
+
+  private final Map<String, ManifestEntry> entries = new ConcurrentHashMap<String, ManifestEntry>();
+
+  /**
+   * @param file arquivo do manifesto (lido se existir).
+   * @throws IOException
+   */
+  public MirrorManifest(File file) throws IOException {
+
+    this.file = file;
+
+    if(file.isFile()) {
+      InputStream in = new FileInputStream(file);
+      try {
+        Content content = JSON_FACTORY.fromInputStream(in, UTF_8, Content.class);
+        if(content.entries != null) {
+          entries.putAll(content.entries);
+        }
+      }
+      finally {
+        in.close();
+      }
+    }
+  }
+
+  /**
+   * @param fileId id do arquivo no Drive.
+   * @return situação do arquivo no espelho, ou null se ainda não foi copiado.
+   */
+  public ManifestEntry get(String fileId) {
+    return entries.get(fileId);
+  }
+
+  public void put(String fileId, ManifestEntry entry) {
+    entries.put(fileId, entry);
+  }
+
+  public void remove(String fileId) {
+    entries.remove(fileId);
+  }
+
+  /**
+   * @return cópia das entradas, por id.
+   */
+  public Map<String, ManifestEntry> getEntries() {
+    return new HashMap<String, ManifestEntry>(entries);
+  }
+
+  /**
+   * Salva o manifesto em um arquivo temporário e o move sobre o anterior.
+   *
+   * @throws IOException
+   */
+  public synchronized void save() throws IOException {
+
+    Content content = new Content();
+    content.entries = new HashMap<String, ManifestEntry>(entries);
+
+    File temp = new File(file.getPath() + ".tmp");
+
+    FileOutputStream out = new FileOutputStream(temp);
+    try {
+      out.write(JSON_FACTORY.toByteArray(content));
+      out.getChannel().force(true);
+    }
+    finally {
+      out.close();
+    }
+
+    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Conteúdo do arquivo JSON do manifesto.
+   */
+  public static class Content extends GenericJson {
+
+    @Key
+    private Map<String, ManifestEntry> entries;
+  }
+
+}
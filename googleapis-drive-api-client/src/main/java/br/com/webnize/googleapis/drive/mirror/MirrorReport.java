@@ -0,0 +1,96 @@
+package br.com.webnize.googleapis.drive.mirror;
+
+/**
+ * Resultado de uma atualização do espelho local.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class MirrorReport {
+
+  private final long unchanged;
+
+  private final long downloaded;
+
+  private final long exported;
+
+  private final long copied;
+
+  private final long hashed;
+
+  private final long failed;
+
+  private final long bytesDownloaded;
+
+  private final long elapsedMillis;
+
+  MirrorReport(long unchanged, long downloaded, long exported, long copied, long hashed, long failed, long bytesDownloaded,
+          long elapsedMillis) {
+    this.unchanged = unchanged;
+    this.downloaded = downloaded;
+    this.exported = exported;
+    this.copied = copied;
+    this.hashed = hashed;
+    this.failed = failed;
+    this.bytesDownloaded = bytesDownloaded;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * @return arquivos cuja cópia local já estava atualizada.
+   */
+  public long getUnchanged() {
+    return unchanged;
+  }
+
+  /**
+   * @return arquivos binários baixados.
+   */
+  public long getDownloaded() {
+    return downloaded;
+  }
+
+  /**
+   * @return documentos do Google exportados (novos ou editados).
+   */
+  public long getExported() {
+    return exported;
+  }
+
+  /**
+   * @return arquivos copiados de outra cópia local com o mesmo md5, sem download.
+   */
+  public long getCopied() {
+    return copied;
+  }
+
+  /**
+   * @return arquivos locais cujo md5 foi calculado.
+   */
+  public long getHashed() {
+    return hashed;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  /**
+   * @return bytes baixados ou exportados.
+   */
+  public long getBytesDownloaded() {
+    return bytesDownloaded;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d sem alteração, %d baixados, %d exportados, %d copiados localmente, %d conferidos por md5, %d com falha; %.1f MB baixados em %d ms",
+            unchanged, downloaded, exported, copied, hashed, failed, bytesDownloaded / (1024.0 * 1024.0), elapsedMillis);
+  }
+
+}
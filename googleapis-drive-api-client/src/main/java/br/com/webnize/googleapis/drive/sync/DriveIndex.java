@@ -0,0 +1,341 @@
+package br.com.webnize.googleapis.drive.sync;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+
+/**
+ * Índice local dos metadados dos arquivos do Drive (id, nome, pastas, md5,
+ * data de alteração), mantido por {@link DriveSync}.
+ *
+ * O índice fica em um diretório, em arquivos JSONL (um {@link IndexEntry}
+ * por linha), para que uma sincronização custe apenas o número de alterações
+ * e não o tamanho do Drive:
+ *
+ *<pre>
+ *   index.jsonl   - imagem completa do índice, gravada na primeira sincronização e a cada compactação;
+ *   changes.jsonl - diário das alterações posteriores, apenas acrescentadas;
+ *   page-token    - token da próxima página de changes.list, gravado depois das alterações.
+ * </pre>
+ *
+ * O estado atual é a imagem com o diário aplicado em ordem ({@link #load()}).
+ * Quando o diário fica maior que a imagem, os dois são compactados em uma
+ * nova imagem ({@link #compactIfNeeded()}).
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DriveIndex {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(DriveIndex.class.getName());
+
+  private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final File snapshotFile;
+
+  private final File journalFile;
+
+  private final File pageTokenFile;
+
+  /**
+   * @param directory diretório do índice (criado se não existir).
+   * @throws IOException
+   */
+  public DriveIndex(File directory) throws IOException {
+    Files.createDirectories(directory.toPath());
+    this.snapshotFile = new File(directory, "index.jsonl");
+    this.journalFile = new File(directory, "changes.jsonl");
+    this.pageTokenFile = new File(directory, "page-token");
+  }
+
+  /**
+   * @return token da próxima página de changes.list, ou null se o índice
+   *         ainda não foi sincronizado.
+   * @throws IOException
+   */
+  public String getPageToken() throws IOException {
+    if(!pageTokenFile.isFile()) {
+      return null;
+    }
+    return new String(Files.readAllBytes(pageTokenFile.toPath()), UTF_8).trim();
+  }
+
+  /**
+   * Grava o token depois das alterações a que ele se refere: após uma queda,
+   * as alterações de uma página podem ser aplicadas de novo, nunca perdidas.
+   *
+   * @param pageToken token da próxima página de changes.list.
+   * @throws IOException
+   */
+  public void setPageToken(String pageToken) throws IOException {
+    replace(pageTokenFile, pageToken.getBytes(UTF_8));
+  }
+
+  /**
+   * Acrescenta alterações ao diário e as grava em disco antes de retornar.
+   *
+   * Uma última linha incompleta, de uma gravação interrompida, é descartada
+   * antes: as alterações dela voltam na página reaplicada, pois o token não
+   * avançou, e não podem ser emendadas à primeira entrada nova.
+   *
+   * @param entries arquivos alterados ou removidos.
+   * @throws IOException
+   */
+  public void append(List<IndexEntry> entries) throws IOException {
+
+    if(entries.isEmpty()) {
+      return;
+    }
+
+    RandomAccessFile file = new RandomAccessFile(journalFile, "rw");
+
+    try {
+      long length = completeLength(file);
+      if(length < file.length()) {
+        logger.warning(String.format("Linha incompleta no fim de '%s' descartada (%d bytes).", journalFile, file.length() - length));
+        file.setLength(length);
+      }
+      file.seek(length);
+
+      Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(file.getChannel()), UTF_8));
+      for(IndexEntry entry : entries) {
+        writer.write(JSON_FACTORY.toString(entry));
+        writer.write('\n');
+      }
+      writer.flush();
+      file.getChannel().force(true);
+    }
+    finally {
+      file.close();
+    }
+  }
+
+  /**
+   * @return tamanho do arquivo até o último '\n', inclusive (0 se não houver).
+   */
+  private static long completeLength(RandomAccessFile file) throws IOException {
+
+    byte[] buffer = new byte[8192];
+
+    for(long end = file.length(); end > 0; ) {
+
+      int size = (int) Math.min(buffer.length, end);
+      long start = end - size;
+
+      file.seek(start);
+      file.readFully(buffer, 0, size);
+
+      for(int i = size - 1; i >= 0; i--) {
+        if(buffer[i] == '\n') {
+          return start + i + 1;
+        }
+      }
+
+      end = start;
+    }
+
+    return 0;
+  }
+
+  /**
+   * Inicia a gravação de uma nova imagem completa do índice, que substitui a
+   * atual e o diário apenas em {@link SnapshotWriter#commit()}.
+   *
+   * @return gravador da imagem.
+   * @throws IOException
+   */
+  public SnapshotWriter newSnapshot() throws IOException {
+    return new SnapshotWriter();
+  }
+
+  /**
+   * @return arquivos indexados, por id: a imagem com o diário aplicado.
+   * @throws IOException
+   */
+  public Map<String, IndexEntry> load() throws IOException {
+
+    Map<String, IndexEntry> entries = new HashMap<String, IndexEntry>();
+
+    read(snapshotFile, entries);
+    read(journalFile, entries);
+
+    return entries;
+  }
+
+  /**
+   * Compacta a imagem e o diário quando o diário fica maior que a imagem, de
+   * forma que o custo da compactação seja diluído entre as alterações.
+   *
+   * @return true se o índice foi compactado.
+   * @throws IOException
+   */
+  public boolean compactIfNeeded() throws IOException {
+
+    if(journalFile.length() <= Math.max(snapshotFile.length(), 1024 * 1024)) {
+      return false;
+    }
+
+    compact();
+
+    return true;
+  }
+
+  /**
+   * Grava o estado atual como nova imagem e descarta o diário.
+   *
+   * @throws IOException
+   */
+  public void compact() throws IOException {
+
+    Map<String, IndexEntry> entries = load();
+
+    SnapshotWriter snapshot = newSnapshot();
+    try {
+      for(IndexEntry entry : entries.values()) {
+        snapshot.write(entry);
+      }
+      snapshot.commit();
+    }
+    finally {
+      snapshot.close();
+    }
+
+    logger.fine(String.format("Índice compactado: %d arquivos.", entries.size()));
+  }
+
+  private static void read(File file, Map<String, IndexEntry> entries) throws IOException {
+
+    if(!file.isFile()) {
+      return;
+    }
+
+    BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+
+    try {
+      for(String line; (line = reader.readLine()) != null; ) {
+        if(line.isEmpty()) {
+          continue;
+        }
+        IndexEntry entry;
+        try {
+          entry = JSON_FACTORY.fromString(line, IndexEntry.class);
+        }
+        catch(IOException e) {
+          /*
+           * Última linha incompleta de uma gravação interrompida (descartada
+           * no próximo append): as alterações dela serão lidas de novo, pois
+           * o token não avançou.
+           */
+          logger.warning(String.format("Linha inválida em '%s' ignorada: %s", file, e.getMessage()));
+          continue;
+        }
+        if(entry.isRemoved()) {
+          entries.remove(entry.getId());
+        }
+        else {
+          entries.put(entry.getId(), entry);
+        }
+      }
+    }
+    finally {
+      reader.close();
+    }
+  }
+
+  private static void replace(File file, byte[] content) throws IOException {
+
+    File temp = new File(file.getPath() + ".tmp");
+
+    FileOutputStream out = new FileOutputStream(temp);
+    try {
+      out.write(content);
+      out.getChannel().force(true);
+    }
+    finally {
+      out.close();
+    }
+
+    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Gravação em fluxo de uma imagem completa do índice, sem manter os
+   * arquivos em memória.
+   */
+  public class SnapshotWriter {
+
+    private final File temp = new File(snapshotFile.getPath() + ".tmp");
+
+    private final FileOutputStream out;
+
+    private final Writer writer;
+
+    private long count;
+
+    SnapshotWriter() throws IOException {
+      out = new FileOutputStream(temp);
+      writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+    }
+
+    public void write(IndexEntry entry) throws IOException {
+      writer.write(JSON_FACTORY.toString(entry));
+      writer.write('\n');
+      count++;
+    }
+
+    /**
+     * @return arquivos gravados até o momento.
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Substitui a imagem atual pela gravada e descarta o diário.
+     *
+     * @throws IOException
+     */
+    public void commit() throws IOException {
+      writer.flush();
+      out.getChannel().force(true);
+      writer.close();
+      Files.move(temp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      Files.deleteIfExists(journalFile.toPath());
+    }
+
+    /**
+     * Descarta a imagem se {@link #commit()} não foi chamado.
+     *
+     * @throws IOException
+     */
+    public void close() throws IOException {
+      writer.close();
+      Files.deleteIfExists(temp.toPath());
+    }
+  }
+
+}
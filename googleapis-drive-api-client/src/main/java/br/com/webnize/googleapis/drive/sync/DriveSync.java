@@ -0,0 +1,242 @@
+package br.com.webnize.googleapis.drive.sync;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import com.google.api.client.googleapis.services.AbstractGoogleClientRequest;
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.Change;
+import com.google.api.services.drive.model.ChangeList;
+import com.google.api.services.drive.model.FileList;
+
+import br.com.webnize.googleapis.drive.DriveBackOff;
+import br.com.webnize.googleapis.drive.DriveErrors;
+
+/**
+ * Sincronização incremental de um {@link DriveIndex} com o Drive.
+ *
+ * A primeira sincronização obtém o token inicial de changes.getStartPageToken
+ * e, em seguida, lista todos os arquivos em uma nova imagem do índice:
+ * alterações feitas durante a listagem são lidas na próxima sincronização. As
+ * seguintes percorrem apenas changes.list a partir do token salvo, de forma
+ * que o custo de cada execução é proporcional ao número de alterações desde a
+ * anterior, e não ao tamanho do Drive.
+ *
+ * Cada página de alterações é gravada no diário do índice antes de o token
+ * avançar: uma sincronização interrompida continua da última página gravada.
+ *
+ * @see https://developers.google.com/drive/api/v3/manage-changes
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DriveSync {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(DriveSync.class.getName());
+
+  /**
+   * Tamanho máximo de página aceito por files.list e changes.list.
+   */
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  public static final int DEFAULT_MAX_RETRIES = 5;
+
+  public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 1000;
+
+  /**
+   * Apenas os campos indexados são pedidos à API.
+   */
+  private static final String FILE_FIELDS = "id,name,mimeType,parents,md5Checksum,modifiedTime,size,trashed";
+
+  private static final String LIST_FIELDS = "nextPageToken,files(" + FILE_FIELDS + ")";
+
+  private static final String CHANGES_FIELDS = "nextPageToken,newStartPageToken,changes(fileId,removed,file(" + FILE_FIELDS + "))";
+
+  private final Drive service;
+
+  private final DriveIndex index;
+
+  private int pageSize = MAX_PAGE_SIZE;
+
+  private int maxRetries = DEFAULT_MAX_RETRIES;
+
+  private long initialBackOffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+
+  private int httpRequests;
+
+  /**
+   * @param service cliente da Drive API.
+   * @param index índice local a ser mantido.
+   */
+  public DriveSync(Drive service, DriveIndex index) {
+    this.service = service;
+    this.index = index;
+  }
+
+  /**
+   * @param pageSize arquivos ou alterações por página (1 a {@value #MAX_PAGE_SIZE}).
+   */
+  public DriveSync setPageSize(int pageSize) {
+    if(pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("'pageSize' deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+    }
+    this.pageSize = pageSize;
+    return this;
+  }
+
+  /**
+   * @param maxRetries quantidade máxima de repetições de uma página com falha transitória.
+   */
+  public DriveSync setMaxRetries(int maxRetries) {
+    this.maxRetries = maxRetries;
+    return this;
+  }
+
+  /**
+   * @param initialBackOffMillis espera antes da primeira repetição, dobrada a cada repetição.
+   */
+  public DriveSync setInitialBackOffMillis(long initialBackOffMillis) {
+    this.initialBackOffMillis = initialBackOffMillis;
+    return this;
+  }
+
+  /**
+   * Atualiza o índice: listagem completa na primeira execução, apenas as
+   * alterações desde a execução anterior nas seguintes.
+   *
+   * @return resultado da sincronização.
+   * @throws IOException
+   */
+  public synchronized SyncReport sync() throws IOException {
+
+    long start = System.currentTimeMillis();
+    httpRequests = 0;
+
+    String pageToken = index.getPageToken();
+
+    SyncReport report = pageToken == null ? fullScan(start) : applyChanges(pageToken, start);
+
+    index.compactIfNeeded();
+
+    logger.info(report.toString());
+
+    return report;
+  }
+
+  /**
+   * Lista todos os arquivos em uma nova imagem do índice.
+   */
+  private SyncReport fullScan(long start) throws IOException {
+
+    /*
+     * O token é obtido antes da listagem: o que mudar durante ela aparece
+     * nas alterações da próxima sincronização.
+     */
+    String startPageToken = execute(service.changes().getStartPageToken()).getStartPageToken();
+
+    DriveIndex.SnapshotWriter snapshot = index.newSnapshot();
+
+    try {
+      Drive.Files.List request = service.files().list()
+                                    .setQ("trashed = false")
+                                      .setPageSize(pageSize)
+                                        .setFields(LIST_FIELDS);
+      String pageToken = null;
+
+      do {
+        FileList page = execute(request.setPageToken(pageToken));
+        if(page.getFiles() != null) {
+          for(com.google.api.services.drive.model.File file : page.getFiles()) {
+            snapshot.write(IndexEntry.of(file));
+          }
+        }
+        pageToken = page.getNextPageToken();
+      }
+      while(pageToken != null);
+
+      snapshot.commit();
+    }
+    finally {
+      snapshot.close();
+    }
+
+    index.setPageToken(startPageToken);
+
+    return new SyncReport(true, snapshot.getCount(), 0, httpRequests, System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Aplica as alterações a partir do token salvo, página a página.
+   */
+  private SyncReport applyChanges(String pageToken, long start) throws IOException {
+
+    long updated = 0;
+    long removed = 0;
+
+    while(true) {
+
+      ChangeList page = execute(service.changes().list(pageToken)
+                                  .setPageSize(pageSize)
+                                    .setIncludeRemoved(true)
+                                      .setSpaces("drive")
+                                        .setFields(CHANGES_FIELDS));
+
+      List<IndexEntry> entries = new ArrayList<IndexEntry>();
+
+      if(page.getChanges() != null) {
+        for(Change change : page.getChanges()) {
+          if(change.getFileId() == null) {
+            continue;
+          }
+          if(Boolean.TRUE.equals(change.getRemoved()) || change.getFile() == null || Boolean.TRUE.equals(change.getFile().getTrashed())) {
+            entries.add(IndexEntry.removal(change.getFileId()));
+            removed++;
+          }
+          else {
+            entries.add(IndexEntry.of(change.getFile()));
+            updated++;
+          }
+        }
+      }
+
+      index.append(entries);
+
+      if(page.getNewStartPageToken() != null) {
+        index.setPageToken(page.getNewStartPageToken());
+        break;
+      }
+
+      pageToken = page.getNextPageToken();
+      index.setPageToken(pageToken);
+    }
+
+    return new SyncReport(false, updated, removed, httpRequests, System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Executa uma chamada, repetindo-a em falhas transitórias.
+   */
+  private <T> T execute(AbstractGoogleClientRequest<T> request) throws IOException {
+
+    for(int attempt = 0; ; attempt++) {
+      httpRequests++;
+      try {
+        return request.execute();
+      }
+      catch(IOException e) {
+        if(attempt >= maxRetries || !DriveErrors.isRetryable(e)) {
+          throw e;
+        }
+        logger.fine(String.format("Chamada à Drive API falhou (%s), repetindo.", e.getMessage()));
+        DriveBackOff.sleep(initialBackOffMillis, attempt + 1, "Sincronização interrompida.");
+      }
+    }
+  }
+
+}
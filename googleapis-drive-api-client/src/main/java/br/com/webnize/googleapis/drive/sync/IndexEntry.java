@@ -0,0 +1,149 @@
+package br.com.webnize.googleapis.drive.sync;
+
+import java.util.List;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.util.Key;
+
+/**
+ * Metadados de um arquivo do Drive no índice local: uma linha JSON do
+ * arquivo de índice ou do diário de alterações. No diário, uma entrada com
+ * 'removed' indica que o arquivo foi excluído ou enviado para a lixeira.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class IndexEntry extends GenericJson {
+
+  @Key
+  private String id;
+
+  @Key
+  private String name;
+
+  @Key
+  private String mimeType;
+
+  @Key
+  private List<String> parents;
+
+  @Key
+  private String md5Checksum;
+
+  @Key
+  private String modifiedTime;
+
+  @Key
+  private Long size;
+
+  @Key
+  private Boolean removed;
+
+  /**
+   * @param file arquivo devolvido pela Drive API.
+   * @return entrada com os metadados indexados do arquivo.
+   */
+  public static IndexEntry of(com.google.api.services.drive.model.File file) {
+    return new IndexEntry()
+                .setId(file.getId())
+                  .setName(file.getName())
+                    .setMimeType(file.getMimeType())
+                      .setParents(file.getParents())
+                        .setMd5Checksum(file.getMd5Checksum())
+                          .setModifiedTime(file.getModifiedTime() == null ? null : file.getModifiedTime().toStringRfc3339())
+                            .setSize(file.getSize());
+  }
+
+  /**
+   * @param id id do arquivo excluído.
+   * @return entrada de diário que remove o arquivo do índice.
+   */
+  public static IndexEntry removal(String id) {
+    return new IndexEntry().setId(id).setRemoved(true);
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public IndexEntry setId(String id) {
+    this.id = id;
+    return this;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public IndexEntry setName(String name) {
+    this.name = name;
+    return this;
+  }
+
+  public String getMimeType() {
+    return mimeType;
+  }
+
+  public IndexEntry setMimeType(String mimeType) {
+    this.mimeType = mimeType;
+    return this;
+  }
+
+  public List<String> getParents() {
+    return parents;
+  }
+
+  public IndexEntry setParents(List<String> parents) {
+    this.parents = parents;
+    return this;
+  }
+
+  public String getMd5Checksum() {
+    return md5Checksum;
+  }
+
+  public IndexEntry setMd5Checksum(String md5Checksum) {
+    this.md5Checksum = md5Checksum;
+    return this;
+  }
+
+  /**
+   * @return data de alteração no formato RFC 3339.
+   */
+  public String getModifiedTime() {
+    return modifiedTime;
+  }
+
+  public IndexEntry setModifiedTime(String modifiedTime) {
+    this.modifiedTime = modifiedTime;
+    return this;
+  }
+
+  /**
+   * @return tamanho em bytes (null para documentos do Google e pastas).
+   */
+  public Long getSize() {
+    return size;
+  }
+
+  public IndexEntry setSize(Long size) {
+    this.size = size;
+    return this;
+  }
+
+  public boolean isRemoved() {
+    return Boolean.TRUE.equals(removed);
+  }
+
+  public IndexEntry setRemoved(Boolean removed) {
+    this.removed = removed;
+    return this;
+  }
+
+  @Override
+  public IndexEntry clone() {
+    return (IndexEntry) super.clone();
+  }
+
+}
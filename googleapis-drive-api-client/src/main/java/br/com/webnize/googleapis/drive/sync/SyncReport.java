@@ -0,0 +1,68 @@
+package br.com.webnize.googleapis.drive.sync;
+
+/**
+ * Resultado de uma sincronização do índice local.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class SyncReport {
+
+  private final boolean fullScan;
+
+  private final long updated;
+
+  private final long removed;
+
+  private final int httpRequests;
+
+  private final long elapsedMillis;
+
+  SyncReport(boolean fullScan, long updated, long removed, int httpRequests, long elapsedMillis) {
+    this.fullScan = fullScan;
+    this.updated = updated;
+    this.removed = removed;
+    this.httpRequests = httpRequests;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * @return true se foi a primeira sincronização, com a listagem de todos os arquivos.
+   */
+  public boolean isFullScan() {
+    return fullScan;
+  }
+
+  /**
+   * @return arquivos incluídos ou alterados no índice.
+   */
+  public long getUpdated() {
+    return updated;
+  }
+
+  /**
+   * @return arquivos excluídos ou enviados para a lixeira, removidos do índice.
+   */
+  public long getRemoved() {
+    return removed;
+  }
+
+  /**
+   * @return chamadas à Drive API, incluindo repetições.
+   */
+  public int getHttpRequests() {
+    return httpRequests;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: %d alterados, %d removidos, %d HTTP requests em %d ms",
+            fullScan ? "Sincronização completa" : "Sincronização incremental", updated, removed, httpRequests, elapsedMillis);
+  }
+
+}
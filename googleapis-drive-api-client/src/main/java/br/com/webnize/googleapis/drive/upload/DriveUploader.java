@@ -0,0 +1,382 @@
+package br.com.webnize.googleapis.drive.upload;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.EmptyContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpContent;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.json.JsonHttpContent;
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import com.google.api.services.drive.Drive;
+
+import br.com.webnize.googleapis.drive.DriveBackOff;
+import br.com.webnize.googleapis.drive.DriveErrors;
+
+/**
+ * Envio de muitos arquivos ao Drive pelo protocolo de upload resumable.
+ *
+ * Até 'parallelism' arquivos são enviados ao mesmo tempo, cada um em partes
+ * de 'chunkSize' bytes lidas do disco por mapeamento em memória. A URI da
+ * sessão de upload é salva no {@link DataStoreFactory} informado assim que
+ * criada: se o envio for interrompido (falha de rede, queda do processo), a
+ * próxima tentativa pergunta ao Drive quantos bytes já foram confirmados e
+ * continua dali, em vez de recomeçar o arquivo. Sessões expiradas (404/410)
+ * são descartadas e o arquivo é enviado desde o início.
+ *
+ *<pre>
+ * Exemplo:
+ *   DriveUploader uploader = new DriveUploader(service, new FileDataStoreFactory(new java.io.File("/var/lib/uploads")))
+ *                                  .setParallelism(8);
+ *   UploadReport report = uploader.upload(jobs);
+ *   System.out.println(report);  // 1000 arquivos (...), 12.3 MB/s
+ * </pre>
+ *
+ * @see https://developers.google.com/drive/api/v3/manage-uploads#resumable
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class DriveUploader {
+
+  /**
+   * Classe responsável pela geração de logs.
+   */
+  private static java.util.logging.Logger logger = Logger.getLogger(DriveUploader.class.getName());
+
+  /**
+   * As partes de um upload resumable devem ter tamanho múltiplo de 256 KB (exceto a última).
+   */
+  public static final int CHUNK_GRANULARITY = 256 * 1024;
+
+  public static final int DEFAULT_CHUNK_SIZE = 32 * CHUNK_GRANULARITY;
+
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  public static final int DEFAULT_MAX_RETRIES = 5;
+
+  public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 1000;
+
+  /**
+   * Nome do DataStore onde as URIs das sessões de upload são salvas.
+   */
+  public static final String SESSION_STORE_ID = "DriveUploadSessions";
+
+  private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+  private static final String RESULT_FIELDS = "id,name,mimeType,size,md5Checksum,parents";
+
+  /**
+   * Status devolvido enquanto o upload não está completo ("Resume Incomplete").
+   */
+  private static final int RESUME_INCOMPLETE = 308;
+
+  private final Drive service;
+
+  private final DataStore<String> sessions;
+
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+  private int parallelism = DEFAULT_PARALLELISM;
+
+  private int maxRetries = DEFAULT_MAX_RETRIES;
+
+  private long initialBackOffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+
+  /**
+   * @param service cliente da Drive API.
+   * @param sessionStoreFactory onde salvar as sessões de upload em andamento
+   *        (um FileDataStoreFactory para que sobrevivam ao processo).
+   * @throws IOException
+   */
+  public DriveUploader(Drive service, DataStoreFactory sessionStoreFactory) throws IOException {
+    this.service = service;
+    this.sessions = sessionStoreFactory.getDataStore(SESSION_STORE_ID);
+  }
+
+  /**
+   * @param chunkSize tamanho de cada parte enviada em um HTTP request, múltiplo de {@value #CHUNK_GRANULARITY}.
+   */
+  public DriveUploader setChunkSize(int chunkSize) {
+    if(chunkSize < CHUNK_GRANULARITY || chunkSize % CHUNK_GRANULARITY != 0) {
+      throw new IllegalArgumentException("'chunkSize' deve ser múltiplo de " + CHUNK_GRANULARITY + " bytes.");
+    }
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  /**
+   * @param parallelism quantidade máxima de arquivos enviados simultaneamente.
+   */
+  public DriveUploader setParallelism(int parallelism) {
+    if(parallelism < 1) {
+      throw new IllegalArgumentException("'parallelism' deve ser maior que zero.");
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * @param maxRetries quantidade máxima de repetições de um arquivo com falha transitória.
+   */
+  public DriveUploader setMaxRetries(int maxRetries) {
+    this.maxRetries = maxRetries;
+    return this;
+  }
+
+  /**
+   * @param initialBackOffMillis espera antes da primeira repetição, dobrada a cada repetição.
+   */
+  public DriveUploader setInitialBackOffMillis(long initialBackOffMillis) {
+    this.initialBackOffMillis = initialBackOffMillis;
+    return this;
+  }
+
+  /**
+   * Envia os arquivos e aguarda a conclusão de todos eles. A falha de um
+   * arquivo não interrompe os demais.
+   *
+   * @param jobs arquivos a enviar.
+   * @return relatório com o resultado de cada arquivo, na ordem informada.
+   * @throws IOException se a execução for interrompida.
+   */
+  public UploadReport upload(List<UploadJob> jobs) throws IOException {
+
+    long start = System.currentTimeMillis();
+
+    List<UploadResult> results = new ArrayList<UploadResult>(jobs.size());
+
+    if(jobs.isEmpty()) {
+      return new UploadReport(results, 0);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, jobs.size()));
+
+    try {
+      List<Future<UploadResult>> futures = new ArrayList<Future<UploadResult>>(jobs.size());
+
+      for(final UploadJob job : jobs) {
+        futures.add(executor.submit(new Callable<UploadResult>() {
+
+          public UploadResult call() throws IOException {
+            return upload(job);
+          }
+        }));
+      }
+
+      for(Future<UploadResult> future : futures) {
+        results.add(await(future));
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+
+    UploadReport report = new UploadReport(results, System.currentTimeMillis() - start);
+
+    logger.info("Envio concluído: " + report);
+
+    return report;
+  }
+
+  /**
+   * Envia um arquivo, retomando a sessão salva se houver.
+   */
+  private UploadResult upload(UploadJob job) throws IOException {
+
+    long start = System.currentTimeMillis();
+
+    String key = job.getSessionKey();
+    String sessionUri = sessions.get(key);
+    boolean resumed = sessionUri != null;
+
+    int retries = 0;
+    long bytesSent = 0;
+
+    FileChannel channel = FileChannel.open(job.getFile().toPath(), StandardOpenOption.READ);
+
+    try {
+      long size = channel.size();
+      String mimeType = mimeType(job);
+
+      /*
+       * Sem sessão salva o envio começa do zero; com sessão (salva ou após
+       * uma falha) a posição é consultada no Drive.
+       */
+      long offset = resumed ? -1 : 0;
+
+      while(true) {
+        try {
+          if(sessionUri == null) {
+            sessionUri = initiate(job, mimeType, size);
+            sessions.set(key, sessionUri);
+            offset = 0;
+          }
+
+          HttpResponse response;
+
+          if(offset < 0) {
+            response = send(sessionUri, new EmptyContent(), "bytes */" + size);
+          }
+          else {
+            int length = (int) Math.min(chunkSize, size - offset);
+            ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            response = send(sessionUri, new MappedContent(chunk, mimeType), contentRange(offset, length, size));
+            bytesSent += length;
+          }
+
+          try {
+            int status = response.getStatusCode();
+
+            if(status == 200 || status == 201) {
+              com.google.api.services.drive.model.File file = response.parseAs(com.google.api.services.drive.model.File.class);
+              sessions.delete(key);
+              logger.fine(String.format("'%s' enviado: %s (%d bytes, %d repetições).", job, file.getId(), size, retries));
+              return new UploadResult(job, file, null, retries, resumed, bytesSent, System.currentTimeMillis() - start);
+            }
+
+            if(status == RESUME_INCOMPLETE) {
+              offset = confirmedBytes(response);
+            }
+            else if(status == 404 || status == 410) {
+              /*
+               * Sessão expirada (cerca de uma semana) ou cancelada: recomeça.
+               */
+              logger.fine(String.format("Sessão de upload de '%s' expirou, reiniciando.", job));
+              sessions.delete(key);
+              sessionUri = null;
+            }
+            else {
+              throw GoogleJsonResponseException.from(service.getJsonFactory(), response);
+            }
+          }
+          finally {
+            response.disconnect();
+          }
+        }
+        catch(IOException e) {
+          if(retries >= maxRetries || !DriveErrors.isRetryable(e)) {
+            logger.warning(String.format("Falha no envio de '%s': %s", job, e.getMessage()));
+            return new UploadResult(job, null, e, retries, resumed, bytesSent, System.currentTimeMillis() - start);
+          }
+          retries++;
+          logger.fine(String.format("Envio de '%s' falhou (%s), repetição %d.", job, e.getMessage(), retries));
+          DriveBackOff.sleep(initialBackOffMillis, retries, "Envio interrompido.");
+          if(sessionUri != null) {
+            offset = -1;
+          }
+        }
+      }
+    }
+    finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Cria a sessão de upload com os metadados do arquivo.
+   *
+   * @return URI da sessão, para onde o conteúdo é enviado.
+   */
+  private String initiate(UploadJob job, String mimeType, long size) throws IOException {
+
+    GenericUrl url = new GenericUrl(service.getRootUrl() + "upload/" + service.getServicePath() + "files");
+    url.set("uploadType", "resumable");
+    url.set("fields", RESULT_FIELDS);
+
+    HttpRequest request = service.getRequestFactory().buildPostRequest(url, new JsonHttpContent(service.getJsonFactory(), job.getMetadata()));
+    request.getHeaders().set("X-Upload-Content-Type", mimeType);
+    request.getHeaders().set("X-Upload-Content-Length", size);
+    request.setThrowExceptionOnExecuteError(false);
+
+    HttpResponse response = request.execute();
+
+    try {
+      if(!response.isSuccessStatusCode()) {
+        throw GoogleJsonResponseException.from(service.getJsonFactory(), response);
+      }
+
+      String location = response.getHeaders().getLocation();
+      if(location == null) {
+        throw new IOException("Drive não devolveu a URI da sessão de upload de '" + job + "'.");
+      }
+      return location;
+    }
+    finally {
+      response.disconnect();
+    }
+  }
+
+  /**
+   * Envia uma parte (ou, com conteúdo vazio, consulta a posição) da sessão.
+   * O status é tratado por quem chama: 308 não é erro neste protocolo.
+   */
+  private HttpResponse send(String sessionUri, HttpContent content, String contentRange) throws IOException {
+
+    HttpRequest request = service.getRequestFactory().buildPutRequest(new GenericUrl(sessionUri), content);
+    request.getHeaders().setContentRange(contentRange);
+    request.setParser(service.getObjectParser());
+    request.setThrowExceptionOnExecuteError(false);
+
+    return request.execute();
+  }
+
+  /**
+   * @return bytes já confirmados pelo Drive, do header Range ("bytes=0-n") de uma resposta 308.
+   */
+  private static long confirmedBytes(HttpResponse response) {
+    String range = response.getHeaders().getRange();
+    if(range == null) {
+      return 0;
+    }
+    return Long.parseLong(range.substring(range.indexOf('-') + 1)) + 1;
+  }
+
+  private static String contentRange(long offset, int length, long size) {
+    if(length == 0) {
+      return "bytes */" + size;
+    }
+    return "bytes " + offset + "-" + (offset + length - 1) + "/" + size;
+  }
+
+  private static String mimeType(UploadJob job) throws IOException {
+    if(job.getMetadata().getMimeType() != null) {
+      return job.getMetadata().getMimeType();
+    }
+    String probed = Files.probeContentType(job.getFile().toPath());
+    return probed != null ? probed : DEFAULT_MIME_TYPE;
+  }
+
+  private static <T> T await(Future<T> future) throws IOException {
+    try {
+      return future.get();
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Envio interrompido.", e);
+    }
+    catch(ExecutionException e) {
+      if(e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+}
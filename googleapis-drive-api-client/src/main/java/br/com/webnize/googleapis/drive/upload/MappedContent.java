@@ -0,0 +1,57 @@
+package br.com.webnize.googleapis.drive.upload;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.google.api.client.http.AbstractHttpContent;
+
+/**
+ * Conteúdo HTTP de uma região de arquivo mapeada em memória: os bytes são
+ * lidos direto do cache de páginas do sistema operacional, sem carregar a
+ * parte inteira no heap. Pode ser escrito mais de uma vez (reenvio após 401).
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class MappedContent extends AbstractHttpContent {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final ByteBuffer buffer;
+
+  /**
+   * @param buffer região do arquivo (normalmente um MappedByteBuffer).
+   * @param type tipo MIME do conteúdo.
+   */
+  MappedContent(ByteBuffer buffer, String type) {
+    super(type);
+    this.buffer = buffer;
+  }
+
+  @Override
+  public long getLength() {
+    return buffer.remaining();
+  }
+
+  @Override
+  public boolean retrySupported() {
+    return true;
+  }
+
+  public void writeTo(OutputStream out) throws IOException {
+
+    ByteBuffer source = buffer.duplicate();
+    byte[] bytes = new byte[(int) Math.min(BUFFER_SIZE, Math.max(1, source.remaining()))];
+
+    while(source.hasRemaining()) {
+      int count = Math.min(bytes.length, source.remaining());
+      source.get(bytes, 0, count);
+      out.write(bytes, 0, count);
+    }
+
+    out.flush();
+  }
+
+}
@@ -0,0 +1,66 @@
+package br.com.webnize.googleapis.drive.upload;
+
+import java.io.File;
+import java.util.Collections;
+
+/**
+ * Arquivo local a ser enviado ao Drive, com os metadados do arquivo a ser
+ * criado (nome, pastas, tipo MIME).
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UploadJob {
+
+  private final File file;
+
+  private final com.google.api.services.drive.model.File metadata;
+
+  /**
+   * @param file arquivo local.
+   * @param metadata metadados do arquivo a ser criado no Drive.
+   */
+  public UploadJob(File file, com.google.api.services.drive.model.File metadata) {
+    if(file == null || !file.isFile()) {
+      throw new IllegalArgumentException("Arquivo inexistente: " + file);
+    }
+    this.file = file;
+    this.metadata = metadata == null ? new com.google.api.services.drive.model.File() : metadata;
+    if(this.metadata.getName() == null) {
+      this.metadata.setName(file.getName());
+    }
+  }
+
+  /**
+   * @param file arquivo local, enviado com o mesmo nome.
+   * @param parentId id da pasta de destino no Drive (null para a raiz).
+   */
+  public UploadJob(File file, String parentId) {
+    this(file, new com.google.api.services.drive.model.File()
+                     .setName(file.getName())
+                       .setParents(parentId == null ? null : Collections.singletonList(parentId)));
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public com.google.api.services.drive.model.File getMetadata() {
+    return metadata;
+  }
+
+  /**
+   * Chave da sessão de upload salva: o mesmo arquivo, no mesmo tamanho e
+   * data de alteração, enviado para o mesmo destino.
+   */
+  String getSessionKey() {
+    return file.getAbsolutePath() + "|" + file.length() + "|" + file.lastModified() + "|" + metadata.getName() + "|" + metadata.getParents();
+  }
+
+  @Override
+  public String toString() {
+    return file.getPath();
+  }
+
+}
@@ -0,0 +1,91 @@
+package br.com.webnize.googleapis.drive.upload;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Relatório de um envio de vários arquivos, com o resultado de cada um na
+ * mesma ordem em que foram informados e a vazão agregada.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UploadReport {
+
+  private final List<UploadResult> results;
+
+  private final long elapsedMillis;
+
+  UploadReport(List<UploadResult> results, long elapsedMillis) {
+    this.results = Collections.unmodifiableList(results);
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  public List<UploadResult> getResults() {
+    return results;
+  }
+
+  /**
+   * @return resultados dos arquivos que falharam definitivamente.
+   */
+  public List<UploadResult> getFailures() {
+    List<UploadResult> failures = new ArrayList<UploadResult>();
+    for(UploadResult result : results) {
+      if(!result.isSucceeded()) {
+        failures.add(result);
+      }
+    }
+    return failures;
+  }
+
+  public int getSucceededCount() {
+    return results.size() - getFailures().size();
+  }
+
+  public int getFailedCount() {
+    return getFailures().size();
+  }
+
+  /**
+   * @return total de repetições de todos os arquivos.
+   */
+  public int getRetries() {
+    int retries = 0;
+    for(UploadResult result : results) {
+      retries += result.getRetries();
+    }
+    return retries;
+  }
+
+  /**
+   * @return bytes de conteúdo enviados, incluindo partes reenviadas.
+   */
+  public long getBytesSent() {
+    long bytes = 0;
+    for(UploadResult result : results) {
+      bytes += result.getBytesSent();
+    }
+    return bytes;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * @return vazão agregada de todos os envios simultâneos, em MB/s.
+   */
+  public double getMegabytesPerSecond() {
+    return elapsedMillis == 0 ? 0 : getBytesSent() / (1024.0 * 1024.0) / (elapsedMillis / 1000.0);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d arquivos (%d com sucesso, %d com falha, %d repetições), %.1f MB em %d ms, %.2f MB/s",
+            results.size(), getSucceededCount(), getFailedCount(), getRetries(), getBytesSent() / (1024.0 * 1024.0),
+            elapsedMillis, getMegabytesPerSecond());
+  }
+
+}
@@ -0,0 +1,91 @@
+package br.com.webnize.googleapis.drive.upload;
+
+/**
+ * Resultado do envio de um arquivo.
+ *
+ * @author reginaldo.santos
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class UploadResult {
+
+  private final UploadJob job;
+
+  private final com.google.api.services.drive.model.File file;
+
+  private final Exception error;
+
+  private final int retries;
+
+  private final boolean resumed;
+
+  private final long bytesSent;
+
+  private final long elapsedMillis;
+
+  UploadResult(UploadJob job, com.google.api.services.drive.model.File file, Exception error, int retries, boolean resumed,
+          long bytesSent, long elapsedMillis) {
+    this.job = job;
+    this.file = file;
+    this.error = error;
+    this.retries = retries;
+    this.resumed = resumed;
+    this.bytesSent = bytesSent;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  public UploadJob getJob() {
+    return job;
+  }
+
+  /**
+   * @return arquivo criado no Drive, ou null em caso de falha.
+   */
+  public com.google.api.services.drive.model.File getFile() {
+    return file;
+  }
+
+  /**
+   * @return falha da última tentativa, ou null em caso de sucesso.
+   */
+  public Exception getError() {
+    return error;
+  }
+
+  public boolean isSucceeded() {
+    return error == null;
+  }
+
+  /**
+   * @return quantidade de repetições após falhas transitórias (0 quando não houve).
+   */
+  public int getRetries() {
+    return retries;
+  }
+
+  /**
+   * @return true se o envio continuou uma sessão salva em uma execução anterior.
+   */
+  public boolean isResumed() {
+    return resumed;
+  }
+
+  /**
+   * @return bytes de conteúdo enviados nesta execução, incluindo partes reenviadas.
+   */
+  public long getBytesSent() {
+    return bytesSent;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: %s (repetições: %d%s, %d bytes em %d ms)%s", job,
+            error == null ? file.getId() : "FAILED", retries, resumed ? ", retomado" : "", bytesSent, elapsedMillis,
+            error == null ? "" : " - " + error.getMessage());
+  }
+
+}